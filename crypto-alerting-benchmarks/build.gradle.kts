@@ -0,0 +1,27 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    jmh(project(":crypto-alerting-commons"))
+    jmh(project(":crypto-alerting-ingestion"))
+    jmh(project(":crypto-alerting-processor"))
+    jmh("org.springframework:spring-core")
+    jmh("org.springframework.kafka:spring-kafka")
+    jmh("org.apache.kafka:kafka-clients")
+    jmh("io.projectreactor.kafka:reactor-kafka")
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+    jmh("io.projectreactor:reactor-core")
+    jmh("io.micrometer:micrometer-core")
+}
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Allocation per operation (gc.alloc.rate.norm) and GC counts next to each score
+    profilers.set(listOf("gc"))
+    // Machine-readable results for comparing runs
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
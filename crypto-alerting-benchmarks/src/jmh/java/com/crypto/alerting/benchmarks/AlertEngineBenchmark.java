@@ -0,0 +1,86 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.processor.engine.AlertEngine;
+import com.crypto.alerting.processor.engine.RuleBook;
+import com.crypto.alerting.processor.engine.ThresholdIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating one price against the threshold rules of its ticker,
+ * against the number of rules on the ticker.
+ * <p>
+ * Thresholds are spaced one unit apart, alternating {@code ABOVE} and
+ * {@code BELOW}, and prices follow a fixed random walk of half-unit steps
+ * around the middle, so a move crosses at most one threshold. {@code crossed}
+ * is the {@link ThresholdIndex} lookup alone; {@code evaluate} is the whole
+ * {@link AlertEngine} step the processor takes per record, triggers
+ * included. Both should stay flat as the number of rules grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AlertEngineBenchmark {
+
+    private static final String TICKER = "BTCUSDT";
+    private static final int WALK_LENGTH = 1024;
+
+    @Param({ "10", "1000", "100000" })
+    public int rules;
+
+    private final double[] walk = new double[WALK_LENGTH];
+
+    private AlertEngine alertEngine;
+    private ThresholdIndex thresholdIndex;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        final Map<String, AlertRule> book = new HashMap<>();
+        for (int i = 0; i < rules; i++) {
+            final AlertRule.Direction direction = (i & 1) == 0 ? AlertRule.Direction.ABOVE : AlertRule.Direction.BELOW;
+            book.put("r" + i, new AlertRule("r" + i, "user" + (i % 100), TICKER, direction, i + 0.25));
+        }
+        final RuleBook ruleBook = new RuleBook();
+        ruleBook.apply(book);
+        alertEngine = new AlertEngine(ruleBook, new SimpleMeterRegistry());
+        thresholdIndex = ruleBook.indexOf(TICKER);
+
+        final SplittableRandom random = new SplittableRandom(42);
+        double price = rules / 2.0;
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            price += random.nextBoolean() ? 0.5 : -0.5;
+            walk[i] = price;
+        }
+    }
+
+    @Benchmark
+    public int crossed(final Blackhole blackhole) {
+        final int n = step++;
+        return thresholdIndex.crossed(walk[n & (WALK_LENGTH - 1)], walk[(n + 1) & (WALK_LENGTH - 1)],
+                blackhole::consume);
+    }
+
+    @Benchmark
+    public List<AlertTrigger> evaluate() {
+        final int n = step++;
+        return alertEngine.evaluate(new PriceEvent(TICKER, walk[n & (WALK_LENGTH - 1)], 1672515782135L + n));
+    }
+}
@@ -0,0 +1,83 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import com.crypto.alerting.ingestion.service.PriceSnapshot;
+import com.crypto.alerting.ingestion.service.PriceSnapshotService;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of snapshotting the latest prices, against the number of symbols.
+ * <p>
+ * {@code latestPrices} builds the map returned by
+ * {@link PriceStreamService#getLatestPrices()}. {@code rebuildSnapshot}
+ * changes one price and rebuilds the versioned JSON snapshot served by
+ * {@code /api/prices/latest}, with the snapshot interval set to zero so
+ * every call rebuilds. {@code cachedSnapshot} is the common case of a
+ * request served within the interval.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LatestPricesBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int symbols;
+
+    private final SymbolRegistry symbolRegistry = new SymbolRegistry();
+
+    private PriceStreamService priceStreamService;
+    private PriceSnapshotService rebuildingSnapshots;
+    private PriceSnapshotService cachedSnapshots;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        priceStreamService = new PriceStreamService(symbolRegistry, new StreamProperties(), new SimpleMeterRegistry());
+        for (int i = 0; i < symbols; i++) {
+            priceStreamService.broadcastTick(new PriceTick(symbolRegistry.register("SYM" + i + "USDT"), 100.0 + i,
+                    1672515782135L));
+        }
+
+        final StreamProperties rebuildEveryCall = new StreamProperties();
+        rebuildEveryCall.setSnapshotInterval(Duration.ZERO);
+        rebuildingSnapshots = new PriceSnapshotService(priceStreamService, symbolRegistry, rebuildEveryCall);
+        final StreamProperties rebuildNever = new StreamProperties();
+        rebuildNever.setSnapshotInterval(Duration.ofDays(1));
+        cachedSnapshots = new PriceSnapshotService(priceStreamService, symbolRegistry, rebuildNever);
+        cachedSnapshots.getSnapshot();
+    }
+
+    @Benchmark
+    public Map<String, PriceEvent> latestPrices() {
+        return priceStreamService.getLatestPrices();
+    }
+
+    @Benchmark
+    public PriceSnapshot rebuildSnapshot() {
+        final long n = ++sequence;
+        final int symbolId = (int) (n % symbols);
+        priceStreamService.broadcastTick(new PriceTick(symbolId, 100.0 + (n & 1023) * 0.01, 1672515782135L + n));
+        return rebuildingSnapshots.getSnapshot();
+    }
+
+    @Benchmark
+    public PriceSnapshot cachedSnapshot() {
+        return cachedSnapshots.getSnapshot();
+    }
+}
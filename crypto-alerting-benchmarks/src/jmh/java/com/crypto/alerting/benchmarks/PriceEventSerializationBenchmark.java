@@ -0,0 +1,106 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.kafka.BinaryPriceEventSerializer;
+import com.crypto.alerting.commons.kafka.PriceEventDeserializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Spring's {@link JsonSerializer} with the binary price event
+ * format on both the producing and consuming side. Record size, including
+ * headers, is reported through the {@code recordBytes} auxiliary counter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceEventSerializationBenchmark {
+
+    private static final String TOPIC = "topic-raw-prices";
+
+    private final PriceEvent event = new PriceEvent("BTCUSDT", 43125.01, 1672515782135L);
+
+    private JsonSerializer<PriceEvent> jsonSerializer;
+    private JsonDeserializer<PriceEvent> jsonDeserializer;
+    private BinaryPriceEventSerializer binarySerializer;
+    private PriceEventDeserializer binaryDeserializer;
+
+    private RecordHeaders jsonHeaders;
+    private byte[] jsonBytes;
+    private RecordHeaders binaryHeaders;
+    private byte[] binaryBytes;
+
+    /**
+     * Bytes a record puts on the wire, value plus header keys and values.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RecordSize {
+        public long recordBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            recordBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>(PriceEvent.class);
+        jsonDeserializer.addTrustedPackages("com.crypto.alerting.commons");
+        binarySerializer = new BinaryPriceEventSerializer();
+        binaryDeserializer = new PriceEventDeserializer();
+
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+        binaryHeaders = new RecordHeaders();
+        binaryBytes = binarySerializer.serialize(TOPIC, binaryHeaders, event);
+    }
+
+    @Benchmark
+    public byte[] serializeJson(final RecordSize size) {
+        final RecordHeaders headers = new RecordHeaders();
+        final byte[] bytes = jsonSerializer.serialize(TOPIC, headers, event);
+        size.recordBytes += bytes.length + headerBytes(headers);
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] serializeBinary(final RecordSize size) {
+        final RecordHeaders headers = new RecordHeaders();
+        final byte[] bytes = binarySerializer.serialize(TOPIC, headers, event);
+        size.recordBytes += bytes.length + headerBytes(headers);
+        return bytes;
+    }
+
+    @Benchmark
+    public PriceEvent deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonBytes);
+    }
+
+    @Benchmark
+    public PriceEvent deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binaryHeaders, binaryBytes);
+    }
+
+    private static long headerBytes(final RecordHeaders headers) {
+        long bytes = 0;
+        for (final var header : headers) {
+            bytes += header.key().length() + (header.value() != null ? header.value().length : 0);
+        }
+        return bytes;
+    }
+}
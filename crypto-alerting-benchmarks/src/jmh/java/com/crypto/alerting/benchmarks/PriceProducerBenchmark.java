@@ -0,0 +1,64 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.kafka.BinaryPriceEventSerializer;
+import com.crypto.alerting.ingestion.config.KafkaProducerProperties;
+import com.crypto.alerting.ingestion.config.SpillProperties;
+import com.crypto.alerting.ingestion.service.PriceProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of handing a price event to {@link PriceProducer}: building the
+ * sender record, passing it through the publishing queue, serializing key
+ * and value, and recording the acknowledgement. The sender acknowledges on
+ * the benchmark thread, so no broker or network time is included.
+ * Run with {@code -prof gc} to see allocation per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceProducerBenchmark {
+
+    @Param({ "JSON", "BINARY" })
+    public KafkaProducerProperties.ValueFormat valueFormat;
+
+    private SerializingKafkaSender kafkaSender;
+    private PriceProducer priceProducer;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        kafkaSender = new SerializingKafkaSender(valueFormat == KafkaProducerProperties.ValueFormat.BINARY
+                ? new BinaryPriceEventSerializer()
+                : new JsonSerializer<PriceEvent>());
+        final SpillProperties spillProperties = new SpillProperties();
+        spillProperties.setEnabled(false);
+        priceProducer = new PriceProducer(kafkaSender, new KafkaProducerProperties(), spillProperties,
+                new SimpleMeterRegistry());
+        priceProducer.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        priceProducer.stop();
+    }
+
+    @Benchmark
+    public long publish() {
+        final long n = ++sequence;
+        priceProducer.publish(new PriceEvent("BTCUSDT", 43125.01 + (n & 1023) * 0.01, 1672515782135L + n));
+        return kafkaSender.bytesSerialized;
+    }
+}
@@ -0,0 +1,100 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import com.crypto.alerting.ingestion.service.PriceFrame;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import com.crypto.alerting.ingestion.service.SymbolFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for SSE fan-out: CPU time to deliver one price tick to every
+ * connected client, against the number of clients.
+ * <p>
+ * {@code encodeOnce} is the production path, where clients share the frame
+ * encoded at broadcast. {@code encodePerSubscriber} re-encodes the tick for
+ * each client on top of that, as the former {@code ServerSentEvent<PriceEvent>}
+ * mapping did. {@code broadcastPrice} takes the boxed {@link PriceEvent}
+ * entry point on top of {@code encodeOnce}, converting to a tick first.
+ * Broadcasting and delivery run on the benchmark thread, so the average time
+ * per operation is the CPU cost per event. Run with {@code -prof gc} to see
+ * allocation per event as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SseFanOutBenchmark {
+
+    @Param({ "1", "100", "1000", "10000" })
+    public int subscribers;
+
+    private final SymbolRegistry symbolRegistry = new SymbolRegistry();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    private PriceStreamService sharedFrames;
+    private PriceStreamService perSubscriberFrames;
+    private int symbolId;
+    private long sequence;
+
+    // Sink for delivered bytes, keeps delivery from being optimised away
+    private long bytesDelivered;
+
+    @Setup
+    public void setUp() {
+        symbolId = symbolRegistry.register("BTCUSDT");
+        sharedFrames = new PriceStreamService(symbolRegistry, new StreamProperties(), new SimpleMeterRegistry());
+        perSubscriberFrames = new PriceStreamService(symbolRegistry, new StreamProperties(), new SimpleMeterRegistry());
+
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(sharedFrames.subscribeFrames(SymbolFilter.all())
+                    .subscribe(frame -> bytesDelivered += frame.sse().length));
+            subscriptions.add(perSubscriberFrames.subscribe()
+                    .map(tick -> PriceFrame.encode(tick, symbolRegistry))
+                    .subscribe(frame -> bytesDelivered += frame.sse().length));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        subscriptions.dispose();
+    }
+
+    @Benchmark
+    public long encodeOnce() {
+        sharedFrames.broadcastTick(nextTick());
+        return bytesDelivered;
+    }
+
+    @Benchmark
+    public long encodePerSubscriber() {
+        perSubscriberFrames.broadcastTick(nextTick());
+        return bytesDelivered;
+    }
+
+    @Benchmark
+    public long broadcastPrice() {
+        final long n = ++sequence;
+        sharedFrames.broadcastPrice(new PriceEvent("BTCUSDT", 43125.01 + (n & 1023) * 0.01, 1672515782135L + n));
+        return bytesDelivered;
+    }
+
+    private PriceTick nextTick() {
+        final long n = ++sequence;
+        return new PriceTick(symbolId, 43125.01 + (n & 1023) * 0.01, 1672515782135L + n);
+    }
+}
@@ -0,0 +1,132 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.candle.CandleAggregator;
+import com.crypto.alerting.ingestion.config.CandleProperties;
+import com.crypto.alerting.ingestion.config.KafkaProducerProperties;
+import com.crypto.alerting.ingestion.config.SpillProperties;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import com.crypto.alerting.ingestion.parser.TradeFrameParser;
+import com.crypto.alerting.ingestion.sequence.TradeSequencer;
+import com.crypto.alerting.ingestion.service.PriceProducer;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one trade frame on the ingestion hot path, step by step.
+ * <p>
+ * {@code processFrame} repeats what {@code BinanceWebSocketClient} does per
+ * message: parse, build the tick, drop repeated trades, broadcast, fold into
+ * candles and hand off to {@link PriceProducer}, whose sender serializes and
+ * acknowledges on the benchmark thread. The tick journal and the stage
+ * timers are left out; the journal writes to disk and the timers are
+ * Micrometer's own cost. Each frame carries the next trade id, written into
+ * a fixed-width field in place, so no trade is dropped as a repeat.
+ * Run with {@code -prof gc} to see allocation per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TickPathBenchmark {
+
+    private static final String FRAME_PREFIX = "{\"stream\":\"btcusdt@trade\",\"data\":{"
+            + "\"e\":\"trade\",\"E\":1672515782136,\"s\":\"BTCUSDT\",\"t\":";
+    private static final String FRAME_SUFFIX = ",\"p\":\"43125.01000000\",\"q\":\"0.00100000\","
+            + "\"T\":1672515782134,\"m\":true,\"M\":true}}";
+    private static final int TRADE_ID_DIGITS = 15;
+
+    private final SymbolRegistry symbolRegistry = new SymbolRegistry();
+    private final TradeFrameParser parser = new TradeFrameParser(symbolRegistry);
+
+    private TradeSequencer tradeSequencer;
+    private PriceStreamService priceStreamService;
+    private CandleAggregator candleAggregator;
+    private PriceProducer priceProducer;
+
+    private byte[] frame;
+    private DataBuffer buffer;
+    private long tradeId;
+    private PriceTick tick;
+
+    @Setup
+    public void setUp() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tradeSequencer = new TradeSequencer(symbolRegistry, meterRegistry);
+        priceStreamService = new PriceStreamService(symbolRegistry, new StreamProperties(), meterRegistry);
+        candleAggregator = new CandleAggregator(new CandleProperties(), symbolRegistry, meterRegistry);
+        final SpillProperties spillProperties = new SpillProperties();
+        spillProperties.setEnabled(false);
+        priceProducer = new PriceProducer(new SerializingKafkaSender(new JsonSerializer<>()),
+                new KafkaProducerProperties(), spillProperties, meterRegistry);
+        priceProducer.start();
+
+        frame = (FRAME_PREFIX + "0".repeat(TRADE_ID_DIGITS) + FRAME_SUFFIX).getBytes(StandardCharsets.UTF_8);
+        buffer = DefaultDataBufferFactory.sharedInstance.wrap(frame);
+        tick = new PriceTick(symbolRegistry.register("BTCUSDT"), 43125.01, 1672515782134L, 1L, 0.001);
+    }
+
+    @TearDown
+    public void tearDown() {
+        priceProducer.stop();
+    }
+
+    @Benchmark
+    public boolean processFrame() {
+        if (!parser.parse(nextFrame())) {
+            return false;
+        }
+        final PriceTick parsed = new PriceTick(parser.getSymbolId(), parser.getPrice(), parser.getTradeTime(),
+                parser.getTradeId(), parser.getQuantity());
+        if (!tradeSequencer.accept(parsed)) {
+            return false;
+        }
+        priceStreamService.broadcastTick(parsed);
+        candleAggregator.update(parsed);
+        return priceProducer.publish(parsed.toPriceEvent(symbolRegistry));
+    }
+
+    @Benchmark
+    public PriceTick parseToTick() {
+        if (!parser.parse(nextFrame())) {
+            return null;
+        }
+        return new PriceTick(parser.getSymbolId(), parser.getPrice(), parser.getTradeTime(),
+                parser.getTradeId(), parser.getQuantity());
+    }
+
+    @Benchmark
+    public PriceEvent toPriceEvent() {
+        return tick.toPriceEvent(symbolRegistry);
+    }
+
+    /**
+     * Writes the next trade id into the frame and rewinds the buffer.
+     *
+     * @return the frame
+     */
+    private DataBuffer nextFrame() {
+        long id = ++tradeId;
+        for (int i = FRAME_PREFIX.length() + TRADE_ID_DIGITS - 1; i >= FRAME_PREFIX.length(); i--) {
+            frame[i] = (byte) ('0' + id % 10);
+            id /= 10;
+        }
+        buffer.readPosition(0);
+        return buffer;
+    }
+}
@@ -0,0 +1,86 @@
+package com.crypto.alerting.benchmarks;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.parser.TradeFrameParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming {@link TradeFrameParser} with the tree-based path
+ * it replaced ({@code getPayloadAsText} + {@code readTree} + boxed values).
+ * Run with {@code -prof gc} to compare allocation per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TradeFrameParserBenchmark {
+
+    private static final String[] SYMBOLS = { "BTCUSDT", "ETHUSDT", "SOLUSDT", "BNBUSDT", "XRPUSDT", "ADAUSDT" };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TradeFrameParser parser = new TradeFrameParser(new SymbolRegistry());
+
+    private DataBuffer[] buffers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        buffers = new DataBuffer[SYMBOLS.length];
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            final String frame = "{\"stream\":\"" + SYMBOLS[i].toLowerCase() + "@trade\",\"data\":{"
+                    + "\"e\":\"trade\",\"E\":1672515782136,\"s\":\"" + SYMBOLS[i] + "\",\"t\":" + (12345 + i) + ","
+                    + "\"p\":\"43125.0" + i + "000000\",\"q\":\"0.00100000\",\"T\":1672515782134,"
+                    + "\"m\":true,\"M\":true}}";
+            buffers[i] = DefaultDataBufferFactory.sharedInstance.wrap(frame.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private DataBuffer nextFrame() {
+        final DataBuffer buffer = buffers[next];
+        next = (next + 1) % buffers.length;
+        buffer.readPosition(0);
+        return buffer;
+    }
+
+    @Benchmark
+    public void streaming(final Blackhole blackhole) {
+        final DataBuffer buffer = nextFrame();
+        if (parser.parse(buffer)) {
+            blackhole.consume(parser.getSymbol());
+            blackhole.consume(parser.getPrice());
+            blackhole.consume(parser.getTradeTime());
+        }
+    }
+
+    @Benchmark
+    public void tree(final Blackhole blackhole) throws Exception {
+        final DataBuffer buffer = nextFrame();
+        final String json = buffer.toString(StandardCharsets.UTF_8);
+        if (json.trim().isEmpty()) {
+            return;
+        }
+        final JsonNode root = objectMapper.readTree(json);
+        final JsonNode node = root.has("data") ? root.get("data") : root;
+        if (node.has("s") && node.has("p") && node.has("T")) {
+            final String symbol = node.get("s").asText();
+            final Double price = node.get("p").asDouble();
+            final Long timestamp = node.get("T").asLong();
+            blackhole.consume(symbol);
+            blackhole.consume(price);
+            blackhole.consume(timestamp);
+        }
+    }
+}
@@ -4,4 +4,5 @@ plugins {
 
 dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("org.apache.kafka:kafka-clients")
 }
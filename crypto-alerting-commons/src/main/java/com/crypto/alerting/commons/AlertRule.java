@@ -0,0 +1,74 @@
+package com.crypto.alerting.commons;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's alert condition on one ticker. A {@link Type#PRICE} rule fires
+ * each time the price crosses the threshold in its direction; move-based
+ * rules fire each time their windowed measure starts to exceed the threshold.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertRule {
+    private String ruleId;
+    private String userId;
+    private String ticker;
+    private Direction direction;
+    private Double threshold;
+    private Type type = Type.PRICE;
+    private Long windowMillis;
+
+    /**
+     * Creates a {@link Type#PRICE} rule.
+     *
+     * @param ruleId    the rule id
+     * @param userId    the owning user
+     * @param ticker    the ticker symbol
+     * @param direction the crossing direction
+     * @param threshold the price level
+     */
+    public AlertRule(final String ruleId, final String userId, final String ticker, final Direction direction,
+            final Double threshold) {
+        this(ruleId, userId, ticker, direction, threshold, Type.PRICE, null);
+    }
+
+    /**
+     * Crossing direction that fires a rule.
+     */
+    public enum Direction {
+        /**
+         * Fires when the price rises to or through the threshold.
+         */
+        ABOVE,
+        /**
+         * Fires when the price falls to or through the threshold.
+         */
+        BELOW
+    }
+
+    /**
+     * What the threshold is compared with.
+     */
+    public enum Type {
+        /**
+         * The price itself.
+         */
+        PRICE,
+        /**
+         * The percentage move within {@code windowMillis}: the rise from the
+         * window's low for {@code ABOVE}, the fall from the window's high for
+         * {@code BELOW}.
+         */
+        PERCENT_MOVE,
+        /**
+         * The exponentially weighted standard deviation of tick returns, in
+         * percent, with {@code windowMillis} as the averaging time constant:
+         * {@code ABOVE} fires when it rises to the threshold, {@code BELOW}
+         * when it falls to it.
+         */
+        VOLATILITY
+    }
+}
@@ -0,0 +1,82 @@
+package com.crypto.alerting.commons;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Compact, immutable price event used on in-process hot paths.
+ * Holds primitives only and identifies the ticker by its
+ * {@link SymbolRegistry} id, so passing it around neither boxes values nor
+ * hashes ticker strings. Convert to and from {@link PriceEvent} at process
+ * boundaries.
+ */
+@Value
+@AllArgsConstructor
+public class PriceTick {
+
+    /**
+     * Trade id reported when the exchange did not provide one.
+     */
+    public static final long NO_TRADE_ID = -1L;
+
+    int symbolId;
+    double price;
+    long timestamp;
+    long tradeId;
+    double quantity;
+
+    /**
+     * Creates a tick without trade id and quantity.
+     *
+     * @param symbolId  the symbol id
+     * @param price     the trade price
+     * @param timestamp the trade time in epoch milliseconds
+     */
+    public PriceTick(final int symbolId, final double price, final long timestamp) {
+        this(symbolId, price, timestamp, NO_TRADE_ID, Double.NaN);
+    }
+
+    /**
+     * Returns whether the exchange trade id is known.
+     *
+     * @return true if a trade id is present
+     */
+    public boolean hasTradeId() {
+        return tradeId != NO_TRADE_ID;
+    }
+
+    /**
+     * Returns whether the trade quantity is known.
+     *
+     * @return true if a quantity is present
+     */
+    public boolean hasQuantity() {
+        return !Double.isNaN(quantity);
+    }
+
+    /**
+     * Converts this tick to a {@link PriceEvent}.
+     *
+     * @param registry the registry that assigned the symbol id
+     * @return the equivalent price event
+     */
+    public PriceEvent toPriceEvent(final SymbolRegistry registry) {
+        return new PriceEvent(registry.symbolOf(symbolId), price, timestamp);
+    }
+
+    /**
+     * Converts a {@link PriceEvent} to a tick, registering its ticker if
+     * needed.
+     *
+     * @param event    the price event
+     * @param registry the registry assigning symbol ids
+     * @return the equivalent tick
+     * @throws IllegalArgumentException if the event lacks ticker, price or timestamp
+     */
+    public static PriceTick fromPriceEvent(final PriceEvent event, final SymbolRegistry registry) {
+        if (event.getTicker() == null || event.getPrice() == null || event.getTimestamp() == null) {
+            throw new IllegalArgumentException("Price event must have ticker, price and timestamp: " + event);
+        }
+        return new PriceTick(registry.register(event.getTicker()), event.getPrice(), event.getTimestamp());
+    }
+}
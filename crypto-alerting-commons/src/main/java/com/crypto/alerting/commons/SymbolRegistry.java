@@ -0,0 +1,222 @@
+package com.crypto.alerting.commons;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense, process-local integer ids to ticker symbols.
+ * Ids start at zero and never change once assigned, so they can index plain
+ * arrays on the hot path instead of hashing ticker strings. Lookups are
+ * lock-free; registration of a new symbol takes a lock and republishes the
+ * lookup tables.
+ * <p>
+ * Ids are only meaningful within one process: anything that crosses a process
+ * boundary must carry the symbol itself.
+ */
+public final class SymbolRegistry {
+
+    /**
+     * Id returned for symbols that are not registered.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * Default maximum number of symbols.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // Copy-on-write lookup tables, republished on every registration
+    private volatile String[] symbols = new String[0];
+    private volatile ByteTable byteTable = new ByteTable(16);
+
+    /**
+     * Creates a registry holding up to {@link #DEFAULT_CAPACITY} symbols.
+     */
+    public SymbolRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a registry holding up to {@code capacity} symbols.
+     *
+     * @param capacity maximum number of symbols
+     */
+    public SymbolRegistry(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the id of a symbol, registering it if needed.
+     *
+     * @param symbol the ticker symbol
+     * @return the symbol id
+     * @throws IllegalStateException if the registry is full
+     */
+    public int register(final String symbol) {
+        final Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        return registerSlow(symbol);
+    }
+
+    /**
+     * Returns the id of a symbol given as ASCII bytes, registering it if
+     * needed. Does not allocate when the symbol is already registered.
+     *
+     * @param bytes  array holding the symbol
+     * @param offset offset of the first symbol byte
+     * @param length number of symbol bytes
+     * @return the symbol id
+     * @throws IllegalStateException if the registry is full
+     */
+    public int register(final byte[] bytes, final int offset, final int length) {
+        final int id = byteTable.find(bytes, offset, length);
+        if (id != UNKNOWN) {
+            return id;
+        }
+        return registerSlow(new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id of a registered symbol.
+     *
+     * @param symbol the ticker symbol
+     * @return the symbol id, or {@link #UNKNOWN}
+     */
+    public int idOf(final String symbol) {
+        final Integer id = ids.get(symbol);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Returns the symbol for an id.
+     *
+     * @param id the symbol id
+     * @return the interned ticker symbol
+     * @throws IllegalArgumentException if the id is not registered
+     */
+    public String symbolOf(final int id) {
+        final String[] current = symbols;
+        if (id < 0 || id >= current.length) {
+            throw new IllegalArgumentException("Unknown symbol id: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * Returns the number of registered symbols. Registered ids are
+     * {@code 0 .. size() - 1}.
+     *
+     * @return number of registered symbols
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * Returns the maximum number of symbols this registry can hold.
+     *
+     * @return registry capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private synchronized int registerSlow(final String symbol) {
+        final Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+
+        final String[] current = symbols;
+        if (current.length >= capacity) {
+            throw new IllegalStateException("Symbol registry is full (" + capacity + " symbols)");
+        }
+
+        final int id = current.length;
+        final String interned = symbol.intern();
+        final String[] next = Arrays.copyOf(current, id + 1);
+        next[id] = interned;
+
+        // Publish the name before the id becomes discoverable
+        symbols = next;
+        byteTable = byteTable.with(interned.getBytes(StandardCharsets.UTF_8), id);
+        ids.put(interned, id);
+        return id;
+    }
+
+    /**
+     * Immutable open-addressing table from symbol bytes to ids.
+     */
+    private static final class ByteTable {
+
+        private final byte[][] keys;
+        private final int[] values;
+        private final int size;
+
+        ByteTable(final int slots) {
+            this.keys = new byte[slots][];
+            this.values = new int[slots];
+            this.size = 0;
+        }
+
+        private ByteTable(final byte[][] keys, final int[] values, final int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        int find(final byte[] bytes, final int offset, final int length) {
+            final int mask = keys.length - 1;
+            int slot = hash(bytes, offset, length) & mask;
+            byte[] key;
+            while ((key = keys[slot]) != null) {
+                if (Arrays.equals(key, 0, key.length, bytes, offset, offset + length)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return UNKNOWN;
+        }
+
+        ByteTable with(final byte[] key, final int value) {
+            final int slots = (size + 1) * 2 > keys.length ? keys.length * 2 : keys.length;
+            final byte[][] nextKeys = new byte[slots][];
+            final int[] nextValues = new int[slots];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    insert(nextKeys, nextValues, keys[i], values[i]);
+                }
+            }
+            insert(nextKeys, nextValues, key, value);
+            return new ByteTable(nextKeys, nextValues, size + 1);
+        }
+
+        private static void insert(final byte[][] keys, final int[] values, final byte[] key, final int value) {
+            final int mask = keys.length - 1;
+            int slot = hash(key, 0, key.length) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int hash(final byte[] bytes, final int offset, final int length) {
+            int h = 1;
+            for (int i = offset; i < offset + length; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.crypto.alerting.commons.kafka;
+
+import com.crypto.alerting.commons.PriceEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializes {@link PriceEvent} values into a fixed binary layout:
+ * <pre>
+ * version (1 byte) | symbol length (1 byte) | symbol (UTF-8) | price (8 bytes, IEEE 754) | timestamp (8 bytes)
+ * </pre>
+ * All multi-byte fields are big-endian. Records are tagged with the
+ * {@link PriceEventFormat#HEADER} header so that
+ * {@link PriceEventDeserializer} can tell them apart from JSON records.
+ */
+public class BinaryPriceEventSerializer implements Serializer<PriceEvent> {
+
+    private static final byte[] FORMAT_HEADER_VALUE = PriceEventFormat.BINARY_V1.getBytes(StandardCharsets.UTF_8);
+    private static final int FIXED_LENGTH = 1 + 1 + Double.BYTES + Long.BYTES;
+    private static final int MAX_SYMBOL_LENGTH = 255;
+
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final PriceEvent data) {
+        if (data != null) {
+            headers.remove(PriceEventFormat.HEADER);
+            headers.add(PriceEventFormat.HEADER, FORMAT_HEADER_VALUE);
+        }
+        return serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final PriceEvent data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.getTicker() == null || data.getPrice() == null || data.getTimestamp() == null) {
+            throw new SerializationException("Price event must have ticker, price and timestamp: " + data);
+        }
+
+        final byte[] symbol = data.getTicker().getBytes(StandardCharsets.UTF_8);
+        if (symbol.length > MAX_SYMBOL_LENGTH) {
+            throw new SerializationException("Ticker longer than " + MAX_SYMBOL_LENGTH + " bytes: " + data.getTicker());
+        }
+
+        return ByteBuffer.allocate(FIXED_LENGTH + symbol.length)
+                .put(PriceEventFormat.BINARY_V1_VERSION)
+                .put((byte) symbol.length)
+                .put(symbol)
+                .putDouble(data.getPrice())
+                .putLong(data.getTimestamp())
+                .array();
+    }
+}
@@ -0,0 +1,75 @@
+package com.crypto.alerting.commons.kafka;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.util.AppUtils;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Deserializes {@link PriceEvent} values written either by
+ * {@link BinaryPriceEventSerializer} or as JSON.
+ * The {@link PriceEventFormat#HEADER} header selects the format; records
+ * without it are detected by their leading byte, so consumers keep working
+ * while producers switch formats.
+ */
+public class PriceEventDeserializer implements Deserializer<PriceEvent> {
+
+    @Override
+    public PriceEvent deserialize(final String topic, final Headers headers, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        final Header format = headers != null ? headers.lastHeader(PriceEventFormat.HEADER) : null;
+        if (format != null) {
+            final String value = new String(format.value(), StandardCharsets.UTF_8);
+            if (PriceEventFormat.BINARY_V1.equals(value)) {
+                return readBinary(data);
+            }
+            throw new SerializationException("Unsupported price event format: " + value);
+        }
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public PriceEvent deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length > 0 && data[0] == PriceEventFormat.BINARY_V1_VERSION) {
+            return readBinary(data);
+        }
+        return readJson(data);
+    }
+
+    private static PriceEvent readBinary(final byte[] data) {
+        if (data.length == 0 || data[0] != PriceEventFormat.BINARY_V1_VERSION) {
+            throw new SerializationException("Unsupported binary price event version");
+        }
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+            final int symbolLength = buffer.get() & 0xFF;
+            final String ticker = new String(data, buffer.position(), symbolLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + symbolLength);
+            final double price = buffer.getDouble();
+            final long timestamp = buffer.getLong();
+            return new PriceEvent(ticker, price, timestamp);
+        } catch (final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SerializationException("Malformed binary price event", e);
+        }
+    }
+
+    private static PriceEvent readJson(final byte[] data) {
+        try {
+            return AppUtils.getObjectMapper().readValue(data, PriceEvent.class);
+        } catch (final IOException e) {
+            throw new SerializationException("Malformed JSON price event", e);
+        }
+    }
+}
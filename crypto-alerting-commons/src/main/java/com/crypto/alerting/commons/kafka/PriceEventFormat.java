@@ -0,0 +1,27 @@
+package com.crypto.alerting.commons.kafka;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Wire formats for {@link com.crypto.alerting.commons.PriceEvent} records.
+ * Producers announce the format in the {@link #HEADER} record header so
+ * consumers can decode JSON and binary records side by side during a rollout.
+ */
+@UtilityClass
+public class PriceEventFormat {
+
+    /**
+     * Record header carrying the value format.
+     */
+    public static final String HEADER = "price-event-format";
+
+    /**
+     * Fixed-layout binary format, see {@link BinaryPriceEventSerializer}.
+     */
+    public static final String BINARY_V1 = "binary-v1";
+
+    /**
+     * Leading byte of a binary-v1 value. Cannot start a JSON document.
+     */
+    public static final byte BINARY_V1_VERSION = 1;
+}
@@ -0,0 +1,48 @@
+package com.crypto.alerting.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SymbolRegistryTest {
+
+    @Test
+    void register_shouldAssignDenseIdsSharedByStringAndByteLookups() {
+        final SymbolRegistry registry = new SymbolRegistry();
+        final byte[] frame = "xxETHUSDTxx".getBytes(StandardCharsets.US_ASCII);
+
+        final int btc = registry.register("BTCUSDT");
+        final int eth = registry.register(frame, 2, 7);
+
+        assertEquals(0, btc);
+        assertEquals(1, eth);
+        assertEquals(eth, registry.register("ETHUSDT"));
+        assertEquals(btc, registry.register("BTCUSDT".getBytes(StandardCharsets.US_ASCII), 0, 7));
+        assertEquals(SymbolRegistry.UNKNOWN, registry.idOf("SOLUSDT"));
+        assertSame(registry.symbolOf(eth), registry.symbolOf(registry.idOf("ETHUSDT")));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void register_shouldRejectSymbolsBeyondCapacity() {
+        final SymbolRegistry registry = new SymbolRegistry(1);
+        registry.register("BTCUSDT");
+
+        assertThrows(IllegalStateException.class, () -> registry.register("ETHUSDT"));
+    }
+
+    @Test
+    void priceTick_shouldRoundTripThroughPriceEvent() {
+        final SymbolRegistry registry = new SymbolRegistry();
+        final PriceEvent event = new PriceEvent("BTCUSDT", 43125.01, 1672515782135L);
+
+        final PriceTick tick = PriceTick.fromPriceEvent(event, registry);
+
+        assertEquals(registry.idOf("BTCUSDT"), tick.getSymbolId());
+        assertEquals(event, tick.toPriceEvent(registry));
+    }
+}
@@ -0,0 +1,49 @@
+package com.crypto.alerting.commons.kafka;
+
+import com.crypto.alerting.commons.PriceEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceEventSerdeTest {
+
+    private final BinaryPriceEventSerializer serializer = new BinaryPriceEventSerializer();
+    private final PriceEventDeserializer deserializer = new PriceEventDeserializer();
+
+    @Test
+    void binary_shouldRoundTripAndTagRecord() {
+        final PriceEvent event = new PriceEvent("BTCUSDT", 43125.01, 1672515782135L);
+        final RecordHeaders headers = new RecordHeaders();
+
+        final byte[] bytes = serializer.serialize("topic-raw-prices", headers, event);
+
+        assertEquals(1 + 1 + 7 + 8 + 8, bytes.length);
+        assertNotNull(headers.lastHeader(PriceEventFormat.HEADER));
+        assertEquals(event, deserializer.deserialize("topic-raw-prices", headers, bytes));
+    }
+
+    @Test
+    void deserialize_shouldAcceptJsonRecordsWithoutFormatHeader() {
+        final byte[] json = "{\"ticker\":\"ETHUSDT\",\"price\":2250.5,\"timestamp\":42}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        final PriceEvent event = deserializer.deserialize("topic-raw-prices", new RecordHeaders(), json);
+
+        assertEquals(new PriceEvent("ETHUSDT", 2250.5, 42L), event);
+    }
+
+    @Test
+    void deserialize_shouldDetectBinaryRecordsWithoutFormatHeader() {
+        final PriceEvent event = new PriceEvent("SOLUSDT", 101.25, 7L);
+
+        final byte[] bytes = serializer.serialize("topic-raw-prices", event);
+
+        assertTrue(bytes.length < 32);
+        assertEquals(event, deserializer.deserialize("topic-raw-prices", bytes));
+    }
+}
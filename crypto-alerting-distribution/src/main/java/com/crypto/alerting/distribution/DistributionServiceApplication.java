@@ -0,0 +1,13 @@
+package com.crypto.alerting.distribution;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class DistributionServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(DistributionServiceApplication.class, args);
+    }
+}
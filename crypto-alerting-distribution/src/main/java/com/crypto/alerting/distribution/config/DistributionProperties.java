@@ -0,0 +1,74 @@
+package com.crypto.alerting.distribution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for alert consumption and WebSocket delivery.
+ */
+@Data
+@ConfigurationProperties(prefix = "distribution")
+public class DistributionProperties {
+
+    /**
+     * Kafka bootstrap servers.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Topic of alert triggers published by the processors.
+     */
+    private String alertsTopic = "topic-alerts";
+
+    /**
+     * Prefix of the consumer group. Users may connect to any instance, so
+     * every instance reads all alerts under a group of its own.
+     */
+    private String groupId = "crypto-alerting-distribution";
+
+    /**
+     * Consumer {@code max.poll.records}: upper bound of one received batch.
+     */
+    private int maxPollRecords = 1000;
+
+    /**
+     * WebSocket endpoint path. Clients identify themselves with a
+     * {@code userId} query parameter.
+     */
+    private String path = "/ws/alerts";
+
+    /**
+     * Number of lock stripes the session registry is split into; rounded up
+     * to a power of two.
+     */
+    private int shards = 64;
+
+    /**
+     * Maximum number of alerts waiting to be sent on one session.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Maximum number of alerts coalesced into one WebSocket frame.
+     */
+    private int maxAlertsPerFrame = 128;
+
+    /**
+     * What happens when a session's queue is full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Strategies for a session whose outbound queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the oldest queued alert to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Close the session; the client is expected to reconnect.
+         */
+        CLOSE
+    }
+}
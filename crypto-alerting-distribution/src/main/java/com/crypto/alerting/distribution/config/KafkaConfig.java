@@ -0,0 +1,48 @@
+package com.crypto.alerting.distribution.config;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.MicrometerConsumerListener;
+import reactor.kafka.receiver.ReceiverOptions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@RequiredArgsConstructor
+public class KafkaConfig {
+
+    private final DistributionProperties distributionProperties;
+
+    @Bean
+    public KafkaReceiver<String, AlertTrigger> alertReceiver(final MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, distributionProperties.getBootstrapServers());
+        // A group of its own, so this instance sees the alerts of every user it may hold a session for
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, distributionProperties.getGroupId() + "-" + UUID.randomUUID());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A malformed record deserializes to null instead of failing the poll
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, AlertTrigger.class);
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        // Alerts raised before this instance started have nobody connected to receive them
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, distributionProperties.getMaxPollRecords());
+
+        ReceiverOptions<String, AlertTrigger> receiverOptions = ReceiverOptions.<String, AlertTrigger>create(props)
+                .subscription(List.of(distributionProperties.getAlertsTopic()))
+                .consumerListener(new MicrometerConsumerListener(meterRegistry));
+        return KafkaReceiver.create(receiverOptions);
+    }
+}
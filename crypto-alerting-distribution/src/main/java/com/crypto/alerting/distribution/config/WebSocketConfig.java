@@ -0,0 +1,21 @@
+package com.crypto.alerting.distribution.config;
+
+import com.crypto.alerting.distribution.handler.AlertWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+@Configuration
+public class WebSocketConfig {
+
+    @Bean
+    public HandlerMapping alertWebSocketMapping(final AlertWebSocketHandler alertWebSocketHandler,
+            final DistributionProperties distributionProperties) {
+        return new SimpleUrlHandlerMapping(Map.of(distributionProperties.getPath(), alertWebSocketHandler),
+                Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,49 @@
+package com.crypto.alerting.distribution.handler;
+
+import com.crypto.alerting.distribution.service.SessionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams a user's alerts over a WebSocket.
+ * The user is identified by the {@code userId} query parameter. Incoming
+ * messages are ignored; the connection stays open until either side closes
+ * it or the session is closed for falling too far behind.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public final class AlertWebSocketHandler implements WebSocketHandler {
+
+    // Dependencies
+    private final SessionRegistry sessionRegistry;
+
+    // Constants
+    private static final String PARAM_USER_ID = "userId";
+    private static final CloseStatus MISSING_USER = CloseStatus.POLICY_VIOLATION.withReason("userId is required");
+    private static final CloseStatus QUEUE_OVERFLOW = CloseStatus.POLICY_VIOLATION.withReason("Alert queue overflow");
+
+    @Override
+    public Mono<Void> handle(final WebSocketSession session) {
+        final String userId = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams()
+                .getFirst(PARAM_USER_ID);
+        if (userId == null || userId.isBlank()) {
+            log.debug("Rejecting alert session {} without userId", session.getId());
+            return session.close(MISSING_USER);
+        }
+
+        // The frame stream only completes when the session overflowed
+        final Mono<Void> output = session.send(sessionRegistry.open(userId).map(session::textMessage))
+                .then(Mono.defer(() -> session.close(QUEUE_OVERFLOW)));
+        final Mono<Void> input = session.receive().then();
+        return Mono.zip(input, output).then();
+    }
+}
@@ -0,0 +1,144 @@
+package com.crypto.alerting.distribution.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes alert triggers and hands them to the user sessions.
+ * Each poll batch is grouped by user first, so a burst of alerts for one user
+ * is queued on that user's sessions in one step and leaves as coalesced
+ * frames. Handing alerts over never waits for a socket: a user whose client
+ * cannot keep up only fills its own bounded queues, and the rest of the batch
+ * is delivered regardless.
+ */
+@Service
+@Slf4j
+public final class AlertConsumer {
+
+    // Dependencies
+    private final KafkaReceiver<String, AlertTrigger> alertReceiver;
+    private final SessionRegistry sessionRegistry;
+
+    // Constants
+    private static final String METRIC_ALERTS_RECEIVED = "distribution.alerts.received";
+    private static final String METRIC_ALERTS_UNROUTED = "distribution.alerts.unrouted";
+    private static final String METRIC_BATCH_DISPATCH = "distribution.batch.dispatch";
+    private static final Duration RETRY_MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    // Metrics
+    private final Counter alertsReceived;
+    private final Counter alertsUnrouted;
+    private final Timer batchDispatch;
+
+    private volatile Disposable subscription;
+
+    /**
+     * Creates the consumer and registers its metrics.
+     *
+     * @param alertReceiver   the reactive Kafka receiver of alert triggers
+     * @param sessionRegistry the open user sessions
+     * @param meterRegistry   the meter registry
+     */
+    public AlertConsumer(final KafkaReceiver<String, AlertTrigger> alertReceiver,
+            final SessionRegistry sessionRegistry, final MeterRegistry meterRegistry) {
+        this.alertReceiver = alertReceiver;
+        this.sessionRegistry = sessionRegistry;
+        this.alertsReceived = Counter.builder(METRIC_ALERTS_RECEIVED)
+                .description("Alert triggers consumed from Kafka")
+                .register(meterRegistry);
+        this.alertsUnrouted = Counter.builder(METRIC_ALERTS_UNROUTED)
+                .description("Alert triggers for users without an open session on this instance")
+                .register(meterRegistry);
+        this.batchDispatch = Timer.builder(METRIC_BATCH_DISPATCH)
+                .description("Time to hand one poll batch over to the user sessions")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts consuming. The pipeline resubscribes with backoff if the
+     * receiver fails.
+     */
+    @PostConstruct
+    public void start() {
+        subscription = consume()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RETRY_MIN_BACKOFF)
+                        .maxBackoff(RETRY_MAX_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Alert consumer failed, resubscribing (attempt {})",
+                                signal.totalRetries() + 1, signal.failure())))
+                .subscribe();
+    }
+
+    /**
+     * Stops consuming.
+     */
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Builds the consuming pipeline, one poll batch at a time. Offsets are
+     * acknowledged once a batch has been handed over.
+     *
+     * @return Flux of the number of users reached per batch
+     */
+    Flux<Integer> consume() {
+        return alertReceiver.receiveAutoAck()
+                .concatMap(batch -> batch.collectList().map(this::dispatch));
+    }
+
+    /**
+     * Groups a batch by user and queues each user's alerts on their sessions.
+     *
+     * @param records the batch
+     * @return number of users with at least one open session
+     */
+    private int dispatch(final List<ConsumerRecord<String, AlertTrigger>> records) {
+        final long start = System.nanoTime();
+        final Map<String, List<AlertTrigger>> byUser = new LinkedHashMap<>();
+        for (final ConsumerRecord<String, AlertTrigger> record : records) {
+            final AlertTrigger alert = record.value();
+            if (alert == null || alert.getUserId() == null) {
+                log.warn("Skipping malformed alert record at {}-{}@{}", record.topic(), record.partition(),
+                        record.offset());
+                continue;
+            }
+            byUser.computeIfAbsent(alert.getUserId(), user -> new ArrayList<>()).add(alert);
+        }
+
+        int reached = 0;
+        for (final Map.Entry<String, List<AlertTrigger>> entry : byUser.entrySet()) {
+            alertsReceived.increment(entry.getValue().size());
+            if (sessionRegistry.deliver(entry.getKey(), entry.getValue()) > 0) {
+                reached++;
+            } else {
+                alertsUnrouted.increment(entry.getValue().size());
+            }
+        }
+        batchDispatch.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return reached;
+    }
+}
@@ -0,0 +1,119 @@
+package com.crypto.alerting.distribution.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.distribution.config.DistributionProperties;
+import io.micrometer.core.instrument.Counter;
+import reactor.core.publisher.FluxSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbound state of one WebSocket session.
+ * Alerts are parked in a bounded queue and leave it only as fast as the
+ * socket requests frames; every frame carries all alerts queued at that moment,
+ * up to the per-frame limit, so a burst for one user goes out as a handful of
+ * frames however many alerts it holds. Nothing here ever waits for the socket.
+ */
+final class AlertSession {
+
+    private final String userId;
+    private final FluxSink<List<AlertTrigger>> sink;
+    private final int capacity;
+    private final int maxAlertsPerFrame;
+    private final DistributionProperties.OverflowPolicy overflowPolicy;
+    private final Counter droppedCounter;
+    private final Runnable onOverflow;
+
+    // Serializes emission; see drain()
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // Guarded by this
+    private final ArrayDeque<AlertTrigger> pending;
+    private boolean closed;
+
+    AlertSession(final String userId, final FluxSink<List<AlertTrigger>> sink,
+            final DistributionProperties properties, final Counter droppedCounter, final Runnable onOverflow) {
+        this.userId = userId;
+        this.sink = sink;
+        this.capacity = properties.getQueueCapacity();
+        this.maxAlertsPerFrame = properties.getMaxAlertsPerFrame();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.droppedCounter = droppedCounter;
+        this.onOverflow = onOverflow;
+        this.pending = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    /**
+     * Queues alerts for delivery and emits as many frames as the socket has
+     * requested. Applies the overflow policy if the queue fills up.
+     *
+     * @param alerts the alerts to deliver, oldest first
+     */
+    void offer(final List<AlertTrigger> alerts) {
+        boolean overflow = false;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            for (final AlertTrigger alert : alerts) {
+                if (pending.size() == capacity) {
+                    if (overflowPolicy == DistributionProperties.OverflowPolicy.CLOSE) {
+                        overflow = true;
+                        break;
+                    }
+                    pending.pollFirst();
+                    droppedCounter.increment();
+                }
+                pending.offerLast(alert);
+            }
+            if (overflow) {
+                closed = true;
+                droppedCounter.increment(pending.size());
+                pending.clear();
+            }
+        }
+
+        if (overflow) {
+            onOverflow.run();
+            sink.complete();
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * Emits coalesced frames up to the outstanding demand. Safe to call from
+     * any thread: concurrent callers are folded into the one already draining.
+     */
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            long requested = sink.requestedFromDownstream();
+            while (requested > 0 && !sink.isCancelled()) {
+                final List<AlertTrigger> frame;
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    frame = new ArrayList<>(Math.min(pending.size(), maxAlertsPerFrame));
+                    while (frame.size() < maxAlertsPerFrame && !pending.isEmpty()) {
+                        frame.add(pending.pollFirst());
+                    }
+                }
+                sink.next(frame);
+                requested--;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
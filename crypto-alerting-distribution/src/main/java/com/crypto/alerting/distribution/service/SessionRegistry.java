@@ -0,0 +1,206 @@
+package com.crypto.alerting.distribution.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.util.AppUtils;
+import com.crypto.alerting.distribution.config.DistributionProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the open WebSocket sessions of every user and delivers alerts to them.
+ * Sessions are kept in lock-striped shards keyed by user id, so connects and
+ * disconnects only contend with lookups of users hashed to the same shard.
+ * Each shard maps a user to an immutable array of sessions that is replaced on
+ * change, so delivery runs outside the shard lock.
+ */
+@Service
+@Slf4j
+public final class SessionRegistry {
+
+    // Dependencies
+    private final DistributionProperties distributionProperties;
+
+    // Constants
+    private static final String METRIC_SESSIONS = "distribution.sessions";
+    private static final String METRIC_FRAMES_SENT = "distribution.frames.sent";
+    private static final String METRIC_ALERTS_SENT = "distribution.alerts.sent";
+    private static final String METRIC_ALERTS_DROPPED = "distribution.alerts.dropped";
+    private static final String METRIC_SESSIONS_OVERFLOWED = "distribution.sessions.overflowed";
+    private static final AlertSession[] NO_SESSIONS = new AlertSession[0];
+
+    private final Shard[] shards;
+    private final AtomicLong sessionIds = new AtomicLong();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    // Metrics
+    private final Counter framesSent;
+    private final Counter alertsSent;
+    private final Counter alertsDropped;
+    private final Counter sessionsOverflowed;
+
+    /**
+     * Creates the registry and registers its metrics.
+     *
+     * @param distributionProperties the delivery configuration
+     * @param meterRegistry          the meter registry
+     */
+    public SessionRegistry(final DistributionProperties distributionProperties, final MeterRegistry meterRegistry) {
+        if (distributionProperties.getQueueCapacity() <= 0 || distributionProperties.getMaxAlertsPerFrame() <= 0) {
+            throw new IllegalArgumentException("queueCapacity and maxAlertsPerFrame must be positive");
+        }
+        this.distributionProperties = distributionProperties;
+        final int shardCount = Integer.highestOneBit(Math.max(1, distributionProperties.getShards() * 2 - 1));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+
+        this.framesSent = Counter.builder(METRIC_FRAMES_SENT)
+                .description("WebSocket frames emitted to sessions")
+                .register(meterRegistry);
+        this.alertsSent = Counter.builder(METRIC_ALERTS_SENT)
+                .description("Alerts emitted to sessions")
+                .register(meterRegistry);
+        this.alertsDropped = Counter.builder(METRIC_ALERTS_DROPPED)
+                .description("Alerts dropped because a session's queue was full")
+                .register(meterRegistry);
+        this.sessionsOverflowed = Counter.builder(METRIC_SESSIONS_OVERFLOWED)
+                .description("Sessions closed because their queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SESSIONS, sessionCount, AtomicInteger::get)
+                .description("Open alert sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a session for a user. The session is registered on subscription
+     * and removed when the subscriber cancels. The returned stream completes
+     * if the session is closed by the {@code CLOSE} overflow policy.
+     *
+     * @param userId the user the session belongs to
+     * @return Flux of encoded frames, each a JSON object with an {@code alerts} array
+     */
+    public Flux<String> open(final String userId) {
+        return Flux.<List<AlertTrigger>>create(sink -> register(userId, sink), FluxSink.OverflowStrategy.IGNORE)
+                .map(this::encode);
+    }
+
+    /**
+     * Queues alerts on every open session of a user.
+     *
+     * @param userId the user
+     * @param alerts the user's alerts, oldest first
+     * @return number of sessions the alerts were queued on
+     */
+    public int deliver(final String userId, final List<AlertTrigger> alerts) {
+        final AlertSession[] sessions = shardOf(userId).sessionsOf(userId);
+        for (final AlertSession session : sessions) {
+            session.offer(alerts);
+        }
+        return sessions.length;
+    }
+
+    /**
+     * Returns the number of open sessions.
+     *
+     * @return open session count
+     */
+    public int size() {
+        return sessionCount.get();
+    }
+
+    private void register(final String userId, final FluxSink<List<AlertTrigger>> sink) {
+        final long id = sessionIds.incrementAndGet();
+        final AlertSession session = new AlertSession(userId, sink, distributionProperties, alertsDropped,
+                () -> {
+                    sessionsOverflowed.increment();
+                    log.warn("Closing alert session {} of user {}: queue overflow", id, userId);
+                });
+        final Shard shard = shardOf(userId);
+        shard.add(session);
+        sessionCount.incrementAndGet();
+        sink.onRequest(n -> session.drain());
+        sink.onDispose(() -> {
+            if (shard.remove(session)) {
+                sessionCount.decrementAndGet();
+            }
+            log.debug("Alert session {} of user {} closed", id, userId);
+        });
+        log.debug("Alert session {} of user {} opened", id, userId);
+    }
+
+    private String encode(final List<AlertTrigger> alerts) {
+        try {
+            final String frame = AppUtils.getObjectMapper().writeValueAsString(Map.of("alerts", alerts));
+            framesSent.increment();
+            alertsSent.increment(alerts.size());
+            return frame;
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode alert frame", e);
+        }
+    }
+
+    private Shard shardOf(final String userId) {
+        final int h = userId.hashCode();
+        return shards[(h ^ (h >>> 16)) & (shards.length - 1)];
+    }
+
+    /**
+     * One lock stripe: the sessions of the users hashed to it.
+     */
+    private static final class Shard {
+
+        // Guarded by this; arrays are never mutated once published
+        private final Map<String, AlertSession[]> sessions = new HashMap<>();
+
+        synchronized AlertSession[] sessionsOf(final String userId) {
+            return sessions.getOrDefault(userId, NO_SESSIONS);
+        }
+
+        synchronized void add(final AlertSession session) {
+            final AlertSession[] current = sessions.getOrDefault(session.userId(), NO_SESSIONS);
+            final AlertSession[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = session;
+            sessions.put(session.userId(), next);
+        }
+
+        synchronized boolean remove(final AlertSession session) {
+            final AlertSession[] current = sessions.get(session.userId());
+            if (current == null) {
+                return false;
+            }
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == session) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            if (current.length == 1) {
+                sessions.remove(session.userId());
+                return true;
+            }
+            final AlertSession[] next = new AlertSession[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            sessions.put(session.userId(), next);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.crypto.alerting.distribution.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertConsumerTest {
+
+    @Mock
+    private KafkaReceiver<String, AlertTrigger> alertReceiver;
+
+    @Mock
+    private SessionRegistry sessionRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AlertConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        consumer = new AlertConsumer(alertReceiver, sessionRegistry, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void consume_shouldGroupBatchByUserAndSkipMalformedRecords() {
+        // Arrange
+        final AlertTrigger aliceFirst = alert("alice", 1L);
+        final AlertTrigger bob = alert("bob", 2L);
+        final AlertTrigger aliceSecond = alert("alice", 3L);
+        when(alertReceiver.receiveAutoAck()).thenReturn(Flux.just(Flux.just(
+                record(0, aliceFirst), record(1, bob), record(2, null), record(3, aliceSecond))));
+        when(sessionRegistry.deliver(eq("alice"), anyList())).thenReturn(2);
+        when(sessionRegistry.deliver(eq("bob"), anyList())).thenReturn(0);
+
+        // Act & Assert
+        StepVerifier.create(consumer.consume())
+                .expectNext(1)
+                .verifyComplete();
+
+        final ArgumentCaptor<List<AlertTrigger>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sessionRegistry).deliver(eq("alice"), captor.capture());
+        assertThat(captor.getValue()).containsExactly(aliceFirst, aliceSecond);
+        assertThat(meterRegistry.counter("distribution.alerts.received").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter("distribution.alerts.unrouted").count()).isEqualTo(1.0);
+    }
+
+    private static ConsumerRecord<String, AlertTrigger> record(final long offset, final AlertTrigger alert) {
+        return new ConsumerRecord<>("topic-alerts", 0, offset, alert == null ? null : alert.getUserId(), alert);
+    }
+
+    private static AlertTrigger alert(final String userId, final long timestamp) {
+        return new AlertTrigger(userId, "BTCUSDT crossed above 100.0", "BTCUSDT", 101.0, timestamp);
+    }
+}
@@ -0,0 +1,148 @@
+package com.crypto.alerting.distribution.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.distribution.config.DistributionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionRegistryTest {
+
+    private DistributionProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DistributionProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void open_shouldCoalesceQueuedAlertsIntoOneFrame() {
+        // Arrange
+        final SessionRegistry registry = new SessionRegistry(properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(registry.open("alice"), 0)
+                .then(() -> {
+                    registry.deliver("alice", List.of(alert("alice", 1L), alert("alice", 2L)));
+                    registry.deliver("alice", List.of(alert("alice", 3L)));
+                })
+                .thenRequest(1)
+                .assertNext(frame -> assertThat(frame)
+                        .startsWith("{\"alerts\":[")
+                        .contains("\"timestamp\":1", "\"timestamp\":2", "\"timestamp\":3"))
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.counter("distribution.frames.sent").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("distribution.alerts.sent").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void open_shouldSplitFramesAtPerFrameLimit() {
+        // Arrange
+        properties.setMaxAlertsPerFrame(2);
+        final SessionRegistry registry = new SessionRegistry(properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(registry.open("alice"), 0)
+                .then(() -> registry.deliver("alice", alerts("alice", 5)))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void deliver_shouldDropOldestAlertsWhenQueueIsFull() {
+        // Arrange
+        properties.setQueueCapacity(2);
+        final SessionRegistry registry = new SessionRegistry(properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(registry.open("alice"), 0)
+                .then(() -> registry.deliver("alice", alerts("alice", 5)))
+                .thenRequest(1)
+                .assertNext(frame -> assertThat(frame)
+                        .contains("\"timestamp\":3", "\"timestamp\":4")
+                        .doesNotContain("\"timestamp\":2"))
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.counter("distribution.alerts.dropped").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void deliver_shouldCloseSessionOnOverflowWithClosePolicy() {
+        // Arrange
+        properties.setQueueCapacity(2);
+        properties.setOverflowPolicy(DistributionProperties.OverflowPolicy.CLOSE);
+        final SessionRegistry registry = new SessionRegistry(properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(registry.open("alice"), 0)
+                .then(() -> registry.deliver("alice", alerts("alice", 3)))
+                .verifyComplete();
+
+        assertThat(registry.size()).isZero();
+        assertThat(meterRegistry.counter("distribution.sessions.overflowed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void deliver_shouldNotHoldBackOtherUsersBehindSlowSession() {
+        // Arrange
+        properties.setQueueCapacity(16);
+        final SessionRegistry registry = new SessionRegistry(properties, meterRegistry);
+        final List<String> bobFrames = new ArrayList<>();
+        registry.open("bob").subscribe(bobFrames::add);
+
+        // Act & Assert: alice never requests, bob still receives his alert
+        StepVerifier.create(registry.open("alice"), 0)
+                .then(() -> {
+                    assertThat(registry.deliver("alice", alerts("alice", 10_000))).isEqualTo(1);
+                    assertThat(registry.deliver("bob", List.of(alert("bob", 1L)))).isEqualTo(1);
+                })
+                .then(() -> assertThat(bobFrames).hasSize(1))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void deliver_shouldReachEverySessionOfUserAndForgetClosedOnes() {
+        // Arrange
+        final SessionRegistry registry = new SessionRegistry(properties, meterRegistry);
+        final List<String> first = new ArrayList<>();
+        final List<String> second = new ArrayList<>();
+        registry.open("alice").subscribe(first::add);
+        registry.open("alice").subscribe(second::add).dispose();
+
+        // Act
+        final int reached = registry.deliver("alice", List.of(alert("alice", 1L)));
+
+        // Assert
+        assertThat(reached).isEqualTo(1);
+        assertThat(first).hasSize(1);
+        assertThat(second).isEmpty();
+        assertThat(registry.deliver("carol", List.of(alert("carol", 1L)))).isZero();
+    }
+
+    private static List<AlertTrigger> alerts(final String userId, final int count) {
+        final List<AlertTrigger> alerts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            alerts.add(alert(userId, i));
+        }
+        return alerts;
+    }
+
+    private static AlertTrigger alert(final String userId, final long timestamp) {
+        return new AlertTrigger(userId, "BTCUSDT crossed above 100.0", "BTCUSDT", 101.0, timestamp);
+    }
+}
@@ -30,6 +30,33 @@ dependencyManagement {
     }
 }
 
-tasks.named("jar") {
-    enabled = false
+// Load tests against the exchange simulator run on demand only
+tasks.named<Test>("test") {
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+
+tasks.register<Test>("loadTest") {
+    description = "Runs the end-to-end load tests against the local exchange simulator."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    maxHeapSize = "1g"
+    testLogging.showStandardStreams = true
+    listOf("load.symbols", "load.rate", "load.burst", "load.seconds").forEach { name ->
+        providers.systemProperty(name).orNull?.let { systemProperty(name, it) }
+    }
+}
+
+// The plain jar is consumed by crypto-alerting-benchmarks; the boot jar is what ships
+tasks.named<Jar>("jar") {
+    archiveClassifier.set("plain")
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
+    archiveFileName.set("crypto-alerting-ingestion.jar")
 }
\ No newline at end of file
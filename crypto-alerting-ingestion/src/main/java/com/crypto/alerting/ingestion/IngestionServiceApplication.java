@@ -2,12 +2,14 @@ package com.crypto.alerting.ingestion;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.reactive.config.CorsRegistry;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class IngestionServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(IngestionServiceApplication.class, args);
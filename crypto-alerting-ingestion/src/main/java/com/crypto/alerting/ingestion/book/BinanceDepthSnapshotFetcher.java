@@ -0,0 +1,50 @@
+package com.crypto.alerting.ingestion.book;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.parser.DepthFrameParser;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches depth snapshots from the Binance REST API
+ * ({@code GET /api/v3/depth}). The response is decoded with a
+ * {@link DepthFrameParser} of its own per request, as snapshots are rare.
+ */
+public final class BinanceDepthSnapshotFetcher implements DepthSnapshotFetcher {
+
+    // Constants
+    private static final String DEPTH_PATH = "/api/v3/depth?symbol={symbol}&limit={limit}";
+    private static final int MAX_RESPONSE_BYTES = 4 * 1024 * 1024;
+
+    private final WebClient webClient;
+    private final SymbolRegistry symbolRegistry;
+
+    /**
+     * Creates a fetcher for a Binance REST endpoint.
+     *
+     * @param baseUri        base URI of the REST API, without path
+     * @param symbolRegistry the registry assigning symbol ids
+     */
+    public BinanceDepthSnapshotFetcher(final String baseUri, final SymbolRegistry symbolRegistry) {
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUri)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES))
+                .build();
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    @Override
+    public Mono<DepthSnapshot> fetch(final String symbol, final int limit) {
+        return webClient.get()
+                .uri(DEPTH_PATH, symbol, limit)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .map(body -> {
+                    final DepthFrameParser parser = new DepthFrameParser(symbolRegistry);
+                    if (!parser.parseSnapshot(body, 0, body.length)) {
+                        throw new IllegalStateException("Malformed depth snapshot of " + symbol);
+                    }
+                    return DepthSnapshot.of(parser);
+                });
+    }
+}
@@ -0,0 +1,113 @@
+package com.crypto.alerting.ingestion.book;
+
+import java.util.Arrays;
+
+/**
+ * One side of an order book as parallel primitive arrays of price and
+ * quantity, kept sorted best first: descending prices for bids, ascending
+ * for asks. Levels are found by binary search and shifted in place, so
+ * updates allocate nothing.
+ * <p>
+ * At most {@code capacity} levels are kept. A level worse than all of them
+ * is ignored once the side is full, and inserting a better one drops the
+ * worst, so only the far end of a deep book is ever incomplete.
+ */
+final class BookSide {
+
+    private final boolean descending;
+    private final double[] prices;
+    private final double[] quantities;
+    private int size;
+
+    BookSide(final boolean descending, final int capacity) {
+        this.descending = descending;
+        this.prices = new double[capacity];
+        this.quantities = new double[capacity];
+    }
+
+    /**
+     * Sets the quantity of a price level; zero removes the level.
+     *
+     * @param price    level price
+     * @param quantity new level quantity
+     */
+    void set(final double price, final double quantity) {
+        final int found = search(price);
+        if (found >= 0) {
+            if (quantity == 0) {
+                System.arraycopy(prices, found + 1, prices, found, size - found - 1);
+                System.arraycopy(quantities, found + 1, quantities, found, size - found - 1);
+                size--;
+            } else {
+                quantities[found] = quantity;
+            }
+            return;
+        }
+
+        final int insertAt = -found - 1;
+        if (quantity == 0 || insertAt == prices.length) {
+            return;
+        }
+        final int moved = Math.min(size, prices.length - 1) - insertAt;
+        System.arraycopy(prices, insertAt, prices, insertAt + 1, moved);
+        System.arraycopy(quantities, insertAt, quantities, insertAt + 1, moved);
+        prices[insertAt] = price;
+        quantities[insertAt] = quantity;
+        size = Math.min(size + 1, prices.length);
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double price(final int level) {
+        return prices[level];
+    }
+
+    double quantity(final int level) {
+        return quantities[level];
+    }
+
+    /**
+     * Copies the best levels out.
+     *
+     * @param targetPrices     receives level prices
+     * @param targetQuantities receives level quantities
+     * @return number of levels copied
+     */
+    int copyTop(final double[] targetPrices, final double[] targetQuantities) {
+        final int count = Math.min(size, targetPrices.length);
+        System.arraycopy(prices, 0, targetPrices, 0, count);
+        System.arraycopy(quantities, 0, targetQuantities, 0, count);
+        return count;
+    }
+
+    /**
+     * Binary search in best-first order.
+     *
+     * @return index of the level, or {@code -(insertion point) - 1}
+     */
+    private int search(final double price) {
+        if (!descending) {
+            return Arrays.binarySearch(prices, 0, size, price);
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final double midPrice = prices[mid];
+            if (midPrice > price) {
+                low = mid + 1;
+            } else if (midPrice < price) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,195 @@
+package com.crypto.alerting.ingestion.book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The best levels of an order book, in reusable primitive arrays.
+ * Writers fill one instance per symbol and readers copy into their own, so
+ * publishing and reading the top of a book allocate nothing. Not
+ * thread-safe.
+ */
+public final class BookTop {
+
+    int symbolId;
+    long updateId = OrderBook.NO_UPDATE_ID;
+    long eventTime;
+    int bidCount;
+    int askCount;
+    final double[] bidPrices;
+    final double[] bidQuantities;
+    final double[] askPrices;
+    final double[] askQuantities;
+
+    /**
+     * Creates an empty view.
+     *
+     * @param depth number of levels held per side
+     */
+    public BookTop(final int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive");
+        }
+        this.bidPrices = new double[depth];
+        this.bidQuantities = new double[depth];
+        this.askPrices = new double[depth];
+        this.askQuantities = new double[depth];
+    }
+
+    /**
+     * Copies another view into this one, up to this view's depth.
+     *
+     * @param source the view to copy
+     */
+    public void copyFrom(final BookTop source) {
+        symbolId = source.symbolId;
+        updateId = source.updateId;
+        eventTime = source.eventTime;
+        bidCount = Math.min(source.bidCount, bidPrices.length);
+        askCount = Math.min(source.askCount, askPrices.length);
+        System.arraycopy(source.bidPrices, 0, bidPrices, 0, bidCount);
+        System.arraycopy(source.bidQuantities, 0, bidQuantities, 0, bidCount);
+        System.arraycopy(source.askPrices, 0, askPrices, 0, askCount);
+        System.arraycopy(source.askQuantities, 0, askQuantities, 0, askCount);
+    }
+
+    /**
+     * Returns the number of levels held per side.
+     *
+     * @return levels per side
+     */
+    public int depth() {
+        return bidPrices.length;
+    }
+
+    /**
+     * Returns the symbol id of the book.
+     *
+     * @return the symbol id
+     */
+    public int symbolId() {
+        return symbolId;
+    }
+
+    /**
+     * Returns the id of the last update included.
+     *
+     * @return last update id, or {@link OrderBook#NO_UPDATE_ID} if empty
+     */
+    public long updateId() {
+        return updateId;
+    }
+
+    /**
+     * Returns the exchange time of the last update.
+     *
+     * @return event time in epoch milliseconds
+     */
+    public long eventTime() {
+        return eventTime;
+    }
+
+    /**
+     * Returns the number of bid levels held.
+     *
+     * @return bid level count
+     */
+    public int bidCount() {
+        return bidCount;
+    }
+
+    /**
+     * Returns the number of ask levels held.
+     *
+     * @return ask level count
+     */
+    public int askCount() {
+        return askCount;
+    }
+
+    /**
+     * Returns the price of a bid level.
+     *
+     * @param level level index, best first
+     * @return level price
+     */
+    public double bidPrice(final int level) {
+        return bidPrices[level];
+    }
+
+    /**
+     * Returns the quantity of a bid level.
+     *
+     * @param level level index, best first
+     * @return level quantity
+     */
+    public double bidQuantity(final int level) {
+        return bidQuantities[level];
+    }
+
+    /**
+     * Returns the price of an ask level.
+     *
+     * @param level level index, best first
+     * @return level price
+     */
+    public double askPrice(final int level) {
+        return askPrices[level];
+    }
+
+    /**
+     * Returns the quantity of an ask level.
+     *
+     * @param level level index, best first
+     * @return level quantity
+     */
+    public double askQuantity(final int level) {
+        return askQuantities[level];
+    }
+
+    /**
+     * Returns the best bid price.
+     *
+     * @return highest bid, or {@link Double#NaN} if there are no bids
+     */
+    public double bestBid() {
+        return bidCount > 0 ? bidPrices[0] : Double.NaN;
+    }
+
+    /**
+     * Returns the best ask price.
+     *
+     * @return lowest ask, or {@link Double#NaN} if there are no asks
+     */
+    public double bestAsk() {
+        return askCount > 0 ? askPrices[0] : Double.NaN;
+    }
+
+    /**
+     * Returns the bid levels as price and quantity pairs. Allocates, so
+     * intended for responses rather than hot paths.
+     *
+     * @return bid levels, best first
+     */
+    public List<double[]> bids() {
+        return levels(bidPrices, bidQuantities, bidCount);
+    }
+
+    /**
+     * Returns the ask levels as price and quantity pairs. Allocates, so
+     * intended for responses rather than hot paths.
+     *
+     * @return ask levels, best first
+     */
+    public List<double[]> asks() {
+        return levels(askPrices, askQuantities, askCount);
+    }
+
+    private static List<double[]> levels(final double[] prices, final double[] quantities, final int count) {
+        final List<double[]> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            levels.add(new double[] { prices[i], quantities[i] });
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,46 @@
+package com.crypto.alerting.ingestion.book;
+
+import com.crypto.alerting.ingestion.parser.DepthFrameParser;
+
+/**
+ * A full order book as of one update id, the starting point that depth
+ * updates are applied to. Levels are in exchange order, best first.
+ *
+ * @param lastUpdateId     id of the last update included
+ * @param bidPrices        bid level prices
+ * @param bidQuantities    bid level quantities
+ * @param askPrices        ask level prices
+ * @param askQuantities    ask level quantities
+ */
+public record DepthSnapshot(long lastUpdateId, double[] bidPrices, double[] bidQuantities, double[] askPrices,
+        double[] askQuantities) {
+
+    public DepthSnapshot {
+        if (bidPrices.length != bidQuantities.length || askPrices.length != askQuantities.length) {
+            throw new IllegalArgumentException("Level prices and quantities differ in length");
+        }
+    }
+
+    /**
+     * Copies the snapshot a parser decoded last.
+     *
+     * @param parser a parser whose last call to
+     *               {@link DepthFrameParser#parseSnapshot(byte[], int, int)} succeeded
+     * @return the snapshot
+     */
+    public static DepthSnapshot of(final DepthFrameParser parser) {
+        final double[] bidPrices = new double[parser.getBidCount()];
+        final double[] bidQuantities = new double[bidPrices.length];
+        for (int i = 0; i < bidPrices.length; i++) {
+            bidPrices[i] = parser.getBidPrice(i);
+            bidQuantities[i] = parser.getBidQuantity(i);
+        }
+        final double[] askPrices = new double[parser.getAskCount()];
+        final double[] askQuantities = new double[askPrices.length];
+        for (int i = 0; i < askPrices.length; i++) {
+            askPrices[i] = parser.getAskPrice(i);
+            askQuantities[i] = parser.getAskQuantity(i);
+        }
+        return new DepthSnapshot(parser.getFinalUpdateId(), bidPrices, bidQuantities, askPrices, askQuantities);
+    }
+}
@@ -0,0 +1,21 @@
+package com.crypto.alerting.ingestion.book;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches the full order book of a symbol, typically from the exchange's
+ * REST depth endpoint. Register a bean of this type to replace the Binance
+ * fetcher, e.g. with a local stub.
+ */
+@FunctionalInterface
+public interface DepthSnapshotFetcher {
+
+    /**
+     * Fetches a snapshot.
+     *
+     * @param symbol upper-case ticker symbol
+     * @param limit  maximum number of levels per side
+     * @return the snapshot
+     */
+    Mono<DepthSnapshot> fetch(String symbol, int limit);
+}
@@ -0,0 +1,199 @@
+package com.crypto.alerting.ingestion.book;
+
+import com.crypto.alerting.ingestion.parser.DepthFrameParser;
+
+/**
+ * Local L2 order book of one symbol, rebuilt from a {@link DepthSnapshot}
+ * and kept current by depth updates.
+ * Updates are checked against the book's update id the way Binance
+ * prescribes: an update ending at or before it is stale; the first update
+ * after a snapshot must span the id after it ({@code U <= id + 1 <= u}),
+ * and every later one must start right after it ({@code U == id + 1}).
+ * Anything else is a gap and the book must be reloaded.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class OrderBook {
+
+    /**
+     * Update id of a book that holds no snapshot.
+     */
+    public static final long NO_UPDATE_ID = -1L;
+
+    /**
+     * Outcome of applying a depth update.
+     */
+    public enum Update {
+        /**
+         * The update was applied.
+         */
+        APPLIED,
+        /**
+         * The update was already part of the book and was skipped.
+         */
+        STALE,
+        /**
+         * Updates are missing before this one; the book must be reloaded.
+         */
+        GAP
+    }
+
+    private final int symbolId;
+    private final BookSide bids;
+    private final BookSide asks;
+    private long lastUpdateId = NO_UPDATE_ID;
+    private boolean firstUpdatePending;
+
+    /**
+     * Creates an empty, unsynced book.
+     *
+     * @param symbolId  the symbol id
+     * @param maxLevels maximum number of levels kept per side
+     */
+    public OrderBook(final int symbolId, final int maxLevels) {
+        if (maxLevels <= 0) {
+            throw new IllegalArgumentException("maxLevels must be positive");
+        }
+        this.symbolId = symbolId;
+        this.bids = new BookSide(true, maxLevels);
+        this.asks = new BookSide(false, maxLevels);
+    }
+
+    /**
+     * Returns the symbol id of this book.
+     *
+     * @return the symbol id
+     */
+    public int symbolId() {
+        return symbolId;
+    }
+
+    /**
+     * Returns whether the book holds a snapshot that updates can be applied to.
+     *
+     * @return true once loaded and until reset
+     */
+    public boolean isSynced() {
+        return lastUpdateId != NO_UPDATE_ID;
+    }
+
+    /**
+     * Returns the id of the last update included in the book.
+     *
+     * @return last update id, or {@link #NO_UPDATE_ID} if not synced
+     */
+    public long lastUpdateId() {
+        return lastUpdateId;
+    }
+
+    /**
+     * Replaces the book's content with a snapshot.
+     *
+     * @param snapshot the snapshot
+     */
+    public void load(final DepthSnapshot snapshot) {
+        bids.clear();
+        asks.clear();
+        for (int i = 0; i < snapshot.bidPrices().length; i++) {
+            bids.set(snapshot.bidPrices()[i], snapshot.bidQuantities()[i]);
+        }
+        for (int i = 0; i < snapshot.askPrices().length; i++) {
+            asks.set(snapshot.askPrices()[i], snapshot.askQuantities()[i]);
+        }
+        lastUpdateId = snapshot.lastUpdateId();
+        firstUpdatePending = true;
+    }
+
+    /**
+     * Empties the book until the next snapshot.
+     */
+    public void reset() {
+        bids.clear();
+        asks.clear();
+        lastUpdateId = NO_UPDATE_ID;
+        firstUpdatePending = false;
+    }
+
+    /**
+     * Applies the depth update a parser decoded last.
+     *
+     * @param update a parser whose last call to parseUpdate succeeded
+     * @return the outcome
+     * @throws IllegalStateException if the book is not synced
+     */
+    public Update apply(final DepthFrameParser update) {
+        if (!isSynced()) {
+            throw new IllegalStateException("Order book is not synced");
+        }
+        if (update.getFinalUpdateId() <= lastUpdateId) {
+            return Update.STALE;
+        }
+        final long next = lastUpdateId + 1;
+        final boolean continuous = firstUpdatePending
+                ? update.getFirstUpdateId() <= next
+                : update.getFirstUpdateId() == next;
+        if (!continuous) {
+            return Update.GAP;
+        }
+
+        for (int i = 0; i < update.getBidCount(); i++) {
+            bids.set(update.getBidPrice(i), update.getBidQuantity(i));
+        }
+        for (int i = 0; i < update.getAskCount(); i++) {
+            asks.set(update.getAskPrice(i), update.getAskQuantity(i));
+        }
+        lastUpdateId = update.getFinalUpdateId();
+        firstUpdatePending = false;
+        return Update.APPLIED;
+    }
+
+    /**
+     * Returns the number of bid levels.
+     *
+     * @return bid level count
+     */
+    public int bidLevels() {
+        return bids.size();
+    }
+
+    /**
+     * Returns the number of ask levels.
+     *
+     * @return ask level count
+     */
+    public int askLevels() {
+        return asks.size();
+    }
+
+    /**
+     * Returns the best bid price.
+     *
+     * @return highest bid, or {@link Double#NaN} if there are no bids
+     */
+    public double bestBid() {
+        return bids.size() > 0 ? bids.price(0) : Double.NaN;
+    }
+
+    /**
+     * Returns the best ask price.
+     *
+     * @return lowest ask, or {@link Double#NaN} if there are no asks
+     */
+    public double bestAsk() {
+        return asks.size() > 0 ? asks.price(0) : Double.NaN;
+    }
+
+    /**
+     * Copies the best levels of both sides into a reusable view.
+     *
+     * @param target    the view to fill, sized for the levels wanted
+     * @param eventTime exchange time of the last update, in epoch milliseconds
+     */
+    public void copyTop(final BookTop target, final long eventTime) {
+        target.symbolId = symbolId;
+        target.updateId = lastUpdateId;
+        target.eventTime = eventTime;
+        target.bidCount = bids.copyTop(target.bidPrices, target.bidQuantities);
+        target.askCount = asks.copyTop(target.askPrices, target.askQuantities);
+    }
+}
@@ -0,0 +1,27 @@
+package com.crypto.alerting.ingestion.book;
+
+import java.util.List;
+
+/**
+ * The best levels of an order book as returned to REST clients. Each level
+ * is a {@code [price, quantity]} pair, best first.
+ *
+ * @param symbol    ticker symbol
+ * @param updateId  id of the last update included
+ * @param eventTime exchange time of the last update, in epoch milliseconds
+ * @param bids      bid levels
+ * @param asks      ask levels
+ */
+public record OrderBookView(String symbol, long updateId, long eventTime, List<double[]> bids, List<double[]> asks) {
+
+    /**
+     * Copies a top of book into a view.
+     *
+     * @param symbol the ticker symbol
+     * @param top    the top of book
+     * @return the view
+     */
+    public static OrderBookView of(final String symbol, final BookTop top) {
+        return new OrderBookView(symbol, top.updateId(), top.eventTime(), top.bids(), top.asks());
+    }
+}
@@ -0,0 +1,20 @@
+package com.crypto.alerting.ingestion.candle;
+
+/**
+ * One OHLCV bar.
+ *
+ * @param symbol   ticker symbol
+ * @param interval interval label, e.g. {@code 1m}
+ * @param openTime bar start, epoch milliseconds
+ * @param open     first trade price
+ * @param high     highest trade price
+ * @param low      lowest trade price
+ * @param close    last trade price
+ * @param volume   traded base quantity
+ * @param vwap     volume-weighted average price; the close when no quantity was reported
+ * @param trades   number of trades
+ * @param closed   whether the bar is complete
+ */
+public record Candle(String symbol, String interval, long openTime, double open, double high, double low,
+        double close, double volume, double vwap, long trades, boolean closed) {
+}
@@ -0,0 +1,172 @@
+package com.crypto.alerting.ingestion.candle;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.CandleProperties;
+import com.crypto.alerting.ingestion.service.SymbolFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Aggregates ticks into 1s, 1m, 5m and 1h OHLCV bars per symbol.
+ * Each tick updates the bar in progress of every interval in constant time
+ * without allocating; closed bars are kept in fixed-capacity primitive rings
+ * and broadcast to candle stream subscribers.
+ */
+@Service
+@Slf4j
+public final class CandleAggregator {
+
+    // Dependencies
+    private final CandleProperties candleProperties;
+    private final SymbolRegistry symbolRegistry;
+
+    // Constants
+    private static final String METRIC_CLOSED = "ingestion.candles.closed";
+    private static final String TAG_INTERVAL = "interval";
+    private static final CandleInterval[] INTERVALS = CandleInterval.values();
+
+    private final AtomicReferenceArray<CandleSeries[]> series;
+    private final Sinks.Many<Candle> closedCandles = Sinks.many().multicast().directBestEffort();
+
+    // Metrics, indexed by interval ordinal
+    private final Counter[] closedCounters = new Counter[INTERVALS.length];
+
+    /**
+     * Creates the aggregator and registers its metrics.
+     *
+     * @param candleProperties the aggregation configuration
+     * @param symbolRegistry   the registry assigning symbol ids
+     * @param meterRegistry    the meter registry
+     */
+    public CandleAggregator(final CandleProperties candleProperties, final SymbolRegistry symbolRegistry,
+            final MeterRegistry meterRegistry) {
+        if (candleProperties.getCapacity() <= 0) {
+            throw new IllegalArgumentException("candle capacity must be positive");
+        }
+        this.candleProperties = candleProperties;
+        this.symbolRegistry = symbolRegistry;
+        this.series = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        for (final CandleInterval interval : INTERVALS) {
+            closedCounters[interval.ordinal()] = Counter.builder(METRIC_CLOSED)
+                    .description("Candles closed per interval")
+                    .tag(TAG_INTERVAL, interval.label())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Adds a tick to every interval of its symbol. Allocates only when a bar
+     * closes while candle stream subscribers are connected.
+     *
+     * @param tick the tick
+     */
+    public void update(final PriceTick tick) {
+        final CandleSeries[] symbolSeries = seriesOf(tick.getSymbolId());
+        int closedMask = 0;
+        // A symbol is fed by one shard, so this lock is uncontended apart from readers
+        synchronized (symbolSeries) {
+            for (int i = 0; i < symbolSeries.length; i++) {
+                if (symbolSeries[i].update(tick.getTimestamp(), tick.getPrice(), tick.getQuantity())) {
+                    closedMask |= 1 << i;
+                }
+            }
+        }
+        if (closedMask != 0) {
+            onClosed(tick.getSymbolId(), symbolSeries, closedMask);
+        }
+    }
+
+    /**
+     * Adds a trade recovered through backfill to the bars it belongs to.
+     * Bars closed before the trade arrived are corrected in place but not
+     * broadcast again; see {@link CandleSeries#backfill} for what changes.
+     *
+     * @param tick the backfilled tick, older than ticks already aggregated
+     */
+    public void backfill(final PriceTick tick) {
+        final CandleSeries[] symbolSeries = seriesOf(tick.getSymbolId());
+        synchronized (symbolSeries) {
+            for (final CandleSeries intervalSeries : symbolSeries) {
+                intervalSeries.backfill(tick.getTimestamp(), tick.getPrice(), tick.getQuantity());
+            }
+        }
+    }
+
+    /**
+     * Returns the latest bars of a symbol, oldest first, ending with the bar
+     * in progress.
+     *
+     * @param symbol   the ticker symbol
+     * @param interval the bar interval
+     * @param limit    maximum number of bars
+     * @return the bars; empty if the symbol has not traded
+     */
+    public List<Candle> getCandles(final String symbol, final CandleInterval interval, final int limit) {
+        final int id = symbolRegistry.idOf(symbol);
+        if (id == SymbolRegistry.UNKNOWN) {
+            return List.of();
+        }
+        final CandleSeries[] symbolSeries = series.get(id);
+        if (symbolSeries == null) {
+            return List.of();
+        }
+        synchronized (symbolSeries) {
+            return symbolSeries[interval.ordinal()].latest(symbolRegistry.symbolOf(id), limit);
+        }
+    }
+
+    /**
+     * Streams bars as they close. Subscribers that cannot keep up miss bars
+     * rather than holding back aggregation.
+     *
+     * @param filter   the tickers to receive
+     * @param interval the bar interval
+     * @return Flux of closed bars
+     */
+    public Flux<Candle> streamClosed(final SymbolFilter filter, final CandleInterval interval) {
+        return closedCandles.asFlux()
+                .filter(candle -> candle.interval().equals(interval.label()) && filter.matches(candle.symbol()));
+    }
+
+    private void onClosed(final int symbolId, final CandleSeries[] symbolSeries, final int closedMask) {
+        final boolean publish = closedCandles.currentSubscriberCount() > 0;
+        for (int i = 0; i < symbolSeries.length; i++) {
+            if ((closedMask & (1 << i)) == 0) {
+                continue;
+            }
+            closedCounters[i].increment();
+            if (!publish) {
+                continue;
+            }
+            final Candle candle;
+            synchronized (symbolSeries) {
+                candle = symbolSeries[i].lastClosed(symbolRegistry.symbolOf(symbolId));
+            }
+            // The sink rejects concurrent emitters instead of blocking them; shards race only briefly
+            while (closedCandles.tryEmitNext(candle) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private CandleSeries[] seriesOf(final int symbolId) {
+        final CandleSeries[] existing = series.get(symbolId);
+        if (existing != null) {
+            return existing;
+        }
+        final CandleSeries[] created = new CandleSeries[INTERVALS.length];
+        for (final CandleInterval interval : INTERVALS) {
+            created[interval.ordinal()] = new CandleSeries(interval, candleProperties.getCapacity());
+        }
+        series.compareAndSet(symbolId, null, created);
+        return series.get(symbolId);
+    }
+}
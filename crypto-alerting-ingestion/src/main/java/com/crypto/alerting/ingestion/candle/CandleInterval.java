@@ -0,0 +1,60 @@
+package com.crypto.alerting.ingestion.candle;
+
+import java.util.Locale;
+
+/**
+ * Bar lengths aggregated for every symbol. Bars are aligned to multiples of
+ * the interval since the epoch (UTC).
+ */
+public enum CandleInterval {
+
+    S1("1s", 1_000L),
+    M1("1m", 60_000L),
+    M5("5m", 300_000L),
+    H1("1h", 3_600_000L);
+
+    private static final CandleInterval[] VALUES = values();
+
+    private final String label;
+    private final long millis;
+
+    CandleInterval(final String label, final long millis) {
+        this.label = label;
+        this.millis = millis;
+    }
+
+    /**
+     * Returns the interval's label, e.g. {@code 5m}.
+     *
+     * @return the label
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Returns the interval length.
+     *
+     * @return length in milliseconds
+     */
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * Parses an interval label.
+     *
+     * @param label one of {@code 1s}, {@code 1m}, {@code 5m}, {@code 1h}
+     * @return the interval
+     * @throws IllegalArgumentException if the label is unknown
+     */
+    public static CandleInterval parse(final String label) {
+        final String normalized = label == null ? "" : label.trim().toLowerCase(Locale.ROOT);
+        for (final CandleInterval interval : VALUES) {
+            if (interval.label.equals(normalized)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unknown candle interval: " + label + " (expected 1s, 1m, 5m or 1h)");
+    }
+}
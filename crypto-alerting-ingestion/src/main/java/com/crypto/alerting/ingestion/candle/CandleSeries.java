@@ -0,0 +1,208 @@
+package com.crypto.alerting.ingestion.candle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bars of one symbol at one interval: the bar in progress plus the most
+ * recent closed bars in a fixed-capacity ring of primitive arrays.
+ * <p>
+ * A tick updates the bar in progress in constant time and allocates nothing;
+ * a tick belonging to a later bar first moves the bar in progress into the
+ * ring. Intervals without trades produce no bar. A tick older than the bar in
+ * progress is folded into it rather than reopening a closed bar. Backfilled
+ * trades take the separate {@link #backfill} path, which corrects the bar
+ * they belong to instead.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+final class CandleSeries {
+
+    private static final long NO_BAR = Long.MIN_VALUE;
+
+    private final CandleInterval interval;
+    private final int capacity;
+
+    // Ring of closed bars; next is the slot the next closed bar goes to
+    private final long[] openTimes;
+    private final double[] opens;
+    private final double[] highs;
+    private final double[] lows;
+    private final double[] closes;
+    private final double[] volumes;
+    private final double[] notionals;
+    private final long[] tradeCounts;
+    private int next;
+    private int size;
+
+    // Bar in progress
+    private long liveOpenTime = NO_BAR;
+    private double liveOpen;
+    private double liveHigh;
+    private double liveLow;
+    private double liveClose;
+    private double liveVolume;
+    private double liveNotional;
+    private long liveTrades;
+
+    CandleSeries(final CandleInterval interval, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.interval = interval;
+        this.capacity = capacity;
+        this.openTimes = new long[capacity];
+        this.opens = new double[capacity];
+        this.highs = new double[capacity];
+        this.lows = new double[capacity];
+        this.closes = new double[capacity];
+        this.volumes = new double[capacity];
+        this.notionals = new double[capacity];
+        this.tradeCounts = new long[capacity];
+    }
+
+    /**
+     * Adds a trade to the series.
+     *
+     * @param timestamp trade time, epoch milliseconds
+     * @param price     trade price
+     * @param quantity  trade quantity, or {@link Double#NaN} if unknown
+     * @return true if the trade closed the previous bar
+     */
+    boolean update(final long timestamp, final double price, final double quantity) {
+        final long openTime = timestamp - Math.floorMod(timestamp, interval.millis());
+        boolean closed = false;
+        if (liveOpenTime == NO_BAR || openTime > liveOpenTime) {
+            if (liveOpenTime != NO_BAR) {
+                closeLive();
+                closed = true;
+            }
+            liveOpenTime = openTime;
+            liveOpen = price;
+            liveHigh = price;
+            liveLow = price;
+            liveVolume = 0.0;
+            liveNotional = 0.0;
+            liveTrades = 0L;
+        }
+
+        if (price > liveHigh) {
+            liveHigh = price;
+        }
+        if (price < liveLow) {
+            liveLow = price;
+        }
+        liveClose = price;
+        if (!Double.isNaN(quantity)) {
+            liveVolume += quantity;
+            liveNotional += quantity * price;
+        }
+        liveTrades++;
+        return closed;
+    }
+
+    /**
+     * Adds a trade recovered through backfill to the bar of its own interval,
+     * which may be the bar in progress or a closed bar still in the ring.
+     * The trade can widen the bar's high and low and adds to its volume and
+     * trade count. Open and close stay those of the trades seen live, since a
+     * backfilled trade happened between them. A trade whose interval has no
+     * bar, or whose bar has left the ring, is not added.
+     *
+     * @param timestamp trade time, epoch milliseconds
+     * @param price     trade price
+     * @param quantity  trade quantity, or {@link Double#NaN} if unknown
+     * @return true if a bar took the trade
+     */
+    boolean backfill(final long timestamp, final double price, final double quantity) {
+        final long openTime = timestamp - Math.floorMod(timestamp, interval.millis());
+        if (liveOpenTime == NO_BAR || openTime > liveOpenTime) {
+            return false;
+        }
+        if (openTime == liveOpenTime) {
+            liveHigh = Math.max(liveHigh, price);
+            liveLow = Math.min(liveLow, price);
+            if (!Double.isNaN(quantity)) {
+                liveVolume += quantity;
+                liveNotional += quantity * price;
+            }
+            liveTrades++;
+            return true;
+        }
+        for (int i = 1; i <= size; i++) {
+            final int slot = (next - i + capacity) % capacity;
+            if (openTimes[slot] < openTime) {
+                return false;
+            }
+            if (openTimes[slot] == openTime) {
+                highs[slot] = Math.max(highs[slot], price);
+                lows[slot] = Math.min(lows[slot], price);
+                if (!Double.isNaN(quantity)) {
+                    volumes[slot] += quantity;
+                    notionals[slot] += quantity * price;
+                }
+                tradeCounts[slot]++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the most recently closed bar.
+     *
+     * @param symbol the symbol, for the returned candle
+     * @return the bar, or null if none has closed yet
+     */
+    Candle lastClosed(final String symbol) {
+        return size == 0 ? null : closedAt(symbol, (next - 1 + capacity) % capacity);
+    }
+
+    /**
+     * Copies out the latest bars, oldest first: up to {@code limit - 1} closed
+     * bars followed by the bar in progress, or {@code limit} closed bars when
+     * no bar is in progress.
+     *
+     * @param symbol the symbol, for the returned candles
+     * @param limit  maximum number of bars
+     * @return the bars
+     */
+    List<Candle> latest(final String symbol, final int limit) {
+        final boolean live = liveOpenTime != NO_BAR;
+        final int closedCount = Math.max(0, Math.min(size, live ? limit - 1 : limit));
+        final List<Candle> candles = new ArrayList<>(closedCount + 1);
+        for (int i = closedCount; i > 0; i--) {
+            candles.add(closedAt(symbol, (next - i + capacity) % capacity));
+        }
+        if (live && limit > 0) {
+            candles.add(new Candle(symbol, interval.label(), liveOpenTime, liveOpen, liveHigh, liveLow, liveClose,
+                    liveVolume, vwap(liveVolume, liveNotional, liveClose), liveTrades, false));
+        }
+        return candles;
+    }
+
+    private void closeLive() {
+        openTimes[next] = liveOpenTime;
+        opens[next] = liveOpen;
+        highs[next] = liveHigh;
+        lows[next] = liveLow;
+        closes[next] = liveClose;
+        volumes[next] = liveVolume;
+        notionals[next] = liveNotional;
+        tradeCounts[next] = liveTrades;
+        next = next + 1 == capacity ? 0 : next + 1;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    private Candle closedAt(final String symbol, final int slot) {
+        return new Candle(symbol, interval.label(), openTimes[slot], opens[slot], highs[slot], lows[slot],
+                closes[slot], volumes[slot], vwap(volumes[slot], notionals[slot], closes[slot]), tradeCounts[slot],
+                true);
+    }
+
+    private static double vwap(final double volume, final double notional, final double close) {
+        return volume > 0.0 ? notional / volume : close;
+    }
+}
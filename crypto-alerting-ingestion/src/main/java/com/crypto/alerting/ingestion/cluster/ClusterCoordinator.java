@@ -0,0 +1,129 @@
+package com.crypto.alerting.ingestion.cluster;
+
+import com.crypto.alerting.ingestion.service.BinanceDepthClient;
+import com.crypto.alerting.ingestion.service.BinanceWebSocketClient;
+import com.crypto.alerting.ingestion.service.VenueFeedClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Switches this node between leader and follower as the election decides.
+ * The leader holds the exchange feed and publishes to Kafka; a follower
+ * fills its price stream from what the leader published. Kafka input thus
+ * stays that of one node however many nodes serve subscribers. Order books,
+ * the feeds of other venues, the tick journal and candles need more than the
+ * published prices carry, so only the leader keeps them.
+ */
+@Service
+@Slf4j
+public final class ClusterCoordinator {
+
+    // Dependencies
+    private final LeaderElector leaderElector;
+    private final BinanceWebSocketClient binanceWebSocketClient;
+    private final BinanceDepthClient binanceDepthClient;
+    private final VenueFeedClient venueFeedClient;
+    private final FollowerFeed followerFeed;
+
+    // Constants
+    private static final String METRIC_LEADER = "ingestion.cluster.leader";
+    private static final Duration RETRY_MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    // Null until the first election result
+    private volatile Boolean leader;
+    private volatile Disposable subscription;
+
+    /**
+     * Creates the coordinator and registers its metrics.
+     *
+     * @param leaderElector          the election to take part in
+     * @param binanceWebSocketClient the exchange feed held by the leader
+     * @param binanceDepthClient     the order book feed held by the leader
+     * @param venueFeedClient        the other venues' feeds held by the leader
+     * @param followerFeed           the feed of a follower
+     * @param meterRegistry          the meter registry
+     */
+    public ClusterCoordinator(final LeaderElector leaderElector, final BinanceWebSocketClient binanceWebSocketClient,
+            final BinanceDepthClient binanceDepthClient, final VenueFeedClient venueFeedClient,
+            final FollowerFeed followerFeed, final MeterRegistry meterRegistry) {
+        this.leaderElector = leaderElector;
+        this.binanceWebSocketClient = binanceWebSocketClient;
+        this.binanceDepthClient = binanceDepthClient;
+        this.venueFeedClient = venueFeedClient;
+        this.followerFeed = followerFeed;
+        Gauge.builder(METRIC_LEADER, this, coordinator -> coordinator.isLeader() ? 1 : 0)
+                .description("Whether this node holds the exchange feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Joins the election. A failed election is treated as lost leadership
+     * until it is rejoined.
+     */
+    @PostConstruct
+    public void start() {
+        subscription = leaderElector.leadership()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RETRY_MIN_BACKOFF)
+                        .maxBackoff(RETRY_MAX_BACKOFF)
+                        .doBeforeRetry(signal -> {
+                            log.warn("Leader election failed, rejoining (attempt {})",
+                                    signal.totalRetries() + 1, signal.failure());
+                            onLeadership(false);
+                        }))
+                .subscribe(this::onLeadership);
+    }
+
+    /**
+     * Leaves the election, letting another node take over the feed.
+     */
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Returns whether this node currently holds the exchange feed.
+     *
+     * @return true if leading
+     */
+    public boolean isLeader() {
+        return Boolean.TRUE.equals(leader);
+    }
+
+    /**
+     * Applies an election result, ignoring repeats.
+     *
+     * @param leads whether this node leads
+     */
+    private synchronized void onLeadership(final boolean leads) {
+        if (leader != null && leader == leads) {
+            return;
+        }
+        leader = leads;
+        if (leads) {
+            log.info("Elected leader, taking over the exchange feed");
+            followerFeed.stop();
+            binanceWebSocketClient.connect();
+            binanceDepthClient.connect();
+            venueFeedClient.connect();
+        } else {
+            log.info("Following the leader's published prices");
+            binanceWebSocketClient.disconnect();
+            binanceDepthClient.disconnect();
+            venueFeedClient.disconnect();
+            followerFeed.start();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.crypto.alerting.ingestion.cluster;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Feeds a follower node from the prices its leader published. Records of
+ * the raw prices topic are read in a consumer group of this node's own,
+ * from the latest offsets and without commits, and broadcast on the same
+ * price stream the exchange feed fills on the leader, so every node serves
+ * the price stream and snapshots while only the leader reads the exchange.
+ * <p>
+ * Published prices carry neither quantity nor trade id, may be consolidated
+ * rather than traded, and exclude backfilled trades, so they are not fit to
+ * journal or to aggregate into candles. The tick journal and candles are
+ * therefore kept by the leader only, and {@code /api/ticks} and
+ * {@code /api/candles} are served by the leader.
+ */
+@Service
+@Slf4j
+public final class FollowerFeed {
+
+    // Dependencies
+    private final KafkaReceiver<String, PriceEvent> followerReceiver;
+    private final PriceStreamService priceStreamService;
+    private final SymbolRegistry symbolRegistry;
+
+    // Constants
+    private static final String METRIC_RECEIVED = "ingestion.follower.received";
+    private static final String METRIC_MALFORMED = "ingestion.follower.malformed";
+    private static final Duration RETRY_MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private volatile Disposable subscription;
+
+    // Metrics
+    private final Counter received;
+    private final Counter malformed;
+
+    /**
+     * Creates the feed and registers its metrics.
+     *
+     * @param followerReceiver   the receiver of the raw prices topic
+     * @param priceStreamService the stream to fill
+     * @param symbolRegistry     the registry assigning symbol ids
+     * @param meterRegistry      the meter registry
+     */
+    public FollowerFeed(final KafkaReceiver<String, PriceEvent> followerReceiver,
+            final PriceStreamService priceStreamService, final SymbolRegistry symbolRegistry,
+            final MeterRegistry meterRegistry) {
+        this.followerReceiver = followerReceiver;
+        this.priceStreamService = priceStreamService;
+        this.symbolRegistry = symbolRegistry;
+        this.received = Counter.builder(METRIC_RECEIVED)
+                .description("Price events a follower received from the leader")
+                .register(meterRegistry);
+        this.malformed = Counter.builder(METRIC_MALFORMED)
+                .description("Price records a follower could not use")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts following the raw prices topic, unless already following it.
+     */
+    public synchronized void start() {
+        if (subscription != null && !subscription.isDisposed()) {
+            return;
+        }
+        log.info("Following published prices");
+        subscription = consume()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RETRY_MIN_BACKOFF)
+                        .maxBackoff(RETRY_MAX_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Follower feed failed, resubscribing (attempt {})",
+                                signal.totalRetries() + 1, signal.failure())))
+                .subscribe();
+    }
+
+    /**
+     * Stops following the raw prices topic.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        final Disposable current = subscription;
+        if (current != null && !current.isDisposed()) {
+            log.info("No longer following published prices");
+            current.dispose();
+        }
+    }
+
+    /**
+     * Builds the pipeline applying each received price.
+     * Package-private for testing purposes.
+     *
+     * @return Flux of the ticks applied
+     */
+    Flux<PriceTick> consume() {
+        return followerReceiver.receive()
+                .handle((record, sink) -> {
+                    final PriceTick tick = toTick(record);
+                    if (tick != null) {
+                        apply(tick);
+                        sink.next(tick);
+                    }
+                });
+    }
+
+    private PriceTick toTick(final ReceiverRecord<String, PriceEvent> record) {
+        final PriceEvent event = record.value();
+        if (event == null || event.getTicker() == null || event.getPrice() == null || event.getTimestamp() == null
+                || record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+            malformed.increment();
+            log.warn("Skipping malformed price record at {}-{}@{}", record.topic(), record.partition(),
+                    record.offset());
+            return null;
+        }
+        return PriceTick.fromPriceEvent(event, symbolRegistry);
+    }
+
+    private void apply(final PriceTick tick) {
+        received.increment();
+        priceStreamService.broadcastTick(tick);
+    }
+}
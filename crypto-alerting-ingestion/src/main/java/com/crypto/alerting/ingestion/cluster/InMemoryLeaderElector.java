@@ -0,0 +1,72 @@
+package com.crypto.alerting.ingestion.cluster;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Leader election within one JVM. Electors sharing a {@link Lease} compete
+ * for it: the first to join leads, and when it leaves the longest waiting
+ * elector takes over. A lease with a single elector is standalone mode;
+ * several model a cluster in tests.
+ */
+public final class InMemoryLeaderElector implements LeaderElector {
+
+    private final Lease lease;
+    private final Sinks.Many<Boolean> changes = Sinks.many().replay().latest();
+
+    /**
+     * Creates an elector competing for a lease.
+     *
+     * @param lease the lease
+     */
+    public InMemoryLeaderElector(final Lease lease) {
+        this.lease = lease;
+    }
+
+    @Override
+    public Flux<Boolean> leadership() {
+        return Flux.defer(() -> {
+                    lease.join(this);
+                    return changes.asFlux();
+                })
+                .doFinally(signal -> lease.leave(this));
+    }
+
+    private void emit(final boolean leader) {
+        // Only called under the lease lock, so emissions never race
+        changes.tryEmitNext(leader);
+    }
+
+    /**
+     * A lease shared by competing electors.
+     */
+    public static final class Lease {
+
+        private final Deque<InMemoryLeaderElector> waiting = new ArrayDeque<>();
+        private InMemoryLeaderElector holder;
+
+        private synchronized void join(final InMemoryLeaderElector elector) {
+            if (holder == null) {
+                holder = elector;
+                elector.emit(true);
+            } else {
+                waiting.addLast(elector);
+                elector.emit(false);
+            }
+        }
+
+        private synchronized void leave(final InMemoryLeaderElector elector) {
+            if (holder != elector) {
+                waiting.remove(elector);
+                return;
+            }
+            holder = waiting.pollFirst();
+            if (holder != null) {
+                holder.emit(true);
+            }
+        }
+    }
+}
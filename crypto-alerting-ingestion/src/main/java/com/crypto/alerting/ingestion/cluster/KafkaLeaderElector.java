@@ -0,0 +1,62 @@
+package com.crypto.alerting.ingestion.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+
+/**
+ * Leader election through a Kafka consumer group. Every node subscribes to
+ * the same single-partition lease topic in the same group; the member the
+ * group coordinator assigns the partition to leads. Heartbeats renew the
+ * lease, and a leader that stops heartbeating loses it after the session
+ * timeout, when the partition moves to another member.
+ * <p>
+ * Expects a cooperative sticky assignor, so a node joining the group does
+ * not take the partition from the current leader. A leader cut off from the
+ * brokers only learns it was replaced once it reconnects; until then both
+ * nodes publish, and downstream consumers may see a trade twice.
+ */
+@Slf4j
+public final class KafkaLeaderElector implements LeaderElector {
+
+    private final ReceiverOptions<byte[], byte[]> leaseOptions;
+
+    /**
+     * Creates an elector.
+     *
+     * @param leaseOptions receiver options subscribing to the lease topic in the lease group
+     */
+    public KafkaLeaderElector(final ReceiverOptions<byte[], byte[]> leaseOptions) {
+        this.leaseOptions = leaseOptions;
+    }
+
+    @Override
+    public Flux<Boolean> leadership() {
+        return Flux.defer(() -> {
+            // Listeners run on the consumer's polling thread, one at a time
+            final Sinks.Many<Boolean> changes = Sinks.many().unicast().onBackpressureBuffer();
+            final ReceiverOptions<byte[], byte[]> options = leaseOptions
+                    .addAssignListener(partitions -> {
+                        if (!partitions.isEmpty()) {
+                            log.info("Lease acquired: {}", partitions);
+                            changes.tryEmitNext(true);
+                        }
+                    })
+                    .addRevokeListener(partitions -> {
+                        if (!partitions.isEmpty()) {
+                            log.info("Lease lost: {}", partitions);
+                            changes.tryEmitNext(false);
+                        }
+                    });
+            // Polling keeps the membership, and with it the lease, alive; the topic carries no records
+            final Flux<Boolean> membership = KafkaReceiver.create(options)
+                    .receive()
+                    .thenMany(Flux.empty());
+            return Flux.merge(changes.asFlux(), membership)
+                    .startWith(false)
+                    .distinctUntilChanged();
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.crypto.alerting.ingestion.cluster;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Elects the one ingestion node that holds the exchange feed.
+ */
+public interface LeaderElector {
+
+    /**
+     * Joins the election. Emits whether this node leads, first as soon as
+     * it is known and then on every change; cancelling leaves the election
+     * and gives up the lease.
+     *
+     * @return Flux of leadership changes
+     */
+    Flux<Boolean> leadership();
+}
@@ -0,0 +1,16 @@
+package com.crypto.alerting.ingestion.config;
+
+import com.crypto.alerting.ingestion.sequence.TradeBackfill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BackfillConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TradeBackfill tradeBackfill() {
+        return TradeBackfill.NONE;
+    }
+}
@@ -0,0 +1,43 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the Binance market data feed.
+ * Defines the symbol universe and how it is sharded across WebSocket
+ * connections.
+ */
+@Data
+@ConfigurationProperties(prefix = "binance")
+public class BinanceProperties {
+
+    /**
+     * Hard limit imposed by Binance on the number of streams per connection.
+     */
+    public static final int MAX_STREAMS_PER_CONNECTION_LIMIT = 1024;
+
+    /**
+     * Base URI of the Binance WebSocket API, without path.
+     */
+    private String baseUri = "wss://stream.binance.com:9443";
+
+    /**
+     * Symbols to subscribe to, e.g. {@code btcusdt}.
+     */
+    private List<String> symbols = new ArrayList<>(List.of("btcusdt"));
+
+    /**
+     * Maximum number of streams multiplexed over a single connection.
+     */
+    private int maxStreamsPerConnection = 200;
+
+    /**
+     * Delay before a shard resubscribes after its session ends.
+     */
+    private Duration resubscribeDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,19 @@
+package com.crypto.alerting.ingestion.config;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.book.BinanceDepthSnapshotFetcher;
+import com.crypto.alerting.ingestion.book.DepthSnapshotFetcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BookConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DepthSnapshotFetcher depthSnapshotFetcher(final BookProperties bookProperties,
+            final SymbolRegistry symbolRegistry) {
+        return new BinanceDepthSnapshotFetcher(bookProperties.getSnapshotUri(), symbolRegistry);
+    }
+}
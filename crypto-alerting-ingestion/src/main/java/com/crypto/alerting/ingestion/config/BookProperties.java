@@ -0,0 +1,47 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the L2 order books built from Binance depth
+ * streams.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.book")
+public class BookProperties {
+
+    /**
+     * Whether to subscribe to depth streams and keep order books. Adds one
+     * stream per symbol to the exchange connections.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Depth stream update interval, {@code 100ms} or {@code 1s}.
+     */
+    private Duration updateInterval = Duration.ofMillis(100);
+
+    /**
+     * Base URI of the Binance REST API snapshots are fetched from.
+     */
+    private String snapshotUri = "https://api.binance.com";
+
+    /**
+     * Levels requested per snapshot and kept per book side. Binance accepts
+     * 5, 10, 20, 50, 100, 500, 1000 and 5000; request weight grows with it.
+     */
+    private int maxLevels = 1000;
+
+    /**
+     * Snapshots fetched at once, e.g. while all books sync after connecting.
+     */
+    private int snapshotConcurrency = 2;
+
+    /**
+     * Levels per side published as the top of each book.
+     */
+    private int topLevels = 10;
+}
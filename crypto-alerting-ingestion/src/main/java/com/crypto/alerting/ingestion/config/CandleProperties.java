@@ -0,0 +1,18 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for OHLCV candle aggregation.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.candles")
+public class CandleProperties {
+
+    /**
+     * Number of closed bars kept per symbol and interval. Older bars are
+     * overwritten.
+     */
+    private int capacity = 720;
+}
@@ -0,0 +1,48 @@
+package com.crypto.alerting.ingestion.config;
+
+import com.crypto.alerting.ingestion.cluster.InMemoryLeaderElector;
+import com.crypto.alerting.ingestion.cluster.KafkaLeaderElector;
+import com.crypto.alerting.ingestion.cluster.LeaderElector;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.receiver.ReceiverOptions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@RequiredArgsConstructor
+public class ClusterConfig {
+
+    private final ClusterProperties clusterProperties;
+    private final KafkaProducerProperties kafkaProducerProperties;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LeaderElector leaderElector() {
+        if (clusterProperties.getMode() == ClusterProperties.Mode.STANDALONE) {
+            // Nobody to compete with: the lease is granted as soon as it is asked for
+            return new InMemoryLeaderElector(new InMemoryLeaderElector.Lease());
+        }
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProducerProperties.getBootstrapServers());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, clusterProperties.getLeaseGroupId());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, (int) clusterProperties.getLeaseTimeout().toMillis());
+        props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, (int) clusterProperties.getLeaseTimeout().toMillis() / 3);
+        // Nodes joining the group must not move the partition away from the current leader
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new KafkaLeaderElector(ReceiverOptions.<byte[], byte[]>create(props)
+                .subscription(List.of(clusterProperties.getLeaseTopic())));
+    }
+}
@@ -0,0 +1,56 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for running several ingestion nodes, of which
+ * only the elected leader holds the exchange feed.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.cluster")
+public class ClusterProperties {
+
+    /**
+     * How the leader is elected.
+     */
+    private Mode mode = Mode.STANDALONE;
+
+    /**
+     * Single-partition topic whose consumer group membership is the lease:
+     * the member assigned the partition leads.
+     */
+    private String leaseTopic = "ingestion-leader";
+
+    /**
+     * Consumer group shared by every node competing for the lease.
+     */
+    private String leaseGroupId = "crypto-alerting-ingestion-leader";
+
+    /**
+     * Consumer {@code session.timeout.ms} of the lease: how long a leader
+     * that stopped heartbeating keeps the lease before a follower takes over.
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Prefix of the per-node consumer group followers read prices with.
+     */
+    private String followerGroupId = "crypto-alerting-ingestion-follower";
+
+    /**
+     * Supported election modes.
+     */
+    public enum Mode {
+        /**
+         * A single node, always the leader.
+         */
+        STANDALONE,
+        /**
+         * A lease held through a Kafka consumer group.
+         */
+        KAFKA
+    }
+}
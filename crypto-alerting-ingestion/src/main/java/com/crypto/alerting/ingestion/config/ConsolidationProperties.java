@@ -0,0 +1,32 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the cross-venue consolidated price.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.consolidation")
+public class ConsolidationProperties {
+
+    /**
+     * Whether to merge the trades of all venues into a consolidated price
+     * per symbol, served by {@code /api/prices/consolidated}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Age after which a venue's last trade no longer counts towards the
+     * consolidated price.
+     */
+    private Duration maxAge = Duration.ofSeconds(5);
+
+    /**
+     * Whether to publish the consolidated (median) price to Kafka whenever
+     * it changes, in place of the Binance trades, so alerts fire on it.
+     */
+    private boolean publish = false;
+}
@@ -0,0 +1,20 @@
+package com.crypto.alerting.ingestion.config;
+
+import com.crypto.alerting.ingestion.feed.BinanceFeedAdapter;
+import com.crypto.alerting.ingestion.feed.CoinbaseFeedAdapter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeedConfig {
+
+    @Bean
+    public BinanceFeedAdapter binanceFeedAdapter(final BinanceProperties binanceProperties) {
+        return new BinanceFeedAdapter(binanceProperties);
+    }
+
+    @Bean
+    public CoinbaseFeedAdapter coinbaseFeedAdapter(final FeedProperties feedProperties) {
+        return new CoinbaseFeedAdapter(feedProperties.getCoinbase());
+    }
+}
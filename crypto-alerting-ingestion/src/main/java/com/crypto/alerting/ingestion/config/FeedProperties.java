@@ -0,0 +1,56 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the trade feeds of venues other than
+ * Binance, which only feed the consolidated price.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.feeds")
+public class FeedProperties {
+
+    /**
+     * Venues to connect besides Binance, by feed adapter name, e.g.
+     * {@code coinbase}.
+     */
+    private List<String> venues = new ArrayList<>();
+
+    /**
+     * Delay before a venue connection resubscribes after its session ends.
+     */
+    private Duration resubscribeDelay = Duration.ofSeconds(5);
+
+    /**
+     * Coinbase Exchange feed.
+     */
+    private Coinbase coinbase = new Coinbase();
+
+    /**
+     * Configuration of the Coinbase Exchange {@code matches} feed.
+     */
+    @Data
+    public static class Coinbase {
+
+        /**
+         * WebSocket feed URI.
+         */
+        private String baseUri = "wss://ws-feed.exchange.coinbase.com";
+
+        /**
+         * Products to subscribe to, e.g. {@code BTC-USDT}. Their dashless form
+         * must match the Binance symbol to be consolidated with it.
+         */
+        private List<String> products = new ArrayList<>(List.of("BTC-USDT"));
+
+        /**
+         * Maximum number of products subscribed over a single connection.
+         */
+        private int maxProductsPerConnection = 100;
+    }
+}
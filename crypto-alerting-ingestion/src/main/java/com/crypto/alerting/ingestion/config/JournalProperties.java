@@ -0,0 +1,48 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the on-disk tick journal.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.journal")
+public class JournalProperties {
+
+    /**
+     * Whether ticks are written to the journal.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding one sub-directory of segment files per symbol.
+     */
+    private String directory = "data/ticks";
+
+    /**
+     * Number of tick records per segment file. A symbol rolls to a new
+     * segment when the current one is full or a new UTC day starts.
+     */
+    private int segmentRecords = 1 << 20;
+
+    /**
+     * Number of records between two entries of a segment's sparse timestamp
+     * index. Range lookups scan at most this many records after a binary
+     * search of the index.
+     */
+    private int indexInterval = 1024;
+
+    /**
+     * Pause between two passes that prepare the next segment of each symbol
+     * and flush segments rolled out since the previous pass.
+     */
+    private Duration prepareInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long before UTC midnight the next day's segments are prepared.
+     */
+    private Duration rollAhead = Duration.ofMinutes(1);
+}
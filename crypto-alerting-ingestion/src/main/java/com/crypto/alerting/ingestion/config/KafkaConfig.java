@@ -1,28 +1,76 @@
 package com.crypto.alerting.ingestion.config;
 
 import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.kafka.BinaryPriceEventSerializer;
+import com.crypto.alerting.commons.kafka.PriceEventDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.MicrometerProducerListener;
 import reactor.kafka.sender.SenderOptions;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final KafkaProducerProperties kafkaProducerProperties;
+    private final ClusterProperties clusterProperties;
+
     @Bean
-    public KafkaSender<String, PriceEvent> kafkaSender() {
+    public KafkaSender<String, PriceEvent> kafkaSender(final MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProducerProperties.getBootstrapServers());
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                kafkaProducerProperties.getValueFormat() == KafkaProducerProperties.ValueFormat.BINARY
+                        ? BinaryPriceEventSerializer.class
+                        : JsonSerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, kafkaProducerProperties.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, kafkaProducerProperties.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, kafkaProducerProperties.getCompressionType());
+        props.put(ProducerConfig.ACKS_CONFIG, kafkaProducerProperties.getAcks());
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+                kafkaProducerProperties.getMaxInFlightRequestsPerConnection());
 
-        SenderOptions<String, PriceEvent> senderOptions = SenderOptions.create(props);
+        // Per-record failures are reported in SenderResult so the pipeline keeps running
+        SenderOptions<String, PriceEvent> senderOptions = SenderOptions.<String, PriceEvent>create(props)
+                .maxInFlight(kafkaProducerProperties.getMaxInFlight())
+                .stopOnError(false)
+                .producerListener(new MicrometerProducerListener(meterRegistry));
         return KafkaSender.create(senderOptions);
     }
+
+    @Bean
+    public KafkaReceiver<String, PriceEvent> followerReceiver() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProducerProperties.getBootstrapServers());
+        // A group of its own, so every follower receives every price
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, clusterProperties.getFollowerGroupId() + "-" + UUID.randomUUID());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A malformed record deserializes to null instead of failing the poll
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, PriceEventDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        // Only live prices matter to subscribers, so nothing is committed
+        ReceiverOptions<String, PriceEvent> receiverOptions = ReceiverOptions.<String, PriceEvent>create(props)
+                .subscription(List.of(kafkaProducerProperties.getTopic()));
+        return KafkaReceiver.create(receiverOptions);
+    }
 }
@@ -0,0 +1,71 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the Kafka price publishing pipeline.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.kafka")
+public class KafkaProducerProperties {
+
+    /**
+     * Kafka bootstrap servers.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Topic receiving raw price events.
+     */
+    private String topic = "topic-raw-prices";
+
+    /**
+     * Producer {@code linger.ms}: how long to wait for a batch to fill.
+     */
+    private int lingerMs = 5;
+
+    /**
+     * Producer {@code batch.size} in bytes.
+     */
+    private int batchSize = 64 * 1024;
+
+    /**
+     * Producer {@code compression.type}.
+     */
+    private String compressionType = "lz4";
+
+    /**
+     * Producer {@code acks}.
+     */
+    private String acks = "1";
+
+    /**
+     * Producer {@code max.in.flight.requests.per.connection}.
+     */
+    private int maxInFlightRequestsPerConnection = 5;
+
+    /**
+     * Maximum number of records the sender pipeline keeps in flight.
+     */
+    private int maxInFlight = 4096;
+
+    /**
+     * Capacity of the queue between the WebSocket receive loop and the sender.
+     */
+    private int queueCapacity = 65536;
+
+    /**
+     * Wire format of record values. Switch to {@code binary} once every
+     * consumer uses {@code PriceEventDeserializer}.
+     */
+    private ValueFormat valueFormat = ValueFormat.JSON;
+
+    /**
+     * Supported record value formats.
+     */
+    public enum ValueFormat {
+        JSON,
+        BINARY
+    }
+}
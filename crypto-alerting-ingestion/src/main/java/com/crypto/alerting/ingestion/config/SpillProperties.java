@@ -0,0 +1,43 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the disk spill buffer that holds price events
+ * while Kafka cannot take them.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.spill")
+public class SpillProperties {
+
+    /**
+     * Whether events are spilled to disk instead of dropped when the
+     * publishing queue is full or the broker fails them.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The spill file. A backlog left by a previous run is drained on start.
+     */
+    private String path = "data/spill/price-events.spill";
+
+    /**
+     * Maximum size of the spill file in bytes; events beyond it are dropped.
+     */
+    private long maxBytes = 1L << 30;
+
+    /**
+     * Pause between drain attempts, and before retrying a batch the broker
+     * failed.
+     */
+    private Duration drainInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of spilled events sent back per batch. A batch must be
+     * fully acknowledged before the next one is read.
+     */
+    private int drainBatch = 1024;
+}
@@ -0,0 +1,50 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for price stream delivery to clients.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.stream")
+public class StreamProperties {
+
+    /**
+     * How ticks are held for a subscriber that has not requested them yet.
+     */
+    private Mode mode = Mode.BUFFER;
+
+    /**
+     * Capacity of each subscriber's FIFO buffer in {@link Mode#BUFFER} mode.
+     * When full, the oldest pending tick is dropped.
+     */
+    private int bufferSize = 1024;
+
+    /**
+     * How long a subscriber may stay continuously behind before it is evicted.
+     */
+    private Duration maxLag = Duration.ofSeconds(30);
+
+    /**
+     * Minimum time between rebuilds of the latest price snapshot served by
+     * {@code /api/prices/latest}.
+     */
+    private Duration snapshotInterval = Duration.ofMillis(250);
+
+    /**
+     * Pending tick retention strategies.
+     */
+    public enum Mode {
+        /**
+         * Keep every tick in a bounded per-subscriber FIFO buffer.
+         */
+        BUFFER,
+        /**
+         * Keep only the latest pending tick per ticker.
+         */
+        CONFLATE
+    }
+}
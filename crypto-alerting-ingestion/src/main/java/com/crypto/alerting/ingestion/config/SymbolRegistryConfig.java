@@ -0,0 +1,16 @@
+package com.crypto.alerting.ingestion.config;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SymbolRegistryConfig {
+
+    @Bean
+    public SymbolRegistry symbolRegistry(
+            @Value("${ingestion.symbol-capacity:" + SymbolRegistry.DEFAULT_CAPACITY + "}") final int capacity) {
+        return new SymbolRegistry(capacity);
+    }
+}
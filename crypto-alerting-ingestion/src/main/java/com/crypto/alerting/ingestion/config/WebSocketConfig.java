@@ -0,0 +1,21 @@
+package com.crypto.alerting.ingestion.config;
+
+import com.crypto.alerting.ingestion.handler.PriceWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+@Configuration
+public class WebSocketConfig {
+
+    @Bean
+    public HandlerMapping priceWebSocketMapping(final PriceWebSocketHandler priceWebSocketHandler,
+            final WebSocketProperties webSocketProperties) {
+        return new SimpleUrlHandlerMapping(Map.of(webSocketProperties.getPath(), priceWebSocketHandler),
+                Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.crypto.alerting.ingestion.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the binary WebSocket price endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion.ws")
+public class WebSocketProperties {
+
+    /**
+     * Path the endpoint is served on.
+     */
+    private String path = "/ws/prices";
+
+    /**
+     * Longest time a tick waits to be sent in a frame.
+     */
+    private Duration batchInterval = Duration.ofMillis(50);
+
+    /**
+     * Most ticks sent in one frame; a full batch is sent without waiting for
+     * the interval. At most 65535.
+     */
+    private int maxTicksPerFrame = 1024;
+}
@@ -0,0 +1,83 @@
+package com.crypto.alerting.ingestion.controller;
+
+import com.crypto.alerting.ingestion.candle.Candle;
+import com.crypto.alerting.ingestion.candle.CandleAggregator;
+import com.crypto.alerting.ingestion.candle.CandleInterval;
+import com.crypto.alerting.ingestion.service.SymbolFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * REST controller exposing OHLCV candles aggregated from the price feed.
+ * Only the cluster leader aggregates candles.
+ */
+@RestController
+@RequestMapping("/api/candles")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public final class CandleController {
+
+    private final CandleAggregator candleAggregator;
+
+    private static final int MAX_LIMIT = 1000;
+    private static final String EVENT_CANDLE = "candle";
+
+    /**
+     * Returns the latest bars of a symbol, oldest first. The last bar is the
+     * one in progress and has {@code closed=false}.
+     *
+     * @param symbol   the ticker symbol
+     * @param interval one of {@code 1s}, {@code 1m}, {@code 5m}, {@code 1h}
+     * @param limit    maximum number of bars, at most 1000
+     * @return the bars
+     */
+    @GetMapping
+    public List<Candle> getCandles(@RequestParam final String symbol,
+            @RequestParam(defaultValue = "1m") final String interval,
+            @RequestParam(defaultValue = "100") final int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return candleAggregator.getCandles(symbol.trim().toUpperCase(Locale.ROOT), CandleInterval.parse(interval),
+                limit);
+    }
+
+    /**
+     * Streams bars of the matching tickers as they close, using Server-Sent
+     * Events.
+     *
+     * @param symbols  comma-separated tickers and wildcards; all tickers if absent
+     * @param interval one of {@code 1s}, {@code 1m}, {@code 5m}, {@code 1h}
+     * @return stream of closed bars
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Candle>> streamCandles(@RequestParam(required = false) final String symbols,
+            @RequestParam(defaultValue = "1m") final String interval) {
+        final SymbolFilter filter = SymbolFilter.parse(symbols);
+        final CandleInterval candleInterval = CandleInterval.parse(interval);
+        log.info("Client connected to {} candle stream, symbols {}", candleInterval.label(), filter);
+
+        return candleAggregator.streamClosed(filter, candleInterval)
+                .map(candle -> ServerSentEvent.builder(candle)
+                        .id(String.valueOf(candle.openTime()))
+                        .event(EVENT_CANDLE)
+                        .build())
+                .doOnCancel(() -> log.info("Client disconnected from candle stream"))
+                .onErrorResume(e -> {
+                    log.error("Candle stream error, terminating connection", e);
+                    return Flux.empty();
+                });
+    }
+}
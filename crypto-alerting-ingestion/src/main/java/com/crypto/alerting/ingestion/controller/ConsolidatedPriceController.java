@@ -0,0 +1,42 @@
+package com.crypto.alerting.ingestion.controller;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.service.ConsolidatedPrice;
+import com.crypto.alerting.ingestion.service.ConsolidatedPriceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+
+/**
+ * REST controller exposing the consolidated price of each symbol across venues.
+ */
+@RestController
+@RequestMapping("/api/prices/consolidated")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public final class ConsolidatedPriceController {
+
+    private final ConsolidatedPriceService consolidatedPriceService;
+    private final SymbolRegistry symbolRegistry;
+
+    /**
+     * Returns a symbol's consolidated price, with the highest venue trade
+     * reported separately.
+     *
+     * @param symbol the venue-neutral ticker symbol, e.g. {@code BTCUSDT}
+     * @return the consolidated price, or {@code 404} if no venue traded the symbol recently
+     */
+    @GetMapping("/{symbol}")
+    public ResponseEntity<ConsolidatedPrice> getConsolidatedPrice(@PathVariable final String symbol) {
+        final int symbolId = symbolRegistry.idOf(symbol.trim().toUpperCase(Locale.ROOT));
+        final ConsolidatedPrice consolidated = symbolId == SymbolRegistry.UNKNOWN ? null
+                : consolidatedPriceService.read(symbolId);
+        return consolidated != null ? ResponseEntity.ok(consolidated) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.crypto.alerting.ingestion.controller;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.book.BookTop;
+import com.crypto.alerting.ingestion.book.OrderBookView;
+import com.crypto.alerting.ingestion.config.BookProperties;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+
+/**
+ * REST controller exposing the top of the order books kept from the depth
+ * streams.
+ */
+@RestController
+@RequestMapping("/api/book")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public final class OrderBookController {
+
+    private final PriceStreamService priceStreamService;
+    private final SymbolRegistry symbolRegistry;
+    private final BookProperties bookProperties;
+
+    /**
+     * Returns the best levels of a symbol's order book. A book that is
+     * resyncing is returned empty, with no update id.
+     *
+     * @param symbol the ticker symbol
+     * @param levels levels per side, at most {@code ingestion.book.top-levels}
+     * @return the top of book, or {@code 404} if no book is kept for the symbol
+     */
+    @GetMapping("/{symbol}")
+    public ResponseEntity<OrderBookView> getBook(@PathVariable final String symbol,
+            @RequestParam(required = false) final Integer levels) {
+        final int depth = levels != null ? levels : bookProperties.getTopLevels();
+        if (depth <= 0 || depth > bookProperties.getTopLevels()) {
+            throw new IllegalArgumentException("levels must be between 1 and " + bookProperties.getTopLevels());
+        }
+
+        final String ticker = symbol.trim().toUpperCase(Locale.ROOT);
+        final int symbolId = symbolRegistry.idOf(ticker);
+        final BookTop top = new BookTop(depth);
+        if (symbolId == SymbolRegistry.UNKNOWN || !priceStreamService.readBookTop(symbolId, top)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(OrderBookView.of(ticker, top));
+    }
+}
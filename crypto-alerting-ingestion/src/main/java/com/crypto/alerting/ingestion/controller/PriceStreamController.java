@@ -1,25 +1,36 @@
 package com.crypto.alerting.ingestion.controller;
 
-import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.ingestion.service.PriceSnapshot;
+import com.crypto.alerting.ingestion.service.PriceSnapshotService;
 import com.crypto.alerting.ingestion.service.PriceStreamService;
+import com.crypto.alerting.ingestion.service.SubscriberStats;
+import com.crypto.alerting.ingestion.service.SymbolFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Map;
+import java.util.List;
 
 import org.springframework.web.bind.annotation.CrossOrigin;
 
 /**
  * REST controller for exposing price data endpoints.
  * Provides Server-Sent Events stream for real-time price updates
- * and snapshot endpoint for latest prices.
+ * and snapshot endpoints for latest prices and subscriber health.
  */
 @RestController
 @RequestMapping("/api/prices")
@@ -29,21 +40,34 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 public final class PriceStreamController {
 
     private final PriceStreamService priceStreamService;
+    private final PriceSnapshotService priceSnapshotService;
 
     private static final Duration SSE_TIMEOUT = Duration.ofMinutes(30);
+    private static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
 
     /**
      * Streams price events to clients using Server-Sent Events.
-     * Automatically reconnects on error.
+     * Frames are encoded once per tick by {@link PriceStreamService} and the
+     * shared bytes are written to the connection as-is, so no per-client
+     * serialization takes place. Only tickers matching {@code symbols} are
+     * routed to the client, e.g. {@code BTCUSDT,ETHUSDT} or {@code *USDT}.
      *
-     * @return Flux of Server-Sent Events containing price data
+     * @param symbols  comma-separated tickers and wildcards; all tickers if absent
+     * @param response the HTTP response to stream into
+     * @return completion of the stream
      */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<PriceEvent>> streamPrices() {
-        log.info("Client connected to price stream");
+    public Mono<Void> streamPrices(@RequestParam(required = false) final String symbols,
+            final ServerHttpResponse response) {
+        final SymbolFilter filter = SymbolFilter.parse(symbols);
+        log.info("Client connected to price stream, symbols {}", filter);
 
-        return priceStreamService.getPriceStream()
-                .map(this::createServerSentEvent)
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        response.getHeaders().setCacheControl(CacheControl.noCache());
+        final DataBufferFactory bufferFactory = response.bufferFactory();
+
+        final Flux<Mono<DataBuffer>> frames = priceStreamService.subscribeFrames(filter)
+                .map(frame -> Mono.just(bufferFactory.wrap(frame.sse())))
                 .timeout(SSE_TIMEOUT)
                 .doOnError(e -> log.error("Error in SSE stream", e))
                 .doOnCancel(() -> log.info("Client disconnected from price stream"))
@@ -51,34 +75,49 @@ public final class PriceStreamController {
                     log.error("SSE stream error, terminating connection", e);
                     return Flux.empty();
                 });
+        return response.writeAndFlushWith(frames);
     }
 
     /**
      * Returns a snapshot of the latest prices for all symbols.
+     * The body is the cached JSON of a versioned snapshot, and the version
+     * token is the entity tag, so polling clients holding the current version
+     * get {@code 304 Not Modified}. With {@code sinceVersion} only the tickers
+     * whose price changed after that version are returned, tagged with both
+     * versions so a cached delta is never taken for the full snapshot; a
+     * token from another node or from before a restart gets the full
+     * snapshot.
      *
-     * @return map of ticker symbols to their latest price events
+     * @param sinceVersion snapshot version token the client already holds, optional
+     * @param exchange     the current exchange, for conditional request handling
+     * @return map of ticker symbols to their latest price events, as JSON
      */
-    @GetMapping("/latest")
-    public Map<String, PriceEvent> getLatestPrices() {
-        try {
-            return priceStreamService.getLatestPrices();
-        } catch (final Exception e) {
-            log.error("Error retrieving latest prices", e);
-            return Map.of();
+    @GetMapping(value = "/latest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getLatestPrices(@RequestParam(required = false) final String sinceVersion,
+            final ServerWebExchange exchange) {
+        final PriceSnapshot snapshot = priceSnapshotService.getSnapshot();
+        final String etag = sinceVersion == null ? snapshot.etag() : snapshot.etagSince(sinceVersion);
+        if (exchange.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+
+        final byte[] body = sinceVersion == null
+                ? snapshot.json()
+                : priceSnapshotService.encodeChangedSince(snapshot, sinceVersion);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(SNAPSHOT_VERSION_HEADER, snapshot.versionToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
-     * Creates a Server-Sent Event from a price event.
+     * Returns delivery statistics for every connected stream subscriber.
      *
-     * @param event the price event
-     * @return ServerSentEvent wrapper
+     * @return pending ticks, lag and delivery counts per subscriber
      */
-    private ServerSentEvent<PriceEvent> createServerSentEvent(final PriceEvent event) {
-        return ServerSentEvent.<PriceEvent>builder()
-                .id(String.valueOf(event.getTimestamp()))
-                .event("price-update")
-                .data(event)
-                .build();
+    @GetMapping("/subscribers")
+    public List<SubscriberStats> getSubscribers() {
+        return priceStreamService.getSubscriberStats();
     }
 }
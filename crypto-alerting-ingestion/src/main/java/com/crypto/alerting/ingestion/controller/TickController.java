@@ -0,0 +1,71 @@
+package com.crypto.alerting.ingestion.controller;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.ingestion.journal.TickJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller replaying journaled ticks for a time range.
+ * Times are epoch milliseconds; {@code to} defaults to now. Only the
+ * cluster leader journals ticks.
+ */
+@RestController
+@RequestMapping("/api/ticks")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public final class TickController {
+
+    private final TickJournal tickJournal;
+
+    /**
+     * Streams a symbol's ticks in {@code [from, to)} as raw 32-byte records
+     * ({@code long timestamp | double price | long tradeId | double quantity},
+     * big-endian), written straight from the journal's mapped pages.
+     *
+     * @param symbol   the ticker symbol
+     * @param from     first timestamp (inclusive)
+     * @param to       last timestamp (exclusive), optional
+     * @param response the HTTP response to stream into
+     * @return completion of the stream
+     */
+    @GetMapping(value = "/{symbol}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Mono<Void> getTickRecords(@PathVariable final String symbol, @RequestParam final long from,
+            @RequestParam(required = false) final Long to, final ServerHttpResponse response) {
+        final long end = to != null ? to : System.currentTimeMillis();
+        log.debug("Replaying {} records from {} to {}", symbol, from, end);
+
+        response.getHeaders().setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        final DataBufferFactory bufferFactory = response.bufferFactory();
+        return response.writeWith(tickJournal.replay(symbol, from, end).map(bufferFactory::wrap));
+    }
+
+    /**
+     * Streams a symbol's ticks in {@code [from, to)} as newline-delimited JSON
+     * price events.
+     *
+     * @param symbol the ticker symbol
+     * @param from   first timestamp (inclusive)
+     * @param to     last timestamp (exclusive), optional
+     * @return Flux of price events in time order
+     */
+    @GetMapping(value = "/{symbol}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PriceEvent> getTicks(@PathVariable final String symbol, @RequestParam final long from,
+            @RequestParam(required = false) final Long to) {
+        final long end = to != null ? to : System.currentTimeMillis();
+        log.debug("Replaying {} events from {} to {}", symbol, from, end);
+        return tickJournal.replayEvents(symbol, from, end);
+    }
+}
@@ -0,0 +1,57 @@
+package com.crypto.alerting.ingestion.feed;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.BinanceProperties;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+import com.crypto.alerting.ingestion.parser.TradeFrameParser;
+import com.crypto.alerting.ingestion.service.BinanceShard;
+
+import java.util.List;
+
+/**
+ * Binance trade streams: the configured symbols are sharded over
+ * combined-stream connections that subscribe through their URI, and frames
+ * are decoded by {@link TradeFrameParser}.
+ */
+public final class BinanceFeedAdapter implements FeedAdapter {
+
+    /**
+     * Venue name of the adapter.
+     */
+    public static final String VENUE = "binance";
+
+    private final BinanceProperties binanceProperties;
+
+    /**
+     * Creates the adapter.
+     *
+     * @param binanceProperties the feed configuration
+     */
+    public BinanceFeedAdapter(final BinanceProperties binanceProperties) {
+        this.binanceProperties = binanceProperties;
+    }
+
+    @Override
+    public String venue() {
+        return VENUE;
+    }
+
+    @Override
+    public List<FeedConnection> connections() {
+        final int maxStreams = binanceProperties.getMaxStreamsPerConnection();
+        if (maxStreams > BinanceProperties.MAX_STREAMS_PER_CONNECTION_LIMIT) {
+            throw new IllegalArgumentException("binance.max-streams-per-connection must not exceed "
+                    + BinanceProperties.MAX_STREAMS_PER_CONNECTION_LIMIT);
+        }
+        return BinanceShard.partition(binanceProperties.getBaseUri(), binanceProperties.getSymbols(), maxStreams)
+                .stream()
+                .map(shard -> new FeedConnection(shard.index(), shard.name(), shard.uri(), shard.streams().size(),
+                        List.of()))
+                .toList();
+    }
+
+    @Override
+    public TradeDecoder newDecoder(final SymbolRegistry symbolRegistry) {
+        return new TradeFrameParser(symbolRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.crypto.alerting.ingestion.feed;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.FeedProperties;
+import com.crypto.alerting.ingestion.parser.CoinbaseMatchParser;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Coinbase Exchange {@code matches} channel: the configured products are
+ * spread over connections that subscribe with a message once connected, and
+ * frames are decoded by {@link CoinbaseMatchParser}.
+ */
+public final class CoinbaseFeedAdapter implements FeedAdapter {
+
+    /**
+     * Venue name of the adapter.
+     */
+    public static final String VENUE = "coinbase";
+
+    private static final String NAME_PREFIX = "coinbase-ws-";
+
+    private final FeedProperties.Coinbase properties;
+
+    /**
+     * Creates the adapter.
+     *
+     * @param properties the Coinbase feed configuration
+     */
+    public CoinbaseFeedAdapter(final FeedProperties.Coinbase properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public String venue() {
+        return VENUE;
+    }
+
+    /**
+     * Spreads the configured products over connections of at most
+     * {@code maxProductsPerConnection} each. Duplicate and blank products are
+     * ignored.
+     *
+     * @return connections in index order
+     */
+    @Override
+    public List<FeedConnection> connections() {
+        final int maxProducts = properties.getMaxProductsPerConnection();
+        if (maxProducts <= 0) {
+            throw new IllegalArgumentException("maxProductsPerConnection must be positive");
+        }
+
+        final Set<String> products = new LinkedHashSet<>();
+        for (final String product : properties.getProducts()) {
+            if (product != null && !product.isBlank()) {
+                products.add(product.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+
+        final List<String> ordered = new ArrayList<>(products);
+        final URI uri = URI.create(properties.getBaseUri());
+        final List<FeedConnection> connections = new ArrayList<>();
+        for (int from = 0; from < ordered.size(); from += maxProducts) {
+            final List<String> slice = ordered.subList(from, Math.min(from + maxProducts, ordered.size()));
+            final int index = connections.size();
+            connections.add(new FeedConnection(index, NAME_PREFIX + index, uri, slice.size(),
+                    List.of(subscribeMessage(slice))));
+        }
+        return connections;
+    }
+
+    @Override
+    public TradeDecoder newDecoder(final SymbolRegistry symbolRegistry) {
+        return new CoinbaseMatchParser(symbolRegistry);
+    }
+
+    private static String subscribeMessage(final List<String> products) {
+        return "{\"type\":\"subscribe\",\"product_ids\":[\"" + String.join("\",\"", products)
+                + "\"],\"channels\":[\"matches\"]}";
+    }
+}
@@ -0,0 +1,39 @@
+package com.crypto.alerting.ingestion.feed;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+
+import java.util.List;
+
+/**
+ * Everything venue-specific about a trade feed: where to connect, what to
+ * send once connected, and how to decode the frames that come back. The
+ * clients holding the connections stay venue-neutral, so adding a venue
+ * means registering another {@code FeedAdapter} bean.
+ */
+public interface FeedAdapter {
+
+    /**
+     * Returns the venue name, used to select the adapter in configuration
+     * and to tag its metrics, e.g. {@code binance}.
+     *
+     * @return lower-case venue name
+     */
+    String venue();
+
+    /**
+     * Returns the connections covering the adapter's configured symbols.
+     *
+     * @return connections in index order
+     */
+    List<FeedConnection> connections();
+
+    /**
+     * Creates a decoder for one session's frames. Decoders are stateful, so
+     * each session needs its own.
+     *
+     * @param symbolRegistry the registry assigning symbol ids
+     * @return a new decoder
+     */
+    TradeDecoder newDecoder(SymbolRegistry symbolRegistry);
+}
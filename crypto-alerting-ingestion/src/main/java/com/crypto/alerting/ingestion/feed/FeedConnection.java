@@ -0,0 +1,36 @@
+package com.crypto.alerting.ingestion.feed;
+
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * A single WebSocket connection of a venue's feed, covering a slice of its
+ * symbols.
+ *
+ * @param index             zero-based connection index within the venue
+ * @param name              name of the connection's resilience instances and logs
+ * @param uri               URI to connect to
+ * @param streams           number of streams multiplexed over the connection
+ * @param subscribeMessages text messages sent once connected, empty if the URI subscribes
+ */
+public record FeedConnection(int index, String name, URI uri, int streams, List<String> subscribeMessages) {
+
+    /**
+     * Sends the subscribe messages, if any, and returns the frames received
+     * from then on.
+     *
+     * @param session the connected session
+     * @return the session's inbound frames
+     */
+    public Flux<WebSocketMessage> receive(final WebSocketSession session) {
+        if (subscribeMessages.isEmpty()) {
+            return session.receive();
+        }
+        return session.send(Flux.fromIterable(subscribeMessages).map(session::textMessage))
+                .thenMany(session.receive());
+    }
+}
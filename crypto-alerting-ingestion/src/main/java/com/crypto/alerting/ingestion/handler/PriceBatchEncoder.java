@@ -0,0 +1,110 @@
+package com.crypto.alerting.ingestion.handler;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.service.PriceFrame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes batches of ticks into the binary frames of one WebSocket session.
+ * All values are big-endian:
+ * <pre>
+ * frame      = version:u8 symbolCount:u16 tickCount:u16 baseTimestamp:i64
+ *              symbol{symbolCount} tick{tickCount}
+ * symbol     = symbolId:u16 length:u8 ascii{length}
+ * tick       = symbolId:u16 price:f64 timestampOffset:i32
+ * </pre>
+ * A tick's timestamp is {@code baseTimestamp + timestampOffset} in epoch
+ * milliseconds. Each symbol is sent in the dictionary of the first frame
+ * carrying one of its ticks only; later frames refer to it by id alone.
+ * Not thread-safe: one encoder serves one session, in order.
+ */
+final class PriceBatchEncoder {
+
+    // Constants
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 1 + 2 + 2 + 8;
+    static final int TICK_BYTES = 2 + 8 + 4;
+    static final int MAX_SYMBOLS = 1 << 16;
+    static final int MAX_TICKS = (1 << 16) - 1;
+    private static final int MAX_SYMBOL_LENGTH = 255;
+
+    private final SymbolRegistry symbolRegistry;
+
+    // Symbol ids already sent to the session
+    private final boolean[] sent;
+
+    // Scratch list of symbols new to the current frame
+    private final int[] newSymbols;
+
+    /**
+     * Creates the encoder of one session.
+     *
+     * @param symbolRegistry the registry that assigned the symbol ids
+     * @throws IllegalArgumentException if symbol ids do not fit in 16 bits
+     */
+    PriceBatchEncoder(final SymbolRegistry symbolRegistry) {
+        if (symbolRegistry.capacity() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Binary price frames support at most " + MAX_SYMBOLS
+                    + " symbols, registry holds " + symbolRegistry.capacity());
+        }
+        this.symbolRegistry = symbolRegistry;
+        this.sent = new boolean[symbolRegistry.capacity()];
+        this.newSymbols = new int[symbolRegistry.capacity()];
+    }
+
+    /**
+     * Encodes a batch of ticks into one frame.
+     *
+     * @param batch the frames of the ticks to send, at most {@link #MAX_TICKS}
+     * @return the encoded frame
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    byte[] encode(final List<PriceFrame> batch) {
+        if (batch.isEmpty() || batch.size() > MAX_TICKS) {
+            throw new IllegalArgumentException("Batch must hold 1 to " + MAX_TICKS + " ticks, got " + batch.size());
+        }
+
+        int newSymbolCount = 0;
+        int size = HEADER_BYTES + batch.size() * TICK_BYTES;
+        for (final PriceFrame frame : batch) {
+            final int symbolId = frame.tick().getSymbolId();
+            if (!sent[symbolId]) {
+                sent[symbolId] = true;
+                newSymbols[newSymbolCount++] = symbolId;
+                size += 3 + symbolLength(symbolId);
+            }
+        }
+
+        final long baseTimestamp = batch.get(0).tick().getTimestamp();
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) VERSION);
+        buffer.putShort((short) newSymbolCount);
+        buffer.putShort((short) batch.size());
+        buffer.putLong(baseTimestamp);
+        for (int i = 0; i < newSymbolCount; i++) {
+            final byte[] symbol = symbolRegistry.symbolOf(newSymbols[i]).getBytes(StandardCharsets.US_ASCII);
+            buffer.putShort((short) newSymbols[i]);
+            buffer.put((byte) symbol.length);
+            buffer.put(symbol);
+        }
+        for (final PriceFrame frame : batch) {
+            final PriceTick tick = frame.tick();
+            buffer.putShort((short) tick.getSymbolId());
+            buffer.putDouble(tick.getPrice());
+            buffer.putInt(Math.toIntExact(tick.getTimestamp() - baseTimestamp));
+        }
+        return buffer.array();
+    }
+
+    private int symbolLength(final int symbolId) {
+        final int length = symbolRegistry.symbolOf(symbolId).length();
+        if (length > MAX_SYMBOL_LENGTH) {
+            throw new IllegalStateException("Symbol too long for a binary frame: " + symbolRegistry.symbolOf(symbolId));
+        }
+        return length;
+    }
+}
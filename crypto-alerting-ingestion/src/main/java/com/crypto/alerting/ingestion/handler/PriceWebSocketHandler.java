@@ -0,0 +1,191 @@
+package com.crypto.alerting.ingestion.handler;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.commons.util.AppUtils;
+import com.crypto.alerting.ingestion.config.WebSocketProperties;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import com.crypto.alerting.ingestion.service.SymbolFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streams prices over a WebSocket in micro-batched binary frames.
+ * Ticks are collected for up to the configured batch interval, or until a
+ * batch is full, and sent as one {@link PriceBatchEncoder} frame, so a
+ * client following many busy tickers costs a few frames per second instead
+ * of one per tick.
+ * <p>
+ * The optional {@code symbols} query parameter selects the first tickers,
+ * as for the SSE stream; without it the session starts with none. Text
+ * messages of the form {@code {"action":"subscribe","symbols":["BTCUSDT"]}}
+ * or {@code "unsubscribe"} change the tickers while connected. A session
+ * evicted for lagging is closed with a policy violation.
+ */
+@Component
+@Slf4j
+public final class PriceWebSocketHandler implements WebSocketHandler {
+
+    // Dependencies
+    private final PriceStreamService priceStreamService;
+    private final SymbolRegistry symbolRegistry;
+    private final WebSocketProperties webSocketProperties;
+
+    // Constants
+    private static final String PARAM_SYMBOLS = "symbols";
+    private static final String METRIC_FRAMES = "ingestion.ws.frames";
+    private static final String METRIC_TICKS = "ingestion.ws.ticks";
+    private static final String METRIC_INVALID_COMMANDS = "ingestion.ws.invalid.commands";
+    private static final CloseStatus INVALID_SYMBOLS = CloseStatus.POLICY_VIOLATION.withReason("Invalid symbols");
+    private static final CloseStatus LAGGING = CloseStatus.POLICY_VIOLATION.withReason("Price stream lagging");
+
+    // Metrics
+    private final Counter frames;
+    private final Counter ticks;
+    private final Counter invalidCommands;
+
+    /**
+     * Creates the handler and registers its metrics.
+     *
+     * @param priceStreamService  the service delivering ticks
+     * @param symbolRegistry      the registry assigning symbol ids
+     * @param webSocketProperties the endpoint configuration
+     * @param meterRegistry       the meter registry
+     */
+    public PriceWebSocketHandler(final PriceStreamService priceStreamService, final SymbolRegistry symbolRegistry,
+            final WebSocketProperties webSocketProperties, final MeterRegistry meterRegistry) {
+        if (webSocketProperties.getMaxTicksPerFrame() < 1
+                || webSocketProperties.getMaxTicksPerFrame() > PriceBatchEncoder.MAX_TICKS) {
+            throw new IllegalArgumentException("ingestion.ws.max-ticks-per-frame must be 1 to "
+                    + PriceBatchEncoder.MAX_TICKS);
+        }
+        this.priceStreamService = priceStreamService;
+        this.symbolRegistry = symbolRegistry;
+        this.webSocketProperties = webSocketProperties;
+
+        this.frames = Counter.builder(METRIC_FRAMES)
+                .description("Binary price frames sent to WebSocket clients")
+                .register(meterRegistry);
+        this.ticks = Counter.builder(METRIC_TICKS)
+                .description("Ticks sent to WebSocket clients")
+                .register(meterRegistry);
+        this.invalidCommands = Counter.builder(METRIC_INVALID_COMMANDS)
+                .description("WebSocket subscription commands ignored as invalid")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> handle(final WebSocketSession session) {
+        final String symbols = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams()
+                .getFirst(PARAM_SYMBOLS);
+        final Set<String> terms = new LinkedHashSet<>();
+        final SymbolFilter initial;
+        try {
+            if (symbols != null) {
+                addTerms(terms, Arrays.asList(symbols.split(",")));
+            }
+            initial = filterOf(terms);
+        } catch (final IllegalArgumentException e) {
+            log.debug("Rejecting price session {}: {}", session.getId(), e.getMessage());
+            return session.close(INVALID_SYMBOLS);
+        }
+        log.info("Client connected to binary price stream, symbols {}", initial);
+
+        // Commands arrive one at a time on the inbound side, so emission is serialized
+        final Sinks.Many<SymbolFilter> filterChanges = Sinks.many().unicast().onBackpressureBuffer();
+        final Mono<Void> input = session.receive()
+                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                .doOnNext(message -> apply(session, terms, message.getPayloadAsText(), filterChanges))
+                .doFinally(signal -> filterChanges.tryEmitComplete())
+                .then();
+
+        final PriceBatchEncoder encoder = new PriceBatchEncoder(symbolRegistry);
+        final Flux<WebSocketMessage> messages = priceStreamService.subscribeFrames(initial, filterChanges.asFlux())
+                .bufferTimeout(webSocketProperties.getMaxTicksPerFrame(), webSocketProperties.getBatchInterval(),
+                        true)
+                .map(batch -> {
+                    final byte[] frame = encoder.encode(batch);
+                    frames.increment();
+                    ticks.increment(batch.size());
+                    return session.binaryMessage(factory -> factory.wrap(frame));
+                })
+                .doOnCancel(() -> log.info("Client disconnected from binary price stream"));
+
+        // The frame stream only completes when the subscriber was evicted
+        final Mono<Void> output = session.send(messages)
+                .then(Mono.defer(() -> session.close(LAGGING)));
+        return Mono.zip(input, output).then();
+    }
+
+    /**
+     * Applies one subscription command to a session's symbols, ignoring it
+     * if it is invalid.
+     *
+     * @param session       the session the command came from
+     * @param terms         the session's current tickers and wildcards
+     * @param payload       the command text
+     * @param filterChanges receives the resulting filter
+     */
+    private void apply(final WebSocketSession session, final Set<String> terms, final String payload,
+            final Sinks.Many<SymbolFilter> filterChanges) {
+        final SymbolFilter filter;
+        try {
+            final SubscriptionCommand command = AppUtils.getObjectMapper()
+                    .readValue(payload, SubscriptionCommand.class);
+            if (command.symbols() == null || command.action() == null) {
+                throw new IllegalArgumentException("action and symbols are required");
+            }
+            final Set<String> next = new LinkedHashSet<>(terms);
+            switch (command.action().toLowerCase(Locale.ROOT)) {
+                case SubscriptionCommand.SUBSCRIBE -> addTerms(next, command.symbols());
+                case SubscriptionCommand.UNSUBSCRIBE -> command.symbols()
+                        .forEach(symbol -> next.remove(symbol.trim().toUpperCase(Locale.ROOT)));
+                default -> throw new IllegalArgumentException("Unknown action: " + command.action());
+            }
+            filter = filterOf(next);
+            terms.clear();
+            terms.addAll(next);
+        } catch (final Exception e) {
+            invalidCommands.increment();
+            log.warn("Ignoring invalid command on price session {}: {}", session.getId(), e.getMessage());
+            return;
+        }
+        filterChanges.tryEmitNext(filter);
+    }
+
+    private static void addTerms(final Set<String> terms, final Iterable<String> symbols) {
+        for (final String symbol : symbols) {
+            final String term = symbol.trim().toUpperCase(Locale.ROOT);
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+    }
+
+    /**
+     * Builds the filter of a session's tickers and wildcards.
+     *
+     * @param terms tickers and wildcards
+     * @return the filter, matching nothing if there are no terms
+     * @throws IllegalArgumentException if a wildcard is neither leading nor trailing
+     */
+    private static SymbolFilter filterOf(final Set<String> terms) {
+        return terms.isEmpty() ? SymbolFilter.none() : SymbolFilter.parse(String.join(",", terms));
+    }
+}
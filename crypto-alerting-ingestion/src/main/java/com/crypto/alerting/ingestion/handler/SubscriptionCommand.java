@@ -0,0 +1,16 @@
+package com.crypto.alerting.ingestion.handler;
+
+import java.util.List;
+
+/**
+ * A text message changing the symbols of a WebSocket price session, e.g.
+ * {@code {"action":"subscribe","symbols":["BTCUSDT","*USDT"]}}.
+ *
+ * @param action  {@code subscribe} or {@code unsubscribe}
+ * @param symbols tickers and wildcards, as accepted by the stream filter
+ */
+record SubscriptionCommand(String action, List<String> symbols) {
+
+    static final String SUBSCRIBE = "subscribe";
+    static final String UNSUBSCRIBE = "unsubscribe";
+}
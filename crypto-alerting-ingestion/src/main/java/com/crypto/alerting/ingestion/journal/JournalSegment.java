@@ -0,0 +1,215 @@
+package com.crypto.alerting.ingestion.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped segment file of fixed-size tick records.
+ * <p>
+ * Layout: a 32-byte header ({@code int magic | short
+ * version | short record size | long record count | int capacity}) followed by
+ * 32-byte records ({@code long timestamp | double price |
+ * long tradeId | double quantity}) in arrival order. The record count in the
+ * header is updated after each record, so a reopened segment resumes after
+ * the last complete record.
+ * <p>
+ * Every {@code indexInterval}-th timestamp is kept in a sparse in-memory index
+ * that is rebuilt from the mapped pages when a segment is opened. A single
+ * thread appends; any number of threads read concurrently, seeing every
+ * record below the published count.
+ */
+final class JournalSegment {
+
+    /**
+     * Size of one tick record in bytes.
+     */
+    static final int RECORD_BYTES = 32;
+
+    /**
+     * Size of the segment header in bytes.
+     */
+    static final int HEADER_BYTES = 32;
+
+    private static final int MAGIC = 0x5449434B;
+    private static final short VERSION = 1;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 6;
+    private static final int COUNT_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int indexInterval;
+    private final long[] index;
+
+    // Published after the record it counts has been written
+    private volatile int count;
+
+    private JournalSegment(final Path path, final MappedByteBuffer buffer, final int capacity,
+            final int indexInterval, final int count) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.indexInterval = indexInterval;
+        this.index = new long[(capacity + indexInterval - 1) / indexInterval];
+        for (int i = 0; i < count; i += indexInterval) {
+            index[i / indexInterval] = timestampAt(i);
+        }
+        this.count = count;
+    }
+
+    /**
+     * Creates and maps a new, empty segment file.
+     *
+     * @param path          the file to create; must not exist
+     * @param capacity      number of records the segment holds
+     * @param indexInterval records between two sparse index entries
+     * @return the writable segment
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static JournalSegment create(final Path path, final int capacity, final int indexInterval) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY || indexInterval <= 0) {
+            throw new IllegalArgumentException("Invalid segment capacity " + capacity + " or index interval "
+                    + indexInterval);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) capacity * RECORD_BYTES);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(VERSION_OFFSET, VERSION);
+            buffer.putShort(RECORD_SIZE_OFFSET, (short) RECORD_BYTES);
+            buffer.putLong(COUNT_OFFSET, 0L);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            return new JournalSegment(path, buffer, capacity, indexInterval, 0);
+        }
+    }
+
+    /**
+     * Maps an existing segment file.
+     *
+     * @param path          the segment file
+     * @param indexInterval records between two sparse index entries
+     * @param writable      whether records may be appended
+     * @return the mapped segment
+     * @throws IOException if the file cannot be mapped or is not a tick segment
+     */
+    static JournalSegment open(final Path path, final int indexInterval, final boolean writable)
+            throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a tick segment: " + path);
+            }
+            final MappedByteBuffer buffer = channel.map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, size);
+            final int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (buffer.getInt(0) != MAGIC || buffer.getShort(VERSION_OFFSET) != VERSION
+                    || buffer.getShort(RECORD_SIZE_OFFSET) != RECORD_BYTES
+                    || capacity <= 0 || HEADER_BYTES + (long) capacity * RECORD_BYTES > size) {
+                throw new IOException("Not a tick segment: " + path);
+            }
+            final int count = (int) Math.min(Math.max(0L, buffer.getLong(COUNT_OFFSET)), capacity);
+            return new JournalSegment(path, buffer, capacity, indexInterval, count);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Appends one record. Does not allocate.
+     *
+     * @return false if the segment is full
+     */
+    boolean append(final long timestamp, final double price, final long tradeId, final double quantity) {
+        final int n = count;
+        if (n == capacity) {
+            return false;
+        }
+        final int position = HEADER_BYTES + n * RECORD_BYTES;
+        buffer.putLong(position, timestamp);
+        buffer.putDouble(position + 8, price);
+        buffer.putLong(position + 16, tradeId);
+        buffer.putDouble(position + 24, quantity);
+        if (n % indexInterval == 0) {
+            index[n / indexInterval] = timestamp;
+        }
+        buffer.putLong(COUNT_OFFSET, n + 1);
+        count = n + 1;
+        return true;
+    }
+
+    /**
+     * Returns the number of complete records.
+     *
+     * @return record count
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns the timestamp of a record.
+     *
+     * @param record record number, below {@link #count()}
+     * @return the record's timestamp
+     */
+    long timestampAt(final int record) {
+        return buffer.getLong(HEADER_BYTES + record * RECORD_BYTES);
+    }
+
+    /**
+     * Finds the first record with a timestamp at or after the given one:
+     * a binary search of the sparse index, then a scan of one index interval.
+     *
+     * @param timestamp epoch milliseconds
+     * @param limit     number of records to consider, at most {@link #count()}
+     * @return record number, or {@code limit} if every record is earlier
+     */
+    int firstAtOrAfter(final long timestamp, final int limit) {
+        int lo = 0;
+        int hi = (limit + indexInterval - 1) / indexInterval;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (index[mid] < timestamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int record = lo == 0 ? 0 : (lo - 1) * indexInterval;
+        final int end = (int) Math.min(limit, (long) lo * indexInterval);
+        while (record < end && timestampAt(record) < timestamp) {
+            record++;
+        }
+        return record;
+    }
+
+    /**
+     * Returns a read-only view of a run of records, sharing the mapped pages.
+     *
+     * @param from first record number
+     * @param to   end record number (exclusive)
+     * @return buffer holding {@code to - from} records
+     */
+    ByteBuffer slice(final int from, final int to) {
+        return buffer.slice(HEADER_BYTES + from * RECORD_BYTES, (to - from) * RECORD_BYTES).asReadOnlyBuffer();
+    }
+
+    /**
+     * Flushes written records to the file.
+     */
+    void force() {
+        buffer.force();
+    }
+}
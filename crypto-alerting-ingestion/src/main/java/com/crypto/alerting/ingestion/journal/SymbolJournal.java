@@ -0,0 +1,300 @@
+package com.crypto.alerting.ingestion.journal;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.ingestion.config.JournalProperties;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The segment files of one symbol: {@code <symbol>/<yyyy-MM-dd>.<seq>.ticks}.
+ * A new segment is started when the current one fills up or a tick of a
+ * later UTC day arrives; ticks that arrive late for an earlier day stay in
+ * the current segment. On restart, appending resumes in the newest segment
+ * of the day.
+ * <p>
+ * Creating and mapping the next segment, and flushing the one it replaces,
+ * happen in {@link #prepare}, which runs off the append path ahead of
+ * midnight and of the current segment filling up. A roll then only swaps in
+ * the prepared spare. A roll nothing was prepared for, such as a symbol's
+ * first tick since startup, opens its segment inline.
+ * <p>
+ * Trades recovered through backfill are older than the live segment's tail,
+ * so they are written to segments of their own,
+ * {@code <yyyy-MM-dd>.b<firstTradeId>.ticks}, filed under the day of the
+ * trades and sorted by timestamp.
+ */
+final class SymbolJournal {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})\\.(b?)(\\d+)\\.ticks");
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final int indexInterval;
+
+    // Guarded by this; current is also read by replaying threads
+    private volatile JournalSegment current;
+    private long currentDay = Long.MIN_VALUE;
+    private int currentSequence;
+
+    // Guarded by this; the next segment, prepared off the append path
+    private JournalSegment spare;
+    private long spareDay;
+    private int spareSequence;
+
+    // Guarded by this; rolled-out segments waiting to be flushed by prepare()
+    private final List<JournalSegment> retired = new ArrayList<>();
+
+    SymbolJournal(final Path directory, final JournalProperties properties) {
+        this.directory = directory;
+        this.segmentRecords = properties.getSegmentRecords();
+        this.indexInterval = properties.getIndexInterval();
+    }
+
+    /**
+     * Appends a tick, rolling to a new segment if needed. Does not allocate,
+     * and does no file I/O unless a roll finds no prepared segment.
+     *
+     * @param tick the tick to append
+     * @throws IOException if a new segment cannot be created
+     */
+    synchronized void append(final PriceTick tick) throws IOException {
+        final long day = dayOf(tick.getTimestamp());
+        JournalSegment segment = current;
+        if (segment == null || day > currentDay) {
+            segment = roll(day);
+        }
+        if (!segment.append(tick.getTimestamp(), tick.getPrice(), tick.getTradeId(), tick.getQuantity())) {
+            segment = roll(currentDay);
+            segment.append(tick.getTimestamp(), tick.getPrice(), tick.getTradeId(), tick.getQuantity());
+        }
+    }
+
+    /**
+     * Writes backfilled trades to new segments, one per UTC day they span,
+     * sorted by timestamp so range lookups can search them like live
+     * segments. Each segment is sized to its trades and flushed before
+     * returning.
+     *
+     * @param ticks trades of this symbol recovered for one gap
+     * @throws IOException if a segment cannot be created
+     */
+    void appendBackfill(final List<PriceTick> ticks) throws IOException {
+        final List<PriceTick> sorted = new ArrayList<>(ticks);
+        sorted.sort(Comparator.comparingLong(PriceTick::getTimestamp));
+        Files.createDirectories(directory);
+        int from = 0;
+        while (from < sorted.size()) {
+            final long day = dayOf(sorted.get(from).getTimestamp());
+            int to = from + 1;
+            while (to < sorted.size() && dayOf(sorted.get(to).getTimestamp()) == day) {
+                to++;
+            }
+            final JournalSegment segment = JournalSegment.create(directory.resolve(String.format(Locale.ROOT,
+                    "%s.b%d.ticks", LocalDate.ofEpochDay(day), sorted.get(from).getTradeId())), to - from,
+                    indexInterval);
+            for (int i = from; i < to; i++) {
+                final PriceTick tick = sorted.get(i);
+                segment.append(tick.getTimestamp(), tick.getPrice(), tick.getTradeId(), tick.getQuantity());
+            }
+            segment.force();
+            from = to;
+        }
+    }
+
+    /**
+     * Prepares the segment the next roll will need and flushes segments
+     * rolled out since the last call. Does the file I/O outside the append
+     * lock, so appends are held up only to hand segments over.
+     *
+     * @param nowMillis  the current time, epoch milliseconds
+     * @param leadMillis how long before midnight the next day's segment is prepared
+     * @throws IOException if a segment cannot be created or mapped
+     */
+    void prepare(final long nowMillis, final long leadMillis) throws IOException {
+        final List<JournalSegment> flush;
+        long day = Long.MIN_VALUE;
+        int sequence = -1;
+        synchronized (this) {
+            flush = List.copyOf(retired);
+            retired.clear();
+            if (spare != null && !ahead(spareDay, spareSequence)) {
+                // Left behind by an inline roll; the empty file is harmless
+                spare = null;
+            }
+            final long upcoming = dayOf(nowMillis + leadMillis);
+            if (current != null && spare == null) {
+                if (upcoming > currentDay) {
+                    day = upcoming;
+                } else if (current.count() >= segmentRecords - segmentRecords / 4) {
+                    day = currentDay;
+                    sequence = currentSequence + 1;
+                }
+            }
+        }
+
+        for (final JournalSegment segment : flush) {
+            segment.force();
+        }
+        if (day == Long.MIN_VALUE) {
+            return;
+        }
+        final Opened prepared = sequence < 0 ? openNewest(day) : openOrCreate(day, sequence);
+        synchronized (this) {
+            if (spare == null && ahead(day, prepared.sequence())) {
+                spare = prepared.segment();
+                spareDay = day;
+                spareSequence = prepared.sequence();
+            }
+        }
+    }
+
+    /**
+     * Flushes the current segment, and any rolled out but not yet flushed,
+     * to disk.
+     */
+    synchronized void force() {
+        for (final JournalSegment segment : retired) {
+            segment.force();
+        }
+        retired.clear();
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    /**
+     * Maps the segments that may hold ticks of the given days, oldest first;
+     * within a day, backfill segments follow the live ones.
+     * The segment being written is shared rather than mapped again.
+     *
+     * @param fromDay first epoch day
+     * @param toDay   last epoch day (inclusive)
+     * @return the mapped segments
+     * @throws IOException if a segment cannot be mapped
+     */
+    List<JournalSegment> segments(final long fromDay, final long toDay) throws IOException {
+        final JournalSegment live = current;
+        final List<JournalSegment> segments = new ArrayList<>();
+        for (final SegmentFile file : list()) {
+            if (file.day() < fromDay || file.day() > toDay) {
+                continue;
+            }
+            segments.add(live != null && live.path().equals(file.path())
+                    ? live
+                    : JournalSegment.open(file.path(), indexInterval, false));
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the day of a timestamp as used in segment names.
+     *
+     * @param timestamp epoch milliseconds
+     * @return epoch day
+     */
+    static long dayOf(final long timestamp) {
+        return Math.floorDiv(timestamp, MILLIS_PER_DAY);
+    }
+
+    private JournalSegment roll(final long day) throws IOException {
+        final JournalSegment next;
+        if (spare != null && spareDay == day && ahead(spareDay, spareSequence)) {
+            next = spare;
+            currentSequence = spareSequence;
+            spare = null;
+        } else {
+            final Opened opened = openNewest(day);
+            next = opened.segment();
+            currentSequence = opened.sequence();
+        }
+        if (current != null) {
+            retired.add(current);
+        }
+        currentDay = day;
+        current = next;
+        return next;
+    }
+
+    /**
+     * Returns whether a segment would come after the current one.
+     */
+    private boolean ahead(final long day, final int sequence) {
+        return current == null || day > currentDay || (day == currentDay && sequence > currentSequence);
+    }
+
+    /**
+     * Opens the newest live segment of a day if it still has room, and
+     * creates the next one otherwise.
+     */
+    private Opened openNewest(final long day) throws IOException {
+        Files.createDirectories(directory);
+        SegmentFile newest = null;
+        for (final SegmentFile file : list()) {
+            if (file.day() == day && !file.backfill()) {
+                newest = file;
+            }
+        }
+        if (newest == null) {
+            return openOrCreate(day, 0);
+        }
+        final JournalSegment existing = JournalSegment.open(newest.path(), indexInterval, true);
+        if (existing.count() < segmentRecords) {
+            return new Opened(existing, (int) newest.sequence());
+        }
+        return openOrCreate(day, (int) newest.sequence() + 1);
+    }
+
+    /**
+     * Creates a segment, or opens it if an inline roll and {@link #prepare}
+     * raced to create it.
+     */
+    private Opened openOrCreate(final long day, final int sequence) throws IOException {
+        Files.createDirectories(directory);
+        final Path path = directory.resolve(String.format(Locale.ROOT, "%s.%03d.ticks",
+                LocalDate.ofEpochDay(day), sequence));
+        try {
+            return new Opened(JournalSegment.create(path, segmentRecords, indexInterval), sequence);
+        } catch (final FileAlreadyExistsException e) {
+            return new Opened(JournalSegment.open(path, indexInterval, true), sequence);
+        }
+    }
+
+    private List<SegmentFile> list() throws IOException {
+        final List<SegmentFile> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.ticks")) {
+            for (final Path path : stream) {
+                final Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.add(new SegmentFile(path, LocalDate.parse(matcher.group(1)).toEpochDay(),
+                            !matcher.group(2).isEmpty(), Long.parseLong(matcher.group(3))));
+                }
+            }
+        }
+        files.sort(Comparator.comparingLong(SegmentFile::day)
+                .thenComparing(SegmentFile::backfill)
+                .thenComparingLong(SegmentFile::sequence));
+        return files;
+    }
+
+    private record Opened(JournalSegment segment, int sequence) {
+    }
+
+    // sequence is the first trade id for backfill segments
+    private record SegmentFile(Path path, long day, boolean backfill, long sequence) {
+    }
+}
@@ -0,0 +1,271 @@
+package com.crypto.alerting.ingestion.journal;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.JournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only on-disk journal of every accepted tick.
+ * Each symbol writes fixed-size binary records to its own rolling,
+ * memory-mapped segment files, one or more per UTC day, so appending is a
+ * handful of stores into mapped memory and allocates nothing. Time ranges are
+ * replayed by locating the first record through each segment's sparse
+ * timestamp index and handing out read-only slices of the mapped pages.
+ * Next segments are created and mapped, and full ones flushed, by a
+ * background pass, so a roll on the receive thread only swaps segments.
+ * Trades recovered through backfill are kept in separate, time-ordered
+ * segments of the day they happened, so replay finds them too.
+ */
+@Service
+@Slf4j
+public final class TickJournal {
+
+    // Dependencies
+    private final JournalProperties journalProperties;
+    private final SymbolRegistry symbolRegistry;
+
+    // Constants
+    private static final String METRIC_APPENDED = "ingestion.journal.appended";
+    private static final String METRIC_ERRORS = "ingestion.journal.errors";
+    private static final String METRIC_REPLAYED = "ingestion.journal.replayed";
+    private static final int CHUNK_RECORDS = 2048;
+    private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9]{1,32}");
+
+    private final Path directory;
+    private final AtomicReferenceArray<SymbolJournal> journals;
+    private final Scheduler prepareScheduler;
+    private Disposable preparer;
+
+    // Metrics
+    private final Counter appended;
+    private final Counter errors;
+    private final Counter replayed;
+
+    /**
+     * Creates the journal and registers its metrics.
+     *
+     * @param journalProperties the journal configuration
+     * @param symbolRegistry    the registry assigning symbol ids
+     * @param meterRegistry     the meter registry
+     */
+    public TickJournal(final JournalProperties journalProperties, final SymbolRegistry symbolRegistry,
+            final MeterRegistry meterRegistry) {
+        this.journalProperties = journalProperties;
+        this.symbolRegistry = symbolRegistry;
+        this.directory = Path.of(journalProperties.getDirectory());
+        this.journals = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        this.prepareScheduler = Schedulers.newSingle("journal-prepare", true);
+
+        this.appended = Counter.builder(METRIC_APPENDED)
+                .description("Ticks written to the journal")
+                .register(meterRegistry);
+        this.errors = Counter.builder(METRIC_ERRORS)
+                .description("Ticks that could not be written to the journal")
+                .register(meterRegistry);
+        this.replayed = Counter.builder(METRIC_REPLAYED)
+                .description("Ticks read back from the journal")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts preparing segments ahead of the rolls that need them.
+     */
+    @PostConstruct
+    public void start() {
+        if (journalProperties.isEnabled()) {
+            preparer = Flux.interval(journalProperties.getPrepareInterval(), prepareScheduler)
+                    .subscribe(ignored -> prepareSegments(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Appends a tick to its symbol's current segment. Never throws: failures
+     * are logged and counted.
+     *
+     * @param tick the tick to append
+     */
+    public void append(final PriceTick tick) {
+        if (!journalProperties.isEnabled()) {
+            return;
+        }
+        try {
+            journalOf(tick.getSymbolId()).append(tick);
+            appended.increment();
+        } catch (final IOException | RuntimeException e) {
+            errors.increment();
+            log.error("Failed to journal tick {}", tick, e);
+        }
+    }
+
+    /**
+     * Writes the trades recovered for one gap to backfill segments of their
+     * symbol. Never throws: failures are logged and counted.
+     *
+     * @param ticks trades of one symbol, older than the symbol's live records
+     */
+    public void appendBackfill(final List<PriceTick> ticks) {
+        if (!journalProperties.isEnabled() || ticks.isEmpty()) {
+            return;
+        }
+        try {
+            journalOf(ticks.get(0).getSymbolId()).appendBackfill(ticks);
+            appended.increment(ticks.size());
+        } catch (final IOException | RuntimeException e) {
+            errors.increment(ticks.size());
+            log.error("Failed to journal {} backfilled ticks", ticks.size(), e);
+        }
+    }
+
+    /**
+     * Streams the raw records of a symbol whose timestamps fall in
+     * {@code [from, to)}, in journal order. Each buffer is a read-only slice
+     * of the mapped segment holding whole 32-byte records ({@code long
+     * timestamp | double price | long tradeId | double quantity}, big-endian).
+     *
+     * @param symbol the ticker symbol
+     * @param from   first timestamp, epoch milliseconds (inclusive)
+     * @param to     last timestamp, epoch milliseconds (exclusive)
+     * @return Flux of record runs; backfilled records of a day follow its live ones
+     * @throws IllegalArgumentException if the symbol is malformed or the range is empty
+     */
+    public Flux<ByteBuffer> replay(final String symbol, final long from, final long to) {
+        final String normalized = symbol.toUpperCase(Locale.ROOT);
+        if (!SYMBOL.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        if (from >= to) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        return Flux.defer(() -> {
+                    final List<JournalSegment> segments;
+                    try {
+                        segments = journalFor(normalized)
+                                .segments(SymbolJournal.dayOf(from), SymbolJournal.dayOf(to - 1));
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return Flux.fromIterable(segments);
+                })
+                // Listing and mapping segment files blocks
+                .subscribeOn(Schedulers.boundedElastic())
+                .concatMapIterable(segment -> chunks(segment, from, to))
+                .doOnNext(chunk -> replayed.increment(chunk.remaining() / JournalSegment.RECORD_BYTES));
+    }
+
+    /**
+     * Streams the ticks of a symbol in {@code [from, to)} as price events.
+     *
+     * @param symbol the ticker symbol
+     * @param from   first timestamp, epoch milliseconds (inclusive)
+     * @param to     last timestamp, epoch milliseconds (exclusive)
+     * @return Flux of price events in journal order
+     * @throws IllegalArgumentException if the symbol is malformed or the range is empty
+     */
+    public Flux<PriceEvent> replayEvents(final String symbol, final long from, final long to) {
+        final String normalized = symbol.toUpperCase(Locale.ROOT);
+        return replay(normalized, from, to).concatMapIterable(chunk -> {
+            final List<PriceEvent> events = new ArrayList<>(chunk.remaining() / JournalSegment.RECORD_BYTES);
+            for (int position = 0; position < chunk.limit(); position += JournalSegment.RECORD_BYTES) {
+                events.add(new PriceEvent(normalized, chunk.getDouble(position + 8), chunk.getLong(position)));
+            }
+            return events;
+        });
+    }
+
+    /**
+     * Prepares the next segment of every symbol journaled since startup and
+     * flushes the segments they rolled out. Runs on the prepare scheduler;
+     * package-private for testing purposes.
+     *
+     * @param nowMillis the current time, epoch milliseconds
+     */
+    void prepareSegments(final long nowMillis) {
+        final long leadMillis = journalProperties.getRollAhead().toMillis();
+        for (int i = 0; i < journals.length(); i++) {
+            final SymbolJournal journal = journals.get(i);
+            if (journal == null) {
+                continue;
+            }
+            try {
+                journal.prepare(nowMillis, leadMillis);
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Failed to prepare the next journal segment of {}", symbolRegistry.symbolOf(i), e);
+            }
+        }
+    }
+
+    /**
+     * Stops preparing segments and flushes every symbol's segments to disk.
+     */
+    @PreDestroy
+    public void close() {
+        if (preparer != null) {
+            preparer.dispose();
+        }
+        prepareScheduler.dispose();
+        for (int i = 0; i < journals.length(); i++) {
+            final SymbolJournal journal = journals.get(i);
+            if (journal != null) {
+                journal.force();
+            }
+        }
+    }
+
+    /**
+     * Splits the records of a segment that fall in {@code [from, to)} into
+     * slices of at most {@link #CHUNK_RECORDS} records.
+     */
+    private static List<ByteBuffer> chunks(final JournalSegment segment, final long from, final long to) {
+        final int count = segment.count();
+        final int first = segment.firstAtOrAfter(from, count);
+        final int end = segment.firstAtOrAfter(to, count);
+        final List<ByteBuffer> chunks = new ArrayList<>((end - first) / CHUNK_RECORDS + 1);
+        for (int start = first; start < end; start += CHUNK_RECORDS) {
+            chunks.add(segment.slice(start, Math.min(end, start + CHUNK_RECORDS)));
+        }
+        return chunks;
+    }
+
+    private SymbolJournal journalOf(final int symbolId) {
+        final SymbolJournal journal = journals.get(symbolId);
+        if (journal != null) {
+            return journal;
+        }
+        final String symbol = symbolRegistry.symbolOf(symbolId);
+        if (!SYMBOL.matcher(symbol).matches()) {
+            throw new IllegalArgumentException("Symbol cannot be journaled: " + symbol);
+        }
+        journals.compareAndSet(symbolId, null, new SymbolJournal(directory.resolve(symbol), journalProperties));
+        return journals.get(symbolId);
+    }
+
+    private SymbolJournal journalFor(final String symbol) {
+        final int id = symbolRegistry.idOf(symbol);
+        // Symbols not seen since startup are read straight from their files
+        return id == SymbolRegistry.UNKNOWN
+                ? new SymbolJournal(directory.resolve(symbol), journalProperties)
+                : journalOf(id);
+    }
+}
@@ -0,0 +1,121 @@
+package com.crypto.alerting.ingestion.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.experimental.UtilityClass;
+
+import java.time.Duration;
+
+/**
+ * Meters shared by the stages of the tick path, so every stage reports its
+ * latency under one name and with the same percentile configuration.
+ * <p>
+ * Stage timers keep HdrHistogram-backed percentiles in-process (p50, p99,
+ * p99.9 over a sliding window) and also publish a bounded histogram, so
+ * Prometheus can aggregate percentiles across instances.
+ */
+@UtilityClass
+public class IngestionMetrics {
+
+    private static final String METRIC_LATENCY = "ingestion.latency";
+    private static final String METRIC_PARSE_FAILURES = "ingestion.parse.failures";
+    private static final String TAG_STAGE = "stage";
+    private static final String TAG_REASON = "reason";
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(1_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+    private static final Duration PERCENTILE_WINDOW = Duration.ofMinutes(1);
+
+    /**
+     * Stage of the tick path whose latency is timed.
+     */
+    public enum Stage {
+        /**
+         * From the exchange trade time to receipt of the frame, in wall-clock
+         * time, so it includes any clock skew with the exchange.
+         */
+        EXCHANGE_TO_RECEIVE("exchange_to_receive"),
+        /**
+         * From receipt of the frame to a validated tick.
+         */
+        RECEIVE_TO_PARSED("receive_to_parsed"),
+        /**
+         * From a validated tick to its broadcast to price stream subscribers.
+         */
+        PARSED_TO_BROADCAST("parsed_to_broadcast"),
+        /**
+         * From hand-off to the Kafka pipeline to the broker acknowledgement.
+         */
+        SEND_TO_ACK("send_to_ack");
+
+        private final String tag;
+
+        Stage(final String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Why a frame was dropped instead of being processed as a tick.
+     */
+    public enum ParseFailure {
+        /**
+         * The frame had no payload.
+         */
+        EMPTY("empty"),
+        /**
+         * The frame lacked a required trade field.
+         */
+        MISSING_FIELDS("missing_fields"),
+        /**
+         * The trade price was not positive.
+         */
+        INVALID_PRICE("invalid_price"),
+        /**
+         * Processing the frame threw unexpectedly; whatever it carried is
+         * dropped.
+         */
+        ERROR("error");
+
+        private final String tag;
+
+        ParseFailure(final String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Returns the latency timer of a stage, registering it on first use.
+     *
+     * @param meterRegistry the meter registry
+     * @param stage         the stage
+     * @return the stage's timer
+     */
+    public static Timer stageTimer(final MeterRegistry meterRegistry, final Stage stage) {
+        return Timer.builder(METRIC_LATENCY)
+                .description("Latency of each stage of the tick path")
+                .tag(TAG_STAGE, stage.tag)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .distributionStatisticExpiry(PERCENTILE_WINDOW)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the counter of frames dropped for a reason, registering it on
+     * first use.
+     *
+     * @param meterRegistry the meter registry
+     * @param reason        the reason
+     * @return the reason's counter
+     */
+    public static Counter parseFailures(final MeterRegistry meterRegistry, final ParseFailure reason) {
+        return Counter.builder(METRIC_PARSE_FAILURES)
+                .description("Frames dropped instead of being processed as a tick")
+                .tag(TAG_REASON, reason.tag)
+                .register(meterRegistry);
+    }
+}
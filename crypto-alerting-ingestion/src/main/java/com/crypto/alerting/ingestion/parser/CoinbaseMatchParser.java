@@ -0,0 +1,307 @@
+package com.crypto.alerting.ingestion.parser;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation-free parser for Coinbase Exchange {@code matches} channel
+ * frames, e.g. {@code {"type":"match","trade_id":10,"product_id":"BTC-USDT",
+ * "price":"400.23","size":"5.23","time":"2014-11-07T08:19:27.028459Z"}}.
+ * Product ids are resolved to {@link SymbolRegistry} ids without their dash,
+ * so {@code BTC-USDT} maps to the same id as Binance's {@code BTCUSDT}.
+ * Frames of any other type, such as subscription acknowledgements and
+ * heartbeats, are rejected.
+ * <p>
+ * Instances are stateful flyweights confined to a single WebSocket session,
+ * like {@link TradeFrameParser}.
+ */
+public final class CoinbaseMatchParser implements TradeDecoder {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_SYMBOL_LENGTH = 64;
+
+    // Keys decoded, everything else is stepped over
+    private static final byte[] KEY_TYPE = ascii("type");
+    private static final byte[] KEY_TRADE_ID = ascii("trade_id");
+    private static final byte[] KEY_PRODUCT_ID = ascii("product_id");
+    private static final byte[] KEY_PRICE = ascii("price");
+    private static final byte[] KEY_SIZE = ascii("size");
+    private static final byte[] KEY_TIME = ascii("time");
+    private static final byte[] TYPE_MATCH = ascii("match");
+    private static final byte[] TYPE_LAST_MATCH = ascii("last_match");
+
+    // Field presence flags
+    private static final int IS_MATCH = 1;
+    private static final int HAS_SYMBOL = 1 << 1;
+    private static final int HAS_PRICE = 1 << 2;
+    private static final int HAS_TRADE_TIME = 1 << 3;
+    private static final int REQUIRED_FIELDS = IS_MATCH | HAS_SYMBOL | HAS_PRICE | HAS_TRADE_TIME;
+
+    // Resolves ticker bytes to symbol ids without allocating
+    private final SymbolRegistry symbolRegistry;
+
+    // Scratch copies of the current frame and of its dashless product id
+    private byte[] scratch = new byte[INITIAL_CAPACITY];
+    private final byte[] symbolScratch = new byte[MAX_SYMBOL_LENGTH];
+    private int sourceLength;
+
+    // Fields of the last parsed trade
+    private int symbolId;
+    private double price;
+    private double quantity;
+    private long tradeTime;
+    private long tradeId;
+
+    /**
+     * Creates a parser resolving tickers against the given registry.
+     *
+     * @param symbolRegistry the registry assigning symbol ids
+     */
+    public CoinbaseMatchParser(final SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    @Override
+    public boolean parse(final DataBuffer buffer) {
+        final int readable = buffer.readableByteCount();
+        if (scratch.length < readable) {
+            scratch = new byte[Math.max(readable, scratch.length * 2)];
+        }
+        buffer.read(scratch, 0, readable);
+        sourceLength = readable;
+        return scan(scratch, 0, readable);
+    }
+
+    @Override
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    @Override
+    public String getSymbol() {
+        return symbolRegistry.symbolOf(symbolId);
+    }
+
+    @Override
+    public double getPrice() {
+        return price;
+    }
+
+    @Override
+    public double getQuantity() {
+        return quantity;
+    }
+
+    @Override
+    public long getTradeTime() {
+        return tradeTime;
+    }
+
+    @Override
+    public long getTradeId() {
+        return tradeId;
+    }
+
+    @Override
+    public String lastFrameAsText() {
+        return new String(scratch, 0, sourceLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Walks the flat match object once, decoding the recognised keys.
+     *
+     * @param buf  frame bytes
+     * @param from first index
+     * @param to   end index (exclusive)
+     * @return true if the frame is a match carrying all required fields
+     */
+    private boolean scan(final byte[] buf, final int from, final int to) {
+        reset();
+        int flags = 0;
+        int i = from;
+
+        while (i < to) {
+            if (buf[i] != '"') {
+                i++;
+                continue;
+            }
+
+            final int keyStart = i + 1;
+            final int keyEnd = JsonBytes.closingQuote(buf, i, to);
+            if (keyEnd < 0) {
+                return false;
+            }
+            i = JsonBytes.skipWhitespace(buf, keyEnd + 1, to);
+            if (i >= to || buf[i] != ':') {
+                // A string value rather than a key
+                continue;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+            if (i >= to) {
+                return false;
+            }
+
+            final boolean quoted = buf[i] == '"';
+            final int valueStart = quoted ? i + 1 : i;
+            final int valueEnd = quoted ? JsonBytes.closingQuote(buf, i, to) : JsonBytes.scalarEnd(buf, i, to);
+            if (valueEnd < 0) {
+                return false;
+            }
+            i = quoted ? valueEnd + 1 : valueEnd;
+
+            if (matches(buf, keyStart, keyEnd, KEY_TYPE)) {
+                if (!matches(buf, valueStart, valueEnd, TYPE_MATCH)
+                        && !matches(buf, valueStart, valueEnd, TYPE_LAST_MATCH)) {
+                    return false;
+                }
+                flags |= IS_MATCH;
+            } else if (matches(buf, keyStart, keyEnd, KEY_PRODUCT_ID)) {
+                if (!quoted || !resolveSymbol(buf, valueStart, valueEnd)) {
+                    return false;
+                }
+                flags |= HAS_SYMBOL;
+            } else if (matches(buf, keyStart, keyEnd, KEY_PRICE)) {
+                price = JsonBytes.parseDecimal(buf, valueStart, valueEnd);
+                if (Double.isNaN(price)) {
+                    return false;
+                }
+                flags |= HAS_PRICE;
+            } else if (matches(buf, keyStart, keyEnd, KEY_SIZE)) {
+                quantity = JsonBytes.parseDecimal(buf, valueStart, valueEnd);
+            } else if (matches(buf, keyStart, keyEnd, KEY_TIME)) {
+                tradeTime = parseIsoMillis(buf, valueStart, valueEnd);
+                if (tradeTime == JsonBytes.MALFORMED_LONG) {
+                    return false;
+                }
+                flags |= HAS_TRADE_TIME;
+            } else if (matches(buf, keyStart, keyEnd, KEY_TRADE_ID)) {
+                tradeId = JsonBytes.parseLong(buf, valueStart, valueEnd);
+                if (tradeId == JsonBytes.MALFORMED_LONG) {
+                    return false;
+                }
+            }
+        }
+        return (flags & REQUIRED_FIELDS) == REQUIRED_FIELDS;
+    }
+
+    private void reset() {
+        symbolId = SymbolRegistry.UNKNOWN;
+        price = Double.NaN;
+        quantity = Double.NaN;
+        tradeTime = NO_ID;
+        tradeId = NO_ID;
+    }
+
+    /**
+     * Registers a product id with its dashes removed.
+     *
+     * @return false if the product id is empty or too long
+     */
+    private boolean resolveSymbol(final byte[] buf, final int start, final int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            if (buf[i] == '-') {
+                continue;
+            }
+            if (length == MAX_SYMBOL_LENGTH) {
+                return false;
+            }
+            symbolScratch[length++] = buf[i];
+        }
+        if (length == 0) {
+            return false;
+        }
+        symbolId = symbolRegistry.register(symbolScratch, 0, length);
+        return true;
+    }
+
+    private static boolean matches(final byte[] buf, final int start, final int end, final byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buf[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a UTC timestamp of the form {@code 2014-11-07T08:19:27.028459Z}
+     * to epoch milliseconds. Fraction digits beyond milliseconds are ignored.
+     *
+     * @return epoch milliseconds, or {@link JsonBytes#MALFORMED_LONG}
+     */
+    static long parseIsoMillis(final byte[] buf, final int start, final int end) {
+        if (end - start < 20 || buf[start + 4] != '-' || buf[start + 7] != '-' || buf[start + 10] != 'T'
+                || buf[start + 13] != ':' || buf[start + 16] != ':' || buf[end - 1] != 'Z') {
+            return JsonBytes.MALFORMED_LONG;
+        }
+        final int year = digits(buf, start, 4);
+        final int month = digits(buf, start + 5, 2);
+        final int day = digits(buf, start + 8, 2);
+        final int hour = digits(buf, start + 11, 2);
+        final int minute = digits(buf, start + 14, 2);
+        final int second = digits(buf, start + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return JsonBytes.MALFORMED_LONG;
+        }
+
+        int millis = 0;
+        final int fractionEnd = end - 1;
+        if (start + 19 < fractionEnd) {
+            if (buf[start + 19] != '.') {
+                return JsonBytes.MALFORMED_LONG;
+            }
+            int scale = 100;
+            for (int i = start + 20; i < fractionEnd; i++) {
+                final int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return JsonBytes.MALFORMED_LONG;
+                }
+                millis += digit * scale;
+                scale /= 10;
+            }
+        }
+
+        final long days = epochDay(year, month, day);
+        return ((days * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+    }
+
+    /**
+     * Returns the days since 1970-01-01 of a proleptic Gregorian date.
+     */
+    private static long epochDay(final int year, final int month, final int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = Math.floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    /**
+     * Decodes a fixed number of ASCII digits.
+     *
+     * @return the value, or -1 on a non-digit
+     */
+    private static int digits(final byte[] buf, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
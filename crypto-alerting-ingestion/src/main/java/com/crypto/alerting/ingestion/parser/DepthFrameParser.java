@@ -0,0 +1,435 @@
+package com.crypto.alerting.ingestion.parser;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Allocation-free parser for Binance order book depth payloads.
+ * Decodes diff-depth frames ({@code depthUpdate}, raw or combined-stream)
+ * and REST depth snapshots ({@code lastUpdateId}, {@code bids},
+ * {@code asks}) straight into primitive level arrays that grow with the
+ * largest payload seen and are reused afterwards.
+ * <p>
+ * Instances are stateful flyweights like {@link TradeFrameParser}: the
+ * accessors describe the last parsed payload and are overwritten by the
+ * next call, so an instance must be confined to a single thread at a time.
+ */
+public final class DepthFrameParser {
+
+    /**
+     * Value reported by id accessors when the field is absent.
+     */
+    public static final long NO_ID = -1L;
+
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int INITIAL_LEVELS = 64;
+    private static final byte[] DEPTH_UPDATE = "depthUpdate".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_LAST_UPDATE_ID = "lastUpdateId".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_BIDS = "bids".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_ASKS = "asks".getBytes(StandardCharsets.US_ASCII);
+
+    // Field presence flags
+    private static final int HAS_SYMBOL = 1;
+    private static final int HAS_FIRST_UPDATE_ID = 1 << 1;
+    private static final int HAS_FINAL_UPDATE_ID = 1 << 2;
+    private static final int HAS_BIDS = 1 << 3;
+    private static final int HAS_ASKS = 1 << 4;
+    private static final int UPDATE_FIELDS = HAS_SYMBOL | HAS_FIRST_UPDATE_ID | HAS_FINAL_UPDATE_ID;
+    private static final int SNAPSHOT_FIELDS = HAS_FINAL_UPDATE_ID | HAS_BIDS | HAS_ASKS;
+
+    // Resolves ticker bytes to symbol ids without allocating
+    private final SymbolRegistry symbolRegistry;
+
+    // Scratch copy of the current payload
+    private byte[] scratch = new byte[INITIAL_CAPACITY];
+    private byte[] source = scratch;
+    private int sourceOffset;
+    private int sourceLength;
+
+    // Fields of the last parsed payload
+    private int symbolId;
+    private long eventTime;
+    private long firstUpdateId;
+    private long finalUpdateId;
+    private final Levels bids = new Levels();
+    private final Levels asks = new Levels();
+
+    /**
+     * Creates a parser resolving tickers against the given registry.
+     *
+     * @param symbolRegistry the registry assigning symbol ids
+     */
+    public DepthFrameParser(final SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    /**
+     * Parses a diff-depth frame held in a data buffer.
+     * The buffer's readable bytes are consumed.
+     *
+     * @param buffer the WebSocket message payload
+     * @return true if the frame is a depth update carrying symbol and update ids
+     */
+    public boolean parseUpdate(final DataBuffer buffer) {
+        final int readable = buffer.readableByteCount();
+        ensureScratch(readable);
+        buffer.read(scratch, 0, readable);
+        return parseUpdate(scratch, 0, readable);
+    }
+
+    /**
+     * Parses a diff-depth frame held in a byte array.
+     *
+     * @param bytes  the array holding the frame
+     * @param offset offset of the first frame byte
+     * @param length number of frame bytes
+     * @return true if the frame is a depth update carrying symbol and update ids
+     */
+    public boolean parseUpdate(final byte[] bytes, final int offset, final int length) {
+        return (scan(bytes, offset, length) & UPDATE_FIELDS) == UPDATE_FIELDS;
+    }
+
+    /**
+     * Parses a REST depth snapshot. The symbol is not part of a snapshot and
+     * is reported as {@link SymbolRegistry#UNKNOWN}.
+     *
+     * @param bytes  the array holding the snapshot
+     * @param offset offset of the first snapshot byte
+     * @param length number of snapshot bytes
+     * @return true if the snapshot carries its update id and both sides
+     */
+    public boolean parseSnapshot(final byte[] bytes, final int offset, final int length) {
+        return (scan(bytes, offset, length) & SNAPSHOT_FIELDS) == SNAPSHOT_FIELDS;
+    }
+
+    /**
+     * Returns the symbol id of the last parsed update.
+     *
+     * @return symbol id assigned by the registry
+     */
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    /**
+     * Returns the ticker symbol of the last parsed update.
+     *
+     * @return interned ticker symbol
+     */
+    public String getSymbol() {
+        return symbolRegistry.symbolOf(symbolId);
+    }
+
+    /**
+     * Returns the exchange event time of the last parsed update.
+     *
+     * @return event time in epoch milliseconds, or {@link #NO_ID} if absent
+     */
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    /**
+     * Returns the first update id of the last parsed update ({@code U}).
+     *
+     * @return first update id, or {@link #NO_ID} for a snapshot
+     */
+    public long getFirstUpdateId() {
+        return firstUpdateId;
+    }
+
+    /**
+     * Returns the final update id of the last parsed update ({@code u}), or
+     * the {@code lastUpdateId} of a snapshot.
+     *
+     * @return final update id
+     */
+    public long getFinalUpdateId() {
+        return finalUpdateId;
+    }
+
+    /**
+     * Returns the number of bid levels in the last parsed payload.
+     *
+     * @return bid level count
+     */
+    public int getBidCount() {
+        return bids.count;
+    }
+
+    /**
+     * Returns the price of a bid level.
+     *
+     * @param index level index, in payload order
+     * @return level price
+     */
+    public double getBidPrice(final int index) {
+        return bids.prices[index];
+    }
+
+    /**
+     * Returns the quantity of a bid level; zero removes the level.
+     *
+     * @param index level index, in payload order
+     * @return level quantity
+     */
+    public double getBidQuantity(final int index) {
+        return bids.quantities[index];
+    }
+
+    /**
+     * Returns the number of ask levels in the last parsed payload.
+     *
+     * @return ask level count
+     */
+    public int getAskCount() {
+        return asks.count;
+    }
+
+    /**
+     * Returns the price of an ask level.
+     *
+     * @param index level index, in payload order
+     * @return level price
+     */
+    public double getAskPrice(final int index) {
+        return asks.prices[index];
+    }
+
+    /**
+     * Returns the quantity of an ask level; zero removes the level.
+     *
+     * @param index level index, in payload order
+     * @return level quantity
+     */
+    public double getAskQuantity(final int index) {
+        return asks.quantities[index];
+    }
+
+    /**
+     * Copies the last payload, for holding it until it can be applied.
+     *
+     * @return a copy of the last payload bytes
+     */
+    public byte[] copyLastPayload() {
+        return Arrays.copyOfRange(source, sourceOffset, sourceOffset + sourceLength);
+    }
+
+    /**
+     * Decodes the last payload as text. Allocates, so intended for
+     * diagnostics on the failure path only.
+     *
+     * @return the last payload as a string
+     */
+    public String lastPayloadAsText() {
+        return new String(source, sourceOffset, sourceLength, StandardCharsets.UTF_8);
+    }
+
+    private void ensureScratch(final int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+    }
+
+    /**
+     * Walks the payload once, decoding recognised keys at any nesting depth
+     * and stepping over everything else.
+     *
+     * @return presence flags of the decoded fields, or 0 if malformed
+     */
+    private int scan(final byte[] buf, final int offset, final int length) {
+        source = buf;
+        sourceOffset = offset;
+        sourceLength = length;
+        symbolId = SymbolRegistry.UNKNOWN;
+        eventTime = NO_ID;
+        firstUpdateId = NO_ID;
+        finalUpdateId = NO_ID;
+        bids.count = 0;
+        asks.count = 0;
+
+        final int to = offset + length;
+        int flags = 0;
+        int i = offset;
+        while (i < to) {
+            if (buf[i] != '"') {
+                i++;
+                continue;
+            }
+
+            final int keyStart = i + 1;
+            final int keyEnd = JsonBytes.closingQuote(buf, i, to);
+            if (keyEnd < 0) {
+                return 0;
+            }
+            i = JsonBytes.skipWhitespace(buf, keyEnd + 1, to);
+            if (i >= to || buf[i] != ':') {
+                // A string value rather than a key
+                continue;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+            if (i >= to) {
+                return 0;
+            }
+
+            final int key = keyOf(buf, keyStart, keyEnd);
+            if (key == 0) {
+                // Nested objects and arrays are entered by the main loop
+                continue;
+            }
+            if (key == 'b' || key == 'a') {
+                i = parseLevels(buf, i, to, key == 'b' ? bids : asks);
+                if (i < 0) {
+                    return 0;
+                }
+                flags |= key == 'b' ? HAS_BIDS : HAS_ASKS;
+                continue;
+            }
+
+            final boolean quoted = buf[i] == '"';
+            final int valueStart = quoted ? i + 1 : i;
+            final int valueEnd = quoted ? JsonBytes.closingQuote(buf, i, to) : JsonBytes.scalarEnd(buf, i, to);
+            if (valueEnd < 0) {
+                return 0;
+            }
+            i = quoted ? valueEnd + 1 : valueEnd;
+
+            switch (key) {
+                case 'e' -> {
+                    if (!Arrays.equals(buf, valueStart, valueEnd, DEPTH_UPDATE, 0, DEPTH_UPDATE.length)) {
+                        return 0;
+                    }
+                }
+                case 's' -> {
+                    if (!quoted || valueEnd == valueStart) {
+                        return 0;
+                    }
+                    symbolId = symbolRegistry.register(buf, valueStart, valueEnd - valueStart);
+                    flags |= HAS_SYMBOL;
+                }
+                case 'E' -> eventTime = JsonBytes.parseLong(buf, valueStart, valueEnd);
+                case 'U' -> {
+                    firstUpdateId = JsonBytes.parseLong(buf, valueStart, valueEnd);
+                    flags |= HAS_FIRST_UPDATE_ID;
+                }
+                case 'u' -> {
+                    finalUpdateId = JsonBytes.parseLong(buf, valueStart, valueEnd);
+                    flags |= HAS_FINAL_UPDATE_ID;
+                }
+                default -> {
+                    // not reachable, filtered by keyOf
+                }
+            }
+            if (eventTime == JsonBytes.MALFORMED_LONG || firstUpdateId == JsonBytes.MALFORMED_LONG
+                    || finalUpdateId == JsonBytes.MALFORMED_LONG) {
+                return 0;
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Maps a key to the single-letter code it is decoded under; the
+     * snapshot's long keys map to their diff-frame equivalents.
+     *
+     * @return the key code, or 0 for keys that are skipped
+     */
+    private static int keyOf(final byte[] buf, final int start, final int end) {
+        if (end - start == 1) {
+            final byte key = buf[start];
+            return key == 'e' || key == 's' || key == 'E' || key == 'U' || key == 'u' || key == 'b' || key == 'a'
+                    ? key : 0;
+        }
+        if (Arrays.equals(buf, start, end, KEY_LAST_UPDATE_ID, 0, KEY_LAST_UPDATE_ID.length)) {
+            return 'u';
+        }
+        if (Arrays.equals(buf, start, end, KEY_BIDS, 0, KEY_BIDS.length)) {
+            return 'b';
+        }
+        if (Arrays.equals(buf, start, end, KEY_ASKS, 0, KEY_ASKS.length)) {
+            return 'a';
+        }
+        return 0;
+    }
+
+    /**
+     * Decodes an array of {@code ["price","quantity"]} pairs.
+     *
+     * @return index after the closing bracket, or -1 if malformed
+     */
+    private static int parseLevels(final byte[] buf, final int start, final int to, final Levels levels) {
+        if (buf[start] != '[') {
+            return -1;
+        }
+        int i = JsonBytes.skipWhitespace(buf, start + 1, to);
+        if (i < to && buf[i] == ']') {
+            return i + 1;
+        }
+        while (i < to) {
+            if (buf[i] != '[') {
+                return -1;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+            final int priceEnd = JsonBytes.closingQuote(buf, i, to);
+            if (i >= to || buf[i] != '"' || priceEnd < 0) {
+                return -1;
+            }
+            final double price = JsonBytes.parseDecimal(buf, i + 1, priceEnd);
+            i = JsonBytes.skipWhitespace(buf, priceEnd + 1, to);
+            if (i >= to || buf[i] != ',') {
+                return -1;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+            final int quantityEnd = JsonBytes.closingQuote(buf, i, to);
+            if (i >= to || buf[i] != '"' || quantityEnd < 0) {
+                return -1;
+            }
+            final double quantity = JsonBytes.parseDecimal(buf, i + 1, quantityEnd);
+            if (Double.isNaN(price) || Double.isNaN(quantity)) {
+                return -1;
+            }
+            levels.add(price, quantity);
+
+            // Skip any further pair elements up to the pair's closing bracket
+            i = quantityEnd + 1;
+            while (i < to && buf[i] != ']') {
+                i++;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+            if (i >= to) {
+                return -1;
+            }
+            if (buf[i] == ']') {
+                return i + 1;
+            }
+            if (buf[i] != ',') {
+                return -1;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+        }
+        return -1;
+    }
+
+    /**
+     * Price levels of one side, in payload order.
+     */
+    private static final class Levels {
+
+        private double[] prices = new double[INITIAL_LEVELS];
+        private double[] quantities = new double[INITIAL_LEVELS];
+        private int count;
+
+        private void add(final double price, final double quantity) {
+            if (count == prices.length) {
+                prices = Arrays.copyOf(prices, count * 2);
+                quantities = Arrays.copyOf(quantities, count * 2);
+            }
+            prices[count] = price;
+            quantities[count] = quantity;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.crypto.alerting.ingestion.parser;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scanning and number decoding helpers shared by the frame parsers.
+ * Everything works on raw JSON bytes in place and allocates nothing, except
+ * for decimals beyond the fast path.
+ */
+final class JsonBytes {
+
+    /**
+     * Value returned by {@link #parseLong} for anything but a plain integer.
+     */
+    static final long MALFORMED_LONG = Long.MIN_VALUE;
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private JsonBytes() {
+    }
+
+    /**
+     * Finds the quote closing the string opened at {@code open}, honouring
+     * backslash escapes.
+     *
+     * @return index of the closing quote, or -1 if the string is unterminated
+     */
+    static int closingQuote(final byte[] buf, final int open, final int to) {
+        for (int i = open + 1; i < to; i++) {
+            final byte b = buf[i];
+            if (b == '\\') {
+                i++;
+            } else if (b == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int scalarEnd(final byte[] buf, final int start, final int to) {
+        int i = start;
+        while (i < to) {
+            final byte b = buf[i];
+            if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    static int skipWhitespace(final byte[] buf, final int start, final int to) {
+        int i = start;
+        while (i < to && (buf[i] == ' ' || buf[i] == '\t' || buf[i] == '\r' || buf[i] == '\n')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes a plain integer.
+     *
+     * @return the value, or {@link #MALFORMED_LONG}
+     */
+    static long parseLong(final byte[] buf, final int start, final int end) {
+        int i = start;
+        final boolean negative = i < end && buf[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i >= end) {
+            return MALFORMED_LONG;
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            final int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return MALFORMED_LONG;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes a plain decimal such as {@code 43125.01000000}. Values whose
+     * mantissa fits in 53 bits are computed with a single correctly rounded
+     * division, which yields the same result as {@link Double#parseDouble};
+     * anything else falls back to it.
+     *
+     * @return the value, or {@link Double#NaN} if malformed
+     */
+    static double parseDecimal(final byte[] buf, final int start, final int end) {
+        int i = start;
+        final boolean negative = i < end && buf[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            final byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fraction) {
+                    scale++;
+                }
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    return parseDecimalSlow(buf, start, end);
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return parseDecimalSlow(buf, start, end);
+            }
+        }
+
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (scale >= POWERS_OF_TEN.length) {
+            return parseDecimalSlow(buf, start, end);
+        }
+        final double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static double parseDecimalSlow(final byte[] buf, final int start, final int end) {
+        try {
+            return Double.parseDouble(new String(buf, start, end - start, StandardCharsets.US_ASCII));
+        } catch (final NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
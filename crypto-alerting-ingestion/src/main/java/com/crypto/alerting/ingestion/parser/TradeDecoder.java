@@ -0,0 +1,79 @@
+package com.crypto.alerting.ingestion.parser;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+/**
+ * Decodes one venue's trade frames into primitives.
+ * Implementations are stateful flyweights: the accessors describe the last
+ * frame passed to {@link #parse(DataBuffer)} and are overwritten by the next
+ * call, so an instance must be confined to a single WebSocket session.
+ * Tickers are resolved to {@link com.crypto.alerting.commons.SymbolRegistry}
+ * ids in the venue-neutral form, e.g. {@code BTCUSDT}, so the same symbol
+ * gets the same id on every venue.
+ */
+public interface TradeDecoder {
+
+    /**
+     * Value reported by id accessors when the field is absent from the frame.
+     */
+    long NO_ID = -1L;
+
+    /**
+     * Parses a frame held in a data buffer.
+     * The buffer's readable bytes are consumed.
+     *
+     * @param buffer the WebSocket message payload
+     * @return true if the frame is a trade carrying symbol, price and trade time
+     */
+    boolean parse(DataBuffer buffer);
+
+    /**
+     * Returns the symbol id of the last parsed trade.
+     *
+     * @return symbol id assigned by the registry
+     */
+    int getSymbolId();
+
+    /**
+     * Returns the ticker symbol of the last parsed trade.
+     *
+     * @return interned ticker symbol
+     */
+    String getSymbol();
+
+    /**
+     * Returns the price of the last parsed trade.
+     *
+     * @return trade price
+     */
+    double getPrice();
+
+    /**
+     * Returns the quantity of the last parsed trade.
+     *
+     * @return trade quantity, or {@link Double#NaN} if absent
+     */
+    double getQuantity();
+
+    /**
+     * Returns the exchange trade time of the last parsed trade.
+     *
+     * @return trade time in epoch milliseconds
+     */
+    long getTradeTime();
+
+    /**
+     * Returns the exchange trade id of the last parsed trade.
+     *
+     * @return trade id, or {@link #NO_ID} if absent
+     */
+    long getTradeId();
+
+    /**
+     * Decodes the last frame as text. Allocates, so intended for diagnostics
+     * on the failure path only.
+     *
+     * @return the last frame as a string
+     */
+    String lastFrameAsText();
+}
@@ -0,0 +1,278 @@
+package com.crypto.alerting.ingestion.parser;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation-free parser for Binance trade frames.
+ * Scans the raw frame bytes for the handful of fields the ingestion path uses
+ * and decodes them straight into primitives, skipping everything else. Both
+ * raw ({@code /ws}) and combined-stream ({@code {"stream":..,"data":{..}}})
+ * payloads are supported. Tickers are resolved to {@link SymbolRegistry} ids
+ * straight from the frame bytes.
+ * <p>
+ * Instances are stateful flyweights: the accessors describe the last frame
+ * passed to {@link #parse(DataBuffer)} and are overwritten by the next call.
+ * An instance must therefore be confined to a single WebSocket session.
+ * This is the {@link TradeDecoder} of the Binance feed adapter.
+ */
+public final class TradeFrameParser implements TradeDecoder {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    // Field presence flags
+    private static final int HAS_SYMBOL = 1;
+    private static final int HAS_PRICE = 1 << 1;
+    private static final int HAS_TRADE_TIME = 1 << 2;
+    private static final int REQUIRED_FIELDS = HAS_SYMBOL | HAS_PRICE | HAS_TRADE_TIME;
+
+    // Resolves ticker bytes to symbol ids without allocating
+    private final SymbolRegistry symbolRegistry;
+
+    // Scratch copy of the current frame
+    private byte[] scratch = new byte[INITIAL_CAPACITY];
+    private byte[] source = scratch;
+    private int sourceOffset;
+    private int sourceLength;
+    private boolean malformed;
+
+    // Fields of the last parsed trade
+    private int symbolId;
+    private double price;
+    private double quantity;
+    private long tradeTime;
+    private long tradeId;
+    private long eventTime;
+
+    /**
+     * Creates a parser resolving tickers against the given registry.
+     *
+     * @param symbolRegistry the registry assigning symbol ids
+     */
+    public TradeFrameParser(final SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    /**
+     * Parses a frame held in a data buffer.
+     * The buffer's readable bytes are consumed.
+     *
+     * @param buffer the WebSocket message payload
+     * @return true if the frame is a trade carrying symbol, price and trade time
+     */
+    @Override
+    public boolean parse(final DataBuffer buffer) {
+        final int readable = buffer.readableByteCount();
+        if (scratch.length < readable) {
+            scratch = new byte[Math.max(readable, scratch.length * 2)];
+        }
+        buffer.read(scratch, 0, readable);
+        return parse(scratch, 0, readable);
+    }
+
+    /**
+     * Parses a frame held in a byte array.
+     *
+     * @param bytes  the array holding the frame
+     * @param offset offset of the first frame byte
+     * @param length number of frame bytes
+     * @return true if the frame is a trade carrying symbol, price and trade time
+     */
+    public boolean parse(final byte[] bytes, final int offset, final int length) {
+        source = bytes;
+        sourceOffset = offset;
+        sourceLength = length;
+        return scan(bytes, offset, offset + length);
+    }
+
+    /**
+     * Returns the symbol id of the last parsed trade.
+     *
+     * @return symbol id assigned by the registry
+     */
+    @Override
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    /**
+     * Returns the ticker symbol of the last parsed trade.
+     * The same {@link String} instance is returned for every frame of a symbol.
+     *
+     * @return interned ticker symbol
+     */
+    @Override
+    public String getSymbol() {
+        return symbolRegistry.symbolOf(symbolId);
+    }
+
+    /**
+     * Returns the price of the last parsed trade.
+     *
+     * @return trade price
+     */
+    @Override
+    public double getPrice() {
+        return price;
+    }
+
+    /**
+     * Returns the quantity of the last parsed trade.
+     *
+     * @return trade quantity, or {@link Double#NaN} if absent
+     */
+    @Override
+    public double getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns the exchange trade time of the last parsed trade.
+     *
+     * @return trade time in epoch milliseconds
+     */
+    @Override
+    public long getTradeTime() {
+        return tradeTime;
+    }
+
+    /**
+     * Returns the exchange trade id of the last parsed trade.
+     *
+     * @return trade id, or {@link #NO_ID} if absent
+     */
+    @Override
+    public long getTradeId() {
+        return tradeId;
+    }
+
+    /**
+     * Returns the exchange event time of the last parsed trade.
+     *
+     * @return event time in epoch milliseconds, or {@link #NO_ID} if absent
+     */
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    /**
+     * Decodes the last frame as text. Allocates, so intended for diagnostics
+     * on the failure path only.
+     *
+     * @return the last frame as a string
+     */
+    @Override
+    public String lastFrameAsText() {
+        return new String(source, sourceOffset, sourceLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Walks the frame once, decoding recognised single-letter keys at any
+     * nesting depth and stepping over everything else.
+     *
+     * @param buf  frame bytes
+     * @param from first index
+     * @param to   end index (exclusive)
+     * @return true if all required fields were decoded
+     */
+    private boolean scan(final byte[] buf, final int from, final int to) {
+        reset();
+        int flags = 0;
+        int i = from;
+
+        while (i < to) {
+            if (buf[i] != '"') {
+                i++;
+                continue;
+            }
+
+            final int keyStart = i + 1;
+            final int keyEnd = JsonBytes.closingQuote(buf, i, to);
+            if (keyEnd < 0) {
+                return false;
+            }
+            i = JsonBytes.skipWhitespace(buf, keyEnd + 1, to);
+            if (i >= to || buf[i] != ':') {
+                // A string value rather than a key
+                continue;
+            }
+            i = JsonBytes.skipWhitespace(buf, i + 1, to);
+            if (i >= to) {
+                return false;
+            }
+            if (keyEnd - keyStart != 1 || !isDecodedKey(buf[keyStart])) {
+                // Nested objects and arrays are entered by the main loop
+                continue;
+            }
+
+            final boolean quoted = buf[i] == '"';
+            final int valueStart = quoted ? i + 1 : i;
+            final int valueEnd = quoted ? JsonBytes.closingQuote(buf, i, to) : JsonBytes.scalarEnd(buf, i, to);
+            if (valueEnd < 0) {
+                return false;
+            }
+            i = quoted ? valueEnd + 1 : valueEnd;
+
+            switch (buf[keyStart]) {
+                case 's' -> {
+                    if (!quoted || valueEnd == valueStart) {
+                        return false;
+                    }
+                    symbolId = symbolRegistry.register(buf, valueStart, valueEnd - valueStart);
+                    flags |= HAS_SYMBOL;
+                }
+                case 'p' -> {
+                    price = parseDecimal(buf, valueStart, valueEnd);
+                    flags |= HAS_PRICE;
+                }
+                case 'q' -> quantity = parseDecimal(buf, valueStart, valueEnd);
+                case 'T' -> {
+                    tradeTime = parseLong(buf, valueStart, valueEnd);
+                    flags |= HAS_TRADE_TIME;
+                }
+                case 't' -> tradeId = parseLong(buf, valueStart, valueEnd);
+                case 'E' -> eventTime = parseLong(buf, valueStart, valueEnd);
+                default -> {
+                    // not reachable, filtered by isDecodedKey
+                }
+            }
+            if (malformed) {
+                return false;
+            }
+        }
+        return (flags & REQUIRED_FIELDS) == REQUIRED_FIELDS;
+    }
+
+    private void reset() {
+        malformed = false;
+        symbolId = SymbolRegistry.UNKNOWN;
+        price = Double.NaN;
+        quantity = Double.NaN;
+        tradeTime = NO_ID;
+        tradeId = NO_ID;
+        eventTime = NO_ID;
+    }
+
+    private static boolean isDecodedKey(final byte key) {
+        return key == 's' || key == 'p' || key == 'q' || key == 'T' || key == 't' || key == 'E';
+    }
+
+    private long parseLong(final byte[] buf, final int start, final int end) {
+        final long value = JsonBytes.parseLong(buf, start, end);
+        if (value == JsonBytes.MALFORMED_LONG) {
+            malformed = true;
+            return NO_ID;
+        }
+        return value;
+    }
+
+    private double parseDecimal(final byte[] buf, final int start, final int end) {
+        final double value = JsonBytes.parseDecimal(buf, start, end);
+        if (Double.isNaN(value)) {
+            malformed = true;
+        }
+        return value;
+    }
+}
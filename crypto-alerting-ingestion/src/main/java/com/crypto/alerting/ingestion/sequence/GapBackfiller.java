@@ -0,0 +1,118 @@
+package com.crypto.alerting.ingestion.sequence;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.ingestion.candle.CandleAggregator;
+import com.crypto.alerting.ingestion.journal.TickJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Fills detected trade gaps through the {@link TradeBackfill} hook.
+ * The trades of a gap are collected and recorded together: they go to
+ * time-ordered backfill segments of the tick journal and into the candles
+ * they belong to, without moving any bar's close. They are not broadcast or
+ * published to Kafka, whose consumers act on prices in order and would
+ * treat a late trade as a fresh move.
+ */
+@Service
+@Slf4j
+public final class GapBackfiller {
+
+    // Dependencies
+    private final TradeSequencer tradeSequencer;
+    private final TradeBackfill tradeBackfill;
+    private final TickJournal tickJournal;
+    private final CandleAggregator candleAggregator;
+
+    // Constants
+    private static final String METRIC_BACKFILLED = "ingestion.trades.backfilled";
+    private static final int CONCURRENT_FETCHES = 4;
+    private static final int MAX_PENDING_GAPS = 1024;
+
+    private Disposable subscription;
+
+    // Metrics
+    private final Counter backfilled;
+
+    /**
+     * Creates the backfiller and registers its metrics.
+     *
+     * @param tradeSequencer   the source of gaps
+     * @param tradeBackfill    the hook fetching missing trades
+     * @param tickJournal      the journal to complete
+     * @param candleAggregator the candles to complete
+     * @param meterRegistry    the meter registry
+     */
+    public GapBackfiller(final TradeSequencer tradeSequencer, final TradeBackfill tradeBackfill,
+            final TickJournal tickJournal, final CandleAggregator candleAggregator,
+            final MeterRegistry meterRegistry) {
+        this.tradeSequencer = tradeSequencer;
+        this.tradeBackfill = tradeBackfill;
+        this.tickJournal = tickJournal;
+        this.candleAggregator = candleAggregator;
+        this.backfilled = Counter.builder(METRIC_BACKFILLED)
+                .description("Missing trades filled through the backfill hook")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts filling gaps as they are detected.
+     */
+    @PostConstruct
+    public void start() {
+        subscription = tradeSequencer.gaps()
+                .onBackpressureBuffer(MAX_PENDING_GAPS,
+                        gap -> log.warn("Too many gaps pending backfill, skipping {}", gap))
+                .flatMap(this::fill, CONCURRENT_FETCHES)
+                .subscribe(
+                        null,
+                        error -> log.error("Gap backfill terminated", error));
+    }
+
+    /**
+     * Stops filling gaps.
+     */
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Fetches and records the trades of one gap.
+     * Package-private for testing purposes.
+     *
+     * @param gap the gap
+     * @return Flux of the trades that filled part of the gap
+     */
+    Flux<PriceTick> fill(final TradeGap gap) {
+        return tradeBackfill.fetch(gap)
+                .filter(tick -> tradeSequencer.acceptBackfilled(tick, gap))
+                // Trades fetched before a failure are still recorded
+                .onErrorResume(e -> {
+                    log.error("Backfill of {} failed", gap, e);
+                    return Flux.empty();
+                })
+                .collectList()
+                .doOnNext(this::record)
+                .flatMapIterable(ticks -> ticks)
+                .doOnComplete(() -> log.debug("Backfill of {} completed", gap));
+    }
+
+    private void record(final List<PriceTick> ticks) {
+        tickJournal.appendBackfill(ticks);
+        for (final PriceTick tick : ticks) {
+            candleAggregator.backfill(tick);
+        }
+        backfilled.increment(ticks.size());
+    }
+}
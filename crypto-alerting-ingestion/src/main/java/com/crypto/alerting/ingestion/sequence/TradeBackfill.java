@@ -0,0 +1,26 @@
+package com.crypto.alerting.ingestion.sequence;
+
+import com.crypto.alerting.commons.PriceTick;
+import reactor.core.publisher.Flux;
+
+/**
+ * Fetches trades the live feed skipped, typically from the exchange's REST
+ * trade history. Register a bean of this type to enable backfilling; without
+ * one, gaps are only reported.
+ */
+@FunctionalInterface
+public interface TradeBackfill {
+
+    /**
+     * Backfill that fetches nothing.
+     */
+    TradeBackfill NONE = gap -> Flux.empty();
+
+    /**
+     * Fetches the trades of a gap.
+     *
+     * @param gap the missing trade ids
+     * @return the trades found, with trade ids; may be partial or empty
+     */
+    Flux<PriceTick> fetch(TradeGap gap);
+}
@@ -0,0 +1,32 @@
+package com.crypto.alerting.ingestion.sequence;
+
+/**
+ * A run of trade ids of one symbol that the feed skipped.
+ *
+ * @param symbol      the ticker symbol
+ * @param symbolId    the symbol's registry id
+ * @param fromTradeId first missing trade id (inclusive)
+ * @param toTradeId   last missing trade id (inclusive)
+ * @param detectedAt  when the gap was detected, epoch milliseconds
+ */
+public record TradeGap(String symbol, int symbolId, long fromTradeId, long toTradeId, long detectedAt) {
+
+    /**
+     * Returns the number of missing trades.
+     *
+     * @return missing trade count
+     */
+    public long size() {
+        return toTradeId - fromTradeId + 1;
+    }
+
+    /**
+     * Returns whether a trade id falls inside the gap.
+     *
+     * @param tradeId the trade id
+     * @return true if the id is one of the missing ones
+     */
+    public boolean contains(final long tradeId) {
+        return tradeId >= fromTradeId && tradeId <= toTradeId;
+    }
+}
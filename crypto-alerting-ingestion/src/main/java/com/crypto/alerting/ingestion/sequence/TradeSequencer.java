@@ -0,0 +1,142 @@
+package com.crypto.alerting.ingestion.sequence;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Drops repeated trades and detects skipped ones using exchange trade ids.
+ * Reconnects replay trades the previous session already delivered and lose
+ * the ones exchanged while disconnected; each symbol's recent trade ids are
+ * kept in a {@link TradeWindow}, so a repeat is dropped before any
+ * downstream work and a jump in ids is counted and published as a
+ * {@link TradeGap}.
+ */
+@Service
+@Slf4j
+public final class TradeSequencer {
+
+    // Dependencies
+    private final SymbolRegistry symbolRegistry;
+
+    // Constants
+    private static final String METRIC_DUPLICATES = "ingestion.trades.duplicates";
+    private static final String METRIC_GAPS = "ingestion.trades.gaps";
+    private static final String METRIC_MISSING = "ingestion.trades.missing";
+
+    private final AtomicReferenceArray<TradeWindow> windows;
+    private final Sinks.Many<TradeGap> gaps = Sinks.many().multicast().directBestEffort();
+
+    // Metrics
+    private final Counter duplicates;
+    private final Counter gapCount;
+    private final Counter missing;
+
+    /**
+     * Creates the sequencer and registers its metrics.
+     *
+     * @param symbolRegistry the registry assigning symbol ids
+     * @param meterRegistry  the meter registry
+     */
+    public TradeSequencer(final SymbolRegistry symbolRegistry, final MeterRegistry meterRegistry) {
+        this.symbolRegistry = symbolRegistry;
+        this.windows = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        this.duplicates = Counter.builder(METRIC_DUPLICATES)
+                .description("Trades dropped because their trade id was already seen")
+                .register(meterRegistry);
+        this.gapCount = Counter.builder(METRIC_GAPS)
+                .description("Runs of trade ids skipped by the feed")
+                .register(meterRegistry);
+        this.missing = Counter.builder(METRIC_MISSING)
+                .description("Trade ids skipped by the feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a live trade. Ticks without a trade id are always accepted.
+     *
+     * @param tick the tick
+     * @return false if the trade was already seen and must be dropped
+     */
+    public boolean accept(final PriceTick tick) {
+        if (!tick.hasTradeId()) {
+            return true;
+        }
+        final TradeWindow window = windowOf(tick.getSymbolId());
+        final long previousHighest;
+        final long skipped;
+        // A symbol is fed by one shard, so this lock is uncontended apart from backfill
+        synchronized (window) {
+            previousHighest = window.highest();
+            skipped = window.accept(tick.getTradeId());
+        }
+        if (skipped == TradeWindow.DUPLICATE) {
+            duplicates.increment();
+            return false;
+        }
+        if (skipped > 0) {
+            onGap(new TradeGap(symbolRegistry.symbolOf(tick.getSymbolId()), tick.getSymbolId(),
+                    previousHighest + 1, tick.getTradeId() - 1, System.currentTimeMillis()));
+        }
+        return true;
+    }
+
+    /**
+     * Records a backfilled trade. Trades outside the gap, and trades the
+     * live feed delivered meanwhile, are rejected; trades already older
+     * than the window are accepted, since the gap vouches they were missing.
+     *
+     * @param tick the backfilled tick
+     * @param gap  the gap it was fetched for
+     * @return true if the trade filled part of the gap
+     */
+    public boolean acceptBackfilled(final PriceTick tick, final TradeGap gap) {
+        if (!tick.hasTradeId() || tick.getSymbolId() != gap.symbolId() || !gap.contains(tick.getTradeId())) {
+            return false;
+        }
+        final TradeWindow window = windowOf(tick.getSymbolId());
+        synchronized (window) {
+            if (window.highest() - tick.getTradeId() >= TradeWindow.SIZE) {
+                return true;
+            }
+            return window.accept(tick.getTradeId()) != TradeWindow.DUPLICATE;
+        }
+    }
+
+    /**
+     * Streams gaps as they are detected. Subscribers that cannot keep up
+     * miss gaps rather than holding back the feed.
+     *
+     * @return Flux of detected gaps
+     */
+    public Flux<TradeGap> gaps() {
+        return gaps.asFlux();
+    }
+
+    private void onGap(final TradeGap gap) {
+        gapCount.increment();
+        missing.increment(gap.size());
+        log.warn("Trade gap on {}: {} trade(s) missing, ids {}..{}", gap.symbol(), gap.size(), gap.fromTradeId(),
+                gap.toTradeId());
+        // The sink rejects concurrent emitters instead of blocking them; shards race only briefly
+        while (gaps.tryEmitNext(gap) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private TradeWindow windowOf(final int symbolId) {
+        final TradeWindow existing = windows.get(symbolId);
+        if (existing != null) {
+            return existing;
+        }
+        windows.compareAndSet(symbolId, null, new TradeWindow());
+        return windows.get(symbolId);
+    }
+}
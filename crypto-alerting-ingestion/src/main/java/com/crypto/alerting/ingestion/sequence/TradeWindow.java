@@ -0,0 +1,92 @@
+package com.crypto.alerting.ingestion.sequence;
+
+import java.util.Arrays;
+
+/**
+ * Trade ids seen for one symbol, as a sliding bitmap over the
+ * 1024 ids up to the highest one seen. Checking and recording an
+ * id is a few bit operations; a jump ahead clears the bits of the skipped
+ * ids, at most one bitmap's worth.
+ * <p>
+ * Ids below the window are reported as duplicates: by then a repeat is far
+ * more likely than a trade that old arriving for the first time.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+final class TradeWindow {
+
+    /**
+     * Number of trade ids the window covers below the highest one.
+     */
+    static final int SIZE = 1024;
+
+    /**
+     * Returned by {@link #accept} for an id already seen.
+     */
+    static final long DUPLICATE = -1L;
+
+    private static final int MASK = SIZE - 1;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final long[] bits = new long[SIZE / Long.SIZE];
+    private long highest = NONE;
+
+    /**
+     * Records a trade id.
+     *
+     * @param tradeId the trade id
+     * @return {@link #DUPLICATE} if the id was seen or is below the window,
+     *         otherwise the number of ids skipped between the previous
+     *         highest id and this one
+     */
+    long accept(final long tradeId) {
+        if (highest == NONE) {
+            highest = tradeId;
+            set(tradeId);
+            return 0L;
+        }
+        if (tradeId > highest) {
+            final long skipped = tradeId - highest - 1;
+            if (skipped >= SIZE) {
+                Arrays.fill(bits, 0L);
+            } else {
+                for (long id = highest + 1; id < tradeId; id++) {
+                    clear(id);
+                }
+            }
+            highest = tradeId;
+            set(tradeId);
+            return skipped;
+        }
+        if (highest - tradeId >= SIZE || isSet(tradeId)) {
+            return DUPLICATE;
+        }
+        // A late trade filling an earlier gap
+        set(tradeId);
+        return 0L;
+    }
+
+    /**
+     * Returns the highest trade id seen.
+     *
+     * @return the id, or {@link Long#MIN_VALUE} if none
+     */
+    long highest() {
+        return highest;
+    }
+
+    private boolean isSet(final long tradeId) {
+        final int bit = (int) (tradeId & MASK);
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private void set(final long tradeId) {
+        final int bit = (int) (tradeId & MASK);
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    private void clear(final long tradeId) {
+        final int bit = (int) (tradeId & MASK);
+        bits[bit >>> 6] &= ~(1L << bit);
+    }
+}
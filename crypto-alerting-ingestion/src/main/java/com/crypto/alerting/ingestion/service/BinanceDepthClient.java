@@ -0,0 +1,417 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.book.BookTop;
+import com.crypto.alerting.ingestion.book.DepthSnapshot;
+import com.crypto.alerting.ingestion.book.DepthSnapshotFetcher;
+import com.crypto.alerting.ingestion.book.OrderBook;
+import com.crypto.alerting.ingestion.client.WebSocketClient;
+import com.crypto.alerting.ingestion.config.BinanceProperties;
+import com.crypto.alerting.ingestion.config.BookProperties;
+import com.crypto.alerting.ingestion.parser.DepthFrameParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps an L2 {@link OrderBook} per symbol from the Binance diff-depth
+ * streams and publishes the top of each book through
+ * {@link PriceStreamService}.
+ * A book syncs the way Binance prescribes: updates are held while a
+ * snapshot is fetched through the {@link DepthSnapshotFetcher}, then the
+ * held updates newer than the snapshot are applied and live updates follow.
+ * A gap in update ids, or the end of a session, empties the book and starts
+ * over with a new snapshot. Connected by the cluster coordinator alongside
+ * the trade feed, when {@code ingestion.book.enabled} is set.
+ */
+@Service
+@Slf4j
+public final class BinanceDepthClient {
+
+    // Dependencies
+    private final WebSocketClient webSocketClient;
+    private final DepthSnapshotFetcher depthSnapshotFetcher;
+    private final PriceStreamService priceStreamService;
+    private final SymbolRegistry symbolRegistry;
+    private final BinanceProperties binanceProperties;
+    private final BookProperties bookProperties;
+
+    // Constants
+    private static final String METRIC_UPDATES = "ingestion.book.updates";
+    private static final String METRIC_STALE = "ingestion.book.stale";
+    private static final String METRIC_GAPS = "ingestion.book.gaps";
+    private static final String METRIC_SNAPSHOTS = "ingestion.book.snapshots";
+    private static final String METRIC_SNAPSHOT_FAILURES = "ingestion.book.snapshot.failures";
+    private static final String METRIC_MALFORMED = "ingestion.book.malformed";
+    private static final String METRIC_SYNCED = "ingestion.book.synced";
+    private static final String STREAM_SUFFIX_100MS = "@depth@100ms";
+    private static final String STREAM_SUFFIX_1S = "@depth";
+    private static final int MAX_PENDING_UPDATES = 1024;
+    private static final Duration SNAPSHOT_RETRY_DELAY = Duration.ofSeconds(5);
+
+    // Book per symbol id, created on the symbol's first update
+    private final AtomicReferenceArray<SymbolBook> books;
+
+    // Books waiting for a snapshot, fetched a few at a time
+    private final Sinks.Many<SymbolBook> snapshotRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable snapshots;
+
+    // Shard connections of the current leadership term, replaced on each connect
+    private final Disposable.Swap connections = Disposables.swap();
+
+    // Metrics
+    private final Counter updates;
+    private final Counter stale;
+    private final Counter gaps;
+    private final Counter snapshotsLoaded;
+    private final Counter snapshotFailures;
+    private final Counter malformed;
+
+    /**
+     * Creates the client and registers its metrics.
+     *
+     * @param webSocketClient      the WebSocket client
+     * @param depthSnapshotFetcher the source of book snapshots
+     * @param priceStreamService   the service publishing tops of book
+     * @param symbolRegistry       the registry assigning symbol ids
+     * @param binanceProperties    the feed configuration
+     * @param bookProperties       the order book configuration
+     * @param meterRegistry        the meter registry
+     */
+    public BinanceDepthClient(final WebSocketClient webSocketClient, final DepthSnapshotFetcher depthSnapshotFetcher,
+            final PriceStreamService priceStreamService, final SymbolRegistry symbolRegistry,
+            final BinanceProperties binanceProperties, final BookProperties bookProperties,
+            final MeterRegistry meterRegistry) {
+        this.webSocketClient = webSocketClient;
+        this.depthSnapshotFetcher = depthSnapshotFetcher;
+        this.priceStreamService = priceStreamService;
+        this.symbolRegistry = symbolRegistry;
+        this.binanceProperties = binanceProperties;
+        this.bookProperties = bookProperties;
+        this.books = new AtomicReferenceArray<>(symbolRegistry.capacity());
+
+        this.updates = Counter.builder(METRIC_UPDATES)
+                .description("Depth updates applied to order books")
+                .register(meterRegistry);
+        this.stale = Counter.builder(METRIC_STALE)
+                .description("Depth updates skipped as already part of the book")
+                .register(meterRegistry);
+        this.gaps = Counter.builder(METRIC_GAPS)
+                .description("Depth update gaps that forced a book to resync")
+                .register(meterRegistry);
+        this.snapshotsLoaded = Counter.builder(METRIC_SNAPSHOTS)
+                .description("Order book snapshots loaded")
+                .register(meterRegistry);
+        this.snapshotFailures = Counter.builder(METRIC_SNAPSHOT_FAILURES)
+                .description("Order book snapshots that could not be fetched")
+                .register(meterRegistry);
+        this.malformed = Counter.builder(METRIC_MALFORMED)
+                .description("Depth frames that could not be parsed")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SYNCED, this, BinanceDepthClient::syncedBooks)
+                .description("Order books currently in sync with the exchange")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts fetching snapshots for books that need one.
+     */
+    @PostConstruct
+    public void start() {
+        snapshots = snapshotRequests.asFlux()
+                .flatMap(this::fetchSnapshot, bookProperties.getSnapshotConcurrency())
+                .subscribe(
+                        null,
+                        error -> log.error("Order book snapshots terminated", error));
+    }
+
+    /**
+     * Closes all depth connections and stops fetching snapshots.
+     */
+    @PreDestroy
+    public void stop() {
+        disconnect();
+        if (snapshots != null) {
+            snapshots.dispose();
+        }
+    }
+
+    /**
+     * Opens one depth stream connection per shard, closing any left from an
+     * earlier call. Does nothing unless order books are enabled.
+     */
+    public synchronized void connect() {
+        if (!bookProperties.isEnabled()) {
+            return;
+        }
+        final List<BinanceShard> shards = BinanceShard.partition(binanceProperties.getBaseUri(),
+                binanceProperties.getSymbols(), binanceProperties.getMaxStreamsPerConnection(), streamSuffix());
+        log.info("Connecting {} Binance depth shard(s)", shards.size());
+
+        final Disposable.Composite term = Disposables.composite();
+        for (final BinanceShard shard : shards) {
+            term.add(superviseShard(shard)
+                    .subscribe(
+                            null,
+                            error -> log.error("Depth shard {} supervision terminated", shard.name(), error)));
+        }
+        connections.update(term);
+    }
+
+    /**
+     * Closes all depth connections, when this node steps down.
+     */
+    public synchronized void disconnect() {
+        connections.update(Disposables.disposed());
+    }
+
+    /**
+     * Keeps a depth shard connected, resubscribing after each session ends.
+     * The books of the shard's symbols are emptied when a session ends, as
+     * updates will be missed until the next one.
+     *
+     * @param shard the shard to supervise
+     * @return Mono that never completes unless cancelled
+     */
+    private Mono<Void> superviseShard(final BinanceShard shard) {
+        return Mono.defer(() -> webSocketClient.execute(shard.uri(), session -> {
+                    log.info("Connected depth shard {}: {}", shard.name(), session.getId());
+                    final DepthFrameParser parser = new DepthFrameParser(symbolRegistry);
+                    return session.receive()
+                            .doOnNext(msg -> process(msg.getPayload(), parser))
+                            .then();
+                }))
+                .doOnError(e -> log.error("Depth shard {} session failed", shard.name(), e))
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> resetBooks(shard))
+                .then(Mono.delay(binanceProperties.getResubscribeDelay()))
+                .doOnNext(ignored -> log.info("Resubscribing depth shard {}", shard.name()))
+                .repeat()
+                .then();
+    }
+
+    /**
+     * Parses one depth frame and applies it to its symbol's book.
+     * Package-private for testing purposes.
+     *
+     * @param payload the raw message payload
+     * @param parser  the session's frame parser
+     */
+    void process(final DataBuffer payload, final DepthFrameParser parser) {
+        try {
+            if (!parser.parseUpdate(payload)) {
+                malformed.increment();
+                log.warn("Malformed depth frame: {}", parser.lastPayloadAsText());
+                return;
+            }
+            onUpdate(parser);
+        } catch (final Exception e) {
+            malformed.increment();
+            log.error("Unexpected error processing depth frame: {}", parser.lastPayloadAsText(), e);
+        }
+    }
+
+    /**
+     * Applies a parsed update to a synced book, or holds it until the book's
+     * snapshot arrives.
+     *
+     * @param parser the parser holding the update
+     */
+    private void onUpdate(final DepthFrameParser parser) {
+        final SymbolBook symbolBook = bookOf(parser.getSymbolId());
+        synchronized (symbolBook) {
+            if (symbolBook.book.isSynced()) {
+                switch (symbolBook.book.apply(parser)) {
+                    case APPLIED -> {
+                        updates.increment();
+                        publish(symbolBook, parser.getEventTime());
+                        return;
+                    }
+                    case STALE -> {
+                        stale.increment();
+                        return;
+                    }
+                    case GAP -> {
+                        gaps.increment();
+                        log.warn("Depth gap on {}: book at update {}, next update starts at {}; resyncing",
+                                parser.getSymbol(), symbolBook.book.lastUpdateId(), parser.getFirstUpdateId());
+                        reset(symbolBook);
+                    }
+                }
+            }
+
+            if (symbolBook.pending.size() == MAX_PENDING_UPDATES) {
+                symbolBook.pending.pollFirst();
+            }
+            symbolBook.pending.addLast(parser.copyLastPayload());
+            if (symbolBook.snapshotRequested || (symbolBook.snapshotFailed
+                    && System.nanoTime() - symbolBook.snapshotFailedNanos < SNAPSHOT_RETRY_DELAY.toNanos())) {
+                return;
+            }
+            symbolBook.snapshotRequested = true;
+        }
+
+        // The sink rejects concurrent emitters instead of blocking them; shards race only briefly
+        while (snapshotRequests.tryEmitNext(symbolBook) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Mono<Void> fetchSnapshot(final SymbolBook symbolBook) {
+        final String symbol = symbolRegistry.symbolOf(symbolBook.book.symbolId());
+        return depthSnapshotFetcher.fetch(symbol, bookProperties.getMaxLevels())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No depth snapshot returned")))
+                .doOnNext(snapshot -> onSnapshot(symbolBook, snapshot))
+                .onErrorResume(e -> {
+                    snapshotFailures.increment();
+                    log.error("Depth snapshot of {} failed, retrying in {}", symbol, SNAPSHOT_RETRY_DELAY, e);
+                    synchronized (symbolBook) {
+                        symbolBook.snapshotRequested = false;
+                        symbolBook.snapshotFailed = true;
+                        symbolBook.snapshotFailedNanos = System.nanoTime();
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Loads a snapshot into its book and applies the updates held since it
+     * was requested. If the snapshot is older than the first held update
+     * that follows it, the book stays unsynced and the next update requests
+     * a newer one.
+     *
+     * @param symbolBook the book
+     * @param snapshot   the snapshot
+     */
+    private void onSnapshot(final SymbolBook symbolBook, final DepthSnapshot snapshot) {
+        synchronized (symbolBook) {
+            symbolBook.snapshotRequested = false;
+            symbolBook.snapshotFailed = false;
+            symbolBook.book.load(snapshot);
+            snapshotsLoaded.increment();
+
+            // Snapshots are rare; a parser of their own keeps the session's untouched
+            final DepthFrameParser replay = new DepthFrameParser(symbolRegistry);
+            long eventTime = System.currentTimeMillis();
+            while (!symbolBook.pending.isEmpty()) {
+                final byte[] payload = symbolBook.pending.pollFirst();
+                if (!replay.parseUpdate(payload, 0, payload.length)) {
+                    continue;
+                }
+                final OrderBook.Update result = symbolBook.book.apply(replay);
+                if (result == OrderBook.Update.GAP) {
+                    log.debug("Depth snapshot of {} at {} predates update {}, fetching another",
+                            replay.getSymbol(), snapshot.lastUpdateId(), replay.getFirstUpdateId());
+                    symbolBook.book.reset();
+                    symbolBook.pending.addFirst(payload);
+                    return;
+                }
+                if (result == OrderBook.Update.APPLIED) {
+                    updates.increment();
+                    eventTime = replay.getEventTime();
+                }
+            }
+            publish(symbolBook, eventTime);
+            log.info("Order book of {} synced at update {}",
+                    symbolRegistry.symbolOf(symbolBook.book.symbolId()), symbolBook.book.lastUpdateId());
+        }
+    }
+
+    private void publish(final SymbolBook symbolBook, final long eventTime) {
+        symbolBook.book.copyTop(symbolBook.top, eventTime);
+        priceStreamService.publishBookTop(symbolBook.top);
+    }
+
+    /**
+     * Empties a book and publishes it empty, so readers do not act on a book
+     * that has stopped updating. Callers hold the book's lock.
+     *
+     * @param symbolBook the book
+     */
+    private void reset(final SymbolBook symbolBook) {
+        symbolBook.book.reset();
+        symbolBook.pending.clear();
+        publish(symbolBook, System.currentTimeMillis());
+    }
+
+    private void resetBooks(final BinanceShard shard) {
+        for (final String stream : shard.streams()) {
+            final String symbol = stream.substring(0, stream.indexOf('@')).toUpperCase(Locale.ROOT);
+            final int symbolId = symbolRegistry.idOf(symbol);
+            final SymbolBook symbolBook = symbolId != SymbolRegistry.UNKNOWN ? books.get(symbolId) : null;
+            if (symbolBook != null) {
+                synchronized (symbolBook) {
+                    reset(symbolBook);
+                }
+            }
+        }
+    }
+
+    private SymbolBook bookOf(final int symbolId) {
+        final SymbolBook existing = books.get(symbolId);
+        if (existing != null) {
+            return existing;
+        }
+        final SymbolBook created = new SymbolBook(new OrderBook(symbolId, bookProperties.getMaxLevels()),
+                new BookTop(bookProperties.getTopLevels()));
+        return books.compareAndSet(symbolId, null, created) ? created : books.get(symbolId);
+    }
+
+    private String streamSuffix() {
+        final Duration interval = bookProperties.getUpdateInterval();
+        if (interval.equals(Duration.ofMillis(100))) {
+            return STREAM_SUFFIX_100MS;
+        }
+        if (interval.equals(Duration.ofSeconds(1))) {
+            return STREAM_SUFFIX_1S;
+        }
+        throw new IllegalArgumentException("ingestion.book.update-interval must be 100ms or 1s");
+    }
+
+    private double syncedBooks() {
+        int synced = 0;
+        for (int id = 0; id < books.length(); id++) {
+            final SymbolBook symbolBook = books.get(id);
+            if (symbolBook != null && symbolBook.book.isSynced()) {
+                synced++;
+            }
+        }
+        return synced;
+    }
+
+    /**
+     * A symbol's book with its sync state; guarded by its own lock.
+     */
+    private static final class SymbolBook {
+
+        private final OrderBook book;
+        private final BookTop top;
+
+        // Raw updates held while the book waits for a snapshot
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+        private boolean snapshotRequested;
+        private boolean snapshotFailed;
+        private long snapshotFailedNanos;
+
+        private SymbolBook(final OrderBook book, final BookTop top) {
+            this.book = book;
+            this.top = top;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.crypto.alerting.ingestion.service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A single Binance combined-stream connection covering a slice of the
+ * configured symbol universe.
+ *
+ * @param index   zero-based shard index
+ * @param streams stream names multiplexed over this connection
+ * @param uri     combined-stream URI for this shard
+ */
+public record BinanceShard(int index, List<String> streams, URI uri) {
+
+    private static final String TRADE_STREAM_SUFFIX = "@trade";
+    private static final String COMBINED_STREAM_PATH = "/stream?streams=";
+    private static final String NAME_PREFIX = "binance-ws-";
+
+    /**
+     * Returns the name used for this shard's resilience instances and metrics.
+     *
+     * @return shard name
+     */
+    public String name() {
+        return NAME_PREFIX + index;
+    }
+
+    /**
+     * Splits the given symbols into shards holding at most
+     * {@code maxStreamsPerConnection} trade streams each.
+     * Duplicate and blank symbols are ignored.
+     *
+     * @param baseUri                 Binance WebSocket base URI
+     * @param symbols                 symbols to subscribe to
+     * @param maxStreamsPerConnection cap on streams per connection
+     * @return shards in index order
+     */
+    public static List<BinanceShard> partition(final String baseUri, final List<String> symbols,
+            final int maxStreamsPerConnection) {
+        return partition(baseUri, symbols, maxStreamsPerConnection, TRADE_STREAM_SUFFIX);
+    }
+
+    /**
+     * Splits the given symbols into shards holding at most
+     * {@code maxStreamsPerConnection} streams of one kind each, e.g.
+     * {@code @depth@100ms}. Duplicate and blank symbols are ignored.
+     *
+     * @param baseUri                 Binance WebSocket base URI
+     * @param symbols                 symbols to subscribe to
+     * @param maxStreamsPerConnection cap on streams per connection
+     * @param streamSuffix            stream name suffix appended to each symbol
+     * @return shards in index order
+     */
+    public static List<BinanceShard> partition(final String baseUri, final List<String> symbols,
+            final int maxStreamsPerConnection, final String streamSuffix) {
+        if (maxStreamsPerConnection <= 0) {
+            throw new IllegalArgumentException("maxStreamsPerConnection must be positive");
+        }
+
+        final Set<String> streams = new LinkedHashSet<>();
+        for (final String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                streams.add(symbol.trim().toLowerCase(Locale.ROOT) + streamSuffix);
+            }
+        }
+
+        final List<String> ordered = new ArrayList<>(streams);
+        final List<BinanceShard> shards = new ArrayList<>();
+        for (int from = 0; from < ordered.size(); from += maxStreamsPerConnection) {
+            final List<String> slice = List.copyOf(
+                    ordered.subList(from, Math.min(from + maxStreamsPerConnection, ordered.size())));
+            final URI uri = URI.create(baseUri + COMBINED_STREAM_PATH + String.join("/", slice));
+            shards.add(new BinanceShard(shards.size(), slice, uri));
+        }
+        return shards;
+    }
+}
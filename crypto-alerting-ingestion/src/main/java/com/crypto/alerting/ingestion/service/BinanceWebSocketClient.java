@@ -1,25 +1,48 @@
 package com.crypto.alerting.ingestion.service;
 
-import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.candle.CandleAggregator;
 import com.crypto.alerting.ingestion.client.WebSocketClient;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.crypto.alerting.ingestion.config.BinanceProperties;
+import com.crypto.alerting.ingestion.feed.BinanceFeedAdapter;
+import com.crypto.alerting.ingestion.feed.FeedConnection;
+import com.crypto.alerting.ingestion.journal.TickJournal;
+import com.crypto.alerting.ingestion.metrics.IngestionMetrics;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+import com.crypto.alerting.ingestion.sequence.TradeSequencer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Service responsible for managing WebSocket connection to Binance API.
- * Implements resilience patterns (Circuit Breaker, Retry, Rate Limiting) for
- * robust connection handling.
- * Processes incoming price data and broadcasts to downstream consumers.
+ * Service responsible for managing WebSocket connections to Binance API.
+ * The configured symbol universe is split into shards, each served by its own
+ * combined-stream connection with dedicated resilience patterns (Circuit
+ * Breaker, Retry, Rate Limiting), so one failing connection does not affect
+ * the others. Connections and frame decoding come from the
+ * {@link BinanceFeedAdapter}.
+ * Processes incoming price data and broadcasts to downstream consumers,
+ * including the cross-venue {@link ConsolidatedPriceService}.
  */
 @Service
 @RequiredArgsConstructor
@@ -29,160 +52,304 @@ public final class BinanceWebSocketClient {
     // Dependencies
     private final PriceProducer priceProducer;
     private final PriceStreamService priceStreamService;
+    private final TickJournal tickJournal;
+    private final CandleAggregator candleAggregator;
+    private final TradeSequencer tradeSequencer;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
     private final RetryRegistry retryRegistry;
     private final RateLimiterRegistry rateLimiterRegistry;
     private final WebSocketClient webSocketClient;
+    private final BinanceProperties binanceProperties;
+    private final MeterRegistry meterRegistry;
+    private final SymbolRegistry symbolRegistry;
+    private final BinanceFeedAdapter binanceFeedAdapter;
+    private final ConsolidatedPriceService consolidatedPriceService;
 
     // Constants
-    private static final String BINANCE_URI = "wss://stream.binance.com:9443/ws/btcusdt@trade";
     private static final String SERVICE_NAME = "binance-ws";
-    private static final String FIELD_SYMBOL = "s";
-    private static final String FIELD_PRICE = "p";
-    private static final String FIELD_TIMESTAMP = "T";
+    private static final String METRIC_MESSAGES = "binance.ws.messages";
+    private static final String METRIC_SESSIONS = "binance.ws.sessions";
+    private static final String METRIC_STREAMS = "binance.ws.streams";
+    private static final String TAG_SHARD = "shard";
 
-    // Immutable ObjectMapper instance
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Shard connections of the current leadership term, replaced on each connect
+    private final Disposable.Swap connections = Disposables.swap();
 
     /**
-     * Initializes WebSocket connection on application startup.
-     * Connection is managed with resilience patterns.
+     * Opens one WebSocket connection per shard, closing any left from an
+     * earlier call. Called by the cluster coordinator whenever this node
+     * becomes the leader. Each shard is supervised independently and
+     * resubscribes on its own after its session ends or its resilience
+     * patterns give up.
      */
-    @PostConstruct
-    public void connect() {
-        connectWithResilience()
-                .subscribe(
-                        null,
-                        error -> log.error("Error in WebSocket connection after resilience patterns", error),
-                        () -> log.info("WebSocket connection closed"));
+    public synchronized void connect() {
+        final List<FeedConnection> shards = buildShards();
+        log.info("Connecting {} Binance shard(s) for {} symbol(s)", shards.size(), binanceProperties.getSymbols().size());
+
+        final Disposable.Composite term = Disposables.composite();
+        for (final FeedConnection shard : shards) {
+            term.add(superviseShard(shard)
+                    .subscribe(
+                            null,
+                            error -> log.error("Shard {} supervision terminated", shard.name(), error),
+                            () -> log.info("Shard {} supervision completed", shard.name())));
+        }
+        connections.update(term);
+    }
+
+    /**
+     * Closes all shard connections, when this node steps down and on
+     * application shutdown.
+     */
+    @PreDestroy
+    public synchronized void disconnect() {
+        connections.update(Disposables.disposed());
     }
 
     /**
-     * Establishes WebSocket connection with resilience patterns applied.
+     * Establishes one WebSocket connection per shard with resilience patterns
+     * applied. Completes when every shard session has closed.
      * Package-private for testing purposes.
      *
-     * @return Mono that completes when connection is closed
+     * @return Mono that completes when all shard connections are closed
      */
     Mono<Void> connectWithResilience() {
+        return Flux.fromIterable(buildShards())
+                .flatMap(this::connectShard)
+                .then();
+    }
+
+    /**
+     * Keeps a shard connected by resubscribing after each session ends,
+     * whether it closed normally or failed past its resilience patterns.
+     *
+     * @param shard the shard to supervise
+     * @return Mono that never completes unless cancelled
+     */
+    private Mono<Void> superviseShard(final FeedConnection shard) {
+        return connectShard(shard)
+                .onErrorResume(e -> {
+                    log.error("Shard {} failed after resilience patterns", shard.name(), e);
+                    return Mono.empty();
+                })
+                .then(Mono.delay(binanceProperties.getResubscribeDelay()))
+                .doOnNext(ignored -> log.info("Resubscribing shard {}", shard.name()))
+                .repeat()
+                .then();
+    }
+
+    /**
+     * Establishes a single WebSocket session for a shard, guarded by the
+     * shard's own circuit breaker, retry and rate limiter.
+     *
+     * @param shard the shard to connect
+     * @return Mono that completes when the session is closed
+     */
+    Mono<Void> connectShard(final FeedConnection shard) {
+        final Counter messages = Counter.builder(METRIC_MESSAGES)
+                .description("Messages received from Binance per shard")
+                .tag(TAG_SHARD, String.valueOf(shard.index()))
+                .register(meterRegistry);
+        final Counter sessions = Counter.builder(METRIC_SESSIONS)
+                .description("WebSocket sessions opened per shard")
+                .tag(TAG_SHARD, String.valueOf(shard.index()))
+                .register(meterRegistry);
+
         return Mono.defer(() -> {
-            log.info("Attempting to connect to Binance WebSocket...");
-            return webSocketClient.execute(URI.create(BINANCE_URI), session -> {
-                log.info("Connected to Binance WebSocket session: {}", session.getId());
-                return session.receive()
-                        .doOnNext(msg -> log.trace("Received message payload"))
-                        .map(msg -> msg.getPayloadAsText())
-                        .flatMap(this::processMessage)
-                        .doOnError(e -> log.error("Error in WebSocket session", e))
-                        .doOnTerminate(() -> log.info("WebSocket session terminated"))
+            log.info("Attempting to connect shard {} to Binance WebSocket ({} streams)...",
+                    shard.name(), shard.streams());
+            return webSocketClient.execute(shard.uri(), session -> {
+                log.info("Connected shard {} to Binance WebSocket session: {}", shard.name(), session.getId());
+                sessions.increment();
+                final TradeDecoder parser = binanceFeedAdapter.newDecoder(symbolRegistry);
+                final TickMeters tickMeters = new TickMeters(meterRegistry);
+                final int venue = consolidatedPriceService.registerVenue(binanceFeedAdapter.venue());
+                return shard.receive(session)
+                        .doOnNext(msg -> messages.increment())
+                        .doOnNext(msg -> processMessage(msg.getPayload(), parser, tickMeters, venue))
+                        .doOnError(e -> log.error("Error in WebSocket session for shard {}", shard.name(), e))
+                        .doOnTerminate(() -> log.info("WebSocket session terminated for shard {}", shard.name()))
                         .then();
             });
         })
-                .doOnError(e -> log.error("Failed to establish WebSocket connection", e))
+                .doOnError(e -> log.error("Failed to establish WebSocket connection for shard {}", shard.name(), e))
                 .transformDeferred(io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator
-                        .of(circuitBreakerRegistry.circuitBreaker(SERVICE_NAME)))
+                        .of(circuitBreakerFor(shard)))
                 .transformDeferred(io.github.resilience4j.reactor.retry.RetryOperator
-                        .of(retryRegistry.retry(SERVICE_NAME)))
+                        .of(retryFor(shard)))
                 .transformDeferred(io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator
-                        .of(rateLimiterRegistry.rateLimiter(SERVICE_NAME)));
+                        .of(rateLimiterFor(shard)));
+    }
+
+    /**
+     * Splits the configured symbol universe into shards and registers a
+     * stream-count gauge for each of them.
+     *
+     * @return shards in index order
+     */
+    private List<FeedConnection> buildShards() {
+        final List<FeedConnection> shards = binanceFeedAdapter.connections();
+        for (final FeedConnection shard : shards) {
+            Gauge.builder(METRIC_STREAMS, shard, FeedConnection::streams)
+                    .description("Streams multiplexed over each shard connection")
+                    .tag(TAG_SHARD, String.valueOf(shard.index()))
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+        return shards;
+    }
+
+    /**
+     * Returns the shard's circuit breaker, configured like the
+     * {@code binance-ws} instance.
+     *
+     * @param shard the shard
+     * @return circuit breaker dedicated to the shard
+     */
+    private CircuitBreaker circuitBreakerFor(final FeedConnection shard) {
+        return circuitBreakerRegistry.circuitBreaker(shard.name(),
+                circuitBreakerRegistry.circuitBreaker(SERVICE_NAME).getCircuitBreakerConfig());
+    }
+
+    /**
+     * Returns the shard's retry, configured like the {@code binance-ws}
+     * instance.
+     *
+     * @param shard the shard
+     * @return retry dedicated to the shard
+     */
+    private Retry retryFor(final FeedConnection shard) {
+        return retryRegistry.retry(shard.name(), retryRegistry.retry(SERVICE_NAME).getRetryConfig());
+    }
+
+    /**
+     * Returns the shard's rate limiter, configured like the
+     * {@code binance-ws} instance.
+     *
+     * @param shard the shard
+     * @return rate limiter dedicated to the shard
+     */
+    private RateLimiter rateLimiterFor(final FeedConnection shard) {
+        return rateLimiterRegistry.rateLimiter(shard.name(),
+                rateLimiterRegistry.rateLimiter(SERVICE_NAME).getRateLimiterConfig());
     }
 
     /**
      * Processes incoming WebSocket message containing price data.
-     * Validates message structure and content before broadcasting.
+     * Decodes the frame bytes in place and validates content before
+     * broadcasting and handing the event off to Kafka; trades already seen
+     * are dropped. Never blocks the receive loop. Times each stage up to the
+     * broadcast and counts rejected frames. While the consolidated
+     * price is published, it replaces the trade in Kafka.
      *
-     * @param json the raw JSON message
-     * @return Mono that completes when processing is done
+     * @param payload    the raw message payload
+     * @param parser     the session's frame parser
+     * @param tickMeters the tick path meters
+     * @param venue      the consolidation venue id of Binance
      */
-    private Mono<Void> processMessage(final String json) {
+    private void processMessage(final DataBuffer payload, final TradeDecoder parser,
+            final TickMeters tickMeters, final int venue) {
+        final long receivedNanos = System.nanoTime();
+        final long receivedMillis = System.currentTimeMillis();
         try {
-            if (!isValidMessage(json)) {
-                return Mono.empty();
+            if (payload.readableByteCount() == 0) {
+                tickMeters.empty.increment();
+                log.warn("Received empty message");
+                return;
+            }
+
+            if (!parser.parse(payload)) {
+                tickMeters.missingFields.increment();
+                log.warn("Message missing required fields: {}", parser.lastFrameAsText());
+                return;
             }
 
-            final JsonNode node = objectMapper.readTree(json);
+            final double price = parser.getPrice();
 
-            if (!hasRequiredFields(node)) {
-                log.warn("Message missing required fields: {}", json);
-                return Mono.empty();
+            if (!isValidPrice(price)) {
+                tickMeters.invalidPrice.increment();
+                log.warn("Invalid price data - symbol: {}, price: {}", parser.getSymbol(), price);
+                return;
             }
 
-            final String symbol = node.get(FIELD_SYMBOL).asText();
-            final Double price = node.get(FIELD_PRICE).asDouble();
-            final Long timestamp = node.get(FIELD_TIMESTAMP).asLong();
+            final PriceTick tick = new PriceTick(parser.getSymbolId(), price, parser.getTradeTime(),
+                    parser.getTradeId(), parser.getQuantity());
+            log.debug("Processed price tick: {} @ ${}", parser.getSymbol(), price);
 
-            if (!isValidPriceData(symbol, price)) {
-                log.warn("Invalid price data - symbol: {}, price: {}", symbol, price);
-                return Mono.empty();
+            final long parsedNanos = System.nanoTime();
+            tickMeters.receiveToParsed.record(parsedNanos - receivedNanos, TimeUnit.NANOSECONDS);
+            // A negative lag is clock skew with the exchange, not latency
+            final long exchangeLag = receivedMillis - tick.getTimestamp();
+            if (exchangeLag >= 0) {
+                tickMeters.exchangeToReceive.record(exchangeLag, TimeUnit.MILLISECONDS);
             }
 
-            final PriceEvent event = new PriceEvent(symbol, price, timestamp);
-            log.debug("Processed price event: {} @ ${}", symbol, price);
+            // Drop trades a reconnect replayed; gaps are reported by the sequencer
+            if (!tradeSequencer.accept(tick)) {
+                log.debug("Dropped duplicate trade {} of {}", tick.getTradeId(), parser.getSymbol());
+                return;
+            }
 
             // Broadcast to UI stream
-            priceStreamService.broadcastPrice(event);
+            priceStreamService.broadcastTick(tick);
+            tickMeters.parsedToBroadcast.record(System.nanoTime() - parsedNanos, TimeUnit.NANOSECONDS);
+
+            // Record for time-range replay
+            tickJournal.append(tick);
+
+            // Fold into the OHLCV bars
+            candleAggregator.update(tick);
 
-            // Send to Kafka with error handling
-            return sendToKafka(event);
+            // Merge into the cross-venue consolidated price
+            consolidatedPriceService.update(venue, tick);
+
+            // Hand off to the Kafka publishing pipeline
+            if (!consolidatedPriceService.publishesConsolidatedPrice()) {
+                priceProducer.publish(tick.toPriceEvent(symbolRegistry));
+            }
 
-        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-            log.error("JSON parsing error for message: {}", json, e);
-            return Mono.empty();
         } catch (Exception e) {
-            log.error("Unexpected error processing message: {}", json, e);
-            return Mono.empty();
+            tickMeters.errors.increment();
+            log.error("Unexpected error processing message: {}", parser.lastFrameAsText(), e);
         }
     }
 
     /**
-     * Validates that the message is not null or empty.
+     * Validates price values. The symbol is guaranteed by the parser.
      *
-     * @param json the message to validate
-     * @return true if valid, false otherwise
+     * @param price the price value
+     * @return true if the price is valid
      */
-    private boolean isValidMessage(final String json) {
-        if (json == null || json.trim().isEmpty()) {
-            log.warn("Received null or empty message");
-            return false;
-        }
-        return true;
+    private boolean isValidPrice(final double price) {
+        return price > 0;
     }
 
     /**
-     * Checks if the JSON node contains all required fields.
-     *
-     * @param node the JSON node to check
-     * @return true if all required fields are present
+     * Tick path meters of one session, resolved once so the receive loop
+     * does not look them up per frame.
      */
-    private boolean hasRequiredFields(final JsonNode node) {
-        return node.has(FIELD_SYMBOL) && node.has(FIELD_PRICE) && node.has(FIELD_TIMESTAMP);
-    }
+    private static final class TickMeters {
+        private final Timer exchangeToReceive;
+        private final Timer receiveToParsed;
+        private final Timer parsedToBroadcast;
+        private final Counter empty;
+        private final Counter missingFields;
+        private final Counter invalidPrice;
+        private final Counter errors;
 
-    /**
-     * Validates price data values.
-     *
-     * @param symbol the ticker symbol
-     * @param price  the price value
-     * @return true if data is valid
-     */
-    private boolean isValidPriceData(final String symbol, final Double price) {
-        if (symbol == null || symbol.isEmpty()) {
-            return false;
+        TickMeters(final MeterRegistry meterRegistry) {
+            this.exchangeToReceive = IngestionMetrics.stageTimer(meterRegistry,
+                    IngestionMetrics.Stage.EXCHANGE_TO_RECEIVE);
+            this.receiveToParsed = IngestionMetrics.stageTimer(meterRegistry,
+                    IngestionMetrics.Stage.RECEIVE_TO_PARSED);
+            this.parsedToBroadcast = IngestionMetrics.stageTimer(meterRegistry,
+                    IngestionMetrics.Stage.PARSED_TO_BROADCAST);
+            this.empty = IngestionMetrics.parseFailures(meterRegistry, IngestionMetrics.ParseFailure.EMPTY);
+            this.missingFields = IngestionMetrics.parseFailures(meterRegistry,
+                    IngestionMetrics.ParseFailure.MISSING_FIELDS);
+            this.invalidPrice = IngestionMetrics.parseFailures(meterRegistry,
+                    IngestionMetrics.ParseFailure.INVALID_PRICE);
+            this.errors = IngestionMetrics.parseFailures(meterRegistry, IngestionMetrics.ParseFailure.ERROR);
         }
-        return price != null && price > 0;
-    }
-
-    /**
-     * Sends price event to Kafka with error handling.
-     *
-     * @param event the price event to send
-     * @return Mono that completes when send is done
-     */
-    private Mono<Void> sendToKafka(final PriceEvent event) {
-        return priceProducer.send(event)
-                .doOnError(e -> log.error("Failed to send price event to Kafka: {}", event, e))
-                .onErrorResume(e -> {
-                    log.error("Kafka send error, continuing stream", e);
-                    return Mono.empty();
-                });
     }
 }
@@ -0,0 +1,84 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.ingestion.book.BookTop;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Latest top of book per symbol id. Each symbol owns one preallocated slot
+ * that publishers copy into under a write stamp, and readers copy out of
+ * with an optimistic read that is retried if a write overlapped it, so
+ * neither side allocates or blocks the other for longer than a copy.
+ */
+final class BookTopTable {
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    BookTopTable(final int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Replaces a symbol's top of book. A symbol's slot is as deep as the
+     * first top published for it.
+     *
+     * @param top the new top of book
+     */
+    void publish(final BookTop top) {
+        final Slot slot = slotOf(top.symbolId(), top.depth());
+        final long stamp = slot.lock.writeLock();
+        try {
+            slot.top.copyFrom(top);
+        } finally {
+            slot.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies a symbol's top of book out.
+     *
+     * @param symbolId the symbol id
+     * @param target   receives the top of book, up to its own depth
+     * @return false if nothing was published for the symbol
+     */
+    boolean read(final int symbolId, final BookTop target) {
+        final Slot slot = slots.get(symbolId);
+        if (slot == null) {
+            return false;
+        }
+        long stamp = slot.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            target.copyFrom(slot.top);
+            if (slot.lock.validate(stamp)) {
+                return true;
+            }
+        }
+        stamp = slot.lock.readLock();
+        try {
+            target.copyFrom(slot.top);
+            return true;
+        } finally {
+            slot.lock.unlockRead(stamp);
+        }
+    }
+
+    private Slot slotOf(final int symbolId, final int depth) {
+        final Slot existing = slots.get(symbolId);
+        if (existing != null) {
+            return existing;
+        }
+        final Slot created = new Slot(depth);
+        return slots.compareAndSet(symbolId, null, created) ? created : slots.get(symbolId);
+    }
+
+    private static final class Slot {
+
+        private final StampedLock lock = new StampedLock();
+        private final BookTop top;
+
+        private Slot(final int depth) {
+            this.top = new BookTop(depth);
+        }
+    }
+}
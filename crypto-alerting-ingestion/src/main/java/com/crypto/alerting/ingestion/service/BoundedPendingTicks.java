@@ -0,0 +1,41 @@
+package com.crypto.alerting.ingestion.service;
+
+import java.util.ArrayDeque;
+
+/**
+ * FIFO of pending frames with a fixed capacity. When full, the oldest frame is
+ * dropped so the subscriber always catches up towards the newest prices.
+ */
+final class BoundedPendingTicks implements PendingTicks {
+
+    private final ArrayDeque<PriceFrame> frames;
+    private final int capacity;
+
+    BoundedPendingTicks(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.frames = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    @Override
+    public boolean offer(final PriceFrame frame) {
+        final boolean full = frames.size() == capacity;
+        if (full) {
+            frames.pollFirst();
+        }
+        frames.offerLast(frame);
+        return !full;
+    }
+
+    @Override
+    public PriceFrame poll() {
+        return frames.pollFirst();
+    }
+
+    @Override
+    public int size() {
+        return frames.size();
+    }
+}
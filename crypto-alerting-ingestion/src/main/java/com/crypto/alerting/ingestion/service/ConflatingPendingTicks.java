@@ -0,0 +1,70 @@
+package com.crypto.alerting.ingestion.service;
+
+import java.util.Arrays;
+
+/**
+ * Holds at most one pending frame per symbol: a newer frame replaces the
+ * pending one in place and keeps its position in the delivery order. Memory
+ * is bounded by the number of symbols, however far behind the subscriber is.
+ */
+final class ConflatingPendingTicks implements PendingTicks {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Latest pending frame per symbol id
+    private PriceFrame[] slots = new PriceFrame[INITIAL_CAPACITY];
+
+    // Ring of symbol ids in delivery order; each id appears at most once
+    private int[] order = new int[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    @Override
+    public boolean offer(final PriceFrame frame) {
+        final int symbolId = frame.tick().getSymbolId();
+        ensureCapacity(symbolId);
+
+        final PriceFrame previous = slots[symbolId];
+        slots[symbolId] = frame;
+        if (previous != null) {
+            return false;
+        }
+        order[(head + size) % order.length] = symbolId;
+        size++;
+        return true;
+    }
+
+    @Override
+    public PriceFrame poll() {
+        if (size == 0) {
+            return null;
+        }
+        final int symbolId = order[head];
+        head = (head + 1) % order.length;
+        size--;
+
+        final PriceFrame frame = slots[symbolId];
+        slots[symbolId] = null;
+        return frame;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(final int symbolId) {
+        if (symbolId < slots.length) {
+            return;
+        }
+        final int capacity = Math.max(symbolId + 1, slots.length * 2);
+        slots = Arrays.copyOf(slots, capacity);
+
+        final int[] reordered = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            reordered[i] = order[(head + i) % order.length];
+        }
+        order = reordered;
+        head = 0;
+    }
+}
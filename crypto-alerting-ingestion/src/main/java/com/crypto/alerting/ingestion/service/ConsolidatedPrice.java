@@ -0,0 +1,15 @@
+package com.crypto.alerting.ingestion.service;
+
+/**
+ * A symbol's consolidated price across venues.
+ *
+ * @param symbol       the ticker symbol
+ * @param price        the median last trade price of the venues with a fresh trade
+ * @param venues       number of venues with a fresh trade
+ * @param timestamp    trade time of the latest fresh trade, in epoch milliseconds
+ * @param highestPrice the highest fresh last trade price of any venue
+ * @param highestVenue the venue that traded at the highest price
+ */
+public record ConsolidatedPrice(String symbol, double price, int venues, long timestamp, double highestPrice,
+        String highestVenue) {
+}
@@ -0,0 +1,271 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.ConsolidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Merges the trades of every venue into a consolidated price per symbol: the
+ * median last trade price of the venues that traded within
+ * {@code ingestion.consolidation.max-age}. A venue whose last trade is older
+ * no longer counts, so a feed that goes quiet or drops cannot hold the price,
+ * and one venue's outlier print moves the median at most to the next venue's
+ * price. The highest fresh trade and its venue are reported alongside, but
+ * never published.
+ * <p>
+ * Each symbol keeps one slot of per-venue primitives, and an update sorts the
+ * slot's few fresh prices in a scratch array, so merging costs constant time
+ * per trade and allocates nothing. When
+ * {@code ingestion.consolidation.publish} is set, every change of the
+ * consolidated price is published to Kafka in place of the Binance trades,
+ * so alerts fire on it rather than on one venue's noise.
+ */
+@Service
+public final class ConsolidatedPriceService {
+
+    // Dependencies
+    private final PriceProducer priceProducer;
+    private final SymbolRegistry symbolRegistry;
+    private final ConsolidationProperties consolidationProperties;
+
+    // Constants
+    static final int MAX_VENUES = 8;
+    private static final int NO_VENUE = -1;
+    private static final String METRIC_UPDATES = "ingestion.consolidation.updates";
+    private static final String METRIC_CHANGES = "ingestion.consolidation.changes";
+
+    // Venues in registration order, indexed by the ids handed to the feeds
+    private final String[] venues = new String[MAX_VENUES];
+    private volatile int venueCount;
+
+    // Per-venue prices per symbol id, created on the symbol's first trade
+    private final AtomicReferenceArray<Slot> slots;
+    private final long maxAgeNanos;
+
+    // Metrics
+    private final Counter updates;
+    private final Counter changes;
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param priceProducer           the Kafka publishing pipeline
+     * @param symbolRegistry          the registry assigning symbol ids
+     * @param consolidationProperties the consolidation configuration
+     * @param meterRegistry           the meter registry
+     */
+    public ConsolidatedPriceService(final PriceProducer priceProducer, final SymbolRegistry symbolRegistry,
+            final ConsolidationProperties consolidationProperties, final MeterRegistry meterRegistry) {
+        this.priceProducer = priceProducer;
+        this.symbolRegistry = symbolRegistry;
+        this.consolidationProperties = consolidationProperties;
+        this.slots = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        this.maxAgeNanos = consolidationProperties.getMaxAge().toNanos();
+
+        this.updates = Counter.builder(METRIC_UPDATES)
+                .description("Venue trades merged into the consolidated price")
+                .register(meterRegistry);
+        this.changes = Counter.builder(METRIC_CHANGES)
+                .description("Changes of the consolidated price")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether trades are consolidated at all.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return consolidationProperties.isEnabled();
+    }
+
+    /**
+     * Returns whether the consolidated price is published to Kafka in place
+     * of the Binance trades.
+     *
+     * @return true if the consolidated price is published
+     */
+    public boolean publishesConsolidatedPrice() {
+        return consolidationProperties.isEnabled() && consolidationProperties.isPublish();
+    }
+
+    /**
+     * Returns the id of a venue, registering it on first use.
+     *
+     * @param venue the venue name
+     * @return the venue id to pass to {@link #update(int, PriceTick)}
+     */
+    public synchronized int registerVenue(final String venue) {
+        final int count = venueCount;
+        for (int i = 0; i < count; i++) {
+            if (venues[i].equals(venue)) {
+                return i;
+            }
+        }
+        if (count == MAX_VENUES) {
+            throw new IllegalStateException("At most " + MAX_VENUES + " venues can be consolidated");
+        }
+        venues[count] = venue;
+        venueCount = count + 1;
+        return count;
+    }
+
+    /**
+     * Merges a venue's trade into its symbol's consolidated price. Does
+     * nothing unless consolidation is enabled.
+     *
+     * @param venue the venue id
+     * @param tick  the trade
+     */
+    public void update(final int venue, final PriceTick tick) {
+        if (consolidationProperties.isEnabled()) {
+            update(venue, tick.getSymbolId(), tick.getPrice(), tick.getTimestamp(), System.nanoTime());
+        }
+    }
+
+    /**
+     * Returns a symbol's consolidated price.
+     *
+     * @param symbolId the symbol id
+     * @return the consolidated price, or null if no venue traded the symbol recently
+     */
+    public ConsolidatedPrice read(final int symbolId) {
+        return read(symbolId, System.nanoTime());
+    }
+
+    /**
+     * Merges a venue's trade at a given time.
+     * Package-private for testing purposes.
+     *
+     * @param venue     the venue id
+     * @param symbolId  the symbol id
+     * @param price     the trade price
+     * @param timestamp the trade time in epoch milliseconds
+     * @param nowNanos  the receive time on the {@link System#nanoTime()} scale
+     * @return true if the consolidated price changed
+     */
+    boolean update(final int venue, final int symbolId, final double price, final long timestamp,
+            final long nowNanos) {
+        final Slot slot = slotOf(symbolId);
+        final double median;
+        updates.increment();
+        synchronized (slot) {
+            slot.prices[venue] = price;
+            slot.timestamps[venue] = timestamp;
+            slot.receivedNanos[venue] = nowNanos;
+            slot.present[venue] = true;
+
+            median = medianOf(slot, nowNanos);
+            if (median == slot.price) {
+                return false;
+            }
+            slot.price = median;
+        }
+
+        changes.increment();
+        if (consolidationProperties.isPublish()) {
+            priceProducer.publish(new PriceEvent(symbolRegistry.symbolOf(symbolId), median, timestamp));
+        }
+        return true;
+    }
+
+    /**
+     * Returns a symbol's consolidated price at a given time.
+     * Package-private for testing purposes.
+     *
+     * @param symbolId the symbol id
+     * @param nowNanos the time on the {@link System#nanoTime()} scale
+     * @return the consolidated price, or null if no venue traded the symbol recently
+     */
+    ConsolidatedPrice read(final int symbolId, final long nowNanos) {
+        if (symbolId < 0 || symbolId >= slots.length()) {
+            return null;
+        }
+        final Slot slot = slots.get(symbolId);
+        if (slot == null) {
+            return null;
+        }
+        synchronized (slot) {
+            final double median = medianOf(slot, nowNanos);
+            if (Double.isNaN(median)) {
+                return null;
+            }
+            int fresh = 0;
+            int highest = NO_VENUE;
+            long latest = Long.MIN_VALUE;
+            for (int i = 0; i < venueCount; i++) {
+                if (!isFresh(slot, i, nowNanos)) {
+                    continue;
+                }
+                fresh++;
+                latest = Math.max(latest, slot.timestamps[i]);
+                if (highest == NO_VENUE || slot.prices[i] > slot.prices[highest]) {
+                    highest = i;
+                }
+            }
+            return new ConsolidatedPrice(symbolRegistry.symbolOf(symbolId), median, fresh, latest,
+                    slot.prices[highest], venues[highest]);
+        }
+    }
+
+    /**
+     * Returns the median last trade price of the fresh venues: the middle
+     * price, or the mean of the two middle prices for an even count.
+     * Sorts into the slot's scratch array, so callers hold the slot monitor.
+     *
+     * @return the median, or {@link Double#NaN} if no venue is fresh
+     */
+    private double medianOf(final Slot slot, final long nowNanos) {
+        final double[] sorted = slot.scratch;
+        int n = 0;
+        for (int i = 0; i < venueCount; i++) {
+            if (!isFresh(slot, i, nowNanos)) {
+                continue;
+            }
+            final double price = slot.prices[i];
+            int j = n++;
+            while (j > 0 && sorted[j - 1] > price) {
+                sorted[j] = sorted[j - 1];
+                j--;
+            }
+            sorted[j] = price;
+        }
+        if (n == 0) {
+            return Double.NaN;
+        }
+        return (n & 1) == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+    }
+
+    private boolean isFresh(final Slot slot, final int venue, final long nowNanos) {
+        return slot.present[venue] && nowNanos - slot.receivedNanos[venue] <= maxAgeNanos;
+    }
+
+    private Slot slotOf(final int symbolId) {
+        final Slot existing = slots.get(symbolId);
+        if (existing != null) {
+            return existing;
+        }
+        final Slot created = new Slot();
+        return slots.compareAndSet(symbolId, null, created) ? created : slots.get(symbolId);
+    }
+
+    /**
+     * One symbol's last trade per venue and the consolidated price last
+     * merged. Guarded by its own monitor; venues of a symbol race only briefly.
+     */
+    private static final class Slot {
+
+        private final double[] prices = new double[MAX_VENUES];
+        private final long[] timestamps = new long[MAX_VENUES];
+        private final long[] receivedNanos = new long[MAX_VENUES];
+        private final boolean[] present = new boolean[MAX_VENUES];
+        private final double[] scratch = new double[MAX_VENUES];
+        private double price = Double.NaN;
+    }
+}
@@ -0,0 +1,30 @@
+package com.crypto.alerting.ingestion.service;
+
+/**
+ * Frames waiting to be delivered to one subscriber.
+ * Implementations are not thread-safe; {@link PriceSubscription} guards them.
+ */
+interface PendingTicks {
+
+    /**
+     * Adds a frame.
+     *
+     * @param frame the frame to add
+     * @return false if an older pending frame was discarded to make room
+     */
+    boolean offer(PriceFrame frame);
+
+    /**
+     * Removes the next frame to deliver.
+     *
+     * @return the next frame, or null if none is pending
+     */
+    PriceFrame poll();
+
+    /**
+     * Returns the number of pending frames.
+     *
+     * @return pending frame count
+     */
+    int size();
+}
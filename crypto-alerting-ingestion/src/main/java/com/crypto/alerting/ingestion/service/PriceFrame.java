@@ -0,0 +1,98 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.commons.util.AppUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A price tick together with its Server-Sent Event encoding.
+ * The frame is created once when the tick is broadcast and shared by every
+ * client it reaches. Its SSE bytes are encoded on first use and the same
+ * bytes are written to every SSE client, so serialization cost does not grow
+ * with the number of connected clients, and ticks reaching only binary
+ * WebSocket clients are never encoded as JSON. Callers must not modify
+ * {@link #sse()}.
+ */
+public final class PriceFrame {
+
+    /**
+     * SSE event name of price frames.
+     */
+    public static final String EVENT_NAME = "price-update";
+
+    private static final byte[] ID_FIELD = "id:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_FIELD = ("\nevent:" + EVENT_NAME + "\ndata:").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TERMINATOR = "\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final PriceTick tick;
+    private final SymbolRegistry registry;
+
+    // Encoded on first use; racing encoders produce equal bytes
+    private volatile byte[] sse;
+
+    private PriceFrame(final PriceTick tick, final SymbolRegistry registry) {
+        this.tick = tick;
+        this.registry = registry;
+    }
+
+    /**
+     * Creates the frame of a tick, to be encoded as an SSE frame carrying
+     * its {@link PriceEvent} JSON, byte for byte what
+     * {@code ServerSentEvent<PriceEvent>} would produce.
+     *
+     * @param tick     the tick to encode
+     * @param registry the registry that assigned the symbol id
+     * @return the frame
+     */
+    public static PriceFrame encode(final PriceTick tick, final SymbolRegistry registry) {
+        return new PriceFrame(tick, registry);
+    }
+
+    /**
+     * Returns the tick this frame carries.
+     *
+     * @return the price tick
+     */
+    public PriceTick tick() {
+        return tick;
+    }
+
+    /**
+     * Returns the encoded SSE frame, shared by every client it is sent to.
+     *
+     * @return SSE frame bytes, including the terminating blank line
+     */
+    public byte[] sse() {
+        byte[] encoded = sse;
+        if (encoded == null) {
+            encoded = encodeSse(tick, registry);
+            sse = encoded;
+        }
+        return encoded;
+    }
+
+    private static byte[] encodeSse(final PriceTick tick, final SymbolRegistry registry) {
+        final byte[] json;
+        try {
+            json = AppUtils.getObjectMapper().writeValueAsBytes(tick.toPriceEvent(registry));
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode price tick", e);
+        }
+
+        final byte[] id = Long.toString(tick.getTimestamp()).getBytes(StandardCharsets.US_ASCII);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(
+                ID_FIELD.length + id.length + EVENT_FIELD.length + json.length + TERMINATOR.length);
+        out.writeBytes(ID_FIELD);
+        out.writeBytes(id);
+        out.writeBytes(EVENT_FIELD);
+        out.writeBytes(json);
+        out.writeBytes(TERMINATOR);
+        return out.toByteArray();
+    }
+}
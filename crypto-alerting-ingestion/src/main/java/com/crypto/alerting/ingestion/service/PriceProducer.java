@@ -1,53 +1,373 @@
 package com.crypto.alerting.ingestion.service;
 
 import com.crypto.alerting.commons.PriceEvent;
-import lombok.RequiredArgsConstructor;
+import com.crypto.alerting.ingestion.config.KafkaProducerProperties;
+import com.crypto.alerting.ingestion.config.SpillProperties;
+import com.crypto.alerting.ingestion.metrics.IngestionMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for publishing price events to Kafka.
- * Handles asynchronous message production with error handling and logging.
+ * Events are handed off to a bounded queue that feeds one long-lived sender
+ * pipeline, so the WebSocket receive loop never waits on the broker and
+ * records are batched by the producer instead of being sent one pipeline
+ * per tick. At most the queue capacity plus the sender's in-flight limit
+ * are held in memory.
+ * <p>
+ * When the queue is full or the broker fails a send, events spill to an
+ * append-only {@link SpillFile} instead of being dropped, and every later
+ * event follows them there until the backlog has drained, so Kafka receives
+ * spilled events in the order they were spilled. The backlog is sent back
+ * one batch at a time; a batch is read again from the file until the broker
+ * acknowledges all of it, so a long outage costs disk, not heap.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public final class PriceProducer {
 
+    // Dependencies
     private final KafkaSender<String, PriceEvent> kafkaSender;
+    private final KafkaProducerProperties kafkaProducerProperties;
+    private final SpillProperties spillProperties;
+
+    // Constants
+    private static final String METRIC_QUEUE_SIZE = "ingestion.kafka.queue.size";
+    private static final String METRIC_DROPPED = "ingestion.kafka.dropped";
+    private static final String METRIC_SEND_ERRORS = "ingestion.kafka.send.errors";
+    private static final String METRIC_SPILLED = "ingestion.spill.spilled";
+    private static final String METRIC_DRAINED = "ingestion.spill.drained";
+    private static final String METRIC_SPILL_BYTES = "ingestion.spill.bytes";
+
+    // Bounded hand-off between the receive loop and the sender pipeline
+    private final Queue<SenderRecord<String, PriceEvent, Outgoing>> queue;
+    private final Sinks.Many<SenderRecord<String, PriceEvent, Outgoing>> records;
+
+    // Spill buffer, or null if disabled; spilling is written under its lock
+    private final SpillFile spillFile;
+    private volatile boolean spilling;
+
+    // Drain state, confined to the drain scheduler apart from the batch counters
+    private final Scheduler drainScheduler;
+    private final AtomicInteger batchPending = new AtomicInteger();
+    private volatile boolean batchFailed;
+    private long drainPosition;
+    private long batchEnd;
+    private Disposable drainer;
+
+    // Metrics
+    private final Timer sendLatency;
+    private final Counter dropped;
+    private final Counter sendErrors;
+    private final Counter spilled;
+    private final Counter drained;
+
+    /**
+     * Creates the producer, opens the spill file and registers its metrics.
+     * Batch fill (batch size, records per request) is reported by the Kafka
+     * client metrics bound in {@code KafkaConfig}.
+     *
+     * @param kafkaSender             the reactive Kafka sender
+     * @param kafkaProducerProperties the publishing configuration
+     * @param spillProperties         the spill buffer configuration
+     * @param meterRegistry           the meter registry
+     */
+    public PriceProducer(final KafkaSender<String, PriceEvent> kafkaSender,
+            final KafkaProducerProperties kafkaProducerProperties,
+            final SpillProperties spillProperties,
+            final MeterRegistry meterRegistry) {
+        this.kafkaSender = kafkaSender;
+        this.kafkaProducerProperties = kafkaProducerProperties;
+        this.spillProperties = spillProperties;
+        this.queue = new ArrayBlockingQueue<>(kafkaProducerProperties.getQueueCapacity());
+        this.records = Sinks.many().unicast().onBackpressureBuffer(queue);
+        this.spillFile = spillProperties.isEnabled() ? openSpillFile(Path.of(spillProperties.getPath())) : null;
+        // A backlog left by a previous run drains before new events
+        this.spilling = spillFile != null && spillFile.size() > 0;
+        this.drainScheduler = Schedulers.newSingle("spill-drain", true);
+
+        this.sendLatency = IngestionMetrics.stageTimer(meterRegistry, IngestionMetrics.Stage.SEND_TO_ACK);
+        this.dropped = Counter.builder(METRIC_DROPPED)
+                .description("Price events dropped because they could be neither queued nor spilled")
+                .register(meterRegistry);
+        this.sendErrors = Counter.builder(METRIC_SEND_ERRORS)
+                .description("Price events the broker failed to acknowledge")
+                .register(meterRegistry);
+        this.spilled = Counter.builder(METRIC_SPILLED)
+                .description("Price events written to the spill file")
+                .register(meterRegistry);
+        this.drained = Counter.builder(METRIC_DRAINED)
+                .description("Spilled price events acknowledged by the broker")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_QUEUE_SIZE, queue, Queue::size)
+                .description("Price events waiting to be handed to the Kafka producer")
+                .register(meterRegistry);
+        if (spillFile != null) {
+            Gauge.builder(METRIC_SPILL_BYTES, spillFile, SpillFile::size)
+                    .description("Size of the spilled backlog in bytes")
+                    .register(meterRegistry);
+        }
+    }
 
-    private static final String TOPIC = "topic-raw-prices";
+    /**
+     * Starts the long-lived publishing pipeline and the spill drainer.
+     */
+    @PostConstruct
+    public void start() {
+        kafkaSender.send(records.asFlux())
+                .subscribe(
+                        this::onResult,
+                        error -> log.error("Kafka publishing pipeline terminated", error),
+                        () -> log.info("Kafka publishing pipeline completed"));
+        if (spillFile != null) {
+            drainer = Flux.interval(spillProperties.getDrainInterval(), drainScheduler)
+                    .subscribe(ignored -> drainStep());
+        }
+    }
 
     /**
-     * Sends a price event to the Kafka topic.
+     * Completes the pipeline so queued events are flushed before the sender
+     * is closed. The spilled backlog stays on disk for the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        if (drainer != null) {
+            drainer.dispose();
+        }
+        drainScheduler.dispose();
+        records.tryEmitComplete();
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (final IOException e) {
+                log.error("Failed to close spill file", e);
+            }
+        }
+    }
+
+    /**
+     * Hands a price event off to the publishing pipeline.
      * Uses the ticker symbol as the message key for partitioning.
+     * Never blocks on the broker: if the queue is full the event spills to
+     * disk, or is dropped and counted when spilling is disabled.
      *
      * @param event the price event to send
-     * @return Mono that completes when the message is sent
+     * @return true if the event was queued or spilled
      */
-    public Mono<Void> send(final PriceEvent event) {
+    public boolean publish(final PriceEvent event) {
+        if (event == null) {
+            log.warn("Attempted to send null price event");
+            return false;
+        }
+
+        if (spilling) {
+            synchronized (spillFile) {
+                if (spilling) {
+                    return spill(event);
+                }
+            }
+        }
+
+        final Sinks.EmitResult result = emit(event, false);
+        if (result.isSuccess()) {
+            return true;
+        }
+        if (spillFile != null) {
+            synchronized (spillFile) {
+                startSpilling(result.name());
+                return spill(event);
+            }
+        }
+        dropped.increment();
+        log.debug("Dropped price event, publishing queue {}: {}", result, event);
+        return false;
+    }
+
+    /**
+     * Returns whether events are currently going to the spill file.
+     *
+     * @return true while a spilled backlog remains
+     */
+    public boolean isSpilling() {
+        return spilling;
+    }
+
+    /**
+     * Sends the next batch of the spilled backlog once the previous one has
+     * been acknowledged, and leaves spill mode once the backlog is empty.
+     * Runs on the drain scheduler.
+     * Package-private for testing purposes.
+     */
+    void drainStep() {
+        if (!spilling || batchPending.get() > 0) {
+            return;
+        }
+        if (batchFailed) {
+            // Rewind: the whole batch is read again on the next interval
+            batchFailed = false;
+            batchEnd = drainPosition;
+            return;
+        }
+        drainPosition = batchEnd;
+
+        final List<PriceEvent> batch = new ArrayList<>();
         try {
-            if (event == null) {
-                log.warn("Attempted to send null price event");
-                return Mono.empty();
+            synchronized (spillFile) {
+                if (drainPosition >= spillFile.size()) {
+                    spillFile.clear();
+                    drainPosition = 0;
+                    batchEnd = 0;
+                    spilling = false;
+                    log.info("Spilled price events drained, publishing directly again");
+                    return;
+                }
+            }
+            final int room = kafkaProducerProperties.getQueueCapacity() - queue.size();
+            batchEnd = spillFile.read(drainPosition, Math.min(spillProperties.getDrainBatch(), room), batch);
+        } catch (final IOException e) {
+            log.error("Failed to read spill file", e);
+            return;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        batchPending.set(batch.size());
+        for (final PriceEvent event : batch) {
+            if (emit(event, true).isFailure()) {
+                batchFailed = true;
+                batchPending.decrementAndGet();
             }
+        }
+    }
+
+    /**
+     * Queues an event for the sender pipeline.
+     *
+     * @param event   the event
+     * @param drained whether it comes from the spill file
+     * @return the emission result
+     */
+    private Sinks.EmitResult emit(final PriceEvent event, final boolean drained) {
+        final SenderRecord<String, PriceEvent, Outgoing> record = SenderRecord.create(
+                kafkaProducerProperties.getTopic(), null, null, event.getTicker(), event,
+                new Outgoing(event, System.nanoTime(), drained));
 
-            final String key = event.getTicker();
-            final ProducerRecord<String, PriceEvent> record = new ProducerRecord<>(TOPIC, key, event);
-            final SenderRecord<String, PriceEvent, String> senderRecord = SenderRecord.create(record, key);
+        Sinks.EmitResult result;
+        // The sink rejects concurrent emitters instead of blocking them; shards race only briefly
+        while ((result = records.tryEmitNext(record)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+        return result;
+    }
 
-            return kafkaSender
-                    .send(Mono.just(senderRecord))
-                    .doOnNext(r -> log.debug("Sent price event: {}", event))
-                    .doOnError(e -> log.error("Failed to send price event: {}", event, e))
-                    .then();
-        } catch (final Exception e) {
-            log.error("Error creating Kafka sender record for event: {}", event, e);
-            return Mono.error(e);
+    /**
+     * Appends an event to the spill file. Called under the spill file's lock.
+     *
+     * @param event the event
+     * @return true if the event was spilled
+     */
+    private boolean spill(final PriceEvent event) {
+        if (spillFile.size() >= spillProperties.getMaxBytes()) {
+            dropped.increment();
+            return false;
         }
+        try {
+            spillFile.append(event);
+            spilled.increment();
+            return true;
+        } catch (final IOException | IllegalArgumentException e) {
+            dropped.increment();
+            log.error("Failed to spill price event {}", event, e);
+            return false;
+        }
+    }
+
+    /**
+     * Switches to spill mode. Called under the spill file's lock.
+     *
+     * @param reason why the event could not be queued
+     */
+    private void startSpilling(final String reason) {
+        if (!spilling) {
+            spilling = true;
+            log.warn("Kafka publishing backed up ({}), spilling price events to {}", reason,
+                    spillProperties.getPath());
+        }
+    }
+
+    /**
+     * Records the outcome of a send.
+     *
+     * @param result the sender result carrying the outgoing event
+     */
+    private void onResult(final SenderResult<Outgoing> result) {
+        final Outgoing outgoing = result.correlationMetadata();
+        if (result.exception() != null) {
+            sendErrors.increment();
+            if (outgoing.drained()) {
+                batchFailed = true;
+                batchPending.decrementAndGet();
+                return;
+            }
+            log.error("Failed to send price event", result.exception());
+            if (spillFile != null) {
+                synchronized (spillFile) {
+                    startSpilling("send failed");
+                    spill(outgoing.event());
+                }
+            }
+            return;
+        }
+        sendLatency.record(System.nanoTime() - outgoing.handOffNanos(), TimeUnit.NANOSECONDS);
+        if (outgoing.drained()) {
+            drained.increment();
+            if (batchPending.decrementAndGet() == 0 && !batchFailed && !drainScheduler.isDisposed()) {
+                // Keep draining at the broker's pace rather than once per interval
+                drainScheduler.schedule(this::drainStep);
+            }
+        }
+    }
+
+    private static SpillFile openSpillFile(final Path path) {
+        try {
+            return new SpillFile(path);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot open spill file " + path, e);
+        }
+    }
+
+    /**
+     * An event in the sender pipeline.
+     *
+     * @param event        the event
+     * @param handOffNanos when it was queued
+     * @param drained      whether it comes from the spill file
+     */
+    record Outgoing(PriceEvent event, long handOffNanos, boolean drained) {
     }
 }
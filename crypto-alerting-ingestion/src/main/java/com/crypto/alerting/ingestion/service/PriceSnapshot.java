@@ -0,0 +1,154 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, versioned view of the latest price of every ticker.
+ * The version increases each time a rebuild observes a changed price, and
+ * every ticker records the version in which its price last changed, so
+ * clients can ask for just the tickers changed since a version they hold.
+ * Versions are counted per process, so they are handed out as tokens
+ * qualified by the random epoch of the process that built the snapshot; a
+ * token from another process, or from before a restart, never matches.
+ * The full JSON body is encoded once per version.
+ */
+public final class PriceSnapshot {
+
+    private final String epoch;
+    private final long version;
+    private final PriceTick[] ticks;
+    private final long[] changedIn;
+    private final byte[] json;
+
+    PriceSnapshot(final String epoch, final long version, final PriceTick[] ticks, final long[] changedIn,
+            final byte[] json) {
+        this.epoch = epoch;
+        this.version = version;
+        this.ticks = ticks;
+        this.changedIn = changedIn;
+        this.json = json;
+    }
+
+    /**
+     * Returns the snapshot version.
+     *
+     * @return monotonically increasing version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the epoch of the process that built this snapshot.
+     *
+     * @return random per-process epoch
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the version token clients send back as {@code sinceVersion}.
+     *
+     * @return the epoch and version, as {@code <epoch>.<version>}
+     */
+    public String versionToken() {
+        return epoch + '.' + version;
+    }
+
+    /**
+     * Returns the strong entity tag of this version.
+     *
+     * @return quoted version token
+     */
+    public String etag() {
+        return "\"" + versionToken() + "\"";
+    }
+
+    /**
+     * Returns the entity tag of the body answering {@code sinceVersion}. A
+     * delta is tagged with both versions, so it never validates a cached
+     * full snapshot or a delta from another base; a token this snapshot
+     * cannot resolve is answered with the full snapshot and its tag.
+     *
+     * @param sinceVersion the version token the client holds
+     * @return quoted token of the delta, or {@link #etag()}
+     */
+    public String etagSince(final String sinceVersion) {
+        final long held = resolve(sinceVersion);
+        return held < 0 ? etag() : "\"" + versionToken() + "-" + held + "\"";
+    }
+
+    /**
+     * Resolves a version token against this snapshot.
+     *
+     * @param token a token previously returned by {@link #versionToken()}
+     * @return the version it names, or -1 if it is malformed, from another
+     *         epoch or ahead of this snapshot
+     */
+    public long resolve(final String token) {
+        final int dot = token.lastIndexOf('.');
+        if (dot < 0 || !epoch.equals(token.substring(0, dot))) {
+            return -1L;
+        }
+        try {
+            final long held = Long.parseLong(token.substring(dot + 1));
+            return held >= 0 && held <= version ? held : -1L;
+        } catch (final NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Returns the cached JSON body mapping every ticker to its latest price
+     * event. Callers must not modify the array.
+     *
+     * @return JSON bytes
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * Returns the latest price of every ticker whose price changed after the
+     * given version.
+     *
+     * @param sinceVersion a version previously returned by {@link #version()}
+     * @param registry     the registry that assigned the symbol ids
+     * @return ticker symbols mapped to their latest price events, sorted by ticker
+     */
+    public Map<String, PriceEvent> changedSince(final long sinceVersion, final SymbolRegistry registry) {
+        final Map<String, PriceEvent> changed = new TreeMap<>();
+        for (int id = 0; id < ticks.length; id++) {
+            if (ticks[id] != null && changedIn[id] > sinceVersion) {
+                changed.put(registry.symbolOf(id), ticks[id].toPriceEvent(registry));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the latest tick of a symbol as of this version.
+     *
+     * @param symbolId the symbol id
+     * @return the tick, or null if none
+     */
+    PriceTick tick(final int symbolId) {
+        return symbolId < ticks.length ? ticks[symbolId] : null;
+    }
+
+    /**
+     * Returns the version in which a symbol's price last changed.
+     *
+     * @param symbolId the symbol id
+     * @return the version, or zero if the symbol has no price
+     */
+    long changedIn(final int symbolId) {
+        return symbolId < changedIn.length ? changedIn[symbolId] : 0L;
+    }
+}
@@ -0,0 +1,162 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.commons.util.AppUtils;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the latest prices as a versioned, pre-serialized
+ * {@link PriceSnapshot}.
+ * The snapshot is rebuilt lazily, by the first request after the configured
+ * interval, and at most once per interval however many clients poll; other
+ * requests get the cached snapshot. A rebuild that finds no price change
+ * keeps the current version and bytes. Versions restart at zero with the
+ * process, so every snapshot carries a random epoch drawn at startup.
+ */
+@Service
+@Slf4j
+public final class PriceSnapshotService {
+
+    // Dependencies
+    private final PriceStreamService priceStreamService;
+    private final SymbolRegistry symbolRegistry;
+
+    // Minimum nanoseconds between rebuilds
+    private final long intervalNanos;
+
+    // Held by the request rebuilding the snapshot; others serve the current one
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile PriceSnapshot snapshot;
+    private volatile long builtAtNanos;
+
+    /**
+     * Creates the service with an empty snapshot at version zero of a new
+     * epoch.
+     *
+     * @param priceStreamService the source of latest ticks
+     * @param symbolRegistry     the registry assigning symbol ids
+     * @param streamProperties   the stream configuration holding the snapshot interval
+     */
+    public PriceSnapshotService(final PriceStreamService priceStreamService, final SymbolRegistry symbolRegistry,
+            final StreamProperties streamProperties) {
+        this.priceStreamService = priceStreamService;
+        this.symbolRegistry = symbolRegistry;
+        this.intervalNanos = streamProperties.getSnapshotInterval().toNanos();
+        this.snapshot = new PriceSnapshot(newEpoch(), 0L, new PriceTick[0], new long[0], encode(Map.of()));
+        this.builtAtNanos = System.nanoTime() - intervalNanos;
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it first if it is older than
+     * the snapshot interval.
+     *
+     * @return the latest price snapshot
+     */
+    public PriceSnapshot getSnapshot() {
+        final long now = System.nanoTime();
+        if (now - builtAtNanos >= intervalNanos && rebuildLock.tryLock()) {
+            try {
+                if (now - builtAtNanos >= intervalNanos) {
+                    snapshot = rebuild(snapshot);
+                    builtAtNanos = now;
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Encodes the prices of a snapshot that changed after a given version.
+     * A token this snapshot cannot resolve, because it was issued by another
+     * process or before a restart, gets the full snapshot.
+     *
+     * @param snapshot     the snapshot to read
+     * @param sinceVersion the version token the client already holds
+     * @return JSON bytes mapping changed tickers to their latest price events
+     */
+    public byte[] encodeChangedSince(final PriceSnapshot snapshot, final String sinceVersion) {
+        final long held = snapshot.resolve(sinceVersion);
+        if (held < 0) {
+            return snapshot.json();
+        }
+        if (held == snapshot.version()) {
+            return encode(Map.of());
+        }
+        return encode(snapshot.changedSince(held, symbolRegistry));
+    }
+
+    /**
+     * Builds the next snapshot, carrying over the change versions of tickers
+     * whose price did not change.
+     *
+     * @param previous the current snapshot
+     * @return the next snapshot, or {@code previous} if nothing changed
+     */
+    private PriceSnapshot rebuild(final PriceSnapshot previous) {
+        final int symbols = symbolRegistry.size();
+        final long version = previous.version() + 1;
+        final PriceTick[] ticks = new PriceTick[symbols];
+        final long[] changedIn = new long[symbols];
+
+        boolean changed = false;
+        for (int id = 0; id < symbols; id++) {
+            final PriceTick tick = priceStreamService.getLatestTick(id);
+            ticks[id] = tick;
+            if (tick != previous.tick(id)) {
+                changedIn[id] = version;
+                changed = true;
+            } else {
+                changedIn[id] = previous.changedIn(id);
+            }
+        }
+        if (!changed) {
+            return previous;
+        }
+
+        final Map<String, PriceEvent> prices = new TreeMap<>();
+        for (int id = 0; id < symbols; id++) {
+            if (ticks[id] != null) {
+                prices.put(symbolRegistry.symbolOf(id), ticks[id].toPriceEvent(symbolRegistry));
+            }
+        }
+        log.debug("Rebuilt latest price snapshot version {}", version);
+        return new PriceSnapshot(previous.epoch(), version, ticks, changedIn, encode(prices));
+    }
+
+    /**
+     * Draws the epoch that qualifies this process's snapshot versions.
+     *
+     * @return random hex epoch
+     */
+    private static String newEpoch() {
+        return Long.toHexString(UUID.randomUUID().getLeastSignificantBits());
+    }
+
+    /**
+     * Encodes a ticker to price event map as JSON.
+     *
+     * @param prices the prices to encode
+     * @return JSON bytes
+     */
+    private static byte[] encode(final Map<String, PriceEvent> prices) {
+        try {
+            return AppUtils.getObjectMapper().writeValueAsBytes(prices);
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode price snapshot", e);
+        }
+    }
+}
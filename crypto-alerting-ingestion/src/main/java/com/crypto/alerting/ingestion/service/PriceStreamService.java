@@ -1,32 +1,146 @@
 package com.crypto.alerting.ingestion.service;
 
 import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.book.BookTop;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
+import reactor.core.publisher.FluxSink;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Service for managing real-time price event streaming to UI clients.
- * Maintains a broadcast sink for Server-Sent Events and caches latest prices.
+ * Each client subscription holds its own pending ticks, either in a bounded
+ * buffer or conflated to the latest tick per ticker, so a slow client only
+ * falls behind itself and is evicted once it lags for too long. Also caches
+ * latest prices.
+ * Each tick is encoded to its SSE frame at most once, when first delivered,
+ * and the same bytes are shared by every client it reaches.
+ * Clients may subscribe to a subset of tickers; a per-symbol
+ * {@link RouteIndex} delivers each tick only to the clients that asked for
+ * it, so fan-out cost follows the number of interested clients.
+ * Ticks travel as {@link PriceTick} and the latest price of each symbol is
+ * kept in an array indexed by symbol id, so broadcasting neither boxes values
+ * nor hashes ticker strings.
+ * The top of each symbol's order book is published here as well, copied
+ * into a preallocated slot per symbol that readers copy out of, so book
+ * updates create no objects.
  */
 @Service
 @Slf4j
 public final class PriceStreamService {
 
-    // Multicast sink for broadcasting price events to multiple subscribers
-    private final Sinks.Many<PriceEvent> priceSink = Sinks.many().multicast().onBackpressureBuffer();
+    // Dependencies
+    private final SymbolRegistry symbolRegistry;
+    private final StreamProperties streamProperties;
 
-    // Thread-safe cache of latest prices by ticker symbol
-    private final Map<String, PriceEvent> latestPrices = new ConcurrentHashMap<>();
+    // Constants
+    private static final String METRIC_SUBSCRIBERS = "ingestion.stream.subscribers";
+    private static final String METRIC_DROPPED = "ingestion.stream.dropped";
+    private static final String METRIC_EVICTED = "ingestion.stream.evicted";
+    private static final String METRIC_MAX_LAG = "ingestion.stream.max.lag";
+    private static final String METRIC_EMIT_FAILURES = "ingestion.stream.emit.failures";
+
+    // Client subscriptions, each with its own pending ticks
+    private final List<PriceSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong subscriptionIds = new AtomicLong();
+
+    // Symbol id to interested subscriptions, updated as subscriptions change
+    private final RouteIndex routes;
+
+    // Latest tick per symbol id
+    private final AtomicReferenceArray<PriceTick> latestTicks;
+
+    // Latest top of book per symbol id
+    private final BookTopTable bookTops;
+
+    // Metrics
+    private final Counter dropped;
+    private final Counter evicted;
+    private final Counter emitFailures;
 
     /**
-     * Broadcasts a price event to all active subscribers.
+     * Creates the service and registers its metrics.
+     *
+     * @param symbolRegistry   the registry assigning symbol ids
+     * @param streamProperties the stream delivery configuration
+     * @param meterRegistry    the meter registry
+     */
+    public PriceStreamService(final SymbolRegistry symbolRegistry, final StreamProperties streamProperties,
+            final MeterRegistry meterRegistry) {
+        this.symbolRegistry = symbolRegistry;
+        this.streamProperties = streamProperties;
+        this.latestTicks = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        this.bookTops = new BookTopTable(symbolRegistry.capacity());
+        this.routes = new RouteIndex(symbolRegistry);
+
+        this.dropped = Counter.builder(METRIC_DROPPED)
+                .description("Ticks discarded for subscribers by conflation or buffer overflow")
+                .register(meterRegistry);
+        this.evicted = Counter.builder(METRIC_EVICTED)
+                .description("Subscribers evicted for lagging behind")
+                .register(meterRegistry);
+        this.emitFailures = Counter.builder(METRIC_EMIT_FAILURES)
+                .description("Ticks a subscriber never received: evicted from a full buffer, or pending at eviction")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SUBSCRIBERS, subscriptions, List::size)
+                .description("Active price stream subscribers")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_MAX_LAG, this, PriceStreamService::maxLagMillis)
+                .description("Longest time any subscriber has been continuously behind, in milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Broadcasts a price tick to all active subscribers.
      * Also updates the latest price cache.
      *
+     * @param tick the price tick to broadcast
+     */
+    public void broadcastTick(final PriceTick tick) {
+        try {
+            if (tick == null) {
+                log.warn("Attempted to broadcast null price tick");
+                return;
+            }
+
+            latestTicks.set(tick.getSymbolId(), tick);
+
+            if (!routes.isEmpty()) {
+                final PriceSubscription[] route = routes.route(tick.getSymbolId());
+                if (route.length > 0) {
+                    final PriceFrame frame = PriceFrame.encode(tick, symbolRegistry);
+                    final long now = System.nanoTime();
+                    for (final PriceSubscription subscription : route) {
+                        subscription.offer(frame, now);
+                    }
+                }
+            }
+            log.debug("Broadcasted price tick: {}", tick);
+        } catch (final Exception e) {
+            log.error("Error broadcasting price tick", e);
+        }
+    }
+
+    /**
+     * Broadcasts a price event to all active subscribers.
+     * Converts the event to a {@link PriceTick}; prefer
+     * {@link #broadcastTick(PriceTick)} on hot paths.
+     *
      * @param event the price event to broadcast
      */
     public void broadcastPrice(final PriceEvent event) {
@@ -35,39 +149,180 @@ public final class PriceStreamService {
                 log.warn("Attempted to broadcast null price event");
                 return;
             }
-
-            latestPrices.put(event.getTicker(), event);
-            final Sinks.EmitResult result = priceSink.tryEmitNext(event);
-
-            if (result.isFailure()) {
-                log.warn("Failed to emit price event for {}: {}", event.getTicker(), result);
-            } else {
-                log.debug("Broadcasted price event: {}", event);
-            }
+            broadcastTick(PriceTick.fromPriceEvent(event, symbolRegistry));
         } catch (final Exception e) {
             log.error("Error broadcasting price event", e);
         }
     }
 
     /**
-     * Returns a Flux stream of price events for subscribers.
-     * Includes lifecycle logging for monitoring.
+     * Subscribes a client to price ticks of every ticker.
+     *
+     * @return Flux of price ticks for one client
+     * @see #subscribe(SymbolFilter)
+     */
+    public Flux<PriceTick> subscribe() {
+        return subscribe(SymbolFilter.all());
+    }
+
+    /**
+     * Subscribes a client to price ticks of the tickers matching a filter.
+     * Ticks are retained according to the configured
+     * {@link StreamProperties.Mode} until the client requests them. The Flux
+     * completes if the client is evicted for lagging.
+     *
+     * @param filter the tickers to receive
+     * @return Flux of price ticks for one client
+     */
+    public Flux<PriceTick> subscribe(final SymbolFilter filter) {
+        return subscribeFrames(filter).map(PriceFrame::tick);
+    }
+
+    /**
+     * Subscribes a client to pre-encoded price frames of the tickers matching
+     * a filter, for writing the SSE bytes straight to the connection.
+     * Delivery follows the same rules as {@link #subscribe(SymbolFilter)}.
+     *
+     * @param filter the tickers to receive
+     * @return Flux of price frames for one client
+     */
+    public Flux<PriceFrame> subscribeFrames(final SymbolFilter filter) {
+        return subscribeFrames(filter, Flux.empty());
+    }
+
+    /**
+     * Subscribes a client to pre-encoded price frames of tickers it may
+     * change while subscribed. Each filter emitted by {@code filterChanges}
+     * replaces the current one; the subscription ends the changes when it
+     * ends.
+     *
+     * @param filter        the tickers to receive at first
+     * @param filterChanges later replacements of the filter
+     * @return Flux of price frames for one client
+     */
+    public Flux<PriceFrame> subscribeFrames(final SymbolFilter filter, final Flux<SymbolFilter> filterChanges) {
+        return Flux.create(sink -> register(sink, filter, filterChanges), FluxSink.OverflowStrategy.IGNORE);
+    }
+
+    /**
+     * Returns a Flux stream of price events of every ticker for one client
+     * subscriber.
      *
      * @return Flux of price events
      */
     public Flux<PriceEvent> getPriceStream() {
-        return priceSink.asFlux()
-                .doOnSubscribe(s -> log.info("New subscriber to price stream"))
-                .doOnCancel(() -> log.info("Subscriber cancelled price stream"))
-                .doOnError(e -> log.error("Error in price stream", e));
+        return subscribe().map(tick -> tick.toPriceEvent(symbolRegistry));
     }
 
     /**
-     * Returns an immutable copy of the latest prices cache.
+     * Returns delivery statistics of every active subscriber.
+     *
+     * @return per-subscriber statistics
+     */
+    public List<SubscriberStats> getSubscriberStats() {
+        final long now = System.nanoTime();
+        final List<SubscriberStats> stats = new ArrayList<>(subscriptions.size());
+        for (final PriceSubscription subscription : subscriptions) {
+            stats.add(subscription.stats(now));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns an immutable snapshot of the latest prices.
      *
      * @return map of ticker symbols to their latest price events
      */
     public Map<String, PriceEvent> getLatestPrices() {
-        return Map.copyOf(latestPrices);
+        final int symbols = symbolRegistry.size();
+        final Map<String, PriceEvent> snapshot = new HashMap<>();
+        for (int id = 0; id < symbols; id++) {
+            final PriceTick tick = latestTicks.get(id);
+            if (tick != null) {
+                snapshot.put(symbolRegistry.symbolOf(id), tick.toPriceEvent(symbolRegistry));
+            }
+        }
+        return Map.copyOf(snapshot);
+    }
+
+    /**
+     * Returns the latest tick of a symbol.
+     *
+     * @param symbolId the symbol id
+     * @return the latest tick, or null if none was broadcast yet
+     */
+    public PriceTick getLatestTick(final int symbolId) {
+        return latestTicks.get(symbolId);
+    }
+
+    /**
+     * Publishes the top of a symbol's order book, replacing the previous one.
+     * The top is copied, so the caller may reuse it right away.
+     *
+     * @param top the best levels of the book
+     */
+    public void publishBookTop(final BookTop top) {
+        bookTops.publish(top);
+    }
+
+    /**
+     * Copies the latest top of a symbol's order book into a caller-owned
+     * view.
+     *
+     * @param symbolId the symbol id
+     * @param target   receives the best levels, up to its own depth
+     * @return false if no book was published for the symbol
+     */
+    public boolean readBookTop(final int symbolId, final BookTop target) {
+        return bookTops.read(symbolId, target);
+    }
+
+    /**
+     * Creates and registers the subscription backing a client's Flux.
+     *
+     * @param sink          the client's sink
+     * @param filter        the tickers to deliver
+     * @param filterChanges later replacements of the filter
+     */
+    private void register(final FluxSink<PriceFrame> sink, final SymbolFilter filter,
+            final Flux<SymbolFilter> filterChanges) {
+        final long id = subscriptionIds.incrementAndGet();
+        final StreamProperties.Mode mode = streamProperties.getMode();
+        final PendingTicks pending = mode == StreamProperties.Mode.CONFLATE
+                ? new ConflatingPendingTicks()
+                : new BoundedPendingTicks(streamProperties.getBufferSize());
+
+        final PriceSubscription subscription = new PriceSubscription(id, mode, filter, sink, pending,
+                streamProperties.getMaxLag().toNanos(), dropped, emitFailures, () -> {
+                    evicted.increment();
+                    log.warn("Evicting subscriber {} after lagging more than {}", id, streamProperties.getMaxLag());
+                });
+
+        subscriptions.add(subscription);
+        routes.add(subscription);
+        final Disposable changes = filterChanges.subscribe(
+                changed -> {
+                    subscription.filter(changed);
+                    routes.update(subscription);
+                    log.debug("Subscriber {} changed symbols to {}", id, changed);
+                },
+                error -> log.warn("Subscriber {} filter changes failed", id, error));
+        sink.onRequest(n -> subscription.drain());
+        sink.onDispose(() -> {
+            changes.dispose();
+            subscriptions.remove(subscription);
+            routes.remove(subscription);
+            log.info("Subscriber {} left price stream", id);
+        });
+        log.info("New subscriber {} to price stream ({} mode, symbols {})", id, mode, filter);
+    }
+
+    private double maxLagMillis() {
+        final long now = System.nanoTime();
+        long max = 0;
+        for (final PriceSubscription subscription : subscriptions) {
+            max = Math.max(max, subscription.lagMillis(now));
+        }
+        return max;
     }
 }
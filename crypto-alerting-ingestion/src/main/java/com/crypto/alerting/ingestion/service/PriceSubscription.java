@@ -0,0 +1,166 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import io.micrometer.core.instrument.Counter;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivery state of one price stream subscriber.
+ * Frames are parked in the subscriber's own {@link PendingTicks} and emitted
+ * only as far as the subscriber has requested, so a slow subscriber holds
+ * back nobody but itself. A subscriber that stays behind for longer than the
+ * configured lag limit is evicted by completing its stream.
+ * <p>
+ * Frames a subscriber will never receive are counted as rejected: those a
+ * full buffer pushes out, those still pending at eviction and those offered
+ * after it. Frames replaced by a newer tick of the same ticker in conflating
+ * mode are dropped by design and not counted as rejected.
+ */
+final class PriceSubscription {
+
+    private final long id;
+    private final StreamProperties.Mode mode;
+    private volatile SymbolFilter filter;
+    private final FluxSink<PriceFrame> sink;
+    private final PendingTicks pending;
+    private final long maxLagNanos;
+    private final Counter droppedCounter;
+    private final Counter rejectedCounter;
+    private final Runnable onEvict;
+
+    // Serializes emission; see drain()
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // Guarded by this
+    private boolean behind;
+    private long behindSinceNanos;
+    private boolean evicted;
+
+    private volatile long delivered;
+    private volatile long dropped;
+
+    PriceSubscription(final long id, final StreamProperties.Mode mode, final SymbolFilter filter,
+            final FluxSink<PriceFrame> sink, final PendingTicks pending, final long maxLagNanos,
+            final Counter droppedCounter, final Counter rejectedCounter, final Runnable onEvict) {
+        this.id = id;
+        this.mode = mode;
+        this.filter = filter;
+        this.sink = sink;
+        this.pending = pending;
+        this.maxLagNanos = maxLagNanos;
+        this.droppedCounter = droppedCounter;
+        this.rejectedCounter = rejectedCounter;
+        this.onEvict = onEvict;
+    }
+
+    long id() {
+        return id;
+    }
+
+    SymbolFilter filter() {
+        return filter;
+    }
+
+    /**
+     * Replaces the tickers this subscriber receives. Takes effect once the
+     * routes are rebuilt; frames already pending are still delivered.
+     *
+     * @param filter the new filter
+     */
+    void filter(final SymbolFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Queues a frame for delivery and emits as much as the subscriber has
+     * requested. Evicts the subscriber if it has been behind for too long.
+     *
+     * @param frame    the frame to deliver
+     * @param nowNanos current {@link System#nanoTime()}
+     */
+    void offer(final PriceFrame frame, final long nowNanos) {
+        final boolean evictNow;
+        synchronized (this) {
+            if (evicted) {
+                rejectedCounter.increment();
+                return;
+            }
+            if (!pending.offer(frame)) {
+                dropped++;
+                droppedCounter.increment();
+                if (mode == StreamProperties.Mode.BUFFER) {
+                    rejectedCounter.increment();
+                }
+            }
+            if (!behind) {
+                behind = true;
+                behindSinceNanos = nowNanos;
+            }
+            evictNow = nowNanos - behindSinceNanos > maxLagNanos;
+            evicted = evictNow;
+            if (evictNow) {
+                rejectedCounter.increment(pending.size());
+            }
+        }
+
+        if (evictNow) {
+            onEvict.run();
+            sink.complete();
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * Emits pending frames up to the outstanding demand. Safe to call from any
+     * thread: concurrent callers are folded into the one already draining.
+     */
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            long requested = sink.requestedFromDownstream();
+            while (requested > 0 && !sink.isCancelled()) {
+                final PriceFrame frame;
+                synchronized (this) {
+                    frame = pending.poll();
+                    if (pending.size() == 0) {
+                        behind = false;
+                    }
+                }
+                if (frame == null) {
+                    break;
+                }
+                sink.next(frame);
+                delivered++;
+                requested--;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Returns current delivery statistics.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return subscriber statistics
+     */
+    synchronized SubscriberStats stats(final long nowNanos) {
+        return new SubscriberStats(id, mode.name(), filter.toString(), pending.size(), lagMillis(nowNanos), delivered, dropped);
+    }
+
+    /**
+     * Returns how long the subscriber has been continuously behind.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return lag in milliseconds, zero when caught up
+     */
+    synchronized long lagMillis(final long nowNanos) {
+        return behind ? TimeUnit.NANOSECONDS.toMillis(nowNanos - behindSinceNanos) : 0L;
+    }
+}
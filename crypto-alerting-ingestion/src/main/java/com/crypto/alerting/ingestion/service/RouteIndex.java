@@ -0,0 +1,200 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Index from symbol id to the subscriptions whose filters match it, so a
+ * broadcast visits only interested subscribers. Each symbol's route is a
+ * copy-on-write array read with a single lookup. A subscription joining,
+ * leaving or changing its filter rewrites only the routes it matches, so
+ * churn costs neither a new index nor a rescan of every subscription on the
+ * next tick.
+ * <p>
+ * Subscriptions naming exact tickers are kept by ticker and wildcard
+ * subscriptions in a list of their own; a symbol's route is resolved from
+ * them once, the first time the symbol is broadcast. Reads are lock-free;
+ * changes and resolution are serialized on the index.
+ */
+final class RouteIndex {
+
+    private static final PriceSubscription[] NONE = new PriceSubscription[0];
+
+    private final SymbolRegistry symbolRegistry;
+
+    // Resolved routes per symbol id; null until first requested
+    private final AtomicReferenceArray<PriceSubscription[]> routes;
+
+    // Filter each subscription is indexed under
+    private final Map<PriceSubscription, SymbolFilter> indexed = new IdentityHashMap<>();
+
+    // Subscriptions without wildcards, by the tickers they name
+    private final Map<String, List<PriceSubscription>> bySymbol = new HashMap<>();
+
+    // Subscriptions with wildcards, matched against each newly resolved symbol
+    private final List<PriceSubscription> wildcards = new ArrayList<>();
+
+    private volatile int size;
+
+    RouteIndex(final SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+        this.routes = new AtomicReferenceArray<>(symbolRegistry.capacity());
+    }
+
+    /**
+     * Returns the subscriptions interested in a symbol.
+     *
+     * @param symbolId the symbol id
+     * @return matching subscriptions, possibly empty; must not be modified
+     */
+    PriceSubscription[] route(final int symbolId) {
+        final PriceSubscription[] route = routes.get(symbolId);
+        return route != null ? route : resolve(symbolId);
+    }
+
+    /**
+     * Returns whether any subscription is indexed.
+     *
+     * @return true if there are no subscriptions
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a subscription to the routes its current filter matches.
+     *
+     * @param subscription the subscription
+     */
+    synchronized void add(final PriceSubscription subscription) {
+        final SymbolFilter filter = subscription.filter();
+        if (indexed.putIfAbsent(subscription, filter) != null) {
+            return;
+        }
+        size = indexed.size();
+        if (filter.hasWildcards()) {
+            wildcards.add(subscription);
+            forEachResolved(filter, (id, route) -> routes.set(id, append(route, subscription)));
+            return;
+        }
+        for (final String symbol : filter.symbols()) {
+            bySymbol.computeIfAbsent(symbol, key -> new ArrayList<>()).add(subscription);
+            final int id = symbolRegistry.idOf(symbol);
+            final PriceSubscription[] route = id != SymbolRegistry.UNKNOWN ? routes.get(id) : null;
+            if (route != null) {
+                routes.set(id, append(route, subscription));
+            }
+        }
+    }
+
+    /**
+     * Removes a subscription from every route it was added to.
+     *
+     * @param subscription the subscription
+     */
+    synchronized void remove(final PriceSubscription subscription) {
+        final SymbolFilter filter = indexed.remove(subscription);
+        if (filter == null) {
+            return;
+        }
+        size = indexed.size();
+        if (filter.hasWildcards()) {
+            wildcards.remove(subscription);
+            forEachResolved(filter, (id, route) -> routes.set(id, without(route, subscription)));
+            return;
+        }
+        for (final String symbol : filter.symbols()) {
+            final List<PriceSubscription> named = bySymbol.get(symbol);
+            if (named != null && named.remove(subscription) && named.isEmpty()) {
+                bySymbol.remove(symbol);
+            }
+            final int id = symbolRegistry.idOf(symbol);
+            final PriceSubscription[] route = id != SymbolRegistry.UNKNOWN ? routes.get(id) : null;
+            if (route != null) {
+                routes.set(id, without(route, subscription));
+            }
+        }
+    }
+
+    /**
+     * Moves a subscription to the routes of its changed filter, unless it
+     * has left the index.
+     *
+     * @param subscription the subscription
+     */
+    synchronized void update(final PriceSubscription subscription) {
+        if (indexed.containsKey(subscription)) {
+            remove(subscription);
+            add(subscription);
+        }
+    }
+
+    /**
+     * Resolves a symbol's route from the named and wildcard subscriptions.
+     *
+     * @param symbolId the symbol id
+     * @return the resolved route
+     */
+    private synchronized PriceSubscription[] resolve(final int symbolId) {
+        final PriceSubscription[] route = routes.get(symbolId);
+        if (route != null) {
+            return route;
+        }
+        final String symbol = symbolRegistry.symbolOf(symbolId);
+        final List<PriceSubscription> matching = new ArrayList<>(bySymbol.getOrDefault(symbol, List.of()));
+        for (final PriceSubscription subscription : wildcards) {
+            if (indexed.get(subscription).matches(symbol)) {
+                matching.add(subscription);
+            }
+        }
+        final PriceSubscription[] resolved = matching.isEmpty() ? NONE : matching.toArray(NONE);
+        routes.set(symbolId, resolved);
+        return resolved;
+    }
+
+    private void forEachResolved(final SymbolFilter filter, final RouteAction action) {
+        final int registered = symbolRegistry.size();
+        for (int id = 0; id < registered; id++) {
+            final PriceSubscription[] route = routes.get(id);
+            if (route != null && filter.matches(symbolRegistry.symbolOf(id))) {
+                action.apply(id, route);
+            }
+        }
+    }
+
+    private static PriceSubscription[] append(final PriceSubscription[] route, final PriceSubscription subscription) {
+        final PriceSubscription[] appended = new PriceSubscription[route.length + 1];
+        System.arraycopy(route, 0, appended, 0, route.length);
+        appended[route.length] = subscription;
+        return appended;
+    }
+
+    private static PriceSubscription[] without(final PriceSubscription[] route, final PriceSubscription subscription) {
+        for (int i = 0; i < route.length; i++) {
+            if (route[i] == subscription) {
+                if (route.length == 1) {
+                    return NONE;
+                }
+                final PriceSubscription[] remaining = new PriceSubscription[route.length - 1];
+                System.arraycopy(route, 0, remaining, 0, i);
+                System.arraycopy(route, i + 1, remaining, i, route.length - i - 1);
+                return remaining;
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Rewrites one resolved route.
+     */
+    @FunctionalInterface
+    private interface RouteAction {
+        void apply(int symbolId, PriceSubscription[] route);
+    }
+}
@@ -0,0 +1,230 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of price events waiting for Kafka.
+ * <p>
+ * One record per event: {@code int length | int crc32 | payload}, where the
+ * payload is {@code short tickerLength | ticker UTF-8 | double price |
+ * long timestamp}, with {@link Long#MIN_VALUE} for a missing timestamp.
+ * Appends go through a fixed write buffer and reads through a fixed read
+ * buffer, so memory stays the same however large the backlog grows.
+ * <p>
+ * Opening an existing file keeps its backlog and truncates it at the first
+ * incomplete or corrupt record, which is what a crash mid-append leaves
+ * behind. The file is emptied once its backlog has been drained.
+ * <p>
+ * Thread-safe.
+ */
+@Slf4j
+final class SpillFile implements Closeable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_TICKER_BYTES = 256;
+    private static final int MAX_PAYLOAD_BYTES = Short.BYTES + MAX_TICKER_BYTES + Double.BYTES + Long.BYTES;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+
+    // Bytes written to the channel; buffered bytes follow
+    private long flushed;
+
+    /**
+     * Opens or creates a spill file, recovering its backlog.
+     *
+     * @param path the file
+     * @throws IOException if the file cannot be opened
+     */
+    SpillFile(final Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.flushed = recover();
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param event the event; must have a ticker and a price
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void append(final PriceEvent event) throws IOException {
+        final byte[] ticker = event.getTicker().getBytes(StandardCharsets.UTF_8);
+        if (ticker.length > MAX_TICKER_BYTES) {
+            throw new IllegalArgumentException("Ticker too long to spill: " + event.getTicker());
+        }
+        if (writeBuffer.remaining() < HEADER_BYTES + MAX_PAYLOAD_BYTES) {
+            flush();
+        }
+        final int start = writeBuffer.position();
+        writeBuffer.position(start + HEADER_BYTES);
+        writeBuffer.putShort((short) ticker.length);
+        writeBuffer.put(ticker);
+        writeBuffer.putDouble(event.getPrice());
+        writeBuffer.putLong(event.getTimestamp() != null ? event.getTimestamp() : NO_TIMESTAMP);
+
+        final int length = writeBuffer.position() - start - HEADER_BYTES;
+        crc.reset();
+        crc.update(writeBuffer.array(), start + HEADER_BYTES, length);
+        writeBuffer.putInt(start, length);
+        writeBuffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    /**
+     * Reads events starting at a position.
+     *
+     * @param position  byte offset of the first record, as returned by an earlier read or 0
+     * @param maxEvents maximum number of events to read
+     * @param events    receives the events, in append order
+     * @return byte offset just past the last event read
+     * @throws IOException if the file cannot be read
+     */
+    synchronized long read(final long position, final int maxEvents, final List<PriceEvent> events)
+            throws IOException {
+        flush();
+        long next = position;
+        while (events.size() < maxEvents && next < flushed) {
+            readBuffer.clear();
+            readBuffer.limit((int) Math.min(readBuffer.capacity(), flushed - next));
+            channel.read(readBuffer, next);
+            readBuffer.flip();
+            final int before = events.size();
+            while (events.size() < maxEvents && readBuffer.remaining() >= HEADER_BYTES) {
+                final int length = readBuffer.getInt(readBuffer.position());
+                if (readBuffer.remaining() < HEADER_BYTES + length) {
+                    break;
+                }
+                readBuffer.position(readBuffer.position() + HEADER_BYTES);
+                events.add(decode(readBuffer));
+                next += HEADER_BYTES + length;
+            }
+            if (events.size() == before) {
+                break;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns the size of the backlog, buffered appends included.
+     *
+     * @return size in bytes
+     */
+    synchronized long size() {
+        return flushed + writeBuffer.position();
+    }
+
+    /**
+     * Discards the backlog once it has been drained.
+     *
+     * @throws IOException if the file cannot be truncated
+     */
+    synchronized void clear() throws IOException {
+        writeBuffer.clear();
+        channel.truncate(0);
+        flushed = 0;
+    }
+
+    /**
+     * Writes buffered appends to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            flushed += channel.write(writeBuffer, flushed);
+        }
+        writeBuffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Scans the file and truncates it after the last valid record.
+     *
+     * @return size of the valid backlog
+     */
+    private long recover() throws IOException {
+        final long size = channel.size();
+        long valid = 0;
+        boolean corrupt = false;
+        while (valid < size && !corrupt) {
+            readBuffer.clear();
+            readBuffer.limit((int) Math.min(readBuffer.capacity(), size - valid));
+            channel.read(readBuffer, valid);
+            readBuffer.flip();
+            final long chunkStart = valid;
+            while (readBuffer.remaining() >= HEADER_BYTES) {
+                final int start = readBuffer.position();
+                final int length = readBuffer.getInt(start);
+                if (length <= 0 || length > MAX_PAYLOAD_BYTES) {
+                    corrupt = true;
+                    break;
+                }
+                if (readBuffer.remaining() < HEADER_BYTES + length) {
+                    // Continues in the next chunk
+                    break;
+                }
+                crc.reset();
+                crc.update(readBuffer.array(), start + HEADER_BYTES, length);
+                if ((int) crc.getValue() != readBuffer.getInt(start + Integer.BYTES)) {
+                    corrupt = true;
+                    break;
+                }
+                readBuffer.position(start + HEADER_BYTES + length);
+                valid += HEADER_BYTES + length;
+            }
+            if (valid == chunkStart) {
+                // Not even one whole record left: a torn tail
+                break;
+            }
+        }
+        if (valid < size) {
+            log.warn("Truncating spill file {} from {} to {} bytes after an incomplete record", path, size, valid);
+            channel.truncate(valid);
+        }
+        if (valid > 0) {
+            log.info("Recovered {} bytes of spilled price events from {}", valid, path);
+        }
+        return valid;
+    }
+
+    private static PriceEvent decode(final ByteBuffer buffer) {
+        final byte[] ticker = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(ticker);
+        final double price = buffer.getDouble();
+        final long timestamp = buffer.getLong();
+        return new PriceEvent(new String(ticker, StandardCharsets.UTF_8), price,
+                timestamp == NO_TIMESTAMP ? null : timestamp);
+    }
+}
@@ -0,0 +1,16 @@
+package com.crypto.alerting.ingestion.service;
+
+/**
+ * Point-in-time delivery statistics of one price stream subscriber.
+ *
+ * @param id         subscriber id
+ * @param mode       pending tick retention mode
+ * @param symbols    symbol filter the subscriber asked for
+ * @param pending    ticks waiting for delivery
+ * @param lagMillis  how long the subscriber has been continuously behind
+ * @param delivered  ticks delivered so far
+ * @param dropped    ticks discarded by conflation or buffer overflow
+ */
+public record SubscriberStats(long id, String mode, String symbols, int pending, long lagMillis, long delivered,
+        long dropped) {
+}
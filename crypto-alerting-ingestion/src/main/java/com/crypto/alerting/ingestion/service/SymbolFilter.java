@@ -0,0 +1,157 @@
+package com.crypto.alerting.ingestion.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Selects the tickers a price stream subscriber receives.
+ * A filter is a comma-separated list of exact tickers ({@code BTCUSDT}),
+ * quote-asset wildcards ({@code *USDT}) and base-asset wildcards
+ * ({@code BTC*}); matching is case-insensitive. An empty filter matches every
+ * ticker; {@link #none()} matches none.
+ */
+public final class SymbolFilter {
+
+    private static final SymbolFilter ALL = new SymbolFilter(Set.of(), List.of(), List.of(), true);
+    private static final SymbolFilter NONE = new SymbolFilter(Set.of(), List.of(), List.of(), false);
+    private static final char WILDCARD = '*';
+
+    private final Set<String> symbols;
+    private final List<String> suffixes;
+    private final List<String> prefixes;
+    private final boolean matchesAll;
+
+    private SymbolFilter(final Set<String> symbols, final List<String> suffixes, final List<String> prefixes,
+            final boolean matchesAll) {
+        this.symbols = symbols;
+        this.suffixes = suffixes;
+        this.prefixes = prefixes;
+        this.matchesAll = matchesAll;
+    }
+
+    /**
+     * Returns the filter matching every ticker.
+     *
+     * @return the match-all filter
+     */
+    public static SymbolFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Returns the filter matching no ticker, for subscribers that choose
+     * their tickers after connecting.
+     *
+     * @return the match-nothing filter
+     */
+    public static SymbolFilter none() {
+        return NONE;
+    }
+
+    /**
+     * Parses a filter expression.
+     *
+     * @param expression comma-separated tickers and wildcards, or null/blank for all tickers
+     * @return the parsed filter
+     * @throws IllegalArgumentException if a wildcard is neither leading nor trailing
+     */
+    public static SymbolFilter parse(final String expression) {
+        if (expression == null || expression.isBlank()) {
+            return ALL;
+        }
+
+        final Set<String> symbols = new HashSet<>();
+        final List<String> suffixes = new ArrayList<>();
+        final List<String> prefixes = new ArrayList<>();
+        for (final String token : expression.split(",")) {
+            final String term = token.trim().toUpperCase(Locale.ROOT);
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.equals(String.valueOf(WILDCARD))) {
+                return ALL;
+            }
+
+            final int wildcard = term.indexOf(WILDCARD);
+            if (wildcard < 0) {
+                symbols.add(term);
+            } else if (wildcard == 0 && term.indexOf(WILDCARD, 1) < 0) {
+                suffixes.add(term.substring(1));
+            } else if (wildcard == term.length() - 1) {
+                prefixes.add(term.substring(0, wildcard));
+            } else {
+                throw new IllegalArgumentException("Unsupported symbol pattern: " + token.trim()
+                        + " (use a leading or trailing '*')");
+            }
+        }
+        if (symbols.isEmpty() && suffixes.isEmpty() && prefixes.isEmpty()) {
+            return ALL;
+        }
+        return new SymbolFilter(Set.copyOf(symbols), List.copyOf(suffixes), List.copyOf(prefixes), false);
+    }
+
+    /**
+     * Returns whether this filter matches every ticker.
+     *
+     * @return true for the match-all filter
+     */
+    public boolean matchesAll() {
+        return matchesAll;
+    }
+
+    /**
+     * Returns whether this filter may match tickers it does not name, being
+     * match-all or holding a wildcard.
+     *
+     * @return true if the named tickers are not all the filter matches
+     */
+    boolean hasWildcards() {
+        return matchesAll || !suffixes.isEmpty() || !prefixes.isEmpty();
+    }
+
+    /**
+     * Returns the exact tickers this filter names.
+     *
+     * @return upper-case tickers, without wildcards
+     */
+    Set<String> symbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns whether a ticker passes this filter.
+     *
+     * @param symbol upper-case ticker symbol
+     * @return true if the ticker matches
+     */
+    public boolean matches(final String symbol) {
+        if (matchesAll || symbols.contains(symbol)) {
+            return true;
+        }
+        for (final String suffix : suffixes) {
+            if (symbol.endsWith(suffix)) {
+                return true;
+            }
+        }
+        for (final String prefix : prefixes) {
+            if (symbol.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (matchesAll) {
+            return "*";
+        }
+        final List<String> terms = new ArrayList<>(symbols);
+        suffixes.forEach(suffix -> terms.add(WILDCARD + suffix));
+        prefixes.forEach(prefix -> terms.add(prefix + WILDCARD));
+        return String.join(",", terms);
+    }
+}
@@ -0,0 +1,209 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.client.WebSocketClient;
+import com.crypto.alerting.ingestion.config.FeedProperties;
+import com.crypto.alerting.ingestion.feed.BinanceFeedAdapter;
+import com.crypto.alerting.ingestion.feed.FeedAdapter;
+import com.crypto.alerting.ingestion.feed.FeedConnection;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Holds the trade feeds of the venues listed in {@code ingestion.feeds.venues}
+ * and merges their trades into the {@link ConsolidatedPriceService}. Binance
+ * trades take the full tick path through {@link BinanceWebSocketClient};
+ * other venues only contribute to the consolidated price, as their trade ids and
+ * symbols are not those the journal, candles and Kafka are keyed by.
+ * Connected by the cluster coordinator alongside the Binance feed, when
+ * consolidation is enabled.
+ */
+@Service
+@Slf4j
+public final class VenueFeedClient {
+
+    // Dependencies
+    private final WebSocketClient webSocketClient;
+    private final ConsolidatedPriceService consolidatedPriceService;
+    private final SymbolRegistry symbolRegistry;
+    private final FeedProperties feedProperties;
+    private final MeterRegistry meterRegistry;
+
+    // Constants
+    private static final String METRIC_MESSAGES = "ingestion.feeds.messages";
+    private static final String METRIC_REJECTED = "ingestion.feeds.rejected";
+    private static final String TAG_VENUE = "venue";
+
+    // Adapters of the configured venues, in configuration order
+    private final List<FeedAdapter> adapters;
+
+    // Venue connections of the current leadership term, replaced on each connect
+    private final Disposable.Swap connections = Disposables.swap();
+
+    /**
+     * Creates the client, resolving the configured venues to their adapters.
+     *
+     * @param webSocketClient          the WebSocket client
+     * @param consolidatedPriceService the service merging venue prices
+     * @param symbolRegistry           the registry assigning symbol ids
+     * @param feedProperties           the venue feed configuration
+     * @param feedAdapters             every registered feed adapter
+     * @param meterRegistry            the meter registry
+     * @throws IllegalArgumentException if a configured venue has no adapter
+     */
+    public VenueFeedClient(final WebSocketClient webSocketClient,
+            final ConsolidatedPriceService consolidatedPriceService, final SymbolRegistry symbolRegistry,
+            final FeedProperties feedProperties, final List<FeedAdapter> feedAdapters,
+            final MeterRegistry meterRegistry) {
+        this.webSocketClient = webSocketClient;
+        this.consolidatedPriceService = consolidatedPriceService;
+        this.symbolRegistry = symbolRegistry;
+        this.feedProperties = feedProperties;
+        this.meterRegistry = meterRegistry;
+        this.adapters = resolve(feedProperties.getVenues(), feedAdapters);
+    }
+
+    /**
+     * Opens the connections of every configured venue, closing any left
+     * from an earlier call. Does nothing unless consolidation is enabled.
+     */
+    public synchronized void connect() {
+        if (!consolidatedPriceService.isEnabled() || adapters.isEmpty()) {
+            return;
+        }
+
+        final Disposable.Composite term = Disposables.composite();
+        for (final FeedAdapter adapter : adapters) {
+            final List<FeedConnection> venueConnections = adapter.connections();
+            log.info("Connecting {} {} connection(s)", venueConnections.size(), adapter.venue());
+            final VenueMeters meters = new VenueMeters(adapter.venue(), meterRegistry);
+            final int venue = consolidatedPriceService.registerVenue(adapter.venue());
+            for (final FeedConnection connection : venueConnections) {
+                term.add(superviseConnection(adapter, connection, venue, meters)
+                        .subscribe(
+                                null,
+                                error -> log.error("Venue connection {} supervision terminated",
+                                        connection.name(), error)));
+            }
+        }
+        connections.update(term);
+    }
+
+    /**
+     * Closes all venue connections, when this node steps down and on
+     * application shutdown.
+     */
+    @PreDestroy
+    public synchronized void disconnect() {
+        connections.update(Disposables.disposed());
+    }
+
+    /**
+     * Keeps a venue connection open, resubscribing after each session ends.
+     *
+     * @param adapter    the venue's adapter
+     * @param connection the connection to supervise
+     * @param venue      the consolidation venue id
+     * @param meters     the venue's meters
+     * @return Mono that never completes unless cancelled
+     */
+    private Mono<Void> superviseConnection(final FeedAdapter adapter, final FeedConnection connection,
+            final int venue, final VenueMeters meters) {
+        return Mono.defer(() -> webSocketClient.execute(connection.uri(), session -> {
+                    log.info("Connected {} ({} streams): {}", connection.name(), connection.streams(),
+                            session.getId());
+                    final TradeDecoder decoder = adapter.newDecoder(symbolRegistry);
+                    return connection.receive(session)
+                            .doOnNext(msg -> process(msg.getPayload(), decoder, venue, meters))
+                            .then();
+                }))
+                .doOnError(e -> log.error("Venue connection {} session failed", connection.name(), e))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.delay(feedProperties.getResubscribeDelay()))
+                .doOnNext(ignored -> log.info("Resubscribing venue connection {}", connection.name()))
+                .repeat()
+                .then();
+    }
+
+    /**
+     * Decodes one venue frame and merges its trade into the consolidated price.
+     * Frames that are not trades, such as subscription acknowledgements, are
+     * counted as rejected. Package-private for testing purposes.
+     *
+     * @param payload the raw message payload
+     * @param decoder the session's trade decoder
+     * @param venue   the consolidation venue id
+     * @param meters  the venue's meters
+     */
+    void process(final DataBuffer payload, final TradeDecoder decoder, final int venue, final VenueMeters meters) {
+        meters.messages.increment();
+        try {
+            if (!decoder.parse(payload) || !(decoder.getPrice() > 0)) {
+                meters.rejected.increment();
+                log.debug("Rejected venue frame: {}", decoder.lastFrameAsText());
+                return;
+            }
+            consolidatedPriceService.update(venue, new PriceTick(decoder.getSymbolId(), decoder.getPrice(),
+                    decoder.getTradeTime(), decoder.getTradeId(), decoder.getQuantity()));
+        } catch (final Exception e) {
+            meters.rejected.increment();
+            log.error("Unexpected error processing venue frame: {}", decoder.lastFrameAsText(), e);
+        }
+    }
+
+    /**
+     * Resolves venue names to adapters. Binance is always held by
+     * {@link BinanceWebSocketClient}, so it is skipped here.
+     *
+     * @param venues   the configured venue names
+     * @param adapters every registered adapter
+     * @return the adapters to connect
+     */
+    private static List<FeedAdapter> resolve(final List<String> venues, final List<FeedAdapter> adapters) {
+        final List<FeedAdapter> resolved = new ArrayList<>();
+        for (final String venue : venues) {
+            final String name = venue.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || name.equals(BinanceFeedAdapter.VENUE)) {
+                continue;
+            }
+            resolved.add(adapters.stream()
+                    .filter(adapter -> adapter.venue().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No feed adapter for venue " + venue)));
+        }
+        return List.copyOf(resolved);
+    }
+
+    /**
+     * Meters of one venue, resolved once so the receive loop does not look
+     * them up per frame. Package-private for testing purposes.
+     */
+    static final class VenueMeters {
+        private final Counter messages;
+        private final Counter rejected;
+
+        VenueMeters(final String venue, final MeterRegistry meterRegistry) {
+            this.messages = Counter.builder(METRIC_MESSAGES)
+                    .description("Messages received from other venues")
+                    .tag(TAG_VENUE, venue)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(METRIC_REJECTED)
+                    .description("Venue frames that were not valid trades")
+                    .tag(TAG_VENUE, venue)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.crypto.alerting.ingestion;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.kafka.PriceEventDeserializer;
+import com.crypto.alerting.ingestion.metrics.IngestionMetrics;
+import com.crypto.alerting.ingestion.simulator.BurstPattern;
+import com.crypto.alerting.ingestion.simulator.ExchangeSimulator;
+import com.crypto.alerting.ingestion.simulator.FrameSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the ingestion service reads trades from a local
+ * {@link ExchangeSimulator} and publishes them to an embedded broker, and
+ * a consumer of {@code topic-raw-prices} measures what comes out. Reports
+ * sustained messages per second, p99 of each tick path stage including
+ * Kafka hand-off to acknowledgement, p99 of trade to consumed, and heap
+ * growth after GC. Runs offline.
+ * <p>
+ * Excluded from {@code test}; run with {@code ./gradlew
+ * :crypto-alerting-ingestion:loadTest}, tuned by the {@code load.symbols},
+ * {@code load.rate} (messages per second per symbol), {@code load.burst}
+ * (rate multiplier for 1s every 10s) and {@code load.seconds} system
+ * properties.
+ */
+@Tag("load")
+@SpringBootTest
+@EmbeddedKafka(partitions = 3, topics = { "topic-raw-prices" },
+        bootstrapServersProperty = "ingestion.kafka.bootstrap-servers")
+@DirtiesContext
+class IngestionThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionThroughputTest.class);
+
+    private static final int SYMBOLS = Integer.getInteger("load.symbols", 200);
+    private static final int RATE_PER_SYMBOL = Integer.getInteger("load.rate", 100);
+    private static final double BURST_MULTIPLIER = Double.parseDouble(System.getProperty("load.burst", "5"));
+    private static final Duration MEASURED = Duration.ofSeconds(Integer.getInteger("load.seconds", 30));
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final long MAX_HEAP_GROWTH_BYTES = 128L << 20;
+
+    private static final BurstPattern BURSTS = new BurstPattern(Duration.ofSeconds(10), Duration.ofSeconds(1),
+            BURST_MULTIPLIER);
+    private static final ExchangeSimulator SIMULATOR = ExchangeSimulator.start(FrameSource.synthetic(42),
+            RATE_PER_SYMBOL, BURSTS);
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void ingestionProperties(final DynamicPropertyRegistry registry) {
+        final Path data = createDataDirectory();
+        registry.add("binance.base-uri", SIMULATOR::baseUri);
+        registry.add("binance.symbols", () -> String.join(",", IntStream.range(0, SYMBOLS)
+                .mapToObj(i -> "sim" + i + "usdt")
+                .toList()));
+        registry.add("binance.max-streams-per-connection", () -> 50);
+        registry.add("ingestion.journal.directory", () -> data.resolve("ticks").toString());
+        registry.add("ingestion.spill.path", () -> data.resolve("spill/price-events.spill").toString());
+    }
+
+    @AfterAll
+    static void stopSimulator() {
+        SIMULATOR.close();
+    }
+
+    @Test
+    void ingestion_shouldSustainTheSimulatedFeed() {
+        try (Consumer<String, PriceEvent> consumer = createConsumer()) {
+            consumer.subscribe(List.of("topic-raw-prices"));
+
+            // Warm up: connect, fill the JIT and reach a steady state
+            drain(consumer, WARM_UP, null);
+
+            // Sized up front, so the recorder itself does not count as heap growth
+            final LatencyRecorder latencies = new LatencyRecorder(
+                    (int) (SYMBOLS * RATE_PER_SYMBOL * BURSTS.averageMultiplier() * MEASURED.toSeconds() * 1.5));
+            final long heapBefore = usedHeapAfterGc();
+            final long sentBefore = SIMULATOR.framesSent();
+            final long startNanos = System.nanoTime();
+            final long consumed = drain(consumer, MEASURED, latencies);
+            final double seconds = (System.nanoTime() - startNanos) / 1e9;
+            final long sent = SIMULATOR.framesSent() - sentBefore;
+            final long heapAfter = usedHeapAfterGc();
+
+            log.info("Load: {} symbols at {}/s each, {}x bursts, over {}s", SYMBOLS, RATE_PER_SYMBOL,
+                    BURST_MULTIPLIER, String.format("%.1f", seconds));
+            log.info("Throughput: {} msg/s sent, {} msg/s consumed, {} frames skipped by slow reads",
+                    String.format("%.0f", sent / seconds), String.format("%.0f", consumed / seconds),
+                    SIMULATOR.framesSkipped());
+            for (final IngestionMetrics.Stage stage : IngestionMetrics.Stage.values()) {
+                log.info("p99 {}: {} ms", stage.name().toLowerCase(Locale.ROOT),
+                        String.format("%.3f", p99Millis(stage)));
+            }
+            log.info("p99 trade to consumed: {} ms", latencies.percentile(0.99));
+            log.info("Heap growth after GC: {} KB", (heapAfter - heapBefore) / 1024);
+
+            // Assert
+            assertThat(consumed).isPositive();
+            assertThat((double) consumed).isGreaterThanOrEqualTo(sent * 0.9);
+            assertThat(heapAfter - heapBefore).isLessThan(MAX_HEAP_GROWTH_BYTES);
+        }
+    }
+
+    private Consumer<String, PriceEvent> createConsumer() {
+        final Map<String, Object> props = KafkaTestUtils.consumerProps("throughput-test", "false",
+                embeddedKafkaBroker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        return new KafkaConsumer<>(props, new StringDeserializer(), new PriceEventDeserializer());
+    }
+
+    /**
+     * Polls for a while, recording trade to consumed latency if asked.
+     *
+     * @return number of records consumed
+     */
+    private static long drain(final Consumer<String, PriceEvent> consumer, final Duration duration,
+            final LatencyRecorder latencies) {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        long consumed = 0;
+        while (System.nanoTime() < deadline) {
+            final long now = System.currentTimeMillis();
+            for (final ConsumerRecord<String, PriceEvent> record : consumer.poll(POLL_TIMEOUT)) {
+                consumed++;
+                if (latencies != null && record.value() != null && record.value().getTimestamp() != null) {
+                    latencies.record(now - record.value().getTimestamp());
+                }
+            }
+        }
+        return consumed;
+    }
+
+    private double p99Millis(final IngestionMetrics.Stage stage) {
+        final Timer timer = IngestionMetrics.stageTimer(meterRegistry, stage);
+        for (final ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static Path createDataDirectory() {
+        try {
+            return Files.createTempDirectory("ingestion-load");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Millisecond latencies in a growable primitive array.
+     */
+    private static final class LatencyRecorder {
+
+        private long[] values;
+        private int size;
+
+        private LatencyRecorder(final int capacity) {
+            this.values = new long[Math.max(capacity, 1024)];
+        }
+
+        private void record(final long millis) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = millis;
+        }
+
+        private long percentile(final double percentile) {
+            if (size == 0) {
+                return -1;
+            }
+            final long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.crypto.alerting.ingestion.book;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.parser.DepthFrameParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    private DepthFrameParser parser;
+
+    private OrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        final SymbolRegistry symbolRegistry = new SymbolRegistry();
+        parser = new DepthFrameParser(symbolRegistry);
+        book = new OrderBook(symbolRegistry.register("BTCUSDT"), 3);
+        book.load(new DepthSnapshot(100,
+                new double[] { 99.0, 98.0 }, new double[] { 1.0, 2.0 },
+                new double[] { 101.0, 102.0 }, new double[] { 3.0, 4.0 }));
+    }
+
+    @Test
+    void apply_shouldKeepLevelsSortedBestFirst() {
+        // Act
+        final OrderBook.Update result = book.apply(update(95, 101,
+                "[\"99.5\",\"5\"],[\"98\",\"0\"]", "[\"100.5\",\"6\"],[\"101\",\"7\"]"));
+
+        // Assert
+        assertThat(result).isEqualTo(OrderBook.Update.APPLIED);
+        assertThat(book.lastUpdateId()).isEqualTo(101);
+        final BookTop top = new BookTop(5);
+        book.copyTop(top, 1L);
+        assertThat(top.bids()).containsExactly(new double[] { 99.5, 5.0 }, new double[] { 99.0, 1.0 });
+        assertThat(top.asks()).containsExactly(new double[] { 100.5, 6.0 }, new double[] { 101.0, 7.0 },
+                new double[] { 102.0, 4.0 });
+    }
+
+    @Test
+    void apply_shouldDropTheWorstLevelWhenASideIsFull() {
+        // Act
+        book.apply(update(101, 101, "", "[\"103\",\"1\"]"));
+        book.apply(update(102, 102, "", "[\"100\",\"1\"],[\"104\",\"1\"]"));
+
+        // Assert
+        assertThat(book.askLevels()).isEqualTo(3);
+        final BookTop top = new BookTop(3);
+        book.copyTop(top, 1L);
+        assertThat(top.asks()).extracting(level -> level[0]).containsExactly(100.0, 101.0, 102.0);
+    }
+
+    @Test
+    void apply_shouldValidateUpdateIdSequence() {
+        // Stale: already part of the snapshot
+        assertThat(book.apply(update(90, 100, "", ""))).isEqualTo(OrderBook.Update.STALE);
+
+        // First update after the snapshot must span id 101
+        assertThat(book.apply(update(102, 103, "", ""))).isEqualTo(OrderBook.Update.GAP);
+        assertThat(book.apply(update(99, 103, "", ""))).isEqualTo(OrderBook.Update.APPLIED);
+
+        // Later updates must start right after the last one
+        assertThat(book.apply(update(104, 105, "", ""))).isEqualTo(OrderBook.Update.APPLIED);
+        assertThat(book.apply(update(107, 108, "", ""))).isEqualTo(OrderBook.Update.GAP);
+        assertThat(book.lastUpdateId()).isEqualTo(105);
+    }
+
+    @Test
+    void reset_shouldEmptyTheBookUntilTheNextSnapshot() {
+        // Act
+        book.reset();
+
+        // Assert
+        assertThat(book.isSynced()).isFalse();
+        assertThat(book.bestBid()).isNaN();
+        assertThat(book.bestAsk()).isNaN();
+    }
+
+    private DepthFrameParser update(final long first, final long last, final String bids, final String asks) {
+        final byte[] frame = ("{\"e\":\"depthUpdate\",\"E\":1,\"s\":\"BTCUSDT\",\"U\":" + first + ",\"u\":" + last
+                + ",\"b\":[" + bids + "],\"a\":[" + asks + "]}").getBytes(StandardCharsets.UTF_8);
+        assertThat(parser.parseUpdate(frame, 0, frame.length)).isTrue();
+        return parser;
+    }
+}
@@ -0,0 +1,46 @@
+package com.crypto.alerting.ingestion.book;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the exchange's depth snapshot endpoint. Serves the
+ * snapshot last set for each symbol, synchronously, and records the
+ * symbols requested.
+ */
+public final class StubDepthSnapshotFetcher implements DepthSnapshotFetcher {
+
+    private final Map<String, DepthSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final List<String> requests = new ArrayList<>();
+
+    /**
+     * Sets the snapshot served for a symbol.
+     *
+     * @param symbol   upper-case ticker symbol
+     * @param snapshot the snapshot
+     */
+    public void set(final String symbol, final DepthSnapshot snapshot) {
+        snapshots.put(symbol, snapshot);
+    }
+
+    /**
+     * Returns the symbols requested so far, in order.
+     *
+     * @return requested symbols
+     */
+    public synchronized List<String> requests() {
+        return List.copyOf(requests);
+    }
+
+    @Override
+    public Mono<DepthSnapshot> fetch(final String symbol, final int limit) {
+        synchronized (this) {
+            requests.add(symbol);
+        }
+        return Mono.justOrEmpty(snapshots.get(symbol));
+    }
+}
@@ -0,0 +1,165 @@
+package com.crypto.alerting.ingestion.candle;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.CandleProperties;
+import com.crypto.alerting.ingestion.service.SymbolFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CandleAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private SymbolRegistry symbolRegistry;
+
+    private CandleProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private int btc;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        properties = new CandleProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        btc = symbolRegistry.register("BTCUSDT");
+    }
+
+    @Test
+    void update_shouldAggregateOhlcvVwapAndTradeCount() {
+        // Arrange
+        final CandleAggregator aggregator = new CandleAggregator(properties, symbolRegistry, meterRegistry);
+
+        // Act
+        aggregator.update(new PriceTick(btc, 100.0, 10 * MINUTE + 1_000L, 1L, 1.0));
+        aggregator.update(new PriceTick(btc, 110.0, 10 * MINUTE + 2_000L, 2L, 3.0));
+        aggregator.update(new PriceTick(btc, 90.0, 10 * MINUTE + 3_000L, 3L, Double.NaN));
+        aggregator.update(new PriceTick(btc, 105.0, 10 * MINUTE + 4_000L, 4L, 1.0));
+
+        // Assert
+        final List<Candle> candles = aggregator.getCandles("BTCUSDT", CandleInterval.M1, 10);
+        assertThat(candles).hasSize(1);
+        final Candle candle = candles.get(0);
+        assertThat(candle.openTime()).isEqualTo(10 * MINUTE);
+        assertThat(candle.open()).isEqualTo(100.0);
+        assertThat(candle.high()).isEqualTo(110.0);
+        assertThat(candle.low()).isEqualTo(90.0);
+        assertThat(candle.close()).isEqualTo(105.0);
+        assertThat(candle.volume()).isEqualTo(5.0);
+        assertThat(candle.vwap()).isCloseTo((100.0 + 330.0 + 105.0) / 5.0, within(1e-9));
+        assertThat(candle.trades()).isEqualTo(4L);
+        assertThat(candle.closed()).isFalse();
+    }
+
+    @Test
+    void update_shouldCloseBarsPerIntervalAndKeepLatestInRing() {
+        // Arrange
+        properties.setCapacity(3);
+        final CandleAggregator aggregator = new CandleAggregator(properties, symbolRegistry, meterRegistry);
+
+        // Act: one trade in each of six consecutive minutes
+        for (int minute = 0; minute < 6; minute++) {
+            aggregator.update(new PriceTick(btc, 100.0 + minute, minute * MINUTE));
+        }
+
+        // Assert
+        final List<Candle> minutes = aggregator.getCandles("BTCUSDT", CandleInterval.M1, 10);
+        assertThat(minutes).extracting(Candle::openTime)
+                .containsExactly(2 * MINUTE, 3 * MINUTE, 4 * MINUTE, 5 * MINUTE);
+        assertThat(minutes).extracting(Candle::closed).containsExactly(true, true, true, false);
+        assertThat(aggregator.getCandles("BTCUSDT", CandleInterval.M1, 2)).extracting(Candle::openTime)
+                .containsExactly(4 * MINUTE, 5 * MINUTE);
+
+        final List<Candle> fiveMinutes = aggregator.getCandles("BTCUSDT", CandleInterval.M5, 10);
+        assertThat(fiveMinutes).hasSize(2);
+        assertThat(fiveMinutes.get(0).open()).isEqualTo(100.0);
+        assertThat(fiveMinutes.get(0).close()).isEqualTo(104.0);
+        assertThat(fiveMinutes.get(0).trades()).isEqualTo(5L);
+        assertThat(meterRegistry.get("ingestion.candles.closed").tag("interval", "1m").counter().count())
+                .isEqualTo(5.0);
+    }
+
+    @Test
+    void update_shouldFoldLateTicksIntoBarInProgress() {
+        // Arrange
+        final CandleAggregator aggregator = new CandleAggregator(properties, symbolRegistry, meterRegistry);
+        aggregator.update(new PriceTick(btc, 100.0, MINUTE));
+
+        // Act
+        aggregator.update(new PriceTick(btc, 50.0, MINUTE - 1));
+
+        // Assert
+        final List<Candle> candles = aggregator.getCandles("BTCUSDT", CandleInterval.M1, 10);
+        assertThat(candles).hasSize(1);
+        assertThat(candles.get(0).low()).isEqualTo(50.0);
+    }
+
+    @Test
+    void backfill_shouldCorrectTheBarOfTheTradeWithoutMovingCloses() {
+        // Arrange
+        final CandleAggregator aggregator = new CandleAggregator(properties, symbolRegistry, meterRegistry);
+        aggregator.update(new PriceTick(btc, 100.0, 10 * MINUTE, 1L, 1.0));
+        aggregator.update(new PriceTick(btc, 101.0, 11 * MINUTE, 4L, 1.0));
+        aggregator.update(new PriceTick(btc, 102.0, 11 * MINUTE + 5_000L, 5L, 1.0));
+
+        // Act: trades 2 and 3 were missed, one in each minute; trade 0 has no bar
+        aggregator.backfill(new PriceTick(btc, 90.0, 10 * MINUTE + 30_000L, 2L, 2.0));
+        aggregator.backfill(new PriceTick(btc, 120.0, 11 * MINUTE + 1_000L, 3L, 1.0));
+        aggregator.backfill(new PriceTick(btc, 50.0, 9 * MINUTE, 0L, 1.0));
+
+        // Assert
+        final List<Candle> candles = aggregator.getCandles("BTCUSDT", CandleInterval.M1, 10);
+        assertThat(candles).extracting(Candle::openTime).containsExactly(10 * MINUTE, 11 * MINUTE);
+        final Candle closed = candles.get(0);
+        assertThat(closed.low()).isEqualTo(90.0);
+        assertThat(closed.close()).isEqualTo(100.0);
+        assertThat(closed.volume()).isEqualTo(3.0);
+        assertThat(closed.trades()).isEqualTo(2L);
+        final Candle live = candles.get(1);
+        assertThat(live.high()).isEqualTo(120.0);
+        assertThat(live.close()).isEqualTo(102.0);
+        assertThat(live.trades()).isEqualTo(3L);
+    }
+
+    @Test
+    void streamClosed_shouldEmitClosedBarsOfMatchingSymbolsAndInterval() {
+        // Arrange
+        final CandleAggregator aggregator = new CandleAggregator(properties, symbolRegistry, meterRegistry);
+        final int eth = symbolRegistry.register("ETHUSDT");
+
+        // Act & Assert
+        StepVerifier.create(aggregator.streamClosed(SymbolFilter.parse("BTCUSDT"), CandleInterval.M1))
+                .then(() -> {
+                    aggregator.update(new PriceTick(eth, 10.0, 0L));
+                    aggregator.update(new PriceTick(eth, 11.0, MINUTE));
+                    aggregator.update(new PriceTick(btc, 100.0, 0L));
+                    aggregator.update(new PriceTick(btc, 101.0, 1_500L));
+                    aggregator.update(new PriceTick(btc, 102.0, MINUTE));
+                })
+                .assertNext(candle -> {
+                    assertThat(candle.symbol()).isEqualTo("BTCUSDT");
+                    assertThat(candle.interval()).isEqualTo("1m");
+                    assertThat(candle.close()).isEqualTo(101.0);
+                    assertThat(candle.closed()).isTrue();
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void getCandles_shouldReturnEmptyForUnknownSymbol() {
+        final CandleAggregator aggregator = new CandleAggregator(properties, symbolRegistry, meterRegistry);
+
+        assertThat(aggregator.getCandles("DOGEUSDT", CandleInterval.H1, 10)).isEmpty();
+        assertThat(aggregator.getCandles("BTCUSDT", CandleInterval.H1, 10)).isEmpty();
+    }
+}
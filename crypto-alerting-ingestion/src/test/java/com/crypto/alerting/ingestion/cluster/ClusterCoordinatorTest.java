@@ -0,0 +1,117 @@
+package com.crypto.alerting.ingestion.cluster;
+
+import com.crypto.alerting.ingestion.service.BinanceDepthClient;
+import com.crypto.alerting.ingestion.service.BinanceWebSocketClient;
+import com.crypto.alerting.ingestion.service.VenueFeedClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCoordinatorTest {
+
+    @Mock
+    private BinanceWebSocketClient firstClient;
+
+    @Mock
+    private BinanceDepthClient firstDepthClient;
+
+    @Mock
+    private VenueFeedClient firstVenueClient;
+
+    @Mock
+    private FollowerFeed firstFeed;
+
+    @Mock
+    private BinanceWebSocketClient secondClient;
+
+    @Mock
+    private BinanceDepthClient secondDepthClient;
+
+    @Mock
+    private VenueFeedClient secondVenueClient;
+
+    @Mock
+    private FollowerFeed secondFeed;
+
+    private ClusterCoordinator first;
+    private ClusterCoordinator second;
+
+    @BeforeEach
+    void setUp() {
+        final InMemoryLeaderElector.Lease lease = new InMemoryLeaderElector.Lease();
+        first = new ClusterCoordinator(new InMemoryLeaderElector(lease), firstClient, firstDepthClient,
+                firstVenueClient, firstFeed, new SimpleMeterRegistry());
+        second = new ClusterCoordinator(new InMemoryLeaderElector(lease), secondClient, secondDepthClient,
+                secondVenueClient, secondFeed, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    void start_shouldLetOnlyOneNodeHoldTheFeed() {
+        // Act
+        first.start();
+        second.start();
+
+        // Assert
+        assertThat(first.isLeader()).isTrue();
+        assertThat(second.isLeader()).isFalse();
+        verify(firstClient).connect();
+        verify(firstDepthClient).connect();
+        verify(firstVenueClient).connect();
+        verify(firstFeed, never()).start();
+        verify(secondClient, never()).connect();
+        verify(secondDepthClient, never()).connect();
+        verify(secondVenueClient, never()).connect();
+        verify(secondFeed).start();
+    }
+
+    @Test
+    void stop_shouldHandTheFeedToTheFollower() {
+        // Arrange
+        first.start();
+        second.start();
+
+        // Act
+        first.stop();
+
+        // Assert
+        assertThat(second.isLeader()).isTrue();
+        final InOrder inOrder = inOrder(secondFeed, secondClient);
+        inOrder.verify(secondFeed).start();
+        inOrder.verify(secondFeed).stop();
+        inOrder.verify(secondClient).connect();
+    }
+
+    @Test
+    void start_shouldFollowWhileTheElectionFails() {
+        // Arrange
+        final LeaderElector failing = () -> Flux.error(new IllegalStateException("Broker unavailable"));
+        final ClusterCoordinator coordinator = new ClusterCoordinator(failing, firstClient, firstDepthClient,
+                firstVenueClient, firstFeed, new SimpleMeterRegistry());
+
+        // Act
+        coordinator.start();
+        coordinator.stop();
+
+        // Assert
+        assertThat(coordinator.isLeader()).isFalse();
+        verify(firstClient, never()).connect();
+        verify(firstClient).disconnect();
+        verify(firstFeed).start();
+    }
+}
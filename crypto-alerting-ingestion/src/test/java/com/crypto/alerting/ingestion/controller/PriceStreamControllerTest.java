@@ -0,0 +1,92 @@
+package com.crypto.alerting.ingestion.controller;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import com.crypto.alerting.ingestion.service.PriceSnapshot;
+import com.crypto.alerting.ingestion.service.PriceSnapshotService;
+import com.crypto.alerting.ingestion.service.PriceStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceStreamControllerTest {
+
+    private static final String LATEST = "/api/prices/latest";
+
+    private PriceStreamService priceStreamService;
+
+    private PriceSnapshotService priceSnapshotService;
+
+    private PriceStreamController controller;
+
+    private int btc;
+
+    private int eth;
+
+    @BeforeEach
+    void setUp() {
+        final SymbolRegistry symbolRegistry = new SymbolRegistry();
+        final StreamProperties properties = new StreamProperties();
+        properties.setSnapshotInterval(Duration.ZERO);
+        priceStreamService = new PriceStreamService(symbolRegistry, properties, new SimpleMeterRegistry());
+        priceSnapshotService = new PriceSnapshotService(priceStreamService, symbolRegistry, properties);
+        controller = new PriceStreamController(priceStreamService, priceSnapshotService);
+        btc = symbolRegistry.register("BTCUSDT");
+        eth = symbolRegistry.register("ETHUSDT");
+    }
+
+    @Test
+    void getLatestPrices_shouldTagDeltaApartFromFullSnapshot() {
+        // Arrange
+        priceStreamService.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        final PriceSnapshot held = priceSnapshotService.getSnapshot();
+        priceStreamService.broadcastTick(new PriceTick(eth, 2.0, 2L));
+
+        // Act
+        final ResponseEntity<byte[]> delta = controller.getLatestPrices(held.versionToken(),
+                MockServerWebExchange.from(MockServerHttpRequest.get(LATEST)));
+        final ResponseEntity<byte[]> full = controller.getLatestPrices(null,
+                MockServerWebExchange.from(MockServerHttpRequest.get(LATEST)
+                        .ifNoneMatch(delta.getHeaders().getETag())));
+
+        // Assert
+        assertThat(new String(delta.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"ETHUSDT\":{\"ticker\":\"ETHUSDT\",\"price\":2.0,\"timestamp\":2}}");
+        assertThat(delta.getHeaders().getETag()).isNotEqualTo(priceSnapshotService.getSnapshot().etag());
+        assertThat(full.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(full.getHeaders().getETag()).isEqualTo(priceSnapshotService.getSnapshot().etag());
+        assertThat(new String(full.getBody(), StandardCharsets.UTF_8)).contains("BTCUSDT", "ETHUSDT");
+    }
+
+    @Test
+    void getLatestPrices_shouldAnswerNotModifiedOnlyForSameDelta() {
+        // Arrange
+        priceStreamService.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        final PriceSnapshot held = priceSnapshotService.getSnapshot();
+        priceStreamService.broadcastTick(new PriceTick(eth, 2.0, 2L));
+        final String deltaTag = controller.getLatestPrices(held.versionToken(),
+                MockServerWebExchange.from(MockServerHttpRequest.get(LATEST))).getHeaders().getETag();
+
+        // Act
+        final ResponseEntity<byte[]> revalidated = controller.getLatestPrices(held.versionToken(),
+                MockServerWebExchange.from(MockServerHttpRequest.get(LATEST).ifNoneMatch(deltaTag)));
+        final ResponseEntity<byte[]> otherBase = controller.getLatestPrices(
+                priceSnapshotService.getSnapshot().versionToken(),
+                MockServerWebExchange.from(MockServerHttpRequest.get(LATEST).ifNoneMatch(deltaTag)));
+
+        // Assert
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(otherBase.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(otherBase.getBody(), StandardCharsets.UTF_8)).isEqualTo("{}");
+    }
+}
@@ -0,0 +1,77 @@
+package com.crypto.alerting.ingestion.feed;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.FeedProperties;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+import com.crypto.alerting.ingestion.simulator.BurstPattern;
+import com.crypto.alerting.ingestion.simulator.ExchangeSimulator;
+import com.crypto.alerting.ingestion.simulator.FrameSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoinbaseFeedAdapterTest {
+
+    private final ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient();
+
+    @Test
+    void connections_shouldSpreadProductsOverSubscribeMessages() {
+        // Arrange
+        final FeedProperties.Coinbase properties = new FeedProperties.Coinbase();
+        properties.setProducts(List.of("btc-usdt", "ETH-USDT", "BTC-USDT", " ", "SOL-USDT"));
+        properties.setMaxProductsPerConnection(2);
+
+        // Act
+        final List<FeedConnection> connections = new CoinbaseFeedAdapter(properties).connections();
+
+        // Assert
+        assertThat(connections).extracting(FeedConnection::name).containsExactly("coinbase-ws-0", "coinbase-ws-1");
+        assertThat(connections).extracting(FeedConnection::streams).containsExactly(2, 1);
+        assertThat(connections.get(0).subscribeMessages()).containsExactly(
+                "{\"type\":\"subscribe\",\"product_ids\":[\"BTC-USDT\",\"ETH-USDT\"],\"channels\":[\"matches\"]}");
+        assertThat(connections.get(1).uri().toString()).isEqualTo("wss://ws-feed.exchange.coinbase.com");
+    }
+
+    @Test
+    void connection_shouldSubscribeToTheSimulatorAndDecodeItsMatches() {
+        // Arrange
+        final SymbolRegistry symbolRegistry = new SymbolRegistry();
+        final Set<String> symbols = ConcurrentHashMap.newKeySet();
+        final AtomicInteger decoded = new AtomicInteger();
+
+        try (ExchangeSimulator simulator = ExchangeSimulator.start(FrameSource.syntheticMatches(7), 200,
+                BurstPattern.NONE)) {
+            final FeedProperties.Coinbase properties = new FeedProperties.Coinbase();
+            properties.setBaseUri(simulator.baseUri());
+            properties.setProducts(List.of("BTC-USDT", "ETH-USDT"));
+            final CoinbaseFeedAdapter adapter = new CoinbaseFeedAdapter(properties);
+            final FeedConnection connection = adapter.connections().get(0);
+
+            // Act
+            client.execute(connection.uri(), session -> {
+                        final TradeDecoder decoder = adapter.newDecoder(symbolRegistry);
+                        return connection.receive(session)
+                                .take(100)
+                                .doOnNext(msg -> {
+                                    if (decoder.parse(msg.getPayload()) && decoder.getPrice() > 0) {
+                                        decoded.incrementAndGet();
+                                        symbols.add(decoder.getSymbol());
+                                    }
+                                })
+                                .then();
+                    })
+                    .block(Duration.ofSeconds(10));
+        }
+
+        // Assert
+        assertThat(decoded).hasValue(100);
+        assertThat(symbols).containsExactlyInAnyOrder("BTCUSDT", "ETHUSDT");
+    }
+}
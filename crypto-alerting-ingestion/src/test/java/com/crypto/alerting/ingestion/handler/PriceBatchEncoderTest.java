@@ -0,0 +1,91 @@
+package com.crypto.alerting.ingestion.handler;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.service.PriceFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceBatchEncoderTest {
+
+    private SymbolRegistry symbolRegistry;
+
+    private int btc;
+
+    private int eth;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        btc = symbolRegistry.register("BTCUSDT");
+        eth = symbolRegistry.register("ETHUSDT");
+    }
+
+    @Test
+    void encode_shouldWriteDictionaryAndTicks() {
+        // Arrange
+        final PriceBatchEncoder encoder = new PriceBatchEncoder(symbolRegistry);
+
+        // Act
+        final ByteBuffer frame = ByteBuffer.wrap(encoder.encode(List.of(
+                frame(btc, 42000.5, 1_000L), frame(eth, 2500.25, 1_007L), frame(btc, 42001.0, 995L))));
+
+        // Assert
+        assertThat(frame.get()).isEqualTo((byte) PriceBatchEncoder.VERSION);
+        assertThat(frame.getShort()).isEqualTo((short) 2);
+        assertThat(frame.getShort()).isEqualTo((short) 3);
+        assertThat(frame.getLong()).isEqualTo(1_000L);
+        assertThat(readSymbol(frame)).isEqualTo(btc + ":BTCUSDT");
+        assertThat(readSymbol(frame)).isEqualTo(eth + ":ETHUSDT");
+        assertThat(readTick(frame)).isEqualTo(btc + "@42000.5+0");
+        assertThat(readTick(frame)).isEqualTo(eth + "@2500.25+7");
+        assertThat(readTick(frame)).isEqualTo(btc + "@42001.0+-5");
+        assertThat(frame.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void encode_shouldSendEachSymbolOnlyOncePerSession() {
+        // Arrange
+        final PriceBatchEncoder encoder = new PriceBatchEncoder(symbolRegistry);
+        encoder.encode(List.of(frame(btc, 1.0, 1L)));
+
+        // Act
+        final ByteBuffer frame = ByteBuffer.wrap(encoder.encode(List.of(frame(btc, 2.0, 2L), frame(eth, 3.0, 3L))));
+
+        // Assert
+        frame.get();
+        assertThat(frame.getShort()).isEqualTo((short) 1);
+        assertThat(frame.getShort()).isEqualTo((short) 2);
+        frame.getLong();
+        assertThat(readSymbol(frame)).isEqualTo(eth + ":ETHUSDT");
+        assertThat(frame.remaining()).isEqualTo(2 * PriceBatchEncoder.TICK_BYTES);
+    }
+
+    @Test
+    void constructor_shouldRejectRegistriesBeyondSixteenBitIds() {
+        assertThatThrownBy(() -> new PriceBatchEncoder(new SymbolRegistry(PriceBatchEncoder.MAX_SYMBOLS + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PriceFrame frame(final int symbolId, final double price, final long timestamp) {
+        return PriceFrame.encode(new PriceTick(symbolId, price, timestamp), symbolRegistry);
+    }
+
+    private static String readSymbol(final ByteBuffer frame) {
+        final int id = Short.toUnsignedInt(frame.getShort());
+        final byte[] symbol = new byte[Byte.toUnsignedInt(frame.get())];
+        frame.get(symbol);
+        return id + ":" + new String(symbol, StandardCharsets.US_ASCII);
+    }
+
+    private static String readTick(final ByteBuffer frame) {
+        return Short.toUnsignedInt(frame.getShort()) + "@" + frame.getDouble() + "+" + frame.getInt();
+    }
+}
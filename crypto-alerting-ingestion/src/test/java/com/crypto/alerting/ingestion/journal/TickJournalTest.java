@@ -0,0 +1,202 @@
+package com.crypto.alerting.ingestion.journal;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.JournalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickJournalTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long MIDNIGHT = 1_700_006_400_000L;
+
+    @TempDir
+    private Path directory;
+
+    private JournalProperties properties;
+
+    private SymbolRegistry symbolRegistry;
+
+    private int btc;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentRecords(16);
+        properties.setIndexInterval(4);
+        symbolRegistry = new SymbolRegistry();
+        btc = symbolRegistry.register("BTCUSDT");
+    }
+
+    @Test
+    void replay_shouldReturnOnlyTicksInsideRange() {
+        // Arrange
+        final TickJournal journal = journal();
+        for (int i = 0; i < 10; i++) {
+            journal.append(new PriceTick(btc, 100.0 + i, MIDNIGHT + i * 1000L, i, 0.5));
+        }
+
+        // Act & Assert
+        StepVerifier.create(journal.replayEvents("btcusdt", MIDNIGHT + 3000L, MIDNIGHT + 7000L).map(PriceEvent::getPrice))
+                .expectNext(103.0, 104.0, 105.0, 106.0)
+                .verifyComplete();
+    }
+
+    @Test
+    void replay_shouldSpanRolledSegmentsAndDays() throws Exception {
+        // Arrange
+        final TickJournal journal = journal();
+        for (int i = 0; i < 40; i++) {
+            journal.append(new PriceTick(btc, i, MIDNIGHT + i * 1000L));
+        }
+        journal.append(new PriceTick(btc, 40.0, MIDNIGHT + DAY));
+
+        // Act
+        final List<PriceEvent> events = journal.replayEvents("BTCUSDT", MIDNIGHT, MIDNIGHT + 2 * DAY)
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(events).hasSize(41);
+        assertThat(events).extracting(PriceEvent::getPrice).isSorted();
+        try (Stream<Path> files = Files.list(directory.resolve("BTCUSDT"))) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("2023-11-15.000.ticks", "2023-11-15.001.ticks",
+                            "2023-11-15.002.ticks", "2023-11-16.000.ticks");
+        }
+    }
+
+    @Test
+    void appendBackfill_shouldWriteSortedSegmentsThatReplayFinds() throws Exception {
+        // Arrange
+        final TickJournal journal = journal();
+        for (int i = 0; i < 8; i++) {
+            journal.append(new PriceTick(btc, 100.0 + i, MIDNIGHT + DAY + i * 1000L, 100L + i, 1.0));
+        }
+
+        // Act: trades missed before midnight and after it, fetched out of order
+        journal.appendBackfill(List.of(
+                new PriceTick(btc, 2.0, MIDNIGHT + DAY - 500L, 98L, 1.0),
+                new PriceTick(btc, 1.0, MIDNIGHT + DAY - 1000L, 97L, 1.0),
+                new PriceTick(btc, 3.0, MIDNIGHT + DAY + 500L, 99L, 1.0)));
+
+        // Assert
+        StepVerifier.create(journal.replayEvents("BTCUSDT", MIDNIGHT, MIDNIGHT + DAY).map(PriceEvent::getPrice))
+                .expectNext(1.0, 2.0)
+                .verifyComplete();
+        StepVerifier.create(journal.replayEvents("BTCUSDT", MIDNIGHT + DAY, MIDNIGHT + DAY + 2000L)
+                        .map(PriceEvent::getPrice))
+                .expectNext(100.0, 101.0, 3.0)
+                .verifyComplete();
+        try (Stream<Path> files = Files.list(directory.resolve("BTCUSDT"))) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("2023-11-15.b97.ticks", "2023-11-16.000.ticks",
+                            "2023-11-16.b99.ticks");
+        }
+    }
+
+    @Test
+    void prepareSegments_shouldCreateNextSegmentsBeforeRollsNeedThem() throws Exception {
+        // Arrange
+        final TickJournal journal = journal();
+        for (int i = 0; i < 12; i++) {
+            journal.append(new PriceTick(btc, i, MIDNIGHT + i));
+        }
+        final Path symbolDirectory = directory.resolve("BTCUSDT");
+
+        // Act & Assert: a segment three quarters full gets its successor
+        journal.prepareSegments(MIDNIGHT);
+        assertThat(symbolDirectory.resolve("2023-11-15.001.ticks")).exists();
+        for (int i = 12; i < 20; i++) {
+            journal.append(new PriceTick(btc, i, MIDNIGHT + i));
+        }
+
+        // Act & Assert: the next day's segment is ready a minute before midnight
+        journal.prepareSegments(MIDNIGHT + DAY - 30_000L);
+        assertThat(symbolDirectory.resolve("2023-11-16.000.ticks")).exists();
+        journal.append(new PriceTick(btc, 20.0, MIDNIGHT + DAY));
+
+        StepVerifier.create(journal.replayEvents("BTCUSDT", MIDNIGHT, MIDNIGHT + 2 * DAY))
+                .expectNextCount(21)
+                .verifyComplete();
+        assertThat(symbolDirectory.toFile().list()).containsExactlyInAnyOrder("2023-11-15.000.ticks",
+                "2023-11-15.001.ticks", "2023-11-16.000.ticks");
+    }
+
+    @Test
+    void replay_shouldStreamRawRecords() {
+        // Arrange
+        final TickJournal journal = journal();
+        journal.append(new PriceTick(btc, 43125.01, MIDNIGHT, 12345L, 0.001));
+
+        // Act
+        final ByteBuffer records = journal.replay("BTCUSDT", MIDNIGHT, MIDNIGHT + 1).blockFirst();
+
+        // Assert
+        assertThat(records.remaining()).isEqualTo(JournalSegment.RECORD_BYTES);
+        assertThat(records.getLong(0)).isEqualTo(MIDNIGHT);
+        assertThat(records.getDouble(8)).isEqualTo(43125.01);
+        assertThat(records.getLong(16)).isEqualTo(12345L);
+        assertThat(records.getDouble(24)).isEqualTo(0.001);
+    }
+
+    @Test
+    void append_shouldResumeNewestSegmentAfterRestart() {
+        // Arrange
+        final TickJournal first = journal();
+        first.append(new PriceTick(btc, 1.0, MIDNIGHT));
+        first.append(new PriceTick(btc, 2.0, MIDNIGHT + 1));
+        first.close();
+
+        // Act
+        final TickJournal second = journal();
+        second.append(new PriceTick(btc, 3.0, MIDNIGHT + 2));
+
+        // Assert
+        StepVerifier.create(second.replayEvents("BTCUSDT", MIDNIGHT, MIDNIGHT + 3).map(PriceEvent::getPrice))
+                .expectNext(1.0, 2.0, 3.0)
+                .verifyComplete();
+        assertThat(directory.resolve("BTCUSDT").toFile().list()).containsExactly("2023-11-15.000.ticks");
+    }
+
+    @Test
+    void replay_shouldReadSymbolsNotSeenSinceStartup() {
+        // Arrange
+        journal().append(new PriceTick(btc, 1.0, MIDNIGHT));
+        symbolRegistry = new SymbolRegistry();
+
+        // Act & Assert
+        StepVerifier.create(journal().replayEvents("BTCUSDT", MIDNIGHT, MIDNIGHT + 1))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(journal().replayEvents("ETHUSDT", MIDNIGHT, MIDNIGHT + 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void replay_shouldRejectPathLikeSymbolsAndEmptyRanges() {
+        final TickJournal journal = journal();
+
+        assertThatThrownBy(() -> journal.replay("../etc", 0L, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> journal.replay("BTCUSDT", 5L, 5L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TickJournal journal() {
+        return new TickJournal(properties, symbolRegistry, new SimpleMeterRegistry());
+    }
+}
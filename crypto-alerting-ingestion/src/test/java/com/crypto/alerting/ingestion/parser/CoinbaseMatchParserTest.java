@@ -0,0 +1,86 @@
+package com.crypto.alerting.ingestion.parser;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoinbaseMatchParserTest {
+
+    private SymbolRegistry symbolRegistry;
+
+    private CoinbaseMatchParser parser;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        parser = new CoinbaseMatchParser(symbolRegistry);
+    }
+
+    @Test
+    void parse_shouldDecodeMatchUnderTheVenueNeutralSymbol() {
+        final String frame = "{\"type\":\"match\",\"trade_id\":10,\"sequence\":50,"
+                + "\"maker_order_id\":\"ac928c66-ca53-498f-9c13-a110027a60e8\","
+                + "\"taker_order_id\":\"132fb6ae-456b-4654-b4e0-d681ac05cea1\","
+                + "\"time\":\"2014-11-07T08:19:27.028459Z\",\"product_id\":\"BTC-USDT\","
+                + "\"size\":\"5.23512\",\"price\":\"400.23\",\"side\":\"sell\"}";
+        final int binanceId = symbolRegistry.register("BTCUSDT");
+
+        assertThat(parser.parse(buffer(frame))).isTrue();
+        assertThat(parser.getSymbolId()).isEqualTo(binanceId);
+        assertThat(parser.getSymbol()).isEqualTo("BTCUSDT");
+        assertThat(parser.getPrice()).isEqualTo(400.23);
+        assertThat(parser.getQuantity()).isEqualTo(5.23512);
+        assertThat(parser.getTradeId()).isEqualTo(10L);
+        assertThat(parser.getTradeTime()).isEqualTo(Instant.parse("2014-11-07T08:19:27.028Z").toEpochMilli());
+    }
+
+    @Test
+    void parse_shouldAcceptLastMatchAndWholeSecondTimes() {
+        final String frame = "{\"type\":\"last_match\",\"product_id\":\"ETH-USDT\",\"price\":\"2250.5\","
+                + "\"time\":\"2024-02-29T23:59:59Z\"}";
+
+        assertThat(parser.parse(buffer(frame))).isTrue();
+        assertThat(parser.getSymbol()).isEqualTo("ETHUSDT");
+        assertThat(parser.getTradeTime()).isEqualTo(Instant.parse("2024-02-29T23:59:59Z").toEpochMilli());
+        assertThat(parser.getTradeId()).isEqualTo(TradeDecoder.NO_ID);
+        assertThat(parser.getQuantity()).isNaN();
+    }
+
+    @Test
+    void parse_shouldRejectOtherMessagesAndMalformedFields() {
+        assertThat(parser.parse(buffer("{\"type\":\"subscriptions\",\"channels\":[{\"name\":\"matches\","
+                + "\"product_ids\":[\"BTC-USDT\"]}]}"))).isFalse();
+        assertThat(parser.parse(buffer("{\"type\":\"heartbeat\",\"product_id\":\"BTC-USDT\","
+                + "\"time\":\"2014-11-07T08:19:27.028459Z\"}"))).isFalse();
+        assertThat(parser.parse(buffer("{\"type\":\"match\",\"product_id\":\"BTC-USDT\",\"price\":\"abc\","
+                + "\"time\":\"2014-11-07T08:19:27Z\"}"))).isFalse();
+        assertThat(parser.parse(buffer("{\"type\":\"match\",\"product_id\":\"BTC-USDT\",\"price\":\"1\","
+                + "\"time\":\"2014-11-07 08:19:27\"}"))).isFalse();
+        assertThat(parser.parse(buffer("{\"type\":\"match\",\"product_id\":\"BTC-USDT\",\"price\":\"1\"}")))
+                .isFalse();
+    }
+
+    @Test
+    void parseIsoMillis_shouldMatchJavaTime() {
+        for (final String time : new String[] {
+                "1970-01-01T00:00:00Z", "1999-12-31T23:59:59.999Z", "2000-03-01T00:00:00.5Z",
+                "2026-10-16T12:34:56.789123Z" }) {
+            final byte[] bytes = time.getBytes(StandardCharsets.US_ASCII);
+
+            assertThat(CoinbaseMatchParser.parseIsoMillis(bytes, 0, bytes.length))
+                    .as(time)
+                    .isEqualTo(Instant.parse(time).toEpochMilli());
+        }
+    }
+
+    private static DataBuffer buffer(final String frame) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(frame.getBytes(StandardCharsets.UTF_8));
+    }
+}
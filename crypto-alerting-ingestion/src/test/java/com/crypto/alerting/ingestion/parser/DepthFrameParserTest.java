@@ -0,0 +1,83 @@
+package com.crypto.alerting.ingestion.parser;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepthFrameParserTest {
+
+    private SymbolRegistry symbolRegistry;
+
+    private DepthFrameParser parser;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        parser = new DepthFrameParser(symbolRegistry);
+    }
+
+    @Test
+    void parseUpdate_shouldDecodeCombinedStreamDepthUpdate() {
+        final String frame = "{\"stream\":\"bnbbtc@depth@100ms\",\"data\":{\"e\":\"depthUpdate\","
+                + "\"E\":1672515782136,\"s\":\"BNBBTC\",\"U\":157,\"u\":160,"
+                + "\"b\":[[\"0.0024\",\"10\"],[\"0.0023\",\"0.00000000\"]],\"a\":[[\"0.0026\",\"100\"]]}}";
+
+        assertThat(parser.parseUpdate(buffer(frame))).isTrue();
+        assertThat(parser.getSymbol()).isEqualTo("BNBBTC");
+        assertThat(parser.getEventTime()).isEqualTo(1672515782136L);
+        assertThat(parser.getFirstUpdateId()).isEqualTo(157L);
+        assertThat(parser.getFinalUpdateId()).isEqualTo(160L);
+        assertThat(parser.getBidCount()).isEqualTo(2);
+        assertThat(parser.getBidPrice(0)).isEqualTo(0.0024);
+        assertThat(parser.getBidQuantity(0)).isEqualTo(10.0);
+        assertThat(parser.getBidQuantity(1)).isZero();
+        assertThat(parser.getAskCount()).isEqualTo(1);
+        assertThat(parser.getAskPrice(0)).isEqualTo(0.0026);
+        assertThat(parser.getAskQuantity(0)).isEqualTo(100.0);
+    }
+
+    @Test
+    void parseUpdate_shouldAcceptEmptySidesAndResetLevelsBetweenFrames() {
+        parser.parseUpdate(buffer("{\"e\":\"depthUpdate\",\"s\":\"BTCUSDT\",\"U\":1,\"u\":2,"
+                + "\"b\":[[\"1.0\",\"1.0\"]],\"a\":[[\"2.0\",\"1.0\"]]}"));
+
+        assertThat(parser.parseUpdate(buffer("{\"e\":\"depthUpdate\",\"s\":\"BTCUSDT\",\"U\":3,\"u\":3,"
+                + "\"b\":[],\"a\":[ ]}"))).isTrue();
+        assertThat(parser.getBidCount()).isZero();
+        assertThat(parser.getAskCount()).isZero();
+    }
+
+    @Test
+    void parseUpdate_shouldRejectTradesAndMalformedLevels() {
+        assertThat(parser.parseUpdate(buffer("{\"e\":\"trade\",\"s\":\"BTCUSDT\",\"t\":1,\"p\":\"1.0\","
+                + "\"T\":1}"))).isFalse();
+        assertThat(parser.parseUpdate(buffer("{\"e\":\"depthUpdate\",\"s\":\"BTCUSDT\",\"U\":1,\"u\":2,"
+                + "\"b\":[[\"abc\",\"1.0\"]],\"a\":[]}"))).isFalse();
+        assertThat(parser.parseUpdate(buffer("{\"e\":\"depthUpdate\",\"s\":\"BTCUSDT\",\"U\":1,"
+                + "\"b\":[],\"a\":[]}"))).isFalse();
+    }
+
+    @Test
+    void parseSnapshot_shouldDecodeRestSnapshot() {
+        final byte[] snapshot = ("{\"lastUpdateId\":1027024,\"bids\":[[\"4.00000000\",\"431.00000000\"]],"
+                + "\"asks\":[[\"4.00000200\",\"12.00000000\"],[\"4.00000300\",\"1.00000000\"]]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.parseSnapshot(snapshot, 0, snapshot.length)).isTrue();
+        assertThat(parser.getFinalUpdateId()).isEqualTo(1027024L);
+        assertThat(parser.getBidCount()).isEqualTo(1);
+        assertThat(parser.getBidPrice(0)).isEqualTo(4.0);
+        assertThat(parser.getAskCount()).isEqualTo(2);
+        assertThat(parser.getAskPrice(1)).isEqualTo(4.000003);
+    }
+
+    private static DataBuffer buffer(final String frame) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(frame.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,79 @@
+package com.crypto.alerting.ingestion.parser;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeFrameParserTest {
+
+    private SymbolRegistry symbolRegistry;
+
+    private TradeFrameParser parser;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        parser = new TradeFrameParser(symbolRegistry);
+    }
+
+    @Test
+    void parse_shouldDecodeCombinedStreamTrade() {
+        final String frame = "{\"stream\":\"btcusdt@trade\",\"data\":{\"e\":\"trade\",\"E\":1672515782136,"
+                + "\"s\":\"BTCUSDT\",\"t\":12345,\"p\":\"43125.01000000\",\"q\":\"0.00100000\","
+                + "\"T\":1672515782135,\"m\":true,\"M\":true}}";
+
+        assertThat(parser.parse(buffer(frame))).isTrue();
+        assertThat(parser.getSymbol()).isEqualTo("BTCUSDT");
+        assertThat(parser.getSymbolId()).isEqualTo(symbolRegistry.idOf("BTCUSDT"));
+        assertThat(parser.getPrice()).isEqualTo(43125.01);
+        assertThat(parser.getQuantity()).isEqualTo(0.001);
+        assertThat(parser.getTradeTime()).isEqualTo(1672515782135L);
+        assertThat(parser.getTradeId()).isEqualTo(12345L);
+        assertThat(parser.getEventTime()).isEqualTo(1672515782136L);
+    }
+
+    @Test
+    void parse_shouldDecodeRawStreamTradeWithOptionalFieldsMissing() {
+        assertThat(parser.parse(buffer("{\"e\":\"trade\",\"s\":\"ETHUSDT\",\"p\":\"2250.5\",\"T\":42}"))).isTrue();
+        assertThat(parser.getSymbol()).isEqualTo("ETHUSDT");
+        assertThat(parser.getPrice()).isEqualTo(2250.5);
+        assertThat(parser.getQuantity()).isNaN();
+        assertThat(parser.getTradeId()).isEqualTo(TradeFrameParser.NO_ID);
+    }
+
+    @Test
+    void parse_shouldReuseInternedSymbolAcrossFrames() {
+        parser.parse(buffer("{\"s\":\"SOLUSDT\",\"p\":\"1\",\"T\":1}"));
+        final String first = parser.getSymbol();
+        parser.parse(buffer("{\"s\":\"SOLUSDT\",\"p\":\"2\",\"T\":2}"));
+
+        assertThat(parser.getSymbol()).isSameAs(first);
+    }
+
+    @Test
+    void parse_shouldRejectFramesMissingRequiredFieldsOrMalformedNumbers() {
+        assertThat(parser.parse(buffer("{\"s\":\"BTCUSDT\",\"T\":1}"))).isFalse();
+        assertThat(parser.parse(buffer("{\"s\":\"BTCUSDT\",\"p\":\"12x\",\"T\":1}"))).isFalse();
+        assertThat(parser.parse(buffer("{\"result\":null,\"id\":1}"))).isFalse();
+        assertThat(parser.parse(buffer(""))).isFalse();
+    }
+
+    @Test
+    void parse_shouldMatchDoubleParsingForLongFractions() {
+        final String[] prices = { "0.00000001", "98765.43210987", "1e3", "123456789012345678.5" };
+        for (final String price : prices) {
+            parser.parse(buffer("{\"s\":\"X\",\"p\":\"" + price + "\",\"T\":1}"));
+            assertThat(parser.getPrice()).isEqualTo(Double.parseDouble(price));
+        }
+    }
+
+    private static DataBuffer buffer(final String frame) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(frame.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.crypto.alerting.ingestion.sequence;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.candle.CandleAggregator;
+import com.crypto.alerting.ingestion.journal.TickJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GapBackfillerTest {
+
+    @Mock
+    private TickJournal tickJournal;
+
+    @Mock
+    private CandleAggregator candleAggregator;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TradeSequencer sequencer;
+
+    private int btc;
+
+    @BeforeEach
+    void setUp() {
+        final SymbolRegistry symbolRegistry = new SymbolRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        sequencer = new TradeSequencer(symbolRegistry, meterRegistry);
+        btc = symbolRegistry.register("BTCUSDT");
+    }
+
+    @Test
+    void start_shouldFillDetectedGapsThroughTheHook() {
+        // Arrange: a local stand-in for the exchange's trade history
+        final AtomicReference<TradeGap> requested = new AtomicReference<>();
+        final TradeBackfill stub = gap -> {
+            requested.set(gap);
+            return Flux.range(0, (int) gap.size())
+                    .map(offset -> trade(gap.fromTradeId() + offset))
+                    .concatWith(Flux.just(trade(gap.toTradeId() + 1)));
+        };
+        final GapBackfiller backfiller = new GapBackfiller(sequencer, stub, tickJournal, candleAggregator,
+                meterRegistry);
+        backfiller.start();
+
+        // Act
+        sequencer.accept(trade(100));
+        sequencer.accept(trade(104));
+
+        // Assert
+        verify(tickJournal, timeout(Duration.ofSeconds(5).toMillis()))
+                .appendBackfill(List.of(trade(101), trade(102), trade(103)));
+        verify(candleAggregator, timeout(Duration.ofSeconds(5).toMillis())).backfill(trade(103));
+        verify(candleAggregator).backfill(trade(101));
+        verify(candleAggregator).backfill(trade(102));
+        verify(candleAggregator, never()).update(any());
+        verify(tickJournal, never()).append(any());
+        assertThat(requested.get().fromTradeId()).isEqualTo(101L);
+        assertThat(meterRegistry.counter("ingestion.trades.backfilled").count()).isEqualTo(3.0);
+        backfiller.stop();
+    }
+
+    private PriceTick trade(final long tradeId) {
+        return new PriceTick(btc, 100.0, tradeId, tradeId, 1.0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.crypto.alerting.ingestion.sequence;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeSequencerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TradeSequencer sequencer;
+
+    private int btc;
+
+    @BeforeEach
+    void setUp() {
+        final SymbolRegistry symbolRegistry = new SymbolRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        sequencer = new TradeSequencer(symbolRegistry, meterRegistry);
+        btc = symbolRegistry.register("BTCUSDT");
+    }
+
+    @Test
+    void accept_shouldDropTradesReplayedAfterReconnect() {
+        // Arrange
+        for (long id = 100; id <= 110; id++) {
+            sequencer.accept(trade(id));
+        }
+
+        // Act & Assert: the new session replays 105..110 before moving on
+        for (long id = 105; id <= 110; id++) {
+            assertThat(sequencer.accept(trade(id))).isFalse();
+        }
+        assertThat(sequencer.accept(trade(111))).isTrue();
+        assertThat(sequencer.accept(new PriceTick(btc, 1.0, 1L))).isTrue();
+        assertThat(meterRegistry.counter("ingestion.trades.duplicates").count()).isEqualTo(6.0);
+    }
+
+    @Test
+    void accept_shouldReportGapsAndAcceptLateTradesInsideThem() {
+        // Arrange
+        sequencer.accept(trade(100));
+
+        // Act & Assert
+        StepVerifier.create(sequencer.gaps().take(1))
+                .then(() -> assertThat(sequencer.accept(trade(105))).isTrue())
+                .assertNext(gap -> {
+                    assertThat(gap.symbol()).isEqualTo("BTCUSDT");
+                    assertThat(gap.fromTradeId()).isEqualTo(101L);
+                    assertThat(gap.toTradeId()).isEqualTo(104L);
+                })
+                .verifyComplete();
+        assertThat(sequencer.accept(trade(102))).isTrue();
+        assertThat(sequencer.accept(trade(102))).isFalse();
+        assertThat(meterRegistry.counter("ingestion.trades.gaps").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("ingestion.trades.missing").count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void accept_shouldTreatTradesBelowWindowAsDuplicates() {
+        // Arrange
+        sequencer.accept(trade(10_000));
+
+        // Act & Assert
+        assertThat(sequencer.accept(trade(10_000 - TradeWindow.SIZE))).isFalse();
+        assertThat(sequencer.accept(trade(10_000 - TradeWindow.SIZE + 1))).isTrue();
+    }
+
+    @Test
+    void acceptBackfilled_shouldOnlyAcceptMissingTradesOfTheGap() {
+        // Arrange
+        sequencer.accept(trade(1));
+        sequencer.accept(trade(5_000));
+        final TradeGap gap = new TradeGap("BTCUSDT", btc, 2L, 4_999L, 0L);
+        sequencer.accept(trade(4_990));
+
+        // Act & Assert
+        assertThat(sequencer.acceptBackfilled(trade(2), gap)).isTrue();
+        assertThat(sequencer.acceptBackfilled(trade(4_989), gap)).isTrue();
+        assertThat(sequencer.acceptBackfilled(trade(4_990), gap)).isFalse();
+        assertThat(sequencer.acceptBackfilled(trade(5_000), gap)).isFalse();
+    }
+
+    private PriceTick trade(final long tradeId) {
+        return new PriceTick(btc, 100.0, tradeId, tradeId, 1.0);
+    }
+}
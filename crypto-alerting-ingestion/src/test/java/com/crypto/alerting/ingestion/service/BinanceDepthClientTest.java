@@ -0,0 +1,143 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.book.BookTop;
+import com.crypto.alerting.ingestion.book.DepthSnapshot;
+import com.crypto.alerting.ingestion.book.StubDepthSnapshotFetcher;
+import com.crypto.alerting.ingestion.client.WebSocketClient;
+import com.crypto.alerting.ingestion.config.BinanceProperties;
+import com.crypto.alerting.ingestion.config.BookProperties;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import com.crypto.alerting.ingestion.parser.DepthFrameParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class BinanceDepthClientTest {
+
+    @Mock
+    private WebSocketClient webSocketClient;
+
+    private SymbolRegistry symbolRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StubDepthSnapshotFetcher snapshotFetcher;
+
+    private PriceStreamService priceStreamService;
+
+    private BinanceDepthClient client;
+
+    private DepthFrameParser parser;
+
+    private int btc;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        snapshotFetcher = new StubDepthSnapshotFetcher();
+        priceStreamService = new PriceStreamService(symbolRegistry, new StreamProperties(), meterRegistry);
+        final BookProperties bookProperties = new BookProperties();
+        bookProperties.setTopLevels(2);
+        client = new BinanceDepthClient(webSocketClient, snapshotFetcher, priceStreamService, symbolRegistry,
+                new BinanceProperties(), bookProperties, meterRegistry);
+        client.start();
+        parser = new DepthFrameParser(symbolRegistry);
+        btc = symbolRegistry.register("BTCUSDT");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.stop();
+    }
+
+    @Test
+    void process_shouldSyncFromSnapshotAndPublishTheTopOfBook() {
+        // Arrange
+        snapshotFetcher.set("BTCUSDT", snapshot(100, 99.0, 101.0));
+
+        // Act: the first update is held until the snapshot is loaded
+        client.process(frame(95, 100, "[\"98\",\"1\"]", ""), parser);
+        client.process(frame(101, 102, "[\"99.5\",\"2\"]", "[\"101\",\"0\"],[\"100.5\",\"3\"]"), parser);
+
+        // Assert
+        final BookTop top = new BookTop(2);
+        assertThat(priceStreamService.readBookTop(btc, top)).isTrue();
+        assertThat(top.updateId()).isEqualTo(102);
+        assertThat(top.bids()).containsExactly(new double[] { 99.5, 2.0 }, new double[] { 99.0, 1.0 });
+        assertThat(top.asks()).containsExactly(new double[] { 100.5, 3.0 }, new double[] { 102.0, 1.0 });
+        assertThat(snapshotFetcher.requests()).containsExactly("BTCUSDT");
+        assertThat(meterRegistry.counter("ingestion.book.snapshots").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void process_shouldResyncOnUpdateIdGap() {
+        // Arrange
+        snapshotFetcher.set("BTCUSDT", snapshot(100, 99.0, 101.0));
+        client.process(frame(100, 101, "", ""), parser);
+        snapshotFetcher.set("BTCUSDT", snapshot(110, 90.0, 91.0));
+
+        // Act: ids 102..104 were missed
+        client.process(frame(105, 111, "[\"89\",\"1\"]", ""), parser);
+
+        // Assert
+        final BookTop top = new BookTop(2);
+        assertThat(priceStreamService.readBookTop(btc, top)).isTrue();
+        assertThat(top.updateId()).isEqualTo(111);
+        assertThat(top.bestBid()).isEqualTo(90.0);
+        assertThat(top.bidCount()).isEqualTo(2);
+        assertThat(top.bestAsk()).isEqualTo(91.0);
+        assertThat(snapshotFetcher.requests()).hasSize(2);
+        assertThat(meterRegistry.counter("ingestion.book.gaps").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void process_shouldKeepHoldingUpdatesWhileNoSnapshotIsAvailable() {
+        // Act
+        client.process(frame(1, 2, "[\"1\",\"1\"]", ""), parser);
+        client.process(frame(3, 4, "[\"1\",\"2\"]", ""), parser);
+
+        // Assert: the failed fetch is not retried on every update
+        assertThat(priceStreamService.readBookTop(btc, new BookTop(2))).isFalse();
+        assertThat(snapshotFetcher.requests()).hasSize(1);
+        assertThat(meterRegistry.counter("ingestion.book.snapshot.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void process_shouldCountMalformedFrames() {
+        // Act
+        client.process(buffer("{\"e\":\"depthUpdate\",\"s\":\"BTCUSDT\"}"), parser);
+
+        // Assert
+        assertThat(meterRegistry.counter("ingestion.book.malformed").count()).isEqualTo(1.0);
+        assertThat(snapshotFetcher.requests()).isEmpty();
+    }
+
+    private static DepthSnapshot snapshot(final long lastUpdateId, final double bestBid, final double bestAsk) {
+        return new DepthSnapshot(lastUpdateId,
+                new double[] { bestBid, bestBid - 1 }, new double[] { 1.0, 1.0 },
+                new double[] { bestAsk, bestAsk + 1 }, new double[] { 1.0, 1.0 });
+    }
+
+    private static DataBuffer frame(final long first, final long last, final String bids, final String asks) {
+        return buffer("{\"stream\":\"btcusdt@depth@100ms\",\"data\":{\"e\":\"depthUpdate\",\"E\":1,"
+                + "\"s\":\"BTCUSDT\",\"U\":" + first + ",\"u\":" + last + ",\"b\":[" + bids + "],\"a\":[" + asks
+                + "]}}");
+    }
+
+    private static DataBuffer buffer(final String frame) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(frame.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,19 +1,29 @@
 package com.crypto.alerting.ingestion.service;
 
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.candle.CandleAggregator;
 import com.crypto.alerting.ingestion.client.WebSocketClient;
+import com.crypto.alerting.ingestion.config.BinanceProperties;
+import com.crypto.alerting.ingestion.feed.BinanceFeedAdapter;
+import com.crypto.alerting.ingestion.journal.TickJournal;
+import com.crypto.alerting.ingestion.sequence.TradeSequencer;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -26,13 +36,28 @@ class BinanceWebSocketClientTest {
     @Mock
     private PriceStreamService priceStreamService;
 
+    @Mock
+    private TickJournal tickJournal;
+
+    @Mock
+    private CandleAggregator candleAggregator;
+
+    @Mock
+    private TradeSequencer tradeSequencer;
+
     @Mock
     private WebSocketClient webSocketClient;
 
+    @Mock
+    private ConsolidatedPriceService consolidatedPriceService;
+
+    private BinanceProperties binanceProperties;
+
     private BinanceWebSocketClient binanceWebSocketClient;
 
     @BeforeEach
     void setUp() {
+        binanceProperties = new BinanceProperties();
         CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
         RetryRegistry retryRegistry = RetryRegistry.ofDefaults();
         RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.ofDefaults();
@@ -40,10 +65,18 @@ class BinanceWebSocketClientTest {
         binanceWebSocketClient = new BinanceWebSocketClient(
                 priceProducer,
                 priceStreamService,
+                tickJournal,
+                candleAggregator,
+                tradeSequencer,
                 circuitBreakerRegistry,
                 retryRegistry,
                 rateLimiterRegistry,
-                webSocketClient);
+                webSocketClient,
+                binanceProperties,
+                new SimpleMeterRegistry(),
+                new SymbolRegistry(),
+                new BinanceFeedAdapter(binanceProperties),
+                consolidatedPriceService);
     }
 
     @Test
@@ -61,4 +94,24 @@ class BinanceWebSocketClientTest {
         // Verify that execute was called 3 times (initial + 2 retries)
         verify(webSocketClient, times(3)).execute(any(URI.class), any());
     }
+
+    @Test
+    void connect_shouldOpenOneCombinedStreamPerShard() {
+        // Arrange
+        binanceProperties.setSymbols(List.of("btcusdt", "ETHUSDT", "solusdt", "btcusdt", "xrpusdt", "adausdt"));
+        binanceProperties.setMaxStreamsPerConnection(2);
+        when(webSocketClient.execute(any(URI.class), any())).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(binanceWebSocketClient.connectWithResilience())
+                .verifyComplete();
+
+        // Assert
+        final ArgumentCaptor<URI> uris = ArgumentCaptor.forClass(URI.class);
+        verify(webSocketClient, times(3)).execute(uris.capture(), any());
+        assertThat(uris.getAllValues()).extracting(URI::toString).containsExactlyInAnyOrder(
+                "wss://stream.binance.com:9443/stream?streams=btcusdt@trade/ethusdt@trade",
+                "wss://stream.binance.com:9443/stream?streams=solusdt@trade/xrpusdt@trade",
+                "wss://stream.binance.com:9443/stream?streams=adausdt@trade");
+    }
 }
@@ -0,0 +1,140 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.ConsolidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsolidatedPriceServiceTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Mock
+    private PriceProducer priceProducer;
+
+    private ConsolidationProperties properties;
+
+    private ConsolidatedPriceService service;
+
+    private int btc;
+    private int binance;
+    private int coinbase;
+
+    @BeforeEach
+    void setUp() {
+        final SymbolRegistry symbolRegistry = new SymbolRegistry();
+        properties = new ConsolidationProperties();
+        properties.setEnabled(true);
+        properties.setMaxAge(Duration.ofSeconds(5));
+        service = new ConsolidatedPriceService(priceProducer, symbolRegistry, properties, new SimpleMeterRegistry());
+        btc = symbolRegistry.register("BTCUSDT");
+        binance = service.registerVenue("binance");
+        coinbase = service.registerVenue("coinbase");
+    }
+
+    @Test
+    void update_shouldMergeFreshVenuesIntoTheirMedian() {
+        // Arrange
+        final int kraken = service.registerVenue("kraken");
+
+        // Act
+        final boolean first = service.update(binance, btc, 100.0, 1_000L, 0);
+        final boolean pair = service.update(coinbase, btc, 101.0, 1_001L, SECOND);
+        final boolean triple = service.update(kraken, btc, 100.4, 1_002L, 2 * SECOND);
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(pair).isTrue();
+        assertThat(triple).isTrue();
+        assertThat(service.read(btc, 2 * SECOND))
+                .isEqualTo(new ConsolidatedPrice("BTCUSDT", 100.4, 3, 1_002L, 101.0, "coinbase"));
+    }
+
+    @Test
+    void update_shouldNotLetOneVenuesOutlierMoveThePriceBeyondTheOthers() {
+        // Arrange
+        final int kraken = service.registerVenue("kraken");
+        service.update(binance, btc, 100.0, 1_000L, 0);
+        service.update(coinbase, btc, 100.2, 1_000L, 0);
+        service.update(kraken, btc, 100.1, 1_000L, 0);
+
+        // Act
+        service.update(coinbase, btc, 150.0, 1_001L, SECOND);
+
+        // Assert
+        final ConsolidatedPrice price = service.read(btc, SECOND);
+        assertThat(price.price()).isEqualTo(100.1);
+        assertThat(price.highestPrice()).isEqualTo(150.0);
+        assertThat(price.highestVenue()).isEqualTo("coinbase");
+    }
+
+    @Test
+    void read_shouldExpireVenuesThatStoppedTrading() {
+        // Arrange
+        service.update(coinbase, btc, 101.0, 1_000L, 0);
+        service.update(binance, btc, 100.0, 4_000L, 3 * SECOND);
+
+        // Act & Assert
+        assertThat(service.read(btc, 5 * SECOND).price()).isEqualTo(100.5);
+        assertThat(service.read(btc, 6 * SECOND))
+                .isEqualTo(new ConsolidatedPrice("BTCUSDT", 100.0, 1, 4_000L, 100.0, "binance"));
+        assertThat(service.read(btc, 9 * SECOND)).isNull();
+    }
+
+    @Test
+    void update_shouldDropAStaleVenueFromTheMedian() {
+        // Arrange
+        service.update(coinbase, btc, 101.0, 1_000L, 0);
+
+        // Act
+        final boolean changed = service.update(binance, btc, 100.0, 7_000L, 6 * SECOND);
+
+        // Assert
+        assertThat(changed).isTrue();
+        assertThat(service.read(btc, 6 * SECOND).price()).isEqualTo(100.0);
+    }
+
+    @Test
+    void update_shouldPublishOnlyChangesOfTheConsolidatedPrice() {
+        // Arrange
+        properties.setPublish(true);
+        final int kraken = service.registerVenue("kraken");
+
+        // Act
+        service.update(binance, btc, 100.0, 1_000L, 0);
+        service.update(coinbase, btc, 102.0, 1_001L, 0);
+        service.update(kraken, btc, 101.0, 1_002L, 0);
+        service.update(coinbase, btc, 105.0, 1_003L, 0);
+
+        // Assert
+        verify(priceProducer).publish(new PriceEvent("BTCUSDT", 100.0, 1_000L));
+        verify(priceProducer).publish(new PriceEvent("BTCUSDT", 101.0, 1_001L));
+        verify(priceProducer, times(2)).publish(any());
+    }
+
+    @Test
+    void registerVenue_shouldReuseIdsAndCapTheVenues() {
+        // Act
+        assertThat(service.registerVenue("binance")).isEqualTo(binance);
+        for (int i = 2; i < ConsolidatedPriceService.MAX_VENUES; i++) {
+            service.registerVenue("venue-" + i);
+        }
+
+        // Assert
+        assertThatThrownBy(() -> service.registerVenue("one-too-many"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
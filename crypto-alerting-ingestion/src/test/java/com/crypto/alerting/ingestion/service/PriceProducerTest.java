@@ -0,0 +1,195 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.ingestion.config.KafkaProducerProperties;
+import com.crypto.alerting.ingestion.config.SpillProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceProducerTest {
+
+    @Mock
+    private KafkaSender<String, PriceEvent> kafkaSender;
+
+    private KafkaProducerProperties properties;
+
+    private SpillProperties spillProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KafkaProducerProperties();
+        spillProperties = new SpillProperties();
+        spillProperties.setEnabled(false);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void publish_shouldFeedOneLongLivedPipelineKeyedByTicker() {
+        // Arrange
+        final List<SenderRecord<String, PriceEvent, PriceProducer.Outgoing>> sent = new CopyOnWriteArrayList<>();
+        when(kafkaSender.send(any())).thenAnswer(invocation -> {
+            final Publisher<SenderRecord<String, PriceEvent, PriceProducer.Outgoing>> records = invocation.getArgument(0);
+            return Flux.from(records).doOnNext(sent::add).thenMany(Flux.empty());
+        });
+        final PriceProducer producer = new PriceProducer(kafkaSender, properties, spillProperties, meterRegistry);
+        producer.start();
+
+        // Act
+        producer.publish(new PriceEvent("BTCUSDT", 43125.01, 1L));
+        producer.publish(new PriceEvent("ETHUSDT", 2250.5, 2L));
+
+        // Assert
+        verify(kafkaSender, times(1)).send(any());
+        assertThat(sent).extracting(SenderRecord::key).containsExactly("BTCUSDT", "ETHUSDT");
+        assertThat(sent).extracting(SenderRecord::topic).containsOnly("topic-raw-prices");
+    }
+
+    @Test
+    void publish_shouldDropAndCountWhenQueueIsFull() {
+        // Arrange: pipeline not started, so nothing drains the queue
+        properties.setQueueCapacity(1);
+        final PriceProducer producer = new PriceProducer(kafkaSender, properties, spillProperties, meterRegistry);
+
+        // Act & Assert
+        assertThat(producer.publish(new PriceEvent("BTCUSDT", 1.0, 1L))).isTrue();
+        assertThat(producer.publish(new PriceEvent("BTCUSDT", 2.0, 2L))).isFalse();
+        assertThat(meterRegistry.counter("ingestion.kafka.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publish_shouldRecordSendToAckLatency() {
+        // Arrange
+        when(kafkaSender.send(any())).thenAnswer(invocation -> {
+            final Publisher<SenderRecord<String, PriceEvent, PriceProducer.Outgoing>> records = invocation.getArgument(0);
+            return Flux.from(records).map(record -> acknowledged(record.correlationMetadata()));
+        });
+        final PriceProducer producer = new PriceProducer(kafkaSender, properties, spillProperties, meterRegistry);
+        producer.start();
+
+        // Act
+        producer.publish(new PriceEvent("BTCUSDT", 43125.01, 1L));
+
+        // Assert
+        assertThat(meterRegistry.get("ingestion.latency").tag("stage", "send_to_ack").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void publish_shouldSpillWhenQueueIsFullAndDrainInOrder() {
+        // Arrange: pipeline not started, so the queue fills up
+        properties.setQueueCapacity(2);
+        spillProperties.setEnabled(true);
+        spillProperties.setPath(directory.resolve("prices.spill").toString());
+        spillProperties.setDrainInterval(Duration.ofMillis(10));
+        final List<PriceEvent> sent = new CopyOnWriteArrayList<>();
+        when(kafkaSender.send(any())).thenAnswer(invocation -> {
+            final Publisher<SenderRecord<String, PriceEvent, PriceProducer.Outgoing>> records =
+                    invocation.getArgument(0);
+            return Flux.from(records)
+                    .doOnNext(record -> sent.add(record.value()))
+                    .map(record -> acknowledged(record.correlationMetadata()));
+        });
+        final PriceProducer producer = new PriceProducer(kafkaSender, properties, spillProperties, meterRegistry);
+
+        // Act
+        for (long i = 1; i <= 6; i++) {
+            assertThat(producer.publish(new PriceEvent("BTCUSDT", (double) i, i))).isTrue();
+        }
+        producer.start();
+
+        // Assert
+        await(() -> !producer.isSpilling());
+        assertThat(sent).extracting(PriceEvent::getTimestamp).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(meterRegistry.counter("ingestion.spill.spilled").count()).isEqualTo(4.0);
+        assertThat(meterRegistry.counter("ingestion.spill.drained").count()).isEqualTo(4.0);
+        assertThat(meterRegistry.counter("ingestion.kafka.dropped").count()).isZero();
+        producer.stop();
+    }
+
+    @Test
+    void start_shouldDrainBacklogLeftByPreviousRun() {
+        // Arrange
+        spillProperties.setEnabled(true);
+        spillProperties.setPath(directory.resolve("prices.spill").toString());
+        spillProperties.setDrainInterval(Duration.ofMillis(10));
+        properties.setQueueCapacity(1);
+        final PriceProducer previous = new PriceProducer(kafkaSender, properties, spillProperties, meterRegistry);
+        previous.publish(new PriceEvent("BTCUSDT", 1.0, 1L));
+        previous.publish(new PriceEvent("ETHUSDT", 2.0, null));
+        previous.stop();
+
+        final List<PriceEvent> sent = new CopyOnWriteArrayList<>();
+        when(kafkaSender.send(any())).thenAnswer(invocation -> {
+            final Publisher<SenderRecord<String, PriceEvent, PriceProducer.Outgoing>> records =
+                    invocation.getArgument(0);
+            return Flux.from(records)
+                    .doOnNext(record -> sent.add(record.value()))
+                    .map(record -> acknowledged(record.correlationMetadata()));
+        });
+
+        // Act
+        final PriceProducer producer = new PriceProducer(kafkaSender, properties, spillProperties, meterRegistry);
+        producer.start();
+
+        // Assert: the queued event was lost with the previous run, the spilled one was not
+        await(() -> !producer.isSpilling());
+        assertThat(sent).singleElement().isEqualTo(new PriceEvent("ETHUSDT", 2.0, null));
+        producer.stop();
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static SenderResult<PriceProducer.Outgoing> acknowledged(final PriceProducer.Outgoing outgoing) {
+        return new SenderResult<>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return null;
+            }
+
+            @Override
+            public Exception exception() {
+                return null;
+            }
+
+            @Override
+            public PriceProducer.Outgoing correlationMetadata() {
+                return outgoing;
+            }
+        };
+    }
+}
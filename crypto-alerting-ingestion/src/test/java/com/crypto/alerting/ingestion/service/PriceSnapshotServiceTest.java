@@ -0,0 +1,110 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSnapshotServiceTest {
+
+    private SymbolRegistry symbolRegistry;
+
+    private StreamProperties properties;
+
+    private PriceStreamService priceStreamService;
+
+    private int btc;
+
+    private int eth;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        properties = new StreamProperties();
+        properties.setSnapshotInterval(Duration.ZERO);
+        priceStreamService = new PriceStreamService(symbolRegistry, properties, new SimpleMeterRegistry());
+        btc = symbolRegistry.register("BTCUSDT");
+        eth = symbolRegistry.register("ETHUSDT");
+    }
+
+    @Test
+    void getSnapshot_shouldBumpVersionOnlyWhenPricesChange() {
+        // Arrange
+        final PriceSnapshotService service = new PriceSnapshotService(priceStreamService, symbolRegistry, properties);
+        priceStreamService.broadcastTick(new PriceTick(btc, 1.0, 1L));
+
+        // Act
+        final PriceSnapshot first = service.getSnapshot();
+        final PriceSnapshot unchanged = service.getSnapshot();
+
+        // Assert
+        assertThat(first.version()).isEqualTo(1L);
+        assertThat(unchanged).isSameAs(first);
+        assertThat(first.etag()).isEqualTo("\"" + first.epoch() + ".1\"");
+        assertThat(new String(first.json(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"BTCUSDT\":{\"ticker\":\"BTCUSDT\",\"price\":1.0,\"timestamp\":1}}");
+    }
+
+    @Test
+    void encodeChangedSince_shouldReturnOnlyTickersChangedAfterVersion() {
+        // Arrange
+        final PriceSnapshotService service = new PriceSnapshotService(priceStreamService, symbolRegistry, properties);
+        priceStreamService.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        priceStreamService.broadcastTick(new PriceTick(eth, 2.0, 2L));
+        final PriceSnapshot held = service.getSnapshot();
+        priceStreamService.broadcastTick(new PriceTick(eth, 3.0, 3L));
+
+        // Act
+        final PriceSnapshot current = service.getSnapshot();
+
+        // Assert
+        assertThat(current.version()).isEqualTo(held.version() + 1);
+        assertThat(new String(service.encodeChangedSince(current, held.versionToken()), StandardCharsets.UTF_8))
+                .isEqualTo("{\"ETHUSDT\":{\"ticker\":\"ETHUSDT\",\"price\":3.0,\"timestamp\":3}}");
+        assertThat(new String(service.encodeChangedSince(current, current.versionToken()), StandardCharsets.UTF_8))
+                .isEqualTo("{}");
+    }
+
+    @Test
+    void encodeChangedSince_shouldReturnFullSnapshotForTokenFromAnotherEpoch() {
+        // Arrange
+        final PriceSnapshotService restarted = new PriceSnapshotService(priceStreamService, symbolRegistry, properties);
+        final PriceSnapshotService service = new PriceSnapshotService(priceStreamService, symbolRegistry, properties);
+        priceStreamService.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        final PriceSnapshot foreign = restarted.getSnapshot();
+        final PriceSnapshot current = service.getSnapshot();
+
+        // Act
+        final byte[] other = service.encodeChangedSince(current, foreign.versionToken());
+        final byte[] ahead = service.encodeChangedSince(current, current.epoch() + "." + (current.version() + 1));
+
+        // Assert
+        assertThat(foreign.version()).isEqualTo(current.version());
+        assertThat(foreign.etag()).isNotEqualTo(current.etag());
+        assertThat(other).isEqualTo(current.json());
+        assertThat(ahead).isEqualTo(current.json());
+        assertThat(service.encodeChangedSince(current, "garbage")).isEqualTo(current.json());
+    }
+
+    @Test
+    void getSnapshot_shouldServeCachedSnapshotWithinInterval() {
+        // Arrange
+        properties.setSnapshotInterval(Duration.ofHours(1));
+        final PriceSnapshotService service = new PriceSnapshotService(priceStreamService, symbolRegistry, properties);
+        priceStreamService.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        final PriceSnapshot first = service.getSnapshot();
+
+        // Act
+        priceStreamService.broadcastTick(new PriceTick(btc, 2.0, 2L));
+
+        // Assert
+        assertThat(service.getSnapshot()).isSameAs(first);
+    }
+}
@@ -0,0 +1,211 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.PriceTick;
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.config.StreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceStreamServiceTest {
+
+    private SymbolRegistry symbolRegistry;
+
+    private StreamProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private int btc;
+
+    private int eth;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        properties = new StreamProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        btc = symbolRegistry.register("BTCUSDT");
+        eth = symbolRegistry.register("ETHUSDT");
+    }
+
+    @Test
+    void subscribe_shouldConflatePendingTicksToLatestPerTicker() {
+        // Arrange
+        properties.setMode(StreamProperties.Mode.CONFLATE);
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(service.subscribe(), 0)
+                .then(() -> {
+                    service.broadcastTick(new PriceTick(btc, 1.0, 1L));
+                    service.broadcastTick(new PriceTick(eth, 10.0, 2L));
+                    service.broadcastTick(new PriceTick(btc, 2.0, 3L));
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .assertNext(tick -> assertThat(tick.getPrice()).isEqualTo(2.0))
+                .assertNext(tick -> assertThat(tick.getPrice()).isEqualTo(10.0))
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.counter("ingestion.stream.dropped").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("ingestion.stream.emit.failures").count()).isZero();
+    }
+
+    @Test
+    void subscribe_shouldDropOldestTicksWhenBufferIsFull() {
+        // Arrange
+        properties.setMode(StreamProperties.Mode.BUFFER);
+        properties.setBufferSize(2);
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(service.subscribe(), 0)
+                .then(() -> {
+                    service.broadcastTick(new PriceTick(btc, 1.0, 1L));
+                    service.broadcastTick(new PriceTick(btc, 2.0, 2L));
+                    service.broadcastTick(new PriceTick(btc, 3.0, 3L));
+                })
+                .thenRequest(2)
+                .assertNext(tick -> assertThat(tick.getPrice()).isEqualTo(2.0))
+                .assertNext(tick -> assertThat(tick.getPrice()).isEqualTo(3.0))
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.counter("ingestion.stream.emit.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void subscribe_shouldNotHoldBackFastSubscribersBehindSlowOnes() {
+        // Arrange
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+        service.subscribe().subscribe(tick -> { }, error -> { }, () -> { }, subscription -> { });
+
+        // Act & Assert
+        StepVerifier.create(service.subscribe())
+                .then(() -> service.broadcastTick(new PriceTick(btc, 1.0, 1L)))
+                .assertNext(tick -> assertThat(tick.getSymbolId()).isEqualTo(btc))
+                .thenCancel()
+                .verify();
+
+        assertThat(service.getSubscriberStats())
+                .singleElement()
+                .satisfies(stats -> assertThat(stats.pending()).isEqualTo(1));
+    }
+
+    @Test
+    void subscribe_shouldEvictSubscriberLaggingLongerThanMaxLag() {
+        // Arrange
+        properties.setMaxLag(Duration.ofMillis(1));
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(service.subscribe(), 0)
+                .then(() -> service.broadcastTick(new PriceTick(btc, 1.0, 1L)))
+                .thenAwait(Duration.ofMillis(5))
+                .then(() -> service.broadcastTick(new PriceTick(btc, 2.0, 2L)))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.counter("ingestion.stream.evicted").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("ingestion.stream.emit.failures").count()).isEqualTo(2.0);
+        assertThat(service.getSubscriberStats()).isEmpty();
+    }
+
+    @Test
+    void subscribeFrames_shouldShareOneEncodedFrameAcrossSubscribers() {
+        // Arrange
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+        final List<PriceFrame> received = new CopyOnWriteArrayList<>();
+        service.subscribeFrames(SymbolFilter.all()).subscribe(received::add);
+        service.subscribeFrames(SymbolFilter.all()).subscribe(received::add);
+
+        // Act
+        service.broadcastTick(new PriceTick(btc, 43125.01, 1672515782135L));
+
+        // Assert
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).sse()).isSameAs(received.get(1).sse());
+        assertThat(new String(received.get(0).sse(), StandardCharsets.UTF_8)).isEqualTo(
+                "id:1672515782135\nevent:price-update\n"
+                        + "data:{\"ticker\":\"BTCUSDT\",\"price\":43125.01,\"timestamp\":1672515782135}\n\n");
+    }
+
+    @Test
+    void subscribe_shouldRouteTicksOnlyToSubscribersWhoseFilterMatches() {
+        // Arrange
+        final int btcEur = symbolRegistry.register("BTCEUR");
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+        final List<PriceTick> usdt = new CopyOnWriteArrayList<>();
+        final List<PriceTick> bitcoin = new CopyOnWriteArrayList<>();
+        service.subscribe(SymbolFilter.parse("*usdt")).subscribe(usdt::add);
+        service.subscribe(SymbolFilter.parse("BTC*")).subscribe(bitcoin::add);
+
+        // Act
+        service.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        service.broadcastTick(new PriceTick(eth, 2.0, 2L));
+        service.broadcastTick(new PriceTick(btcEur, 3.0, 3L));
+
+        // Assert
+        assertThat(usdt).extracting(PriceTick::getPrice).containsExactly(1.0, 2.0);
+        assertThat(bitcoin).extracting(PriceTick::getPrice).containsExactly(1.0, 3.0);
+    }
+
+    @Test
+    void subscribe_shouldKeepResolvedRoutesCurrentAsSubscribersComeAndGo() {
+        // Arrange
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+        final List<PriceTick> exact = new CopyOnWriteArrayList<>();
+        final List<PriceTick> wildcard = new CopyOnWriteArrayList<>();
+        final List<PriceTick> late = new CopyOnWriteArrayList<>();
+        service.subscribe(SymbolFilter.parse("BTCUSDT")).subscribe(exact::add);
+        final Disposable leaving = service.subscribe(SymbolFilter.parse("*USDT")).subscribe(wildcard::add);
+        service.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        service.broadcastTick(new PriceTick(eth, 2.0, 2L));
+
+        // Act
+        leaving.dispose();
+        service.subscribe(SymbolFilter.parse("ETH*")).subscribe(late::add);
+        final int sol = symbolRegistry.register("SOLUSDT");
+        service.broadcastTick(new PriceTick(btc, 3.0, 3L));
+        service.broadcastTick(new PriceTick(eth, 4.0, 4L));
+        service.broadcastTick(new PriceTick(sol, 5.0, 5L));
+
+        // Assert
+        assertThat(exact).extracting(PriceTick::getPrice).containsExactly(1.0, 3.0);
+        assertThat(wildcard).extracting(PriceTick::getPrice).containsExactly(1.0, 2.0);
+        assertThat(late).extracting(PriceTick::getPrice).containsExactly(4.0);
+    }
+
+    @Test
+    void subscribeFrames_shouldRerouteTicksWhenTheFilterChanges() {
+        // Arrange
+        final PriceStreamService service = new PriceStreamService(symbolRegistry, properties, meterRegistry);
+        final Sinks.Many<SymbolFilter> filterChanges = Sinks.many().unicast().onBackpressureBuffer();
+        final List<PriceTick> received = new CopyOnWriteArrayList<>();
+        service.subscribeFrames(SymbolFilter.none(), filterChanges.asFlux())
+                .map(PriceFrame::tick)
+                .subscribe(received::add);
+
+        // Act
+        service.broadcastTick(new PriceTick(btc, 1.0, 1L));
+        filterChanges.tryEmitNext(SymbolFilter.parse("BTCUSDT"));
+        service.broadcastTick(new PriceTick(btc, 2.0, 2L));
+        service.broadcastTick(new PriceTick(eth, 3.0, 3L));
+        filterChanges.tryEmitNext(SymbolFilter.parse("ETHUSDT"));
+        service.broadcastTick(new PriceTick(btc, 4.0, 4L));
+        service.broadcastTick(new PriceTick(eth, 5.0, 5L));
+
+        // Assert
+        assertThat(received).extracting(PriceTick::getPrice).containsExactly(2.0, 5.0);
+    }
+}
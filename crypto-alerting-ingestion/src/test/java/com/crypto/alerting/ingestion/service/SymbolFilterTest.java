@@ -0,0 +1,41 @@
+package com.crypto.alerting.ingestion.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SymbolFilterTest {
+
+    @Test
+    void parse_shouldMatchExactTickersAndWildcardsCaseInsensitively() {
+        final SymbolFilter filter = SymbolFilter.parse(" btcusdt, *EUR ,eth* ");
+
+        assertThat(filter.matchesAll()).isFalse();
+        assertThat(filter.matches("BTCUSDT")).isTrue();
+        assertThat(filter.matches("SOLEUR")).isTrue();
+        assertThat(filter.matches("ETHBTC")).isTrue();
+        assertThat(filter.matches("SOLUSDT")).isFalse();
+    }
+
+    @Test
+    void parse_shouldMatchEverythingWhenBlankOrStar() {
+        assertThat(SymbolFilter.parse(null).matchesAll()).isTrue();
+        assertThat(SymbolFilter.parse(" , ").matchesAll()).isTrue();
+        assertThat(SymbolFilter.parse("BTCUSDT,*").matchesAll()).isTrue();
+    }
+
+    @Test
+    void parse_shouldRejectWildcardsInTheMiddle() {
+        assertThatThrownBy(() -> SymbolFilter.parse("BTC*USDT"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SymbolFilter.parse("*BTC*"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void none_shouldMatchNothing() {
+        assertThat(SymbolFilter.none().matchesAll()).isFalse();
+        assertThat(SymbolFilter.none().matches("BTCUSDT")).isFalse();
+    }
+}
@@ -0,0 +1,132 @@
+package com.crypto.alerting.ingestion.service;
+
+import com.crypto.alerting.commons.SymbolRegistry;
+import com.crypto.alerting.ingestion.client.WebSocketClient;
+import com.crypto.alerting.ingestion.config.BinanceProperties;
+import com.crypto.alerting.ingestion.config.ConsolidationProperties;
+import com.crypto.alerting.ingestion.config.FeedProperties;
+import com.crypto.alerting.ingestion.feed.BinanceFeedAdapter;
+import com.crypto.alerting.ingestion.feed.CoinbaseFeedAdapter;
+import com.crypto.alerting.ingestion.feed.FeedAdapter;
+import com.crypto.alerting.ingestion.parser.TradeDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VenueFeedClientTest {
+
+    @Mock
+    private WebSocketClient webSocketClient;
+
+    @Mock
+    private PriceProducer priceProducer;
+
+    private SymbolRegistry symbolRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConsolidationProperties consolidationProperties;
+
+    private ConsolidatedPriceService consolidatedPriceService;
+
+    private FeedProperties feedProperties;
+
+    private List<FeedAdapter> adapters;
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        consolidationProperties = new ConsolidationProperties();
+        consolidationProperties.setEnabled(true);
+        consolidatedPriceService = new ConsolidatedPriceService(priceProducer, symbolRegistry,
+                consolidationProperties, meterRegistry);
+        feedProperties = new FeedProperties();
+        feedProperties.setVenues(List.of("binance", "Coinbase"));
+        adapters = List.of(new BinanceFeedAdapter(new BinanceProperties()),
+                new CoinbaseFeedAdapter(feedProperties.getCoinbase()));
+    }
+
+    @Test
+    void process_shouldMergeVenueTradesIntoTheBestPrice() {
+        // Arrange
+        final VenueFeedClient client = new VenueFeedClient(webSocketClient, consolidatedPriceService, symbolRegistry,
+                feedProperties, adapters, meterRegistry);
+        final int venue = consolidatedPriceService.registerVenue(CoinbaseFeedAdapter.VENUE);
+        final TradeDecoder decoder = adapters.get(1).newDecoder(symbolRegistry);
+        final VenueFeedClient.VenueMeters meters = new VenueFeedClient.VenueMeters("coinbase", meterRegistry);
+
+        // Act
+        client.process(buffer("{\"type\":\"subscriptions\",\"channels\":[]}"), decoder, venue, meters);
+        client.process(buffer("{\"type\":\"match\",\"trade_id\":1,\"product_id\":\"BTC-USDT\",\"price\":\"101.5\","
+                + "\"size\":\"0.1\",\"time\":\"2026-10-16T12:00:00.250Z\"}"), decoder, venue, meters);
+
+        // Assert
+        final ConsolidatedPrice consolidated = consolidatedPriceService.read(symbolRegistry.idOf("BTCUSDT"));
+        assertThat(consolidated.price()).isEqualTo(101.5);
+        assertThat(consolidated.highestVenue()).isEqualTo("coinbase");
+        assertThat(meterRegistry.get("ingestion.feeds.messages").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("ingestion.feeds.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void connect_shouldOpenOnlyTheOtherVenuesWhenConsolidating() {
+        // Arrange
+        when(webSocketClient.execute(any(URI.class), any())).thenReturn(Mono.never());
+        final VenueFeedClient client = new VenueFeedClient(webSocketClient, consolidatedPriceService, symbolRegistry,
+                feedProperties, adapters, meterRegistry);
+
+        // Act
+        client.connect();
+        client.disconnect();
+
+        // Assert
+        verify(webSocketClient).execute(eq(URI.create("wss://ws-feed.exchange.coinbase.com")), any());
+    }
+
+    @Test
+    void connect_shouldDoNothingUnlessConsolidating() {
+        // Arrange
+        consolidationProperties.setEnabled(false);
+        final VenueFeedClient client = new VenueFeedClient(webSocketClient, consolidatedPriceService, symbolRegistry,
+                feedProperties, adapters, meterRegistry);
+
+        // Act
+        client.connect();
+
+        // Assert
+        verifyNoInteractions(webSocketClient);
+    }
+
+    @Test
+    void constructor_shouldRejectVenuesWithoutAnAdapter() {
+        // Arrange
+        feedProperties.setVenues(List.of("kraken"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> new VenueFeedClient(webSocketClient, consolidatedPriceService, symbolRegistry,
+                feedProperties, adapters, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("kraken");
+    }
+
+    private static DataBuffer buffer(final String frame) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(frame.getBytes(StandardCharsets.UTF_8));
+    }
+}
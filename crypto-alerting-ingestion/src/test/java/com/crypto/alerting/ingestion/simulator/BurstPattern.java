@@ -0,0 +1,46 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import java.time.Duration;
+
+/**
+ * Periodic bursts on top of a steady rate: for the first {@code length} of
+ * every {@code period}, frames are sent {@code multiplier} times as fast.
+ *
+ * @param period     time between burst starts
+ * @param length     duration of each burst
+ * @param multiplier rate multiplier during a burst
+ */
+public record BurstPattern(Duration period, Duration length, double multiplier) {
+
+    /**
+     * A steady rate without bursts.
+     */
+    public static final BurstPattern NONE = new BurstPattern(Duration.ofSeconds(1), Duration.ZERO, 1);
+
+    public BurstPattern {
+        if (period.isZero() || period.isNegative() || length.isNegative() || length.compareTo(period) > 0
+                || multiplier < 0) {
+            throw new IllegalArgumentException("Invalid burst pattern: " + period + ", " + length + ", " + multiplier);
+        }
+    }
+
+    /**
+     * Returns the rate multiplier at a point in time.
+     *
+     * @param elapsedNanos time since sending started
+     * @return the multiplier in effect
+     */
+    double multiplierAt(final long elapsedNanos) {
+        return elapsedNanos % period.toNanos() < length.toNanos() ? multiplier : 1;
+    }
+
+    /**
+     * Returns the average rate multiplier over a period.
+     *
+     * @return the average multiplier
+     */
+    public double averageMultiplier() {
+        final double burstShare = (double) length.toNanos() / period.toNanos();
+        return 1 + (multiplier - 1) * burstShare;
+    }
+}
@@ -0,0 +1,216 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.websocket.WebsocketOutbound;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the Binance combined-stream endpoint. Serves
+ * {@code /stream?streams=a@trade/b@trade} on a free local port and sends
+ * each connection the frames of its streams at a fixed rate per stream,
+ * shaped by a {@link BurstPattern}. Point {@code binance.base-uri} at
+ * {@link #baseUri()} to feed the ingestion service offline.
+ * <p>
+ * A connection without a {@code streams} parameter subscribes the way the
+ * Coinbase feed does instead: its first message names the streams in a
+ * {@code product_ids} array, e.g. {@code {"type":"subscribe",
+ * "product_ids":["BTC-USDT"],"channels":["matches"]}}. Pair it with
+ * {@link FrameSource#syntheticMatches(long)}.
+ * <p>
+ * Frames are sent in small batches every millisecond, sized by the time
+ * actually elapsed, so the rate holds whatever the timer jitter. A client
+ * that falls more than {@link #MAX_BACKLOG} behind misses the frames beyond
+ * it, as a lagging exchange connection would.
+ */
+public final class ExchangeSimulator implements AutoCloseable {
+
+    private static final Duration TICK = Duration.ofMillis(1);
+    private static final Duration MAX_BACKLOG = Duration.ofMillis(100);
+    private static final String STREAMS_PARAMETER = "streams=";
+    private static final Pattern PRODUCT_IDS = Pattern.compile("\"product_ids\"\\s*:\\s*\\[([^\\]]*)]");
+    private static final Pattern QUOTED = Pattern.compile("\"([^\"]+)\"");
+
+    private final FrameSource frameSource;
+    private final double messagesPerSecondPerStream;
+    private final BurstPattern burstPattern;
+    private final DisposableServer server;
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesSkipped = new AtomicLong();
+
+    private ExchangeSimulator(final FrameSource frameSource, final double messagesPerSecondPerStream,
+            final BurstPattern burstPattern) {
+        this.frameSource = frameSource;
+        this.messagesPerSecondPerStream = messagesPerSecondPerStream;
+        this.burstPattern = burstPattern;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.sendWebsocket((inbound, outbound) -> {
+                    if (request.uri().contains(STREAMS_PARAMETER)) {
+                        return stream(streamsOf(request.uri()), outbound);
+                    }
+                    return inbound.receive()
+                            .asString()
+                            .next()
+                            .flatMap(subscription -> Mono.from(stream(productsOf(subscription), outbound)));
+                }))
+                .bindNow();
+    }
+
+    /**
+     * Starts a simulator on a free local port.
+     *
+     * @param frameSource                the frames to send
+     * @param messagesPerSecondPerStream steady rate of each stream
+     * @param burstPattern               bursts on top of the steady rate
+     * @return the running simulator
+     */
+    public static ExchangeSimulator start(final FrameSource frameSource, final double messagesPerSecondPerStream,
+            final BurstPattern burstPattern) {
+        return new ExchangeSimulator(frameSource, messagesPerSecondPerStream, burstPattern);
+    }
+
+    /**
+     * Returns the base URI to configure as {@code binance.base-uri}.
+     *
+     * @return the base URI, without path
+     */
+    public String baseUri() {
+        return "ws://localhost:" + server.port();
+    }
+
+    /**
+     * Returns the number of frames sent so far, over all connections.
+     *
+     * @return frames sent
+     */
+    public long framesSent() {
+        return framesSent.get();
+    }
+
+    /**
+     * Returns the number of frames skipped because a client fell behind.
+     *
+     * @return frames skipped
+     */
+    public long framesSkipped() {
+        return framesSkipped.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    /**
+     * Sends a connection's frames until its source is exhausted or the
+     * client disconnects.
+     *
+     * @param streams  the subscribed streams
+     * @param outbound the connection
+     * @return Publisher completing when sending ends
+     */
+    private Publisher<Void> stream(final List<String> streams, final WebsocketOutbound outbound) {
+        if (streams.isEmpty()) {
+            return outbound.sendClose(1008, "No streams requested");
+        }
+        final Pacer pacer = new Pacer(streams);
+        final Flux<String> frames = Flux.interval(TICK)
+                // Ticks the client is too busy for are made up by the next batch
+                .onBackpressureDrop()
+                .map(ignored -> pacer.nextBatch())
+                .takeWhile(batch -> !batch.isEmpty() || !pacer.exhausted())
+                .concatMapIterable(batch -> batch, 1)
+                .doOnNext(frame -> framesSent.incrementAndGet());
+        return outbound.sendString(frames).then();
+    }
+
+    private static List<String> streamsOf(final String uri) {
+        final int start = uri.indexOf(STREAMS_PARAMETER);
+        if (start < 0) {
+            return List.of();
+        }
+        final int end = uri.indexOf('&', start);
+        final String streams = uri.substring(start + STREAMS_PARAMETER.length(), end < 0 ? uri.length() : end);
+        return Arrays.stream(streams.split("/")).filter(s -> !s.isBlank()).toList();
+    }
+
+    private static List<String> productsOf(final String subscription) {
+        final Matcher array = PRODUCT_IDS.matcher(subscription);
+        if (!array.find()) {
+            return List.of();
+        }
+        final List<String> products = new ArrayList<>();
+        final Matcher product = QUOTED.matcher(array.group(1));
+        while (product.find()) {
+            products.add(product.group(1));
+        }
+        return products;
+    }
+
+    /**
+     * Decides how many frames each tick of one connection sends.
+     */
+    private final class Pacer {
+
+        private final List<String> streams;
+        private final boolean[] exhaustedStreams;
+        private final long startNanos = System.nanoTime();
+        private long lastNanos = startNanos;
+        private double credit;
+        private int nextStream;
+        private int exhaustedCount;
+
+        private Pacer(final List<String> streams) {
+            this.streams = streams;
+            this.exhaustedStreams = new boolean[streams.size()];
+        }
+
+        private List<String> nextBatch() {
+            final long now = System.nanoTime();
+            credit += (now - lastNanos) / 1e9 * messagesPerSecondPerStream * streams.size()
+                    * burstPattern.multiplierAt(now - startNanos);
+            lastNanos = now;
+            final double maxCredit = MAX_BACKLOG.toNanos() / 1e9 * messagesPerSecondPerStream * streams.size()
+                    * Math.max(1, burstPattern.multiplier());
+            if (credit > maxCredit) {
+                framesSkipped.addAndGet((long) (credit - maxCredit));
+                credit = maxCredit;
+            }
+
+            final List<String> batch = new ArrayList<>((int) credit);
+            final long nowMillis = System.currentTimeMillis();
+            while (credit >= 1 && !exhausted()) {
+                final int index = nextStream;
+                nextStream = (nextStream + 1) % streams.size();
+                if (exhaustedStreams[index]) {
+                    continue;
+                }
+                final String frame = frameSource.next(streams.get(index), nowMillis);
+                if (frame == null) {
+                    exhaustedStreams[index] = true;
+                    exhaustedCount++;
+                    continue;
+                }
+                batch.add(frame);
+                credit--;
+            }
+            return batch;
+        }
+
+        private boolean exhausted() {
+            return exhaustedCount == streams.size();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeSimulatorTest {
+
+    private final ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient();
+
+    @Test
+    void recorded_shouldReplaySubscribedStreamsOnceInOrder() {
+        // Arrange
+        final List<String> frames = List.of(
+                frame("btcusdt", 1), frame("ethusdt", 1), frame("btcusdt", 2), frame("solusdt", 1),
+                frame("btcusdt", 3));
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        try (ExchangeSimulator simulator = ExchangeSimulator.start(FrameSource.recorded(frames), 1000,
+                BurstPattern.NONE)) {
+            // Act
+            client.execute(URI.create(simulator.baseUri() + "/stream?streams=btcusdt@trade/ethusdt@trade"),
+                            session -> session.receive()
+                                    .map(WebSocketMessage::getPayloadAsText)
+                                    .doOnNext(received::add)
+                                    .then())
+                    .block(Duration.ofSeconds(10));
+
+            // Assert
+            assertThat(received).containsExactlyInAnyOrder(
+                    frame("btcusdt", 1), frame("btcusdt", 2), frame("btcusdt", 3), frame("ethusdt", 1));
+            assertThat(received.stream().filter(f -> f.contains("btcusdt")))
+                    .containsExactly(frame("btcusdt", 1), frame("btcusdt", 2), frame("btcusdt", 3));
+            assertThat(simulator.framesSent()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void synthetic_shouldSendAtTheConfiguredRatePerStream() {
+        // Arrange
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        try (ExchangeSimulator simulator = ExchangeSimulator.start(FrameSource.synthetic(42), 500,
+                BurstPattern.NONE)) {
+            // Act
+            client.execute(URI.create(simulator.baseUri() + "/stream?streams=btcusdt@trade/ethusdt@trade"),
+                            session -> session.receive()
+                                    .map(WebSocketMessage::getPayloadAsText)
+                                    .doOnNext(received::add)
+                                    .then())
+                    .timeout(Duration.ofSeconds(2), Mono.empty())
+                    .block();
+
+            // Assert: 2 streams at 500/s for 2s, with slack for connection setup
+            assertThat(received).hasSizeBetween(1200, 2200);
+            assertThat(received.get(0)).contains("\"e\":\"trade\"").contains("\"t\":1,");
+        }
+    }
+
+    private static String frame(final String symbol, final long tradeId) {
+        return "{\"stream\":\"" + symbol + "@trade\",\"data\":{\"e\":\"trade\",\"s\":\"" + symbol.toUpperCase()
+                + "\",\"t\":" + tradeId + ",\"p\":\"1.0\",\"q\":\"1.0\",\"T\":1672515782134}}";
+    }
+}
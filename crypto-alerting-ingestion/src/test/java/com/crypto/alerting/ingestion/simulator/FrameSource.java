@@ -0,0 +1,52 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import java.util.List;
+
+/**
+ * Supplies the trade frames an {@link ExchangeSimulator} sends, per stream.
+ */
+public interface FrameSource {
+
+    /**
+     * Returns the next frame of a stream.
+     *
+     * @param stream     the stream name, e.g. {@code btcusdt@trade} or {@code BTC-USDT}
+     * @param nowMillis  the current time in epoch milliseconds
+     * @return the frame, or null once the stream is exhausted
+     */
+    String next(String stream, long nowMillis);
+
+    /**
+     * Generates an endless random walk of trades for any stream, stamped
+     * with the time they are sent and numbered from one per stream.
+     *
+     * @param seed the random seed
+     * @return the source
+     */
+    static FrameSource synthetic(final long seed) {
+        return new SyntheticFrames(seed);
+    }
+
+    /**
+     * Generates an endless random walk of trades in the Coinbase
+     * {@code matches} format for any product id, stamped with the time they
+     * are sent and numbered from one per product.
+     *
+     * @param seed the random seed
+     * @return the source
+     */
+    static FrameSource syntheticMatches(final long seed) {
+        return new SyntheticMatches(seed);
+    }
+
+    /**
+     * Replays recorded combined-stream frames once, each stream in its
+     * recorded order.
+     *
+     * @param frames the recorded frames
+     * @return the source
+     */
+    static FrameSource recorded(final List<String> frames) {
+        return new RecordedFrames(frames);
+    }
+}
@@ -0,0 +1,35 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recorded combined-stream frames, replayed once per stream.
+ */
+final class RecordedFrames implements FrameSource {
+
+    private static final Pattern STREAM = Pattern.compile("\"stream\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final Map<String, Queue<String>> byStream = new HashMap<>();
+
+    RecordedFrames(final List<String> frames) {
+        for (final String frame : frames) {
+            final Matcher matcher = STREAM.matcher(frame);
+            if (!matcher.find()) {
+                throw new IllegalArgumentException("Not a combined-stream frame: " + frame);
+            }
+            byStream.computeIfAbsent(matcher.group(1), s -> new ArrayDeque<>()).add(frame);
+        }
+    }
+
+    @Override
+    public synchronized String next(final String stream, final long nowMillis) {
+        final Queue<String> frames = byStream.get(stream);
+        return frames != null ? frames.poll() : null;
+    }
+}
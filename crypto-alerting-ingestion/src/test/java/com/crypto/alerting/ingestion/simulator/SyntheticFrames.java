@@ -0,0 +1,53 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Random-walk trades in Binance's combined-stream trade format.
+ */
+final class SyntheticFrames implements FrameSource {
+
+    private final long seed;
+    private final Map<String, Walk> walks = new ConcurrentHashMap<>();
+
+    SyntheticFrames(final long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String next(final String stream, final long nowMillis) {
+        return walks.computeIfAbsent(stream, s -> new Walk(s, seed ^ s.hashCode())).next(nowMillis);
+    }
+
+    /**
+     * One stream's trades. Each stream is sent by one connection at a time.
+     */
+    private static final class Walk {
+
+        private final String stream;
+        private final String symbol;
+        private final SplittableRandom random;
+        private double price;
+        private long tradeId;
+
+        private Walk(final String stream, final long seed) {
+            this.stream = stream;
+            this.symbol = stream.substring(0, stream.indexOf('@')).toUpperCase(Locale.ROOT);
+            this.random = new SplittableRandom(seed);
+            this.price = 10 + random.nextDouble() * 50_000;
+        }
+
+        private synchronized String next(final long nowMillis) {
+            price = Math.max(0.00000001, price * (1 + (random.nextDouble() - 0.5) * 0.001));
+            tradeId++;
+            return "{\"stream\":\"" + stream + "\",\"data\":{\"e\":\"trade\",\"E\":" + nowMillis
+                    + ",\"s\":\"" + symbol + "\",\"t\":" + tradeId
+                    + ",\"p\":\"" + String.format(Locale.ROOT, "%.8f", price)
+                    + "\",\"q\":\"" + String.format(Locale.ROOT, "%.8f", random.nextDouble())
+                    + "\",\"T\":" + nowMillis + ",\"m\":" + random.nextBoolean() + ",\"M\":true}}";
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.crypto.alerting.ingestion.simulator;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Random-walk trades in Coinbase's {@code matches} channel format.
+ */
+final class SyntheticMatches implements FrameSource {
+
+    private final long seed;
+    private final Map<String, Walk> walks = new ConcurrentHashMap<>();
+
+    SyntheticMatches(final long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String next(final String stream, final long nowMillis) {
+        return walks.computeIfAbsent(stream, s -> new Walk(s, seed ^ s.hashCode())).next(nowMillis);
+    }
+
+    /**
+     * One product's trades. Each product is sent by one connection at a time.
+     */
+    private static final class Walk {
+
+        private final String product;
+        private final SplittableRandom random;
+        private double price;
+        private long tradeId;
+
+        private Walk(final String product, final long seed) {
+            this.product = product;
+            this.random = new SplittableRandom(seed);
+            this.price = 10 + random.nextDouble() * 50_000;
+        }
+
+        private synchronized String next(final long nowMillis) {
+            price = Math.max(0.00000001, price * (1 + (random.nextDouble() - 0.5) * 0.001));
+            tradeId++;
+            return "{\"type\":\"match\",\"trade_id\":" + tradeId + ",\"sequence\":" + (tradeId * 7)
+                    + ",\"time\":\"" + Instant.ofEpochMilli(nowMillis) + "\",\"product_id\":\"" + product
+                    + "\",\"size\":\"" + String.format(Locale.ROOT, "%.8f", random.nextDouble())
+                    + "\",\"price\":\"" + String.format(Locale.ROOT, "%.8f", price)
+                    + "\",\"side\":\"" + (random.nextBoolean() ? "buy" : "sell") + "\"}";
+        }
+    }
+}
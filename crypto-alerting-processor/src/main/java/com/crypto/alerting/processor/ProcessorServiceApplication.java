@@ -0,0 +1,13 @@
+package com.crypto.alerting.processor;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class ProcessorServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ProcessorServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,107 @@
+package com.crypto.alerting.processor.config;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.commons.kafka.PriceEventDeserializer;
+import com.crypto.alerting.processor.service.PartitionTickers;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.MicrometerConsumerListener;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverPartition;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.MicrometerProducerListener;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@RequiredArgsConstructor
+public class KafkaConfig {
+
+    private final ProcessorKafkaProperties processorKafkaProperties;
+
+    @Bean
+    public KafkaSender<String, AlertTrigger> alertSender(final MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, processorKafkaProperties.getBootstrapServers());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, processorKafkaProperties.getAcks());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, processorKafkaProperties.getLingerMs());
+
+        // Per-record failures are reported in SenderResult so the pipeline keeps running
+        SenderOptions<String, AlertTrigger> senderOptions = SenderOptions.<String, AlertTrigger>create(props)
+                .stopOnError(false)
+                .producerListener(new MicrometerProducerListener(meterRegistry));
+        return KafkaSender.create(senderOptions);
+    }
+
+    @Bean
+    public KafkaReceiver<String, PriceEvent> priceReceiver(final MeterRegistry meterRegistry,
+            final PartitionTickers partitionTickers) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, processorKafkaProperties.getBootstrapServers());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, processorKafkaProperties.getGroupId());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A malformed record deserializes to null instead of failing the poll
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, PriceEventDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, processorKafkaProperties.getAutoOffsetReset());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, processorKafkaProperties.getMaxPollRecords());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        // Acknowledged offsets are committed in batches; the listener exposes per-partition records-lag.
+        // A partition changing hands is read again from its last commit, so its tickers start over.
+        ReceiverOptions<String, PriceEvent> receiverOptions = ReceiverOptions.<String, PriceEvent>create(props)
+                .subscription(List.of(processorKafkaProperties.getPricesTopic()))
+                .commitInterval(processorKafkaProperties.getCommitInterval())
+                .commitBatchSize(processorKafkaProperties.getCommitBatchSize())
+                .consumerListener(new MicrometerConsumerListener(meterRegistry))
+                .addAssignListener(partitions -> partitionTickers.reset(topicPartitions(partitions)))
+                .addRevokeListener(partitions -> partitionTickers.reset(topicPartitions(partitions)));
+        return KafkaReceiver.create(receiverOptions);
+    }
+
+    @Bean
+    public KafkaReceiver<String, AlertRule> ruleReceiver() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, processorKafkaProperties.getBootstrapServers());
+        // A group of its own, so this instance is assigned every partition of the rules topic
+        props.put(ConsumerConfig.GROUP_ID_CONFIG,
+                processorKafkaProperties.getGroupId() + "-rules-" + UUID.randomUUID());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, AlertRule.class);
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        // Always rebuild the rule book from the start of the compacted topic
+        ReceiverOptions<String, AlertRule> receiverOptions = ReceiverOptions.<String, AlertRule>create(props)
+                .subscription(List.of(processorKafkaProperties.getRulesTopic()))
+                .addAssignListener(partitions -> partitions.forEach(ReceiverPartition::seekToBeginning));
+        return KafkaReceiver.create(receiverOptions);
+    }
+
+    private static List<TopicPartition> topicPartitions(final Collection<ReceiverPartition> partitions) {
+        return partitions.stream().map(ReceiverPartition::topicPartition).toList();
+    }
+}
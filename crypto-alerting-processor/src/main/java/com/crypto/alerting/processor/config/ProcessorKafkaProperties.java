@@ -0,0 +1,91 @@
+package com.crypto.alerting.processor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the processor's Kafka topics and clients.
+ */
+@Data
+@ConfigurationProperties(prefix = "processor.kafka")
+public class ProcessorKafkaProperties {
+
+    /**
+     * Kafka bootstrap servers.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Topic of raw price events to evaluate.
+     */
+    private String pricesTopic = "topic-raw-prices";
+
+    /**
+     * Topic receiving alert triggers.
+     */
+    private String alertsTopic = "topic-alerts";
+
+    /**
+     * Topic receiving alert triggers the alerts topic kept rejecting.
+     */
+    private String deadLetterTopic = "topic-alerts-dlt";
+
+    /**
+     * Number of times rejected alert triggers are resent before being dead-lettered.
+     */
+    private int sendRetries = 3;
+
+    /**
+     * First backoff between alert resends; it doubles with every retry.
+     */
+    private Duration sendRetryBackoff = Duration.ofMillis(200);
+
+    /**
+     * Compacted topic of rule changes published by the rules service. Every
+     * processor instance reads all of it from the beginning.
+     */
+    private String rulesTopic = "topic-rules";
+
+    /**
+     * Consumer group of processor instances. Partitions of the prices topic
+     * are spread over the group, so instances scale out by adding partitions.
+     */
+    private String groupId = "crypto-alerting-processor";
+
+    /**
+     * Consumer {@code auto.offset.reset} for a group without committed offsets.
+     */
+    private String autoOffsetReset = "latest";
+
+    /**
+     * Consumer {@code max.poll.records}: upper bound of one received batch.
+     */
+    private int maxPollRecords = 1000;
+
+    /**
+     * Number of partitions processed in parallel; zero means one per core.
+     */
+    private int concurrency = 0;
+
+    /**
+     * Interval at which acknowledged offsets are committed.
+     */
+    private Duration commitInterval = Duration.ofSeconds(1);
+
+    /**
+     * Number of acknowledged records that triggers a commit before the interval elapses.
+     */
+    private int commitBatchSize = 5000;
+
+    /**
+     * Alert producer {@code acks}. Alerts are user-visible, so wait for all replicas.
+     */
+    private String acks = "all";
+
+    /**
+     * Alert producer {@code linger.ms}.
+     */
+    private int lingerMs = 1;
+}
@@ -0,0 +1,166 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.PriceEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates price events against the alert rules of their ticker.
+ * Each event is compared with the previous price of the same ticker and every
+ * rule whose threshold lies between the two fires, so rules are edge
+ * triggered: they fire once per crossing, not on every tick beyond the
+ * threshold. The first price seen for a ticker only sets the baseline.
+ * Percentage-move and volatility rules are evaluated in constant time per
+ * event from incremental window statistics, see {@link MoveEvaluator}.
+ * <p>
+ * Events of one ticker must be evaluated in order, one at a time; different
+ * tickers may be evaluated concurrently. Before events of a ticker are
+ * evaluated again, after a redelivery or a move to another consumer, its
+ * state must be {@linkplain #reset reset} so they are not compared with a
+ * later price.
+ */
+@Service
+@Slf4j
+public final class AlertEngine {
+
+    // Dependencies
+    private final RuleBook ruleBook;
+
+    // Constants
+    private static final String METRIC_EVALUATED = "processor.prices.evaluated";
+    private static final String METRIC_TRIGGERED = "processor.alerts.triggered";
+
+    // Last evaluated price per ticker
+    private final Map<String, LastPrice> lastPrices = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final Counter evaluated;
+    private final Counter triggered;
+
+    /**
+     * Creates the engine and registers its metrics.
+     *
+     * @param ruleBook      the rules to evaluate
+     * @param meterRegistry the meter registry
+     */
+    public AlertEngine(final RuleBook ruleBook, final MeterRegistry meterRegistry) {
+        this.ruleBook = ruleBook;
+        this.evaluated = Counter.builder(METRIC_EVALUATED)
+                .description("Price events evaluated against alert rules")
+                .register(meterRegistry);
+        this.triggered = Counter.builder(METRIC_TRIGGERED)
+                .description("Alert rules fired by a price event")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Evaluates a price event.
+     *
+     * @param event the price event
+     * @return triggers of the rules crossed since the ticker's previous price, possibly empty
+     */
+    public List<AlertTrigger> evaluate(final PriceEvent event) {
+        if (event == null || event.getTicker() == null || event.getPrice() == null) {
+            log.warn("Skipping incomplete price event: {}", event);
+            return List.of();
+        }
+        evaluated.increment();
+
+        final LastPrice last = lastPrices.computeIfAbsent(event.getTicker(), ticker -> new LastPrice());
+        final double previous = last.price;
+        final double current = event.getPrice();
+
+        final List<AlertTrigger> triggers = new ArrayList<>(0);
+        if (!Double.isNaN(previous)) {
+            ruleBook.indexOf(event.getTicker()).crossed(previous, current,
+                    rule -> triggers.add(toTrigger(rule, event)));
+        }
+        final MoveRuleSet moveRules = ruleBook.moveRulesOf(event.getTicker());
+        if (moveRules.size() > 0 && current > 0.0) {
+            final long time = event.getTimestamp() != null ? event.getTimestamp() : System.currentTimeMillis();
+            last.moves.evaluate(moveRules, time, current,
+                    (rule, value) -> triggers.add(toMoveTrigger(rule, value, event)));
+        }
+        // Written last so the next evaluation, possibly on another thread, sees the evaluator's state
+        last.price = current;
+        if (!triggers.isEmpty()) {
+            triggered.increment(triggers.size());
+            log.debug("{} moved {} -> {}, fired {} rules", event.getTicker(), previous, current, triggers.size());
+        }
+        return triggers;
+    }
+
+    /**
+     * Drops the previous price and move statistics of tickers, so their next
+     * price only sets the baseline again.
+     *
+     * @param tickers the tickers to reset
+     */
+    public void reset(final Collection<String> tickers) {
+        lastPrices.keySet().removeAll(tickers);
+    }
+
+    /**
+     * Drops the previous price and move statistics of every ticker.
+     */
+    public void resetAll() {
+        lastPrices.clear();
+    }
+
+    /**
+     * Creates the trigger of a crossed rule.
+     *
+     * @param rule  the crossed rule
+     * @param event the price event that crossed it
+     * @return the alert trigger
+     */
+    private static AlertTrigger toTrigger(final AlertRule rule, final PriceEvent event) {
+        final String message = rule.getTicker() + " crossed " + rule.getDirection().name().toLowerCase(Locale.ROOT)
+                + " " + rule.getThreshold() + " at " + event.getPrice();
+        return new AlertTrigger(rule.getUserId(), message, rule.getTicker(), event.getPrice(), event.getTimestamp());
+    }
+
+    /**
+     * Creates the trigger of a fired percentage-move or volatility rule.
+     *
+     * @param rule  the fired rule
+     * @param value the measured move or volatility, in percent
+     * @param event the price event that fired it
+     * @return the alert trigger
+     */
+    private static AlertTrigger toMoveTrigger(final AlertRule rule, final double value, final PriceEvent event) {
+        final String message;
+        if (rule.getType() == AlertRule.Type.VOLATILITY) {
+            message = String.format(Locale.ROOT, "%s volatility %.2f%% is %s %s%% over %d ms at %s",
+                    rule.getTicker(), value, rule.getDirection() == AlertRule.Direction.ABOVE ? "above" : "below",
+                    rule.getThreshold(), rule.getWindowMillis(), event.getPrice());
+        } else {
+            message = String.format(Locale.ROOT, "%s %s %.2f%% within %d ms at %s",
+                    rule.getTicker(), rule.getDirection() == AlertRule.Direction.ABOVE ? "rose" : "fell",
+                    value, rule.getWindowMillis(), event.getPrice());
+        }
+        return new AlertTrigger(rule.getUserId(), message, rule.getTicker(), event.getPrice(), event.getTimestamp());
+    }
+
+    /**
+     * Last price and move statistics of one ticker. Written by the single
+     * evaluator of the ticker; the price is volatile because that evaluator
+     * may move between threads, and it is written after the statistics so
+     * reading it first also makes them visible.
+     */
+    private static final class LastPrice {
+        private volatile double price = Double.NaN;
+        private final MoveEvaluator moves = new MoveEvaluator();
+    }
+}
@@ -0,0 +1,93 @@
+package com.crypto.alerting.processor.engine;
+
+/**
+ * Sliding-window extreme of a price series: a deque of (time, price) pairs
+ * kept monotonic, so the window's minimum (or maximum) is always at the head.
+ * A push drops every tail entry it dominates and eviction drops expired head
+ * entries, so each price is added and removed at most once: O(1) amortized
+ * per tick, with no allocation once the ring has grown to the window's
+ * working size.
+ * <p>
+ * Not thread-safe.
+ */
+final class MonotonicDeque {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean maximum;
+
+    // Ring of entries from head (oldest) to tail
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    /**
+     * Creates a deque tracking the window minimum or maximum.
+     *
+     * @param maximum true to track the maximum, false for the minimum
+     */
+    MonotonicDeque(final boolean maximum) {
+        this.maximum = maximum;
+    }
+
+    /**
+     * Adds a price observed at the given time.
+     *
+     * @param time  observation time, not earlier than the previous one
+     * @param price the price
+     */
+    void push(final long time, final double price) {
+        while (size > 0 && dominates(price, prices[slot(size - 1)])) {
+            size--;
+        }
+        if (size == times.length) {
+            grow();
+        }
+        final int tail = slot(size);
+        times[tail] = time;
+        prices[tail] = price;
+        size++;
+    }
+
+    /**
+     * Drops entries observed before the given time.
+     *
+     * @param cutoff earliest time still inside the window
+     */
+    void evictBefore(final long cutoff) {
+        while (size > 0 && times[head] < cutoff) {
+            head = slot(1);
+            size--;
+        }
+    }
+
+    /**
+     * Returns the window extreme.
+     *
+     * @return the minimum or maximum, or {@link Double#NaN} if the window is empty
+     */
+    double peek() {
+        return size == 0 ? Double.NaN : prices[head];
+    }
+
+    private boolean dominates(final double price, final double tail) {
+        return maximum ? price >= tail : price <= tail;
+    }
+
+    private int slot(final int offset) {
+        return (head + offset) & (times.length - 1);
+    }
+
+    private void grow() {
+        final long[] grownTimes = new long[times.length * 2];
+        final double[] grownPrices = new double[prices.length * 2];
+        for (int i = 0; i < size; i++) {
+            grownTimes[i] = times[slot(i)];
+            grownPrices[i] = prices[slot(i)];
+        }
+        times = grownTimes;
+        prices = grownPrices;
+        head = 0;
+    }
+}
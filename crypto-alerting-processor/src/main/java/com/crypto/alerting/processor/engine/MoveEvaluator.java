@@ -0,0 +1,124 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+
+/**
+ * Evaluates the percentage-move and volatility rules of one ticker on each
+ * tick. Keeps one {@link WindowStats} per distinct window length and, per
+ * rule, whether its condition held on the previous tick, so a rule fires once
+ * when its condition starts to hold rather than on every tick while it does.
+ * A rule's first measurement only sets that state, mirroring the baseline of
+ * price rules.
+ * <p>
+ * When the ticker's rules change, statistics of window lengths still in use
+ * and the state of unchanged rules carry over. Not thread-safe; callers
+ * evaluate a ticker one tick at a time.
+ */
+final class MoveEvaluator {
+
+    /**
+     * Receives the rules that fire.
+     */
+    @FunctionalInterface
+    interface FiredSink {
+
+        /**
+         * Accepts a fired rule.
+         *
+         * @param rule  the rule
+         * @param value the measured move or volatility, in percent
+         */
+        void fired(AlertRule rule, double value);
+    }
+
+    private static final byte UNKNOWN = 0;
+    private static final byte INACTIVE = 1;
+    private static final byte ACTIVE = 2;
+
+    private MoveRuleSet rules = MoveRuleSet.EMPTY;
+    private WindowStats[] stats = new WindowStats[0];
+    private byte[] states = new byte[0];
+
+    /**
+     * Adds a tick and reports the rules whose condition started to hold.
+     *
+     * @param current the ticker's current rules
+     * @param time    tick time, epoch milliseconds
+     * @param price   tick price
+     * @param sink    receives each fired rule
+     * @return number of fired rules
+     */
+    int evaluate(final MoveRuleSet current, final long time, final double price, final FiredSink sink) {
+        if (current != rules) {
+            rebind(current);
+        }
+        for (final WindowStats windowStats : stats) {
+            windowStats.update(time, price);
+        }
+
+        int fired = 0;
+        for (int i = 0; i < states.length; i++) {
+            final AlertRule rule = rules.rule(i);
+            final double value = measure(rule, stats[rules.windowOf(i)]);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            final byte state = holds(rule, value) ? ACTIVE : INACTIVE;
+            if (state == ACTIVE && states[i] == INACTIVE) {
+                sink.fired(rule, value);
+                fired++;
+            }
+            states[i] = state;
+        }
+        return fired;
+    }
+
+    private void rebind(final MoveRuleSet current) {
+        final WindowStats[] reboundStats = new WindowStats[current.windowCount()];
+        for (int w = 0; w < reboundStats.length; w++) {
+            reboundStats[w] = statsFor(current.window(w));
+        }
+        final byte[] reboundStates = new byte[current.size()];
+        for (int i = 0; i < reboundStates.length; i++) {
+            reboundStates[i] = stateOf(current.rule(i));
+        }
+        rules = current;
+        stats = reboundStats;
+        states = reboundStates;
+    }
+
+    private WindowStats statsFor(final long windowMillis) {
+        for (final WindowStats existing : stats) {
+            if (existing.windowMillis() == windowMillis) {
+                return existing;
+            }
+        }
+        return new WindowStats(windowMillis);
+    }
+
+    private byte stateOf(final AlertRule rule) {
+        // Rule objects are replaced on every change, so identity means unchanged
+        for (int i = 0; i < states.length; i++) {
+            if (rules.rule(i) == rule) {
+                return states[i];
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static double measure(final AlertRule rule, final WindowStats windowStats) {
+        if (rule.getType() == AlertRule.Type.VOLATILITY) {
+            return windowStats.volatility();
+        }
+        return rule.getDirection() == AlertRule.Direction.ABOVE
+                ? windowStats.percentRise()
+                : windowStats.percentFall();
+    }
+
+    private static boolean holds(final AlertRule rule, final double value) {
+        if (rule.getType() == AlertRule.Type.VOLATILITY && rule.getDirection() == AlertRule.Direction.BELOW) {
+            return value <= rule.getThreshold();
+        }
+        return value >= rule.getThreshold();
+    }
+}
@@ -0,0 +1,99 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable set of the percentage-move and volatility rules of one ticker,
+ * with the distinct window lengths they use. Rules sharing a window length
+ * share its statistics, so the per-tick cost grows with the number of
+ * distinct windows plus one comparison per rule.
+ * <p>
+ * Changes produce a new set through {@link #merge}.
+ */
+public final class MoveRuleSet {
+
+    /**
+     * Set without rules.
+     */
+    public static final MoveRuleSet EMPTY = new MoveRuleSet(new AlertRule[0], new int[0], new long[0]);
+
+    private final AlertRule[] rules;
+
+    // Index into windows of each rule's window length
+    private final int[] windowOf;
+
+    // Distinct window lengths, ascending
+    private final long[] windows;
+
+    private MoveRuleSet(final AlertRule[] rules, final int[] windowOf, final long[] windows) {
+        this.rules = rules;
+        this.windowOf = windowOf;
+        this.windows = windows;
+    }
+
+    /**
+     * Returns the number of rules.
+     *
+     * @return rule count
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Returns a new set with a batch of changes applied.
+     *
+     * @param upserts rules to add; each replaces any rule with the same id
+     * @param removed ids of rules to remove
+     * @return the updated set
+     */
+    public MoveRuleSet merge(final Collection<AlertRule> upserts, final Set<String> removed) {
+        if (upserts.isEmpty() && (removed.isEmpty() || rules.length == 0)) {
+            return this;
+        }
+        final Set<String> dropped = new HashSet<>(removed);
+        for (final AlertRule rule : upserts) {
+            dropped.add(rule.getRuleId());
+        }
+        final List<AlertRule> merged = new ArrayList<>(rules.length + upserts.size());
+        for (final AlertRule rule : rules) {
+            if (!dropped.contains(rule.getRuleId())) {
+                merged.add(rule);
+            }
+        }
+        merged.addAll(upserts);
+        if (merged.isEmpty()) {
+            return EMPTY;
+        }
+
+        final long[] distinct = merged.stream().mapToLong(AlertRule::getWindowMillis).distinct().sorted().toArray();
+        final int[] mergedWindowOf = new int[merged.size()];
+        for (int i = 0; i < mergedWindowOf.length; i++) {
+            mergedWindowOf[i] = Arrays.binarySearch(distinct, merged.get(i).getWindowMillis());
+        }
+        return new MoveRuleSet(merged.toArray(new AlertRule[0]), mergedWindowOf, distinct);
+    }
+
+    AlertRule rule(final int index) {
+        return rules[index];
+    }
+
+    int windowOf(final int index) {
+        return windowOf[index];
+    }
+
+    int windowCount() {
+        return windows.length;
+    }
+
+    long window(final int index) {
+        return windows[index];
+    }
+}
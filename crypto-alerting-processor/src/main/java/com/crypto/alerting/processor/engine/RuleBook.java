@@ -0,0 +1,131 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All alert rules known to this processor: price rules as one
+ * {@link ThresholdIndex} per ticker, percentage-move and volatility rules as
+ * one {@link MoveRuleSet} per ticker. Evaluation reads the current rules of a
+ * ticker without locking; changes are applied in batches under a lock and
+ * publish new rules for every ticker they touch.
+ */
+@Component
+@Slf4j
+public final class RuleBook {
+
+    // Current index per ticker
+    private final Map<String, ThresholdIndex> indexes = new ConcurrentHashMap<>();
+
+    // Current move rules per ticker
+    private final Map<String, MoveRuleSet> moveRules = new ConcurrentHashMap<>();
+
+    // Guarded by this: where each rule is indexed, to move or remove it
+    private final Map<String, AlertRule> rulesById = new HashMap<>();
+
+    /**
+     * Returns the current index of a ticker.
+     *
+     * @param ticker the ticker symbol
+     * @return the ticker's rules, or {@link ThresholdIndex#EMPTY}
+     */
+    public ThresholdIndex indexOf(final String ticker) {
+        return indexes.getOrDefault(ticker, ThresholdIndex.EMPTY);
+    }
+
+    /**
+     * Returns the current percentage-move and volatility rules of a ticker.
+     *
+     * @param ticker the ticker symbol
+     * @return the ticker's rules, or {@link MoveRuleSet#EMPTY}
+     */
+    public MoveRuleSet moveRulesOf(final String ticker) {
+        return moveRules.getOrDefault(ticker, MoveRuleSet.EMPTY);
+    }
+
+    /**
+     * Returns the number of rules.
+     *
+     * @return rule count
+     */
+    public synchronized int size() {
+        return rulesById.size();
+    }
+
+    /**
+     * Applies a batch of rule changes. Invalid rules are skipped and logged.
+     *
+     * @param changes rule id mapped to the new rule, or to null to remove the rule
+     * @return number of changes applied
+     */
+    public synchronized int apply(final Map<String, AlertRule> changes) {
+        final Map<String, Map<String, AlertRule>> additions = new HashMap<>();
+        final Map<String, Map<String, AlertRule>> moveAdditions = new HashMap<>();
+        final Map<String, Set<String>> removals = new HashMap<>();
+
+        int applied = 0;
+        for (final Map.Entry<String, AlertRule> change : changes.entrySet()) {
+            final String ruleId = change.getKey();
+            final AlertRule rule = change.getValue();
+            if (rule != null && !isValid(ruleId, rule)) {
+                log.warn("Skipping invalid alert rule {}: {}", ruleId, rule);
+                continue;
+            }
+
+            final AlertRule previous = rule != null ? rulesById.put(ruleId, rule) : rulesById.remove(ruleId);
+            if (previous != null) {
+                removals.computeIfAbsent(previous.getTicker(), ticker -> new HashSet<>()).add(ruleId);
+            }
+            if (rule != null) {
+                (isPrice(rule) ? additions : moveAdditions)
+                        .computeIfAbsent(rule.getTicker(), ticker -> new LinkedHashMap<>()).put(ruleId, rule);
+            }
+            applied++;
+        }
+
+        final Set<String> touched = new HashSet<>(additions.keySet());
+        touched.addAll(moveAdditions.keySet());
+        touched.addAll(removals.keySet());
+        for (final String ticker : touched) {
+            final Set<String> removed = removals.getOrDefault(ticker, Set.of());
+            final ThresholdIndex updated = indexOf(ticker).merge(
+                    additions.getOrDefault(ticker, Map.of()).values(), removed);
+            if (updated.size() == 0) {
+                indexes.remove(ticker);
+            } else {
+                indexes.put(ticker, updated);
+            }
+            final MoveRuleSet updatedMoves = moveRulesOf(ticker).merge(
+                    moveAdditions.getOrDefault(ticker, Map.of()).values(), removed);
+            if (updatedMoves.size() == 0) {
+                moveRules.remove(ticker);
+            } else {
+                moveRules.put(ticker, updatedMoves);
+            }
+        }
+        log.debug("Applied {} rule changes across {} tickers", applied, touched.size());
+        return applied;
+    }
+
+    private static boolean isValid(final String ruleId, final AlertRule rule) {
+        return ruleId.equals(rule.getRuleId())
+                && rule.getUserId() != null
+                && rule.getTicker() != null
+                && rule.getDirection() != null
+                && rule.getThreshold() != null
+                && Double.isFinite(rule.getThreshold())
+                && (isPrice(rule) || rule.getWindowMillis() != null && rule.getWindowMillis() > 0);
+    }
+
+    private static boolean isPrice(final AlertRule rule) {
+        return rule.getType() == null || rule.getType() == AlertRule.Type.PRICE;
+    }
+}
@@ -0,0 +1,197 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable price-level index of the alert rules of one ticker.
+ * Thresholds are kept in sorted primitive arrays, one per direction, so the
+ * rules crossed by a move from one price to the next are found with two
+ * binary searches and a scan of just the matches, O(log n + k), whatever the
+ * number of rules on the ticker.
+ * <p>
+ * Changes produce a new index through {@link #merge}, which merges a batch of
+ * changes in one linear pass rather than inserting rules one by one.
+ */
+public final class ThresholdIndex {
+
+    /**
+     * Index without rules.
+     */
+    public static final ThresholdIndex EMPTY = new ThresholdIndex(Side.EMPTY, Side.EMPTY);
+
+    private static final Comparator<AlertRule> BY_THRESHOLD = Comparator.comparingDouble(AlertRule::getThreshold);
+
+    // Fire on upward crossings
+    private final Side above;
+
+    // Fire on downward crossings
+    private final Side below;
+
+    private ThresholdIndex(final Side above, final Side below) {
+        this.above = above;
+        this.below = below;
+    }
+
+    /**
+     * Returns the number of indexed rules.
+     *
+     * @return rule count
+     */
+    public int size() {
+        return above.size() + below.size();
+    }
+
+    /**
+     * Reports every rule crossed by a price move. {@code ABOVE} rules fire
+     * when {@code previous < threshold <= current}; {@code BELOW} rules fire
+     * when {@code current <= threshold < previous}.
+     *
+     * @param previous the previous price
+     * @param current  the current price
+     * @param sink     receives each crossed rule, in threshold order
+     * @return number of crossed rules
+     */
+    public int crossed(final double previous, final double current, final Consumer<AlertRule> sink) {
+        if (current > previous) {
+            return above.emit(above.upperBound(previous), above.upperBound(current), sink);
+        }
+        if (current < previous) {
+            return below.emit(below.lowerBound(current), below.lowerBound(previous), sink);
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a new index with a batch of changes applied.
+     *
+     * @param upserts rules to add; each replaces any indexed rule with the same id
+     * @param removed ids of rules to remove
+     * @return the updated index
+     */
+    public ThresholdIndex merge(final Collection<AlertRule> upserts, final Set<String> removed) {
+        final List<AlertRule> addAbove = new ArrayList<>();
+        final List<AlertRule> addBelow = new ArrayList<>();
+        for (final AlertRule rule : upserts) {
+            (rule.getDirection() == AlertRule.Direction.ABOVE ? addAbove : addBelow).add(rule);
+        }
+        addAbove.sort(BY_THRESHOLD);
+        addBelow.sort(BY_THRESHOLD);
+        return new ThresholdIndex(above.merge(addAbove, removed), below.merge(addBelow, removed));
+    }
+
+    /**
+     * Rules of one direction sorted by threshold, in parallel arrays.
+     */
+    private static final class Side {
+
+        static final Side EMPTY = new Side(new double[0], new AlertRule[0]);
+
+        private final double[] thresholds;
+        private final AlertRule[] rules;
+
+        Side(final double[] thresholds, final AlertRule[] rules) {
+            this.thresholds = thresholds;
+            this.rules = rules;
+        }
+
+        int size() {
+            return rules.length;
+        }
+
+        int emit(final int from, final int to, final Consumer<AlertRule> sink) {
+            for (int i = from; i < to; i++) {
+                sink.accept(rules[i]);
+            }
+            return Math.max(0, to - from);
+        }
+
+        /**
+         * Returns the index of the first threshold {@code >= price}.
+         */
+        int lowerBound(final double price) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (thresholds[mid] < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first threshold {@code > price}.
+         */
+        int upperBound(final double price) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (thresholds[mid] <= price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Merges sorted additions into this side, dropping removed rules and
+         * rules replaced by an addition with the same id.
+         */
+        Side merge(final List<AlertRule> additions, final Set<String> removed) {
+            if (additions.isEmpty() && (removed.isEmpty() || rules.length == 0)) {
+                return this;
+            }
+
+            final Set<String> dropped = additions.isEmpty() ? removed : withIds(removed, additions);
+            final double[] mergedThresholds = new double[rules.length + additions.size()];
+            final AlertRule[] mergedRules = new AlertRule[mergedThresholds.length];
+
+            int size = 0;
+            int existing = 0;
+            int added = 0;
+            while (existing < rules.length || added < additions.size()) {
+                final boolean takeExisting = added == additions.size()
+                        || existing < rules.length && thresholds[existing] <= additions.get(added).getThreshold();
+                if (takeExisting) {
+                    final AlertRule rule = rules[existing++];
+                    if (dropped.contains(rule.getRuleId())) {
+                        continue;
+                    }
+                    mergedThresholds[size] = rule.getThreshold();
+                    mergedRules[size++] = rule;
+                } else {
+                    final AlertRule rule = additions.get(added++);
+                    mergedThresholds[size] = rule.getThreshold();
+                    mergedRules[size++] = rule;
+                }
+            }
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new Side(Arrays.copyOf(mergedThresholds, size), Arrays.copyOf(mergedRules, size));
+        }
+
+        private static Set<String> withIds(final Set<String> removed, final List<AlertRule> additions) {
+            final Set<String> ids = new HashSet<>(removed);
+            for (final AlertRule rule : additions) {
+                ids.add(rule.getRuleId());
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.crypto.alerting.processor.engine;
+
+/**
+ * Incremental statistics of one ticker over one window length, updated in
+ * constant time per tick without keeping or rescanning the tick history:
+ * <ul>
+ *   <li>the window's low and high, from two {@link MonotonicDeque}s;</li>
+ *   <li>the exponentially weighted mean and variance of tick returns, with
+ *       the window length as the time constant, so ticks decay by elapsed
+ *       time rather than by count and bursts do not flush the average.</li>
+ * </ul>
+ * Not thread-safe.
+ */
+final class WindowStats {
+
+    private final long windowMillis;
+    private final MonotonicDeque lows = new MonotonicDeque(false);
+    private final MonotonicDeque highs = new MonotonicDeque(true);
+
+    private boolean started;
+    private long firstTime;
+    private long lastTime;
+    private double lastPrice;
+    private double returnMean;
+    private double returnVariance;
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param windowMillis the window length in milliseconds
+     */
+    WindowStats(final long windowMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be positive");
+        }
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Returns the window length.
+     *
+     * @return window length in milliseconds
+     */
+    long windowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Adds a tick. A tick older than the previous one is treated as
+     * simultaneous with it.
+     *
+     * @param time  tick time, epoch milliseconds
+     * @param price tick price, positive
+     */
+    void update(final long time, final double price) {
+        if (!started) {
+            started = true;
+            firstTime = time;
+            lastTime = time;
+            lastPrice = price;
+        } else {
+            final long now = Math.max(time, lastTime);
+            // Simultaneous ticks still carry a little weight instead of none
+            final long elapsed = Math.max(1L, now - lastTime);
+            final double alpha = -Math.expm1(-(double) elapsed / windowMillis);
+            final double tickReturn = price / lastPrice - 1.0;
+            final double deviation = tickReturn - returnMean;
+            final double increment = alpha * deviation;
+            returnMean += increment;
+            returnVariance = (1.0 - alpha) * (returnVariance + deviation * increment);
+            lastTime = now;
+            lastPrice = price;
+        }
+        lows.push(lastTime, price);
+        highs.push(lastTime, price);
+        final long cutoff = lastTime - windowMillis;
+        lows.evictBefore(cutoff);
+        highs.evictBefore(cutoff);
+    }
+
+    /**
+     * Returns the rise of the last price above the window's low.
+     *
+     * @return rise in percent, or {@link Double#NaN} before the first tick
+     */
+    double percentRise() {
+        final double low = lows.peek();
+        return started ? (lastPrice - low) / low * 100.0 : Double.NaN;
+    }
+
+    /**
+     * Returns the fall of the last price below the window's high.
+     *
+     * @return fall in percent, or {@link Double#NaN} before the first tick
+     */
+    double percentFall() {
+        final double high = highs.peek();
+        return started ? (high - lastPrice) / high * 100.0 : Double.NaN;
+    }
+
+    /**
+     * Returns the exponentially weighted standard deviation of tick returns.
+     *
+     * @return volatility in percent, or {@link Double#NaN} until a full window
+     *         of ticks has been seen
+     */
+    double volatility() {
+        return started && lastTime - firstTime >= windowMillis ? Math.sqrt(returnVariance) * 100.0 : Double.NaN;
+    }
+}
@@ -0,0 +1,138 @@
+package com.crypto.alerting.processor.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.processor.config.ProcessorKafkaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service responsible for publishing alert triggers to Kafka.
+ * Triggers are keyed by user id so all alerts of a user land on one
+ * partition and are delivered in order.
+ * <p>
+ * Triggers the broker rejects are resent with backoff. The alert engine is
+ * edge-triggered, so a redelivered price would not fire them again; triggers
+ * still rejected after the last retry therefore go to the dead-letter topic,
+ * and only when that fails too does the returned Mono fail, leaving the
+ * partition's offset unacknowledged.
+ */
+@Service
+@Slf4j
+public final class AlertPublisher {
+
+    // Dependencies
+    private final KafkaSender<String, AlertTrigger> alertSender;
+    private final ProcessorKafkaProperties processorKafkaProperties;
+
+    // Constants
+    private static final String METRIC_PUBLISHED = "processor.alerts.published";
+    private static final String METRIC_SEND_ERRORS = "processor.alerts.send.errors";
+    private static final String METRIC_DEAD_LETTERED = "processor.alerts.dead.lettered";
+
+    // Metrics
+    private final Counter published;
+    private final Counter sendErrors;
+    private final Counter deadLettered;
+
+    /**
+     * Creates the publisher and registers its metrics.
+     *
+     * @param alertSender              the reactive Kafka sender
+     * @param processorKafkaProperties the topic configuration
+     * @param meterRegistry            the meter registry
+     */
+    public AlertPublisher(final KafkaSender<String, AlertTrigger> alertSender,
+            final ProcessorKafkaProperties processorKafkaProperties, final MeterRegistry meterRegistry) {
+        this.alertSender = alertSender;
+        this.processorKafkaProperties = processorKafkaProperties;
+        this.published = Counter.builder(METRIC_PUBLISHED)
+                .description("Alert triggers acknowledged by the broker")
+                .register(meterRegistry);
+        this.sendErrors = Counter.builder(METRIC_SEND_ERRORS)
+                .description("Alert trigger sends the broker failed to acknowledge, retries included")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder(METRIC_DEAD_LETTERED)
+                .description("Alert triggers sent to the dead-letter topic after exhausting retries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes a batch of alert triggers. Rejected triggers are resent up to
+     * {@code sendRetries} times, then dead-lettered.
+     *
+     * @param triggers the triggers to publish
+     * @return Mono completing once every trigger was acknowledged on the alerts
+     *         or the dead-letter topic, failing if neither accepted one of them
+     */
+    public Mono<Void> publish(final List<AlertTrigger> triggers) {
+        if (triggers.isEmpty()) {
+            return Mono.empty();
+        }
+        final AtomicReference<List<AlertTrigger>> pending = new AtomicReference<>(triggers);
+        return Mono.defer(() -> send(processorKafkaProperties.getAlertsTopic(), pending.get()))
+                .flatMap(failed -> {
+                    published.increment(pending.get().size() - failed.size());
+                    pending.set(failed);
+                    return failed.isEmpty()
+                            ? Mono.<Void>empty()
+                            : Mono.<Void>error(new IllegalStateException(
+                                    failed.size() + " alert triggers were rejected"));
+                })
+                .retryWhen(Retry.backoff(processorKafkaProperties.getSendRetries(),
+                                processorKafkaProperties.getSendRetryBackoff())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorResume(e -> deadLetter(pending.get()));
+    }
+
+    /**
+     * Sends triggers that exhausted their retries to the dead-letter topic.
+     *
+     * @param triggers the triggers still unacknowledged
+     * @return Mono completing once all were dead-lettered, failing otherwise
+     */
+    private Mono<Void> deadLetter(final List<AlertTrigger> triggers) {
+        log.warn("Dead-lettering {} alert triggers after {} retries", triggers.size(),
+                processorKafkaProperties.getSendRetries());
+        return send(processorKafkaProperties.getDeadLetterTopic(), triggers)
+                .flatMap(failed -> {
+                    deadLettered.increment(triggers.size() - failed.size());
+                    return failed.isEmpty()
+                            ? Mono.<Void>empty()
+                            : Mono.<Void>error(new IllegalStateException(
+                                    failed.size() + " alert triggers could not be dead-lettered"));
+                });
+    }
+
+    /**
+     * Sends triggers to a topic, keyed by user id.
+     *
+     * @param topic    the destination topic
+     * @param triggers the triggers to send
+     * @return Mono of the triggers the broker rejected, in send order
+     */
+    private Mono<List<AlertTrigger>> send(final String topic, final List<AlertTrigger> triggers) {
+        return alertSender.send(Flux.fromIterable(triggers)
+                        .map(trigger -> SenderRecord.create(
+                                new ProducerRecord<>(topic, trigger.getUserId(), trigger), trigger)))
+                .filter(result -> result.exception() != null)
+                .doOnNext(result -> {
+                    sendErrors.increment();
+                    log.error("Failed to send alert trigger {} to {}", result.correlationMetadata(), topic,
+                            result.exception());
+                })
+                .map(SenderResult::correlationMetadata)
+                .collectList();
+    }
+}
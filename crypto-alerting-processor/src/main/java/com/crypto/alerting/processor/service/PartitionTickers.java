@@ -0,0 +1,72 @@
+package com.crypto.alerting.processor.service;
+
+import com.crypto.alerting.processor.engine.AlertEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which tickers each price partition carried, so the alert
+ * engine's state of those tickers can be reset whenever the partition's
+ * records may be read again: when the partition is assigned or revoked, and
+ * when consumption resumes from the last committed offsets. Without the
+ * reset, replayed prices would be compared with the newest price already
+ * evaluated and fire crossings that never happened.
+ */
+@Service
+@Slf4j
+public final class PartitionTickers {
+
+    // Dependencies
+    private final AlertEngine alertEngine;
+
+    // Tickers seen per partition
+    private final Map<TopicPartition, Set<String>> tickers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the tracker.
+     *
+     * @param alertEngine the engine whose ticker state is reset
+     */
+    public PartitionTickers(final AlertEngine alertEngine) {
+        this.alertEngine = alertEngine;
+    }
+
+    /**
+     * Records that a partition carried a ticker.
+     *
+     * @param partition the partition
+     * @param ticker    the ticker
+     */
+    public void record(final TopicPartition partition, final String ticker) {
+        tickers.computeIfAbsent(partition, tp -> ConcurrentHashMap.newKeySet()).add(ticker);
+    }
+
+    /**
+     * Resets the engine state of every ticker the partitions carried.
+     *
+     * @param partitions the assigned or revoked partitions
+     */
+    public void reset(final Collection<TopicPartition> partitions) {
+        for (final TopicPartition partition : partitions) {
+            final Set<String> carried = tickers.remove(partition);
+            if (carried != null) {
+                alertEngine.reset(carried);
+                log.info("Reset {} tickers of {}", carried.size(), partition);
+            }
+        }
+    }
+
+    /**
+     * Resets the engine state of every ticker.
+     */
+    public void resetAll() {
+        tickers.clear();
+        alertEngine.resetAll();
+    }
+}
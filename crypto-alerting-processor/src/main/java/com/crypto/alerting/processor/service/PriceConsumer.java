@@ -0,0 +1,196 @@
+package com.crypto.alerting.processor.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.processor.config.ProcessorKafkaProperties;
+import com.crypto.alerting.processor.engine.AlertEngine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes raw price events and evaluates them against the alert rules.
+ * Records arrive in poll-sized batches; each batch is split by partition and
+ * the partitions are processed in parallel, each in offset order on one
+ * worker. The ingestion service keys records by ticker, so every ticker's
+ * prices stay in order. Once a partition's alerts are published its last
+ * offset is acknowledged, and acknowledged offsets are committed in batches
+ * by the receiver. A failed partition leaves its offset unacknowledged and
+ * the pipeline resubscribes from the last commit, resetting the engine's
+ * ticker state first so the replayed prices are evaluated afresh.
+ */
+@Service
+@Slf4j
+public final class PriceConsumer {
+
+    // Dependencies
+    private final KafkaReceiver<String, PriceEvent> priceReceiver;
+    private final AlertEngine alertEngine;
+    private final AlertPublisher alertPublisher;
+    private final PartitionTickers partitionTickers;
+    private final MeterRegistry meterRegistry;
+
+    // Constants
+    private static final String METRIC_BATCH_PROCESSING = "processor.batch.processing";
+    private static final String METRIC_BATCH_SIZE = "processor.batch.size";
+    private static final String METRIC_EVENT_AGE = "processor.event.age";
+    private static final String TAG_PARTITION = "partition";
+    private static final Duration RETRY_MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    // Partition workers
+    private final Scheduler workers;
+
+    // Per-partition metrics, created on first assignment
+    private final Map<TopicPartition, Timer> processingTimers = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+    private final Timer eventAge;
+
+    private volatile Disposable subscription;
+
+    /**
+     * Creates the consumer and registers its metrics.
+     *
+     * @param priceReceiver            the reactive Kafka receiver of raw prices
+     * @param alertEngine              the rule evaluation engine
+     * @param alertPublisher           the alert publisher
+     * @param partitionTickers         the tickers seen per partition
+     * @param processorKafkaProperties the consumer configuration
+     * @param meterRegistry            the meter registry
+     */
+    public PriceConsumer(final KafkaReceiver<String, PriceEvent> priceReceiver, final AlertEngine alertEngine,
+            final AlertPublisher alertPublisher, final PartitionTickers partitionTickers,
+            final ProcessorKafkaProperties processorKafkaProperties, final MeterRegistry meterRegistry) {
+        this.priceReceiver = priceReceiver;
+        this.alertEngine = alertEngine;
+        this.alertPublisher = alertPublisher;
+        this.partitionTickers = partitionTickers;
+        this.meterRegistry = meterRegistry;
+        final int concurrency = processorKafkaProperties.getConcurrency() > 0
+                ? processorKafkaProperties.getConcurrency()
+                : Runtime.getRuntime().availableProcessors();
+        this.workers = Schedulers.newParallel("price-partition", concurrency);
+        this.eventAge = Timer.builder(METRIC_EVENT_AGE)
+                .description("Time from exchange trade to rule evaluation")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts consuming. The pipeline resubscribes with backoff if the
+     * receiver fails.
+     */
+    @PostConstruct
+    public void start() {
+        subscription = consume()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RETRY_MIN_BACKOFF)
+                        .maxBackoff(RETRY_MAX_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Price consumer failed, resubscribing (attempt {})",
+                                signal.totalRetries() + 1, signal.failure())))
+                .subscribe();
+    }
+
+    /**
+     * Stops consuming and releases the partition workers.
+     */
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        workers.dispose();
+    }
+
+    /**
+     * Builds the consuming pipeline: one poll batch at a time, partitions of a
+     * batch in parallel. Each subscription resumes from the last committed
+     * offsets, so it starts by resetting every ticker.
+     *
+     * @return Flux completing when the receiver completes
+     */
+    Flux<Void> consume() {
+        return Flux.defer(() -> {
+            partitionTickers.resetAll();
+            return priceReceiver.receiveBatch();
+        })
+                .concatMap(batch -> batch
+                        .groupBy(record -> record.receiverOffset().topicPartition())
+                        // Every group must be subscribed for groupBy to progress; workers bound the parallelism
+                        .flatMap(partition -> partition.collectList()
+                                .publishOn(workers)
+                                .flatMap(records -> processPartition(partition.key(), records)))
+                        .then());
+    }
+
+    /**
+     * Evaluates one partition's share of a batch in offset order, publishes
+     * the resulting alerts and acknowledges the last record.
+     *
+     * @param partition the partition
+     * @param records   the partition's records, in offset order
+     * @return Mono completing when the records are acknowledged
+     */
+    private Mono<Void> processPartition(final TopicPartition partition,
+            final List<ReceiverRecord<String, PriceEvent>> records) {
+        final long start = System.nanoTime();
+        final List<AlertTrigger> triggers = new ArrayList<>();
+        for (final ReceiverRecord<String, PriceEvent> record : records) {
+            final PriceEvent event = record.value();
+            if (event == null) {
+                log.warn("Skipping undecodable record at {}@{}", partition, record.offset());
+                continue;
+            }
+            if (event.getTicker() != null) {
+                partitionTickers.record(partition, event.getTicker());
+            }
+            triggers.addAll(alertEngine.evaluate(event));
+            if (event.getTimestamp() != null) {
+                eventAge.record(Math.max(0L, System.currentTimeMillis() - event.getTimestamp()),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        return alertPublisher.publish(triggers)
+                .doOnSuccess(ignored -> {
+                    records.get(records.size() - 1).receiverOffset().acknowledge();
+                    processingTimer(partition).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    batchSize(partition).record(records.size());
+                });
+    }
+
+    private Timer processingTimer(final TopicPartition partition) {
+        return processingTimers.computeIfAbsent(partition, tp -> Timer.builder(METRIC_BATCH_PROCESSING)
+                .description("Time to evaluate and publish one partition's share of a poll batch")
+                .tag(TAG_PARTITION, tp.toString())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary batchSize(final TopicPartition partition) {
+        return batchSizes.computeIfAbsent(partition, tp -> DistributionSummary.builder(METRIC_BATCH_SIZE)
+                .description("Records per partition per poll batch")
+                .tag(TAG_PARTITION, tp.toString())
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,108 @@
+package com.crypto.alerting.processor.service;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.processor.engine.RuleBook;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@link RuleBook} in sync with the compacted rules topic written
+ * by the rules service. The topic is read from the beginning on startup and
+ * followed afterwards; each poll batch is applied to the rule book as one
+ * change batch, with tombstones removing rules.
+ */
+@Service
+@Slf4j
+public final class RuleFeedConsumer {
+
+    // Dependencies
+    private final KafkaReceiver<String, AlertRule> ruleReceiver;
+    private final RuleBook ruleBook;
+
+    // Constants
+    private static final Duration RETRY_MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private volatile Disposable subscription;
+
+    /**
+     * Creates the consumer.
+     *
+     * @param ruleReceiver the reactive Kafka receiver of rule changes
+     * @param ruleBook     the rule book to maintain
+     */
+    public RuleFeedConsumer(final KafkaReceiver<String, AlertRule> ruleReceiver, final RuleBook ruleBook) {
+        this.ruleReceiver = ruleReceiver;
+        this.ruleBook = ruleBook;
+    }
+
+    /**
+     * Starts following the rules topic.
+     */
+    @PostConstruct
+    public void start() {
+        subscription = consume()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RETRY_MIN_BACKOFF)
+                        .maxBackoff(RETRY_MAX_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Rule feed failed, resubscribing (attempt {})",
+                                signal.totalRetries() + 1, signal.failure())))
+                .subscribe();
+    }
+
+    /**
+     * Stops following the rules topic.
+     */
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Builds the pipeline applying one poll batch at a time.
+     *
+     * @return Flux of the number of changes applied per batch
+     */
+    Flux<Integer> consume() {
+        return ruleReceiver.receiveBatch()
+                .concatMap(batch -> batch.collectList().map(this::apply));
+    }
+
+    /**
+     * Applies one batch of rule changes, the last change of each rule winning.
+     *
+     * @param records the batch
+     * @return number of changes applied
+     */
+    private int apply(final List<ReceiverRecord<String, AlertRule>> records) {
+        final Map<String, AlertRule> changes = new LinkedHashMap<>();
+        for (final ReceiverRecord<String, AlertRule> record : records) {
+            if (record.key() == null
+                    || record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                log.warn("Skipping malformed rule record at {}-{}@{}", record.topic(), record.partition(),
+                        record.offset());
+                continue;
+            }
+            changes.remove(record.key());
+            changes.put(record.key(), record.value());
+        }
+        final int applied = ruleBook.apply(changes);
+        log.debug("Applied {} rule changes, {} rules loaded", applied, ruleBook.size());
+        return applied;
+    }
+}
@@ -0,0 +1,139 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.PriceEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertEngineTest {
+
+    private RuleBook ruleBook;
+
+    private AlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ruleBook = new RuleBook();
+        engine = new AlertEngine(ruleBook, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void evaluate_shouldFireOncePerCrossingAfterBaseline() {
+        // Arrange
+        ruleBook.apply(Map.of("r1", new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 50000.0)));
+
+        // Act & Assert
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 51000.0, 1L))).isEmpty();
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 49000.0, 2L))).isEmpty();
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 50000.0, 3L)))
+                .singleElement()
+                .satisfies(trigger -> {
+                    assertThat(trigger.getUserId()).isEqualTo("alice");
+                    assertThat(trigger.getTicker()).isEqualTo("BTCUSDT");
+                    assertThat(trigger.getTriggeredPrice()).isEqualTo(50000.0);
+                    assertThat(trigger.getTimestamp()).isEqualTo(3L);
+                });
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 52000.0, 4L))).isEmpty();
+    }
+
+    @Test
+    void apply_shouldMoveAndRemoveRulesAcrossTickers() {
+        // Arrange
+        ruleBook.apply(Map.of("r1", new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.BELOW, 100.0)));
+        final Map<String, AlertRule> changes = new HashMap<>();
+        changes.put("r1", new AlertRule("r1", "alice", "ETHUSDT", AlertRule.Direction.BELOW, 100.0));
+        changes.put("r2", new AlertRule("r2", "bob", "ETHUSDT", AlertRule.Direction.BELOW, 90.0));
+        ruleBook.apply(changes);
+
+        // Act
+        final Map<String, AlertRule> removal = new HashMap<>();
+        removal.put("r2", null);
+        ruleBook.apply(removal);
+
+        // Assert
+        assertThat(ruleBook.size()).isEqualTo(1);
+        assertThat(ruleBook.indexOf("BTCUSDT").size()).isZero();
+        engine.evaluate(new PriceEvent("ETHUSDT", 120.0, 1L));
+        assertThat(engine.evaluate(new PriceEvent("ETHUSDT", 80.0, 2L)))
+                .extracting(AlertTrigger::getUserId)
+                .containsExactly("alice");
+    }
+
+    @Test
+    void evaluate_shouldFirePercentMoveOncePerExcursionWithinWindow() {
+        // Arrange
+        ruleBook.apply(Map.of("m1", new AlertRule("m1", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 5.0,
+                AlertRule.Type.PERCENT_MOVE, 60_000L)));
+
+        // Act & Assert
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 100.0, 0L))).isEmpty();
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 103.0, 10_000L))).isEmpty();
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 106.0, 20_000L)))
+                .singleElement()
+                .satisfies(trigger -> assertThat(trigger.getMessage())
+                        .isEqualTo("BTCUSDT rose 6.00% within 60000 ms at 106.0"));
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 107.0, 30_000L))).isEmpty();
+        // The low of 100 leaves the window, so the rise resets before it can fire again
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 107.0, 90_000L))).isEmpty();
+        assertThat(engine.evaluate(new PriceEvent("BTCUSDT", 113.0, 100_000L))).hasSize(1);
+    }
+
+    @Test
+    void evaluate_shouldFireVolatilityOnlyAfterWarmUp() {
+        // Arrange
+        ruleBook.apply(Map.of("v1", new AlertRule("v1", "bob", "ETHUSDT", AlertRule.Direction.ABOVE, 1.0,
+                AlertRule.Type.VOLATILITY, 10_000L)));
+
+        // Act
+        final List<AlertTrigger> triggers = new ArrayList<>();
+        engine.evaluate(new PriceEvent("ETHUSDT", 100.0, 0L));
+        for (int i = 1; i <= 10; i++) {
+            triggers.addAll(engine.evaluate(new PriceEvent("ETHUSDT", 100.0, i * 1_000L)));
+        }
+        for (int i = 11; i <= 30; i++) {
+            final double price = i % 2 == 0 ? 100.0 : 105.0;
+            triggers.addAll(engine.evaluate(new PriceEvent("ETHUSDT", price, i * 1_000L)));
+        }
+
+        // Assert
+        assertThat(triggers)
+                .singleElement()
+                .satisfies(trigger -> assertThat(trigger.getMessage()).startsWith("ETHUSDT volatility"));
+    }
+
+    @Test
+    void apply_shouldMoveRuleBetweenPriceAndMoveTypes() {
+        // Arrange
+        ruleBook.apply(Map.of("r1", new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 5.0)));
+
+        // Act
+        ruleBook.apply(Map.of("r1", new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 5.0,
+                AlertRule.Type.PERCENT_MOVE, 1_000L)));
+
+        // Assert
+        assertThat(ruleBook.size()).isEqualTo(1);
+        assertThat(ruleBook.indexOf("BTCUSDT").size()).isZero();
+        assertThat(ruleBook.moveRulesOf("BTCUSDT").size()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_shouldSkipInvalidRules() {
+        final int applied = ruleBook.apply(Map.of(
+                "r1", new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, Double.NaN),
+                "r2", new AlertRule("other", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 1.0),
+                "r3", new AlertRule("r3", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 1.0,
+                        AlertRule.Type.VOLATILITY, null)));
+
+        assertThat(applied).isZero();
+        assertThat(ruleBook.size()).isZero();
+    }
+}
@@ -0,0 +1,59 @@
+package com.crypto.alerting.processor.engine;
+
+import com.crypto.alerting.commons.AlertRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThresholdIndexTest {
+
+    @Test
+    void crossed_shouldReportAboveRulesBetweenPreviousExclusiveAndCurrentInclusive() {
+        final ThresholdIndex index = ThresholdIndex.EMPTY.merge(List.of(
+                above("a", 100.0), above("b", 105.0), above("c", 110.0), below("d", 104.0)), Set.of());
+
+        assertThat(crossed(index, 100.0, 105.0)).containsExactly("b");
+        assertThat(crossed(index, 99.0, 120.0)).containsExactly("a", "b", "c");
+        assertThat(crossed(index, 105.0, 105.0)).isEmpty();
+    }
+
+    @Test
+    void crossed_shouldReportBelowRulesBetweenCurrentInclusiveAndPreviousExclusive() {
+        final ThresholdIndex index = ThresholdIndex.EMPTY.merge(List.of(
+                below("a", 100.0), below("b", 105.0), below("c", 110.0), above("d", 104.0)), Set.of());
+
+        assertThat(crossed(index, 110.0, 100.0)).containsExactly("a", "b");
+        assertThat(crossed(index, 111.0, 90.0)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void merge_shouldReplaceRulesWithSameIdAndDropRemovedOnes() {
+        final ThresholdIndex initial = ThresholdIndex.EMPTY.merge(List.of(
+                above("a", 100.0), above("b", 200.0), above("c", 300.0)), Set.of());
+
+        final ThresholdIndex updated = initial.merge(List.of(above("a", 250.0), below("d", 50.0)), Set.of("c"));
+
+        assertThat(updated.size()).isEqualTo(3);
+        assertThat(crossed(updated, 0.0, 1000.0)).containsExactly("b", "a");
+        assertThat(crossed(updated, 60.0, 40.0)).containsExactly("d");
+        assertThat(initial.size()).isEqualTo(3);
+    }
+
+    private static List<String> crossed(final ThresholdIndex index, final double previous, final double current) {
+        final List<String> ids = new ArrayList<>();
+        index.crossed(previous, current, rule -> ids.add(rule.getRuleId()));
+        return ids;
+    }
+
+    private static AlertRule above(final String id, final double threshold) {
+        return new AlertRule(id, "user-" + id, "BTCUSDT", AlertRule.Direction.ABOVE, threshold);
+    }
+
+    private static AlertRule below(final String id, final double threshold) {
+        return new AlertRule(id, "user-" + id, "BTCUSDT", AlertRule.Direction.BELOW, threshold);
+    }
+}
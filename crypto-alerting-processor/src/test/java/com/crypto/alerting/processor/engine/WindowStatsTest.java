@@ -0,0 +1,44 @@
+package com.crypto.alerting.processor.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WindowStatsTest {
+
+    @Test
+    void update_shouldTrackWindowLowAndHighAsTicksExpire() {
+        // Arrange
+        final WindowStats stats = new WindowStats(1_000L);
+
+        // Act & Assert
+        stats.update(0L, 100.0);
+        stats.update(200L, 120.0);
+        stats.update(400L, 90.0);
+        stats.update(600L, 110.0);
+        assertThat(stats.percentRise()).isCloseTo(22.222, within(0.001));
+        assertThat(stats.percentFall()).isCloseTo(8.333, within(0.001));
+
+        // 120 and 90 expire; only 110 and 105 remain
+        stats.update(1_500L, 105.0);
+        assertThat(stats.percentRise()).isCloseTo(0.0, within(1e-9));
+        assertThat(stats.percentFall()).isCloseTo(4.545, within(0.001));
+    }
+
+    @Test
+    void volatility_shouldWaitForFullWindow() {
+        // Arrange
+        final WindowStats stats = new WindowStats(1_000L);
+
+        // Act
+        stats.update(0L, 100.0);
+        stats.update(500L, 101.0);
+        final double warmingUp = stats.volatility();
+        stats.update(1_000L, 100.0);
+
+        // Assert
+        assertThat(warmingUp).isNaN();
+        assertThat(stats.volatility()).isPositive();
+    }
+}
@@ -0,0 +1,123 @@
+package com.crypto.alerting.processor.service;
+
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.processor.config.ProcessorKafkaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertPublisherTest {
+
+    private static final String ALERTS_TOPIC = "topic-alerts";
+    private static final String DEAD_LETTER_TOPIC = "topic-alerts-dlt";
+
+    @Mock
+    private KafkaSender<String, AlertTrigger> alertSender;
+
+    private final List<String> sent = new ArrayList<>();
+    private BiPredicate<String, AlertTrigger> rejects = (topic, trigger) -> false;
+    private SimpleMeterRegistry meterRegistry;
+    private AlertPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        final ProcessorKafkaProperties properties = new ProcessorKafkaProperties();
+        properties.setSendRetries(2);
+        properties.setSendRetryBackoff(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new AlertPublisher(alertSender, properties, meterRegistry);
+        when(alertSender.send(any())).thenAnswer(invocation -> {
+            final Publisher<SenderRecord<String, AlertTrigger, AlertTrigger>> records = invocation.getArgument(0);
+            return Flux.from(records).map(record -> {
+                sent.add(record.topic() + ":" + record.key());
+                return result(record.correlationMetadata(),
+                        rejects.test(record.topic(), record.value()) ? new IllegalStateException("rejected") : null);
+            });
+        });
+    }
+
+    @Test
+    void publish_shouldResendOnlyRejectedTriggers() {
+        // Arrange
+        final int[] bobSends = {0};
+        rejects = (topic, trigger) -> trigger.getUserId().equals("bob") && ++bobSends[0] == 1;
+
+        // Act
+        StepVerifier.create(publisher.publish(List.of(trigger("alice"), trigger("bob")))).verifyComplete();
+
+        // Assert
+        assertThat(sent).containsExactly("topic-alerts:alice", "topic-alerts:bob", "topic-alerts:bob");
+        assertThat(meterRegistry.counter("processor.alerts.published").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("processor.alerts.send.errors").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("processor.alerts.dead.lettered").count()).isZero();
+    }
+
+    @Test
+    void publish_shouldDeadLetterTriggersRejectedAfterRetries() {
+        // Arrange
+        rejects = (topic, trigger) -> topic.equals(ALERTS_TOPIC) && trigger.getUserId().equals("bob");
+
+        // Act
+        StepVerifier.create(publisher.publish(List.of(trigger("alice"), trigger("bob")))).verifyComplete();
+
+        // Assert
+        assertThat(sent).containsExactly("topic-alerts:alice", "topic-alerts:bob", "topic-alerts:bob",
+                "topic-alerts:bob", DEAD_LETTER_TOPIC + ":bob");
+        assertThat(meterRegistry.counter("processor.alerts.published").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("processor.alerts.dead.lettered").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publish_shouldFailWhenDeadLetteringFails() {
+        // Arrange
+        rejects = (topic, trigger) -> true;
+
+        // Act & Assert
+        StepVerifier.create(publisher.publish(List.of(trigger("alice")))).verifyError(IllegalStateException.class);
+        assertThat(sent).endsWith(DEAD_LETTER_TOPIC + ":alice");
+        assertThat(meterRegistry.counter("processor.alerts.dead.lettered").count()).isZero();
+    }
+
+    private static AlertTrigger trigger(final String userId) {
+        return new AlertTrigger(userId, "BTCUSDT crossed 100.0", "BTCUSDT", 100.0, 1L);
+    }
+
+    private static SenderResult<AlertTrigger> result(final AlertTrigger trigger, final Exception exception) {
+        return new SenderResult<>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return null;
+            }
+
+            @Override
+            public Exception exception() {
+                return exception;
+            }
+
+            @Override
+            public AlertTrigger correlationMetadata() {
+                return trigger;
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.crypto.alerting.processor.service;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.commons.AlertTrigger;
+import com.crypto.alerting.commons.PriceEvent;
+import com.crypto.alerting.processor.config.ProcessorKafkaProperties;
+import com.crypto.alerting.processor.engine.AlertEngine;
+import com.crypto.alerting.processor.engine.RuleBook;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceConsumerTest {
+
+    private static final TopicPartition BTC_PARTITION = new TopicPartition("topic-raw-prices", 0);
+    private static final TopicPartition ETH_PARTITION = new TopicPartition("topic-raw-prices", 1);
+
+    @Mock
+    private KafkaReceiver<String, PriceEvent> priceReceiver;
+
+    @Mock
+    private AlertPublisher alertPublisher;
+
+    private PriceConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        final RuleBook ruleBook = new RuleBook();
+        ruleBook.apply(Map.of(
+                "r1", new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.ABOVE, 100.0),
+                "r2", new AlertRule("r2", "bob", "ETHUSDT", AlertRule.Direction.BELOW, 10.0),
+                "r3", new AlertRule("r3", "carol", "BTCUSDT", AlertRule.Direction.BELOW, 95.0)));
+        final ProcessorKafkaProperties properties = new ProcessorKafkaProperties();
+        properties.setConcurrency(2);
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final AlertEngine alertEngine = new AlertEngine(ruleBook, meterRegistry);
+        consumer = new PriceConsumer(priceReceiver, alertEngine, alertPublisher, new PartitionTickers(alertEngine),
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.stop();
+    }
+
+    @Test
+    void consume_shouldEvaluatePartitionsInOrderAndAcknowledgeLastOffsetAfterPublishing() {
+        // Arrange
+        final ReceiverOffset btcFirst = offset(BTC_PARTITION);
+        final ReceiverOffset btcLast = offset(BTC_PARTITION);
+        final ReceiverOffset ethFirst = offset(ETH_PARTITION);
+        final ReceiverOffset ethLast = offset(ETH_PARTITION);
+        final Flux<ReceiverRecord<String, PriceEvent>> batch = Flux.just(
+                record(btcFirst, 0, new PriceEvent("BTCUSDT", 90.0, 1L)),
+                record(ethFirst, 0, new PriceEvent("ETHUSDT", 12.0, 1L)),
+                record(btcLast, 1, new PriceEvent("BTCUSDT", 110.0, 2L)),
+                record(ethLast, 1, new PriceEvent("ETHUSDT", 11.0, 2L)));
+        when(priceReceiver.receiveBatch()).thenReturn(Flux.just(batch));
+        when(alertPublisher.publish(any())).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(consumer.consume()).verifyComplete();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<AlertTrigger>> published = ArgumentCaptor.forClass(List.class);
+        verify(alertPublisher, times(2)).publish(published.capture());
+        assertThat(published.getAllValues())
+                .flatExtracting(triggers -> triggers)
+                .extracting(AlertTrigger::getUserId)
+                .containsExactly("alice");
+        verify(btcLast).acknowledge();
+        verify(ethLast).acknowledge();
+        verify(btcFirst, never()).acknowledge();
+        verify(ethFirst, never()).acknowledge();
+    }
+
+    @Test
+    void consume_shouldNotAcknowledgeWhenPublishingFails() {
+        // Arrange
+        final ReceiverOffset btc = offset(BTC_PARTITION);
+        when(priceReceiver.receiveBatch())
+                .thenReturn(Flux.just(Flux.just(record(btc, 0, new PriceEvent("BTCUSDT", 90.0, 1L)))));
+        when(alertPublisher.publish(any())).thenReturn(Mono.error(new IllegalStateException("broker down")));
+
+        // Act & Assert
+        StepVerifier.create(consumer.consume()).verifyError(IllegalStateException.class);
+        verify(btc, never()).acknowledge();
+    }
+
+    @Test
+    void consume_shouldNotFireExtraTriggersWhenBatchIsRedelivered() {
+        // Arrange
+        final ReceiverOffset btcFirst = offset(BTC_PARTITION);
+        final ReceiverOffset btcLast = offset(BTC_PARTITION);
+        final Flux<ReceiverRecord<String, PriceEvent>> batch = Flux.just(
+                record(btcFirst, 0, new PriceEvent("BTCUSDT", 90.0, 1L)),
+                record(btcLast, 1, new PriceEvent("BTCUSDT", 110.0, 2L)));
+        when(priceReceiver.receiveBatch()).thenReturn(Flux.just(batch));
+        when(alertPublisher.publish(any()))
+                .thenReturn(Mono.error(new IllegalStateException("broker down")), Mono.empty());
+        StepVerifier.create(consumer.consume()).verifyError(IllegalStateException.class);
+
+        // Act
+        StepVerifier.create(consumer.consume()).verifyComplete();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<AlertTrigger>> published = ArgumentCaptor.forClass(List.class);
+        verify(alertPublisher, times(2)).publish(published.capture());
+        assertThat(published.getAllValues().get(1))
+                .extracting(AlertTrigger::getUserId)
+                .containsExactly("alice");
+        verify(btcLast).acknowledge();
+    }
+
+    private static ReceiverOffset offset(final TopicPartition partition) {
+        final ReceiverOffset offset = mock(ReceiverOffset.class);
+        when(offset.topicPartition()).thenReturn(partition);
+        return offset;
+    }
+
+    private static ReceiverRecord<String, PriceEvent> record(final ReceiverOffset offset, final long position,
+            final PriceEvent event) {
+        final TopicPartition partition = offset.topicPartition();
+        return new ReceiverRecord<>(new ConsumerRecord<>(partition.topic(), partition.partition(), position,
+                event.getTicker(), event), offset);
+    }
+}
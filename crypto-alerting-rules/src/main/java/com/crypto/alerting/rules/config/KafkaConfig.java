@@ -0,0 +1,40 @@
+package com.crypto.alerting.rules.config;
+
+import com.crypto.alerting.commons.AlertRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.MicrometerProducerListener;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@RequiredArgsConstructor
+public class KafkaConfig {
+
+    private final RulesProperties rulesProperties;
+
+    @Bean
+    public KafkaSender<String, AlertRule> ruleSender(final MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, rulesProperties.getBootstrapServers());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        // Per-record failures are reported in SenderResult so the pipeline keeps running
+        SenderOptions<String, AlertRule> senderOptions = SenderOptions.<String, AlertRule>create(props)
+                .stopOnError(false)
+                .producerListener(new MicrometerProducerListener(meterRegistry));
+        return KafkaSender.create(senderOptions);
+    }
+}
@@ -0,0 +1,55 @@
+package com.crypto.alerting.rules.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for rule storage and change publishing.
+ */
+@Data
+@ConfigurationProperties(prefix = "rules")
+public class RulesProperties {
+
+    /**
+     * Append-only rule change log, replayed on startup.
+     */
+    private Path logPath = Path.of("data", "rules.log");
+
+    /**
+     * Whether each committed batch is forced to disk before it is acknowledged.
+     */
+    private boolean fsync = true;
+
+    /**
+     * Maximum number of changes written as one group commit.
+     */
+    private int batchSize = 1024;
+
+    /**
+     * Maximum time a change waits for its group commit to fill.
+     */
+    private Duration batchDelay = Duration.ofMillis(5);
+
+    /**
+     * The log is compacted once it holds this many times more records than live rules.
+     */
+    private double compactionRatio = 2.0;
+
+    /**
+     * Minimum log records before compaction is considered.
+     */
+    private long compactionMinRecords = 100_000;
+
+    /**
+     * Kafka bootstrap servers.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Compacted topic receiving rule changes, keyed by rule id; deletions are tombstones.
+     */
+    private String topic = "topic-rules";
+}
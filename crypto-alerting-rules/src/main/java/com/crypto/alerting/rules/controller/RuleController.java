@@ -0,0 +1,150 @@
+package com.crypto.alerting.rules.controller;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.rules.service.RuleService;
+import com.crypto.alerting.rules.store.RuleStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * REST controller for managing alert rules.
+ * Reads are served from memory; writes complete once the change is durable
+ * in the rule log.
+ */
+@RestController
+@RequestMapping("/api/rules")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public final class RuleController {
+
+    private final RuleService ruleService;
+    private final RuleStore ruleStore;
+
+    private static final int MAX_ID_LENGTH = 256;
+
+    /**
+     * Creates a rule. An id is generated unless the request carries one.
+     *
+     * @param rule the rule to create
+     * @return the created rule
+     */
+    @PostMapping
+    public Mono<ResponseEntity<AlertRule>> createRule(@RequestBody final AlertRule rule) {
+        final String ruleId = rule.getRuleId() != null ? rule.getRuleId() : UUID.randomUUID().toString();
+        return ruleService.save(validate(ruleId, rule))
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved));
+    }
+
+    /**
+     * Creates or replaces a rule.
+     *
+     * @param ruleId the rule id
+     * @param rule   the rule
+     * @return the stored rule
+     */
+    @PutMapping("/{ruleId}")
+    public Mono<AlertRule> putRule(@PathVariable final String ruleId, @RequestBody final AlertRule rule) {
+        return ruleService.save(validate(ruleId, rule));
+    }
+
+    /**
+     * Returns a rule.
+     *
+     * @param ruleId the rule id
+     * @return the rule, or 404
+     */
+    @GetMapping("/{ruleId}")
+    public ResponseEntity<AlertRule> getRule(@PathVariable final String ruleId) {
+        return ResponseEntity.of(ruleStore.get(ruleId));
+    }
+
+    /**
+     * Lists the rules of a user or of a ticker.
+     *
+     * @param userId the user whose rules to list
+     * @param ticker the ticker whose rules to list
+     * @return the matching rules
+     */
+    @GetMapping
+    public List<AlertRule> listRules(@RequestParam(required = false) final String userId,
+            @RequestParam(required = false) final String ticker) {
+        if (userId != null) {
+            return ruleStore.rulesOfUser(userId);
+        }
+        if (ticker != null) {
+            return List.copyOf(ruleStore.rulesFor(ticker.toUpperCase(Locale.ROOT)).rules());
+        }
+        throw new IllegalArgumentException("Either userId or ticker is required");
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @param ruleId the rule id
+     * @return 204 once removed, or 404
+     */
+    @DeleteMapping("/{ruleId}")
+    public Mono<ResponseEntity<Void>> deleteRule(@PathVariable final String ruleId) {
+        return ruleService.delete(ruleId)
+                .map(existed -> existed
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    /**
+     * Validates a rule and normalizes its ticker to upper case.
+     *
+     * @param ruleId the rule id
+     * @param rule   the requested rule
+     * @return the rule to store
+     * @throws IllegalArgumentException if the rule is incomplete or malformed
+     */
+    private static AlertRule validate(final String ruleId, final AlertRule rule) {
+        requireId("ruleId", ruleId);
+        requireId("userId", rule.getUserId());
+        requireId("ticker", rule.getTicker());
+        if (rule.getDirection() == null) {
+            throw new IllegalArgumentException("direction is required (ABOVE or BELOW)");
+        }
+        if (rule.getThreshold() == null || !Double.isFinite(rule.getThreshold()) || rule.getThreshold() <= 0) {
+            throw new IllegalArgumentException("threshold must be a positive number");
+        }
+        final AlertRule.Type type = rule.getType() != null ? rule.getType() : AlertRule.Type.PRICE;
+        final Long windowMillis = type == AlertRule.Type.PRICE ? null : rule.getWindowMillis();
+        if (type != AlertRule.Type.PRICE && (windowMillis == null || windowMillis <= 0)) {
+            throw new IllegalArgumentException("windowMillis must be a positive number for " + type + " rules");
+        }
+        if (rule.getRuleId() != null && !rule.getRuleId().equals(ruleId)) {
+            throw new IllegalArgumentException("ruleId in body does not match path");
+        }
+        return new AlertRule(ruleId, rule.getUserId(), rule.getTicker().toUpperCase(Locale.ROOT),
+                rule.getDirection(), rule.getThreshold(), type, windowMillis);
+    }
+
+    private static void requireId(final String name, final String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        if (value.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException(name + " must be at most " + MAX_ID_LENGTH + " characters");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.crypto.alerting.rules.service;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.rules.config.RulesProperties;
+import com.crypto.alerting.rules.store.RuleChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.util.List;
+
+/**
+ * Publishes committed rule changes to the compacted rules topic, keyed by
+ * rule id, with a tombstone for each removal. Processors rebuild their rule
+ * indexes from that topic. Changes feed one long-lived sender pipeline, so
+ * they reach the topic in commit order.
+ */
+@Service
+@Slf4j
+public final class RulePublisher {
+
+    // Dependencies
+    private final KafkaSender<String, AlertRule> ruleSender;
+    private final RulesProperties rulesProperties;
+
+    // Constants
+    private static final String METRIC_SEND_ERRORS = "rules.kafka.send.errors";
+
+    // Committed changes waiting to be sent, in commit order
+    private final Sinks.Many<SenderRecord<String, AlertRule, String>> records =
+            Sinks.many().unicast().onBackpressureBuffer();
+
+    // Metrics
+    private final Counter sendErrors;
+
+    /**
+     * Creates the publisher and registers its metrics.
+     *
+     * @param ruleSender      the reactive Kafka sender
+     * @param rulesProperties the topic configuration
+     * @param meterRegistry   the meter registry
+     */
+    public RulePublisher(final KafkaSender<String, AlertRule> ruleSender, final RulesProperties rulesProperties,
+            final MeterRegistry meterRegistry) {
+        this.ruleSender = ruleSender;
+        this.rulesProperties = rulesProperties;
+        this.sendErrors = Counter.builder(METRIC_SEND_ERRORS)
+                .description("Rule changes the broker failed to acknowledge")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the long-lived publishing pipeline.
+     */
+    @PostConstruct
+    public void start() {
+        ruleSender.send(records.asFlux())
+                .subscribe(result -> {
+                    if (result.exception() != null) {
+                        sendErrors.increment();
+                        log.error("Failed to publish change of rule {}", result.correlationMetadata(),
+                                result.exception());
+                    }
+                }, error -> log.error("Rule publishing pipeline terminated", error));
+    }
+
+    /**
+     * Completes the pipeline so queued changes are flushed before the sender
+     * is closed.
+     */
+    @PreDestroy
+    public void stop() {
+        records.tryEmitComplete();
+    }
+
+    /**
+     * Queues a batch of committed rule changes for publishing. Must be called
+     * from the single rule writer.
+     *
+     * @param changes the committed changes, in commit order
+     */
+    public void publish(final List<RuleChange> changes) {
+        final String topic = rulesProperties.getTopic();
+        for (final RuleChange change : changes) {
+            final Sinks.EmitResult result = records.tryEmitNext(SenderRecord.create(
+                    new ProducerRecord<>(topic, change.ruleId(), change.rule()), change.ruleId()));
+            if (result.isFailure()) {
+                sendErrors.increment();
+                log.error("Failed to queue change of rule {} for publishing: {}", change.ruleId(), result);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.crypto.alerting.rules.service;
+
+import com.crypto.alerting.commons.AlertRule;
+import com.crypto.alerting.rules.config.RulesProperties;
+import com.crypto.alerting.rules.store.RuleChange;
+import com.crypto.alerting.rules.store.RuleLog;
+import com.crypto.alerting.rules.store.RuleStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service owning every change to the alert rules.
+ * Changes are queued and committed in groups by a single writer: each group
+ * is appended to the {@link RuleLog} with one write and one fsync, applied to
+ * the in-memory {@link RuleStore}, acknowledged to the callers and published
+ * to the rules topic. The log is compacted by the same writer once it has
+ * grown well past the number of live rules. On startup the log is replayed
+ * into the store before any request is served.
+ */
+@Service
+@Slf4j
+public final class RuleService {
+
+    // Dependencies
+    private final RuleStore ruleStore;
+    private final RulePublisher rulePublisher;
+    private final RulesProperties rulesProperties;
+
+    // Constants
+    private static final String METRIC_COMMIT = "rules.commit";
+    private static final String METRIC_RULES = "rules.count";
+    private static final String METRIC_LOG_RECORDS = "rules.log.records";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    // Changes waiting for their group commit
+    private final Sinks.Many<PendingChange> pending = Sinks.many().unicast().onBackpressureBuffer();
+    private final Scheduler writer = Schedulers.newSingle("rule-writer");
+
+    // Metrics
+    private final Timer commitTimer;
+
+    private RuleLog ruleLog;
+    private Disposable subscription;
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param ruleStore       the in-memory rule store
+     * @param rulePublisher   the rules topic publisher
+     * @param rulesProperties the storage configuration
+     * @param meterRegistry   the meter registry
+     */
+    public RuleService(final RuleStore ruleStore, final RulePublisher rulePublisher,
+            final RulesProperties rulesProperties, final MeterRegistry meterRegistry) {
+        this.ruleStore = ruleStore;
+        this.rulePublisher = rulePublisher;
+        this.rulesProperties = rulesProperties;
+        this.commitTimer = Timer.builder(METRIC_COMMIT)
+                .description("Time to log, fsync and apply one group of rule changes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_RULES, ruleStore, RuleStore::size)
+                .description("Live alert rules")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_LOG_RECORDS, this, service -> service.ruleLog != null ? service.ruleLog.records() : 0)
+                .description("Records in the rule log, including superseded changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays the rule log into the store and starts the writer.
+     *
+     * @throws IOException if the log cannot be opened or read
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        final long startNanos = System.nanoTime();
+        ruleLog = new RuleLog(rulesProperties.getLogPath(), rulesProperties.isFsync());
+        final Map<String, AlertRule> rules = ruleLog.replay();
+        ruleStore.load(rules.values());
+        log.info("Replayed {} log records into {} rules in {} ms", ruleLog.records(), rules.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        subscription = pending.asFlux()
+                .bufferTimeout(rulesProperties.getBatchSize(), rulesProperties.getBatchDelay(), writer)
+                .publishOn(writer)
+                .subscribe(this::commit, error -> log.error("Rule writer terminated", error));
+    }
+
+    /**
+     * Stops the writer, letting a running commit finish, and closes the log.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        pending.tryEmitComplete();
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        writer.disposeGracefully()
+                .timeout(SHUTDOWN_TIMEOUT)
+                .onErrorResume(e -> {
+                    log.warn("Rule writer did not stop within {}", SHUTDOWN_TIMEOUT);
+                    return Mono.empty();
+                })
+                .block();
+        if (ruleLog != null) {
+            ruleLog.close();
+        }
+    }
+
+    /**
+     * Creates or replaces a rule.
+     *
+     * @param rule the rule, with its id set
+     * @return Mono of the rule, completing once the change is durable
+     */
+    public Mono<AlertRule> save(final AlertRule rule) {
+        return submit(RuleChange.put(rule)).thenReturn(rule);
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @param ruleId the rule id
+     * @return Mono of whether the rule existed, completing once the removal is durable
+     */
+    public Mono<Boolean> delete(final String ruleId) {
+        if (ruleStore.get(ruleId).isEmpty()) {
+            return Mono.just(false);
+        }
+        return submit(RuleChange.delete(ruleId)).thenReturn(true);
+    }
+
+    private Mono<Void> submit(final RuleChange change) {
+        return Mono.create(sink -> {
+            final PendingChange entry = new PendingChange(change, sink);
+            Sinks.EmitResult result;
+            // The sink rejects concurrent emitters instead of blocking them; requests race only briefly
+            while ((result = pending.tryEmitNext(entry)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+                Thread.onSpinWait();
+            }
+            if (result.isFailure()) {
+                sink.error(new IllegalStateException("Rule writer is not accepting changes: " + result));
+            }
+        });
+    }
+
+    /**
+     * Commits one group of changes. Runs on the writer thread only.
+     *
+     * @param batch the group of changes
+     */
+    private void commit(final List<PendingChange> batch) {
+        final long startNanos = System.nanoTime();
+        final List<RuleChange> changes = new ArrayList<>(batch.size());
+        batch.forEach(entry -> changes.add(entry.change()));
+
+        try {
+            ruleLog.append(changes);
+        } catch (final IOException | RuntimeException e) {
+            log.error("Failed to append {} rule changes", changes.size(), e);
+            final Throwable failure = e instanceof IOException io ? new UncheckedIOException(io) : e;
+            batch.forEach(entry -> entry.sink().error(failure));
+            return;
+        }
+
+        ruleStore.apply(changes);
+        commitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batch.forEach(entry -> entry.sink().success());
+        rulePublisher.publish(changes);
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() {
+        final long records = ruleLog.records();
+        if (records < rulesProperties.getCompactionMinRecords()
+                || records < rulesProperties.getCompactionRatio() * ruleStore.size()) {
+            return;
+        }
+        try {
+            ruleLog.compact(List.copyOf(ruleStore.all()));
+        } catch (final IOException e) {
+            log.error("Rule log compaction failed, will retry after the next commit", e);
+        }
+    }
+
+    /**
+     * A queued change and the caller waiting for it.
+     */
+    private record PendingChange(RuleChange change, MonoSink<Void> sink) {
+    }
+}
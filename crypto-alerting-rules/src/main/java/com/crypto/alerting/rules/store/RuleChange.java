@@ -0,0 +1,41 @@
+package com.crypto.alerting.rules.store;
+
+import com.crypto.alerting.commons.AlertRule;
+
+/**
+ * One change to the rule set: a rule created or replaced, or a rule removed.
+ *
+ * @param ruleId the id of the changed rule
+ * @param rule   the new rule, or null if the rule was removed
+ */
+public record RuleChange(String ruleId, AlertRule rule) {
+
+    /**
+     * Creates the change storing a rule.
+     *
+     * @param rule the rule to store
+     * @return the change
+     */
+    public static RuleChange put(final AlertRule rule) {
+        return new RuleChange(rule.getRuleId(), rule);
+    }
+
+    /**
+     * Creates the change removing a rule.
+     *
+     * @param ruleId the id of the rule to remove
+     * @return the change
+     */
+    public static RuleChange delete(final String ruleId) {
+        return new RuleChange(ruleId, null);
+    }
+
+    /**
+     * Returns whether this change removes the rule.
+     *
+     * @return true for a removal
+     */
+    public boolean isDelete() {
+        return rule == null;
+    }
+}
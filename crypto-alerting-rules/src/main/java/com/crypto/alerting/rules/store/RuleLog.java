@@ -0,0 +1,329 @@
+package com.crypto.alerting.rules.store;
+
+import com.crypto.alerting.commons.AlertRule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of rule changes.
+ * <p>
+ * The file starts with a magic number and format version, followed by one
+ * record per change: {@code int length | int crc32 | payload}, where the
+ * payload is {@code byte op | str ruleId} and, for a put,
+ * {@code str userId | str ticker | byte direction | double threshold
+ * | byte type | long windowMillis}, with a window of 0 for none. Puts written
+ * before rule types existed end after the threshold and replay as price rules.
+ * Strings are an unsigned short length followed by at most
+ * 1024 UTF-8 bytes.
+ * <p>
+ * Replay reads the file sequentially through a large buffer and stops at the
+ * first incomplete or corrupt record, which is what a crash mid-append
+ * leaves behind; the file is truncated there. Compaction rewrites the live
+ * rules to a temporary file and atomically moves it over the log; appends
+ * keep going to the old file until the move has succeeded.
+ * <p>
+ * Not thread-safe: one writer appends and compacts.
+ */
+@Slf4j
+public final class RuleLog implements Closeable {
+
+    private static final int MAGIC = 0x52554C45;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int MAX_STRING_BYTES = 1024;
+    private static final int MAX_RECORD_BYTES = 2 * Integer.BYTES + 2 + 3 * (Short.BYTES + MAX_STRING_BYTES)
+            + Double.BYTES + 1 + Long.BYTES;
+    private static final long NO_WINDOW = 0L;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final Path path;
+    private final boolean fsync;
+
+    private FileChannel channel;
+    private long records;
+
+    /**
+     * Opens a log, creating it if it does not exist.
+     *
+     * @param path  the log file
+     * @param fsync whether appends are forced to disk
+     * @throws IOException if the file cannot be opened or has a foreign header
+     */
+    public RuleLog(final Path path, final boolean fsync) throws IOException {
+        this.path = path;
+        this.fsync = fsync;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = open(path);
+    }
+
+    /**
+     * Replays the log.
+     *
+     * @return the live rules by id, in first-insertion order
+     * @throws IOException if the file cannot be read
+     */
+    public Map<String, AlertRule> replay() throws IOException {
+        final Map<String, AlertRule> rules = new LinkedHashMap<>();
+        long validBytes = HEADER_BYTES;
+        long count = 0;
+
+        try (InputStream file = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file, READ_BUFFER_BYTES))) {
+            in.skipNBytes(HEADER_BYTES);
+            final CRC32 crc = new CRC32();
+            byte[] payload = new byte[256];
+            while (true) {
+                final int length;
+                final int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        log.warn("Corrupt rule log record length {} at byte {}", length, validBytes);
+                        break;
+                    }
+                    if (payload.length < length) {
+                        payload = new byte[Math.max(length, payload.length * 2)];
+                    }
+                    in.readFully(payload, 0, length);
+                } catch (final EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Corrupt rule log record checksum at byte {}", validBytes);
+                    break;
+                }
+
+                final RuleChange change = decode(ByteBuffer.wrap(payload, 0, length));
+                if (change.isDelete()) {
+                    rules.remove(change.ruleId());
+                } else {
+                    rules.put(change.ruleId(), change.rule());
+                }
+                validBytes += 2L * Integer.BYTES + length;
+                count++;
+            }
+        }
+
+        if (validBytes < channel.size()) {
+            log.warn("Truncating rule log from {} to {} bytes after incomplete record", channel.size(), validBytes);
+            channel.truncate(validBytes);
+        }
+        channel.position(validBytes);
+        records = count;
+        return rules;
+    }
+
+    /**
+     * Appends a batch of changes with a single write and, if configured, a
+     * single force to disk.
+     *
+     * @param changes the changes to append
+     * @throws IOException if the write fails
+     */
+    public void append(final List<RuleChange> changes) throws IOException {
+        final ByteBuffer buffer = encode(changes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        records += changes.size();
+    }
+
+    /**
+     * Rewrites the log to hold exactly the given rules. The compacted file is
+     * opened before it is moved over the log, and the log switches to it only
+     * once the move has succeeded.
+     *
+     * @param live the live rules
+     * @throws IOException if the rewrite fails; the existing log is left in place and stays open for appends
+     */
+    public void compact(final Collection<AlertRule> live) throws IOException {
+        final Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        final FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeHeader(out);
+            final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            for (final AlertRule rule : live) {
+                if (buffer.remaining() < MAX_RECORD_BYTES) {
+                    flush(out, buffer);
+                }
+                encode(RuleChange.put(rule), buffer);
+            }
+            flush(out, buffer);
+            out.force(true);
+            // The open channel follows the file to its new name
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException | RuntimeException e) {
+            try {
+                out.close();
+                Files.deleteIfExists(compacted);
+            } catch (final IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+
+        final FileChannel previous = channel;
+        channel = out;
+        records = live.size();
+        try {
+            previous.close();
+        } catch (final IOException e) {
+            log.warn("Failed to close the rule log replaced by compaction", e);
+        }
+        log.info("Compacted rule log to {} rules", records);
+    }
+
+    /**
+     * Returns the number of records in the log.
+     *
+     * @return record count, including superseded changes
+     */
+    public long records() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static FileChannel open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            writeHeader(channel);
+            channel.force(true);
+        } else {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getShort() != FORMAT_VERSION) {
+                channel.close();
+                throw new IOException("Not a rule log (version " + FORMAT_VERSION + "): " + path);
+            }
+        }
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private static void writeHeader(final FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(FORMAT_VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    private static void flush(final FileChannel out, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static ByteBuffer encode(final List<RuleChange> changes) {
+        ByteBuffer current = ByteBuffer.allocate(changes.size() * 128 + MAX_RECORD_BYTES);
+        for (final RuleChange change : changes) {
+            if (current.remaining() < MAX_RECORD_BYTES) {
+                current = ByteBuffer.allocate(current.capacity() * 2).put(current.flip());
+            }
+            encode(change, current);
+        }
+        return current.flip();
+    }
+
+    /**
+     * Encodes one record, length and checksum included, at the buffer's position.
+     */
+    private static void encode(final RuleChange change, final ByteBuffer buffer) {
+        final int start = buffer.position();
+        buffer.position(start + 2 * Integer.BYTES);
+        if (change.isDelete()) {
+            buffer.put(OP_DELETE);
+            putString(buffer, change.ruleId());
+        } else {
+            final AlertRule rule = change.rule();
+            buffer.put(OP_PUT);
+            putString(buffer, change.ruleId());
+            putString(buffer, rule.getUserId());
+            putString(buffer, rule.getTicker());
+            buffer.put((byte) rule.getDirection().ordinal());
+            buffer.putDouble(rule.getThreshold());
+            buffer.put((byte) (rule.getType() != null ? rule.getType() : AlertRule.Type.PRICE).ordinal());
+            buffer.putLong(rule.getWindowMillis() != null ? rule.getWindowMillis() : NO_WINDOW);
+        }
+
+        final int payloadStart = start + 2 * Integer.BYTES;
+        final int length = buffer.position() - payloadStart;
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + payloadStart, length);
+        buffer.putInt(start, length);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private static RuleChange decode(final ByteBuffer payload) {
+        final byte op = payload.get();
+        final String ruleId = getString(payload);
+        if (op == OP_DELETE) {
+            return RuleChange.delete(ruleId);
+        }
+        final String userId = getString(payload);
+        final String ticker = getString(payload);
+        final AlertRule.Direction direction = AlertRule.Direction.values()[payload.get()];
+        final double threshold = payload.getDouble();
+        if (!payload.hasRemaining()) {
+            return RuleChange.put(new AlertRule(ruleId, userId, ticker, direction, threshold));
+        }
+        final AlertRule.Type type = AlertRule.Type.values()[payload.get()];
+        final long window = payload.getLong();
+        return RuleChange.put(new AlertRule(ruleId, userId, ticker, direction, threshold, type,
+                window == NO_WINDOW ? null : window));
+    }
+
+    private static void putString(final ByteBuffer buffer, final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long for rule log: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        final int length = Short.toUnsignedInt(buffer.getShort());
+        final String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,154 @@
+package com.crypto.alerting.rules.store;
+
+import com.crypto.alerting.commons.AlertRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory home of every alert rule.
+ * Rules are grouped into an immutable {@link TickerRules} snapshot per
+ * ticker that is replaced atomically when the ticker's rules change, so
+ * lookups never lock and never leave the process. Changes are applied in
+ * batches, copying each touched ticker once per batch.
+ */
+@Component
+@Slf4j
+public final class RuleStore {
+
+    // Current snapshot per ticker
+    private final Map<String, TickerRules> byTicker = new ConcurrentHashMap<>();
+
+    // Lookups by rule id and by user
+    private final Map<String, AlertRule> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byUser = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a rule.
+     *
+     * @param ruleId the rule id
+     * @return the rule, if present
+     */
+    public Optional<AlertRule> get(final String ruleId) {
+        return Optional.ofNullable(byId.get(ruleId));
+    }
+
+    /**
+     * Returns the current rules of a ticker.
+     *
+     * @param ticker the ticker symbol
+     * @return the ticker's snapshot, or {@link TickerRules#EMPTY}
+     */
+    public TickerRules rulesFor(final String ticker) {
+        return byTicker.getOrDefault(ticker, TickerRules.EMPTY);
+    }
+
+    /**
+     * Returns the rules of a user.
+     *
+     * @param userId the user id
+     * @return the user's rules
+     */
+    public List<AlertRule> rulesOfUser(final String userId) {
+        final Set<String> ids = byUser.getOrDefault(userId, Set.of());
+        final List<AlertRule> rules = new ArrayList<>(ids.size());
+        for (final String id : ids) {
+            final AlertRule rule = byId.get(id);
+            if (rule != null) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Returns every rule. The view is weakly consistent while changes are applied.
+     *
+     * @return all rules
+     */
+    public Collection<AlertRule> all() {
+        return byId.values();
+    }
+
+    /**
+     * Returns the number of rules.
+     *
+     * @return rule count
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Applies a batch of changes in order.
+     *
+     * @param changes the changes
+     */
+    public synchronized void apply(final List<RuleChange> changes) {
+        final Map<String, List<RuleChange>> perTicker = new HashMap<>();
+        for (final RuleChange change : changes) {
+            final AlertRule previous = change.isDelete()
+                    ? byId.remove(change.ruleId())
+                    : byId.put(change.ruleId(), change.rule());
+            if (previous != null) {
+                unindexUser(previous);
+                if (change.isDelete() || !previous.getTicker().equals(change.rule().getTicker())) {
+                    perTicker.computeIfAbsent(previous.getTicker(), ticker -> new ArrayList<>())
+                            .add(RuleChange.delete(change.ruleId()));
+                }
+            }
+            if (!change.isDelete()) {
+                byUser.computeIfAbsent(change.rule().getUserId(), user -> ConcurrentHashMap.newKeySet())
+                        .add(change.ruleId());
+                perTicker.computeIfAbsent(change.rule().getTicker(), ticker -> new ArrayList<>()).add(change);
+            }
+        }
+
+        perTicker.forEach((ticker, tickerChanges) -> {
+            final TickerRules next = rulesFor(ticker).with(tickerChanges);
+            if (next.size() == 0) {
+                byTicker.remove(ticker);
+            } else {
+                byTicker.put(ticker, next);
+            }
+        });
+    }
+
+    /**
+     * Replaces the whole rule set, as after replaying the rule log.
+     *
+     * @param rules the complete set of rules
+     */
+    public synchronized void load(final Collection<AlertRule> rules) {
+        final Map<String, List<AlertRule>> perTicker = new HashMap<>();
+        byId.clear();
+        byUser.clear();
+        for (final AlertRule rule : rules) {
+            byId.put(rule.getRuleId(), rule);
+            byUser.computeIfAbsent(rule.getUserId(), user -> ConcurrentHashMap.newKeySet()).add(rule.getRuleId());
+            perTicker.computeIfAbsent(rule.getTicker(), ticker -> new ArrayList<>()).add(rule);
+        }
+
+        byTicker.clear();
+        perTicker.forEach((ticker, tickerRules) -> byTicker.put(ticker, TickerRules.of(tickerRules)));
+        log.info("Loaded {} rules across {} tickers", byId.size(), byTicker.size());
+    }
+
+    private void unindexUser(final AlertRule rule) {
+        final Set<String> ids = byUser.get(rule.getUserId());
+        if (ids != null) {
+            ids.remove(rule.getRuleId());
+            if (ids.isEmpty()) {
+                byUser.remove(rule.getUserId(), ids);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.crypto.alerting.rules.store;
+
+import com.crypto.alerting.commons.AlertRule;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the rules of one ticker. Readers hold on to a
+ * snapshot for as long as they like; changes produce a new snapshot.
+ */
+public final class TickerRules {
+
+    /**
+     * Snapshot without rules.
+     */
+    public static final TickerRules EMPTY = new TickerRules(Map.of());
+
+    private final Map<String, AlertRule> rules;
+
+    private TickerRules(final Map<String, AlertRule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Returns the rules of the ticker.
+     *
+     * @return unmodifiable rules, in no particular order
+     */
+    public Collection<AlertRule> rules() {
+        return rules.values();
+    }
+
+    /**
+     * Returns the number of rules.
+     *
+     * @return rule count
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Returns a snapshot with a batch of changes applied, copying this one once.
+     *
+     * @param changes the changes, in order
+     * @return the new snapshot
+     */
+    TickerRules with(final List<RuleChange> changes) {
+        final Map<String, AlertRule> next = new HashMap<>(rules);
+        for (final RuleChange change : changes) {
+            if (change.isDelete()) {
+                next.remove(change.ruleId());
+            } else {
+                next.put(change.ruleId(), change.rule());
+            }
+        }
+        return next.isEmpty() ? EMPTY : new TickerRules(Map.copyOf(next));
+    }
+
+    /**
+     * Creates a snapshot of a complete set of rules.
+     *
+     * @param rules the rules of the ticker
+     * @return the snapshot
+     */
+    static TickerRules of(final Collection<AlertRule> rules) {
+        final Map<String, AlertRule> byId = new HashMap<>(rules.size() * 2);
+        for (final AlertRule rule : rules) {
+            byId.put(rule.getRuleId(), rule);
+        }
+        return byId.isEmpty() ? EMPTY : new TickerRules(Map.copyOf(byId));
+    }
+}
@@ -0,0 +1,142 @@
+package com.crypto.alerting.rules.store;
+
+import com.crypto.alerting.commons.AlertRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuleLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replay_shouldRestoreLiveRulesAfterPutsReplacementsAndDeletes() throws IOException {
+        // Arrange
+        final Path path = directory.resolve("rules.log");
+        try (RuleLog log = new RuleLog(path, true)) {
+            log.replay();
+            log.append(List.of(RuleChange.put(rule("r1", 100.0)), RuleChange.put(rule("r2", 200.0))));
+            log.append(List.of(RuleChange.put(rule("r1", 150.0)), RuleChange.delete("r2")));
+        }
+
+        // Act
+        try (RuleLog log = new RuleLog(path, true)) {
+            final Map<String, AlertRule> rules = log.replay();
+
+            // Assert
+            assertThat(rules).containsOnlyKeys("r1");
+            assertThat(rules.get("r1")).isEqualTo(rule("r1", 150.0));
+            assertThat(log.records()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void replay_shouldTruncateTornTailAndKeepAppending() throws IOException {
+        // Arrange
+        final Path path = directory.resolve("rules.log");
+        try (RuleLog log = new RuleLog(path, false)) {
+            log.replay();
+            log.append(List.of(RuleChange.put(rule("r1", 100.0))));
+        }
+        final long intact = Files.size(path);
+        Files.write(path, new byte[] { 0, 0, 0, 40, 1, 2 }, StandardOpenOption.APPEND);
+
+        // Act
+        try (RuleLog log = new RuleLog(path, false)) {
+            assertThat(log.replay()).containsOnlyKeys("r1");
+            log.append(List.of(RuleChange.put(rule("r2", 200.0))));
+        }
+
+        // Assert
+        assertThat(Files.size(path)).isGreaterThan(intact);
+        try (RuleLog log = new RuleLog(path, false)) {
+            assertThat(log.replay()).containsOnlyKeys("r1", "r2");
+        }
+    }
+
+    @Test
+    void compact_shouldRewriteLogToLiveRules() throws IOException {
+        // Arrange
+        final Path path = directory.resolve("rules.log");
+        try (RuleLog log = new RuleLog(path, false)) {
+            log.replay();
+            for (int i = 0; i < 100; i++) {
+                log.append(List.of(RuleChange.put(rule("r1", 100.0 + i))));
+            }
+            final long before = Files.size(path);
+
+            // Act
+            log.compact(List.of(rule("r1", 199.0)));
+            log.append(List.of(RuleChange.put(rule("r2", 5.0))));
+
+            // Assert
+            assertThat(Files.size(path)).isLessThan(before);
+            assertThat(log.records()).isEqualTo(2);
+        }
+        try (RuleLog log = new RuleLog(path, false)) {
+            assertThat(log.replay()).containsOnlyKeys("r1", "r2");
+        }
+    }
+
+    @Test
+    void compact_shouldKeepAppendingToExistingLogWhenMoveFails() throws IOException {
+        // Arrange: the log is unlinked and its name taken by a directory, so the move fails
+        final Path path = directory.resolve("rules.log");
+        try (RuleLog log = new RuleLog(path, false)) {
+            log.replay();
+            log.append(List.of(RuleChange.put(rule("r1", 100.0))));
+            Files.delete(path);
+            Files.createDirectories(path.resolve("blocker"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> log.compact(List.of(rule("r1", 100.0)))).isInstanceOf(IOException.class);
+            log.append(List.of(RuleChange.put(rule("r2", 200.0))));
+            assertThat(log.records()).isEqualTo(2);
+            assertThat(directory.resolve("rules.log.compact")).doesNotExist();
+        }
+    }
+
+    @Test
+    void open_shouldRejectFilesThatAreNotRuleLogs() throws IOException {
+        final Path path = directory.resolve("other.log");
+        Files.writeString(path, "not a rule log");
+
+        assertThatThrownBy(() -> new RuleLog(path, false)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void replay_shouldRestoreRuleTypeAndWindow() throws IOException {
+        // Arrange
+        final Path path = directory.resolve("rules.log");
+        final AlertRule move = new AlertRule("r1", "alice", "BTCUSDT", AlertRule.Direction.BELOW, 5.0,
+                AlertRule.Type.PERCENT_MOVE, 60_000L);
+        try (RuleLog log = new RuleLog(path, true)) {
+            log.replay();
+            log.append(List.of(RuleChange.put(move), RuleChange.put(rule("r2", 100.0))));
+        }
+
+        // Act
+        try (RuleLog log = new RuleLog(path, true)) {
+            final Map<String, AlertRule> rules = log.replay();
+
+            // Assert
+            assertThat(rules.get("r1")).isEqualTo(move);
+            assertThat(rules.get("r2").getType()).isEqualTo(AlertRule.Type.PRICE);
+            assertThat(rules.get("r2").getWindowMillis()).isNull();
+        }
+    }
+
+    private static AlertRule rule(final String id, final double threshold) {
+        return new AlertRule(id, "alice", "BTCUSDT", AlertRule.Direction.ABOVE, threshold);
+    }
+}
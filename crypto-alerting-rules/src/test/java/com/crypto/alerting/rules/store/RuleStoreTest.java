@@ -0,0 +1,76 @@
+package com.crypto.alerting.rules.store;
+
+import com.crypto.alerting.commons.AlertRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleStoreTest {
+
+    private RuleStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RuleStore();
+    }
+
+    @Test
+    void apply_shouldSwapTickerSnapshotsWithoutChangingHeldOnes() {
+        // Arrange
+        store.apply(List.of(RuleChange.put(rule("r1", "alice", "BTCUSDT"))));
+        final TickerRules held = store.rulesFor("BTCUSDT");
+
+        // Act
+        store.apply(List.of(RuleChange.put(rule("r2", "bob", "BTCUSDT"))));
+
+        // Assert
+        assertThat(held.size()).isEqualTo(1);
+        assertThat(store.rulesFor("BTCUSDT").rules()).extracting(AlertRule::getRuleId)
+                .containsExactlyInAnyOrder("r1", "r2");
+    }
+
+    @Test
+    void apply_shouldMoveRulesBetweenTickersAndUsers() {
+        // Arrange
+        store.apply(List.of(RuleChange.put(rule("r1", "alice", "BTCUSDT"))));
+
+        // Act
+        store.apply(List.of(RuleChange.put(rule("r1", "bob", "ETHUSDT"))));
+
+        // Assert
+        assertThat(store.rulesFor("BTCUSDT").size()).isZero();
+        assertThat(store.rulesFor("ETHUSDT").size()).isEqualTo(1);
+        assertThat(store.rulesOfUser("alice")).isEmpty();
+        assertThat(store.rulesOfUser("bob")).extracting(AlertRule::getRuleId).containsExactly("r1");
+    }
+
+    @Test
+    void apply_shouldHonourOrderWithinBatch() {
+        store.apply(List.of(
+                RuleChange.put(rule("r1", "alice", "BTCUSDT")),
+                RuleChange.delete("r1"),
+                RuleChange.put(rule("r2", "alice", "BTCUSDT"))));
+
+        assertThat(store.get("r1")).isEmpty();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.rulesFor("BTCUSDT").rules()).extracting(AlertRule::getRuleId).containsExactly("r2");
+    }
+
+    @Test
+    void load_shouldReplaceWholeRuleSet() {
+        store.apply(List.of(RuleChange.put(rule("old", "alice", "SOLUSDT"))));
+
+        store.load(List.of(rule("r1", "alice", "BTCUSDT"), rule("r2", "bob", "BTCUSDT")));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.rulesFor("SOLUSDT").size()).isZero();
+        assertThat(store.rulesOfUser("alice")).extracting(AlertRule::getRuleId).containsExactly("r1");
+    }
+
+    private static AlertRule rule(final String id, final String userId, final String ticker) {
+        return new AlertRule(id, userId, ticker, AlertRule.Direction.ABOVE, 100.0);
+    }
+}
@@ -5,3 +5,4 @@ include("crypto-alerting-ingestion")
 include("crypto-alerting-processor")
 include("crypto-alerting-rules")
 include("crypto-alerting-distribution")
+include("crypto-alerting-benchmarks")